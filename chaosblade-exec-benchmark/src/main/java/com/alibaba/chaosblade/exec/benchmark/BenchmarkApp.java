@@ -0,0 +1,256 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BenchmarkApp - 基准测试的被测应用
+ *
+ * [改造说明]
+ * 由 RetransformBenchmark 在独立 JVM 中启动，只依赖 JDK（不把基准测试的依赖带进被测应用）：
+ * 1. 从合成 jar 加载并初始化全部类，使已加载类数可控
+ * 2. 工作线程持续调用一部分合成类的 handle(String)，记录单次调用的最大耗时
+ * 3. 停顿探测线程每 1ms 休眠一次，记录实际唤醒的超出时间（与 jHiccup 相同的思路），
+ *    反映 retransform、反优化和安全点造成的应用停顿
+ * 4. HTTP 接口 /stats 返回 pid、加载耗时和当前窗口的停顿统计，reset=true 时开始新窗口
+ *
+ * 用法：BenchmarkApp &lt;合成 jar&gt; &lt;类数&gt; &lt;HTTP 端口&gt; [工作线程数]
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class BenchmarkApp {
+
+    /** 停顿探测间隔（毫秒） */
+    private static final long HICCUP_RESOLUTION_MILLIS = 1;
+
+    /** 每隔多少个类取一个实例给工作线程调用 */
+    private static final int CALL_STRIDE = 100;
+
+    private static final MethodType HANDLE_TYPE = MethodType.methodType(String.class, String.class);
+
+    private static final HiccupWindow hiccups = new HiccupWindow();
+
+    private static final AtomicLong calls = new AtomicLong();
+
+    private static final AtomicLong maxCallNanos = new AtomicLong();
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: BenchmarkApp <jar> <classCount> <httpPort> [workers]");
+            System.exit(1);
+        }
+        File jar = new File(args[0]);
+        int classCount = Integer.parseInt(args[1]);
+        int port = Integer.parseInt(args[2]);
+        int workers = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        // 1. 加载并初始化全部合成类
+        long start = System.nanoTime();
+        URLClassLoader loader = new URLClassLoader(new URL[]{jar.toURI().toURL()},
+                BenchmarkApp.class.getClassLoader());
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        List<MethodHandle> targets = new ArrayList<>(classCount / CALL_STRIDE + 1);
+        for (int i = 0; i < classCount; i++) {
+            Class<?> clazz = Class.forName(SyntheticClassGenerator.className(i), true, loader);
+            if (i % CALL_STRIDE == 0) {
+                Object instance = clazz.getConstructor().newInstance();
+                targets.add(lookup.findVirtual(clazz, "handle", HANDLE_TYPE).bindTo(instance));
+            }
+        }
+        final long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        final int loaded = classCount;
+
+        // 2. 工作线程和停顿探测线程
+        final MethodHandle[] handles = targets.toArray(new MethodHandle[0]);
+        for (int i = 0; i < workers; i++) {
+            daemon("bench-worker-" + i, new Runnable() {
+                @Override
+                public void run() {
+                    work(handles);
+                }
+            });
+        }
+        daemon("bench-hiccup", new Runnable() {
+            @Override
+            public void run() {
+                meter();
+            }
+        });
+
+        // 3. 统计接口
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/stats", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String query = exchange.getRequestURI().getQuery();
+                boolean reset = query != null && query.contains("reset=true");
+                byte[] body = stats(loaded, loadMillis, reset).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.start();
+        System.out.println("BenchmarkApp ready: classes=" + classCount + ", loadMillis=" + loadMillis
+                + ", port=" + port);
+    }
+
+    private static void daemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void work(MethodHandle[] handles) {
+        long local = 0;
+        int i = 0;
+        while (true) {
+            MethodHandle handle = handles[i++ % handles.length];
+            long begin = System.nanoTime();
+            try {
+                String result = (String) handle.invokeExact("bench");
+                local += result == null ? 0 : result.length();
+            } catch (Throwable e) {
+                // 故障注入抛出的异常，计入耗时
+                local++;
+            }
+            long elapsed = System.nanoTime() - begin;
+            calls.incrementAndGet();
+            long max;
+            while (elapsed > (max = maxCallNanos.get()) && !maxCallNanos.compareAndSet(max, elapsed)) {
+                // 重试
+            }
+            if ((i & 0xFFF) == 0) {
+                sink = local;
+            }
+        }
+    }
+
+    private static void meter() {
+        long resolution = TimeUnit.MILLISECONDS.toNanos(HICCUP_RESOLUTION_MILLIS);
+        while (true) {
+            long begin = System.nanoTime();
+            try {
+                Thread.sleep(HICCUP_RESOLUTION_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long hiccup = System.nanoTime() - begin - resolution;
+            hiccups.record(Math.max(0, hiccup));
+        }
+    }
+
+    private static String stats(int loaded, long loadMillis, boolean reset) {
+        String pid = ManagementFactory.getRuntimeMXBean().getName();
+        int at = pid.indexOf('@');
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"pid\":").append(at > 0 ? pid.substring(0, at) : "-1");
+        json.append(",\"classes\":").append(loaded);
+        json.append(",\"loadMillis\":").append(loadMillis);
+        json.append(",\"hiccup\":").append(hiccups.toJson(reset));
+        long callCount = reset ? calls.getAndSet(0) : calls.get();
+        long maxCall = reset ? maxCallNanos.getAndSet(0) : maxCallNanos.get();
+        json.append(",\"calls\":{\"count\":").append(callCount);
+        json.append(",\"maxMicros\":").append(TimeUnit.NANOSECONDS.toMicros(maxCall)).append('}');
+        return json.append('}').toString();
+    }
+
+    /**
+     * 一个统计窗口内的停顿样本，按 1ms 采样每秒约 1000 个，窗口满后只更新最大值和计数
+     */
+    private static final class HiccupWindow {
+
+        private static final int CAPACITY = 1 << 20;
+
+        private final long[] samples = new long[CAPACITY];
+
+        private int size;
+
+        private long count;
+
+        private long max;
+
+        private long total;
+
+        synchronized void record(long nanos) {
+            if (size < CAPACITY) {
+                samples[size++] = nanos;
+            }
+            count++;
+            total += nanos;
+            if (nanos > max) {
+                max = nanos;
+            }
+        }
+
+        synchronized String toJson(boolean reset) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            StringBuilder json = new StringBuilder(128);
+            json.append("{\"count\":").append(count);
+            json.append(",\"totalMillis\":").append(millis(total));
+            json.append(",\"maxMillis\":").append(millis(max));
+            json.append(",\"p99Millis\":").append(millis(percentile(sorted, 0.99)));
+            json.append(",\"p999Millis\":").append(millis(percentile(sorted, 0.999)));
+            json.append('}');
+            if (reset) {
+                size = 0;
+                count = 0;
+                total = 0;
+                max = 0;
+            }
+            return json.toString();
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1000 / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BenchmarkScenario - 切点范围不同的实验场景
+ *
+ * [改造说明]
+ * 每个场景是一组 create 参数，按命中范围从窄到宽：
+ * - single：精确类名，命中 1 个类
+ * - overload：精确类名 + paramtypes，命中 1 个类的 1 个重载
+ * - package：包名前缀，命中 1 个包（SyntheticClassGenerator.PACKAGE_SIZE 个类）
+ * - interface：实现 Marked 的类，约 10%
+ * - superclass：继承 BaseService 的类，约 10%
+ * - all：所有合成类
+ * 故障为 1ms 延迟且只生效一次（limit=1），测量的是增强本身的开销而不是故障的影响
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class BenchmarkScenario {
+
+    private final String name;
+
+    private final Map<String, String> params;
+
+    public BenchmarkScenario(String name, Map<String, String> params) {
+        this.name = name;
+        this.params = Collections.unmodifiableMap(new LinkedHashMap<>(params));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return create 参数（含公共的 target、action、time、limit）
+     */
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    /**
+     * 默认场景
+     *
+     * @return 场景列表
+     */
+    public static List<BenchmarkScenario> defaults() {
+        List<BenchmarkScenario> scenarios = new ArrayList<>();
+        scenarios.add(of("single", "classname", SyntheticClassGenerator.className(0), "methodname", "handle"));
+        scenarios.add(of("overload", "classname", SyntheticClassGenerator.className(0), "methodname", "handle",
+                "paramtypes", "java.lang.String"));
+        scenarios.add(of("package", "classname", SyntheticClassGenerator.PACKAGE + ".p0.", "classmatch", "prefix",
+                "methodname", "handle"));
+        scenarios.add(of("interface", "interface", SyntheticClassGenerator.MARKED, "methodname", "handle"));
+        scenarios.add(of("superclass", "superclass", SyntheticClassGenerator.BASE_SERVICE, "methodname", "handle"));
+        scenarios.add(of("all", "classname", SyntheticClassGenerator.PACKAGE + ".", "classmatch", "prefix",
+                "methodname", "handle"));
+        return scenarios;
+    }
+
+    /**
+     * 按名称筛选默认场景
+     *
+     * @param names 逗号分隔的场景名，null 或空表示全部
+     * @return 场景列表
+     * @throws IllegalArgumentException 场景名不存在
+     */
+    public static List<BenchmarkScenario> select(String names) {
+        List<BenchmarkScenario> all = defaults();
+        if (names == null || names.trim().isEmpty()) {
+            return all;
+        }
+        List<BenchmarkScenario> selected = new ArrayList<>();
+        for (String name : names.split(",")) {
+            BenchmarkScenario found = null;
+            for (BenchmarkScenario scenario : all) {
+                if (scenario.name.equals(name.trim())) {
+                    found = scenario;
+                }
+            }
+            if (found == null) {
+                throw new IllegalArgumentException("Unknown scenario: " + name);
+            }
+            selected.add(found);
+        }
+        return selected;
+    }
+
+    private static BenchmarkScenario of(String name, String... keyValues) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("target", "delay");
+        params.put("action", "delay");
+        params.put("time", "1");
+        params.put("limit", "1");
+        for (int i = 0; i < keyValues.length; i += 2) {
+            params.put(keyValues[i], keyValues[i + 1]);
+        }
+        return new BenchmarkScenario(name, params);
+    }
+
+    @Override
+    public String toString() {
+        return name + params;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * ChaosbladeClient - chaosblade 模块 HTTP 命令客户端
+ *
+ * [改造说明]
+ * POST JSON 到 /sandbox/default/module/http/chaosblade/&lt;command&gt;。
+ * 模块响应的 result 字段是 JSON 文本，这里解析为 JsonNode 返回
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class ChaosbladeClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** 创建时会等待增强完成，读超时需要覆盖一次全量扫描 */
+    private static final int READ_TIMEOUT_MILLIS = 30 * 60 * 1000;
+
+    private final String baseUrl;
+
+    public ChaosbladeClient(String host, int port) {
+        this.baseUrl = "http://" + host + ":" + port + "/sandbox/default/module/http/chaosblade/";
+    }
+
+    /**
+     * 执行命令
+     *
+     * @param command 命令名称
+     * @param params  请求参数
+     * @return result 解析后的 JSON
+     * @throws IOException 请求失败或命令返回失败
+     */
+    public JsonNode execute(String command, Map<String, String> params) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + command).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(MAPPER.writeValueAsBytes(params));
+        }
+        JsonNode response;
+        try (InputStream in = connection.getResponseCode() < 400
+                ? connection.getInputStream() : connection.getErrorStream()) {
+            response = MAPPER.readTree(read(in));
+        } finally {
+            connection.disconnect();
+        }
+        if (response == null || !response.path("success").asBoolean(false)) {
+            throw new IOException(command + " failed: " + response);
+        }
+        JsonNode result = response.get("result");
+        if (result != null && result.isTextual()) {
+            return MAPPER.readTree(result.asText());
+        }
+        return result;
+    }
+
+    static byte[] read(InputStream in) throws IOException {
+        if (in == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.benchmark;
+
+import com.alibaba.chaosblade.exec.common.util.MethodCache;
+import com.alibaba.chaosblade.exec.common.util.ReflectUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MethodCacheBenchmark - 方法解析开销基准测试
+ *
+ * [改造说明]
+ * 监听器每个事件都要由 (类, 方法名, 方法描述符) 解析出 Method。对比两种做法的单次开销：
+ * 1. reflective：缓存之前的做法，ReflectUtil.getMethod() 每次遍历 getDeclaredMethods() 并拼接描述符比较
+ * 2. cached：MethodCache.getMethod()，首次解析后按类、方法名、描述符三级查表
+ *
+ * 每个场景先预热，再重复 rounds 轮，每轮调用 operations 次，记录每轮的平均 ns/op，
+ * 结果写入 JSON 报告。不需要 Sandbox，在当前 JVM 中运行
+ *
+ * 参数（-name value）：
+ * -warmup     预热调用次数，默认 200000
+ * -operations 每轮调用次数，默认 1000000
+ * -rounds     轮数，默认 5
+ * -output     报告文件，默认 method-cache-report.json
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class MethodCacheBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodCacheBenchmark.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** 场景：类、方法名、方法描述符 */
+    private static final Object[][] SCENARIOS = {
+        {"declared", OrderService.class, "create", "(Ljava/lang/String;)V"},
+        {"inherited", OrderService.class, "handle", "(Ljava/lang/String;I)Z"},
+        {"overloaded", OrderService.class, "query", "(JLjava/lang/String;)Ljava/lang/String;"}
+    };
+
+    private final int warmup;
+
+    private final int operations;
+
+    private final int rounds;
+
+    private final File output;
+
+    /** 防止解析结果被 JIT 消除 */
+    private long blackhole;
+
+    public MethodCacheBenchmark(Map<String, String> options) {
+        this.warmup = Integer.parseInt(option(options, "warmup", "200000"));
+        this.operations = Integer.parseInt(option(options, "operations", "1000000"));
+        this.rounds = Integer.parseInt(option(options, "rounds", "5"));
+        this.output = new File(option(options, "output", "method-cache-report.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("-")) {
+                throw new IllegalArgumentException("Expected -name value, got: " + args[i]);
+            }
+            options.put(args[i].substring(1), args[i + 1]);
+        }
+        new MethodCacheBenchmark(options).run();
+    }
+
+    public void run() throws Exception {
+        ObjectNode report = MAPPER.createObjectNode();
+        report.put("warmup", warmup);
+        report.put("operations", operations);
+        report.put("rounds", rounds);
+        ArrayNode results = report.putArray("scenarios");
+        for (Object[] scenario : SCENARIOS) {
+            String name = (String) scenario[0];
+            Class<?> type = (Class<?>) scenario[1];
+            String methodName = (String) scenario[2];
+            String desc = (String) scenario[3];
+
+            // 两种做法解析出的方法必须一致
+            Method expected = ReflectUtil.getMethod(type, desc, methodName);
+            if (!expected.equals(MethodCache.getMethod(type, methodName, desc))) {
+                throw new IllegalStateException("MethodCache resolved a different method for " + name);
+            }
+            for (int i = 0; i < warmup; i++) {
+                reflective(type, methodName, desc);
+                cached(type, methodName, desc);
+            }
+
+            double[] reflective = new double[rounds];
+            double[] cached = new double[rounds];
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < operations; i++) {
+                    reflective(type, methodName, desc);
+                }
+                reflective[round] = (double) (System.nanoTime() - start) / operations;
+
+                start = System.nanoTime();
+                for (int i = 0; i < operations; i++) {
+                    cached(type, methodName, desc);
+                }
+                cached[round] = (double) (System.nanoTime() - start) / operations;
+            }
+
+            ObjectNode result = results.addObject();
+            result.put("scenario", name);
+            result.put("method", type.getSimpleName() + "." + methodName + desc);
+            writeRounds(result.putObject("reflective"), reflective);
+            writeRounds(result.putObject("cached"), cached);
+            logger.info("[方法解析基准] {}: reflective {} ns/op, cached {} ns/op",
+                name, median(reflective), median(cached));
+        }
+        report.put("blackhole", blackhole);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output, report);
+        logger.info("[方法解析基准] 报告已写入: {}", output.getAbsolutePath());
+    }
+
+    private void reflective(Class<?> type, String methodName, String desc) throws NoSuchMethodException {
+        blackhole += ReflectUtil.getMethod(type, desc, methodName).getModifiers();
+    }
+
+    private void cached(Class<?> type, String methodName, String desc) throws NoSuchMethodException {
+        blackhole += MethodCache.getMethod(type, methodName, desc).getModifiers();
+    }
+
+    private static void writeRounds(ObjectNode node, double[] nanosPerOp) {
+        node.put("unit", "ns/op");
+        node.put("median", median(nanosPerOp));
+        ArrayNode rounds = node.putArray("rounds");
+        for (double value : nanosPerOp) {
+            rounds.add(value);
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : value;
+    }
+
+    public static class BaseService {
+
+        public boolean handle(String orderId, int retry) {
+            return retry > 0;
+        }
+
+        public boolean handle(String orderId) {
+            return orderId != null;
+        }
+
+        public void audit(String orderId, long time) {
+        }
+    }
+
+    public static class OrderService extends BaseService {
+
+        public String query(long id) {
+            return String.valueOf(id);
+        }
+
+        public String query(long id, String tenant) {
+            return tenant + id;
+        }
+
+        public void create(String orderId) {
+        }
+
+        public void cancel(String orderId) {
+        }
+
+        public void refund(String orderId, long amount) {
+        }
+
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RetransformBenchmark - 字节码增强开销基准测试
+ *
+ * [改造说明]
+ * 回答"在多大的 JVM 上开实验是安全的"：对每个合成类数（默认 1k / 10k / 100k）
+ * 1. 生成合成类 jar，在独立 JVM 中启动 BenchmarkApp 加载全部类，注入 Sandbox 并激活 chaosblade 模块
+ * 2. 等待预热（类索引在模块空闲时建立，JIT 编译工作线程的调用路径）
+ * 3. 对每个切点场景（BenchmarkScenario）重复 rounds 次：
+ *    - 空闲窗口的停顿作为基线
+ *    - create（await 到增强完成），记录墙钟耗时、实验状态中的命中类数 / 扫描耗时 / retransform 耗时、
+ *      status 中对应的批次报告，以及期间的应用停顿和最大调用耗时
+ *    - destroy，记录墙钟耗时和期间的应用停顿
+ * 4. 结果写入 JSON 报告（每个类数完成后覆盖写一次，中途失败也保留已完成的结果）
+ *
+ * 参数（-name value）：
+ * -sandbox-home    Sandbox 安装目录，默认取环境变量 SANDBOX_HOME
+ * -classes         合成类数，逗号分隔，默认 1000,10000,100000
+ * -scenarios       场景名，逗号分隔，默认全部
+ * -rounds          每个场景的重复次数，默认 3
+ * -warmup-millis   注入后的预热时间，默认 5000
+ * -baseline-millis 基线窗口，默认 2000
+ * -jvm-args        被测 JVM 参数，空格分隔，默认 -Xms1g -Xmx1g
+ * -app-port        被测应用统计接口端口，默认 18080
+ * -work-dir        合成 jar 和被测应用日志目录，默认 target/benchmark
+ * -output          报告文件，默认 retransform-report.json
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class RetransformBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetransformBenchmark.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** create 等待增强完成的最长时间（毫秒） */
+    private static final long AWAIT_MILLIS = TimeUnit.MINUTES.toMillis(20);
+
+    /** 等待被测应用加载完成的最长时间（毫秒） */
+    private static final long APP_START_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Map<String, String> options;
+
+    private final SandboxAttacher attacher;
+
+    private final List<BenchmarkScenario> scenarios;
+
+    private final File workDir;
+
+    private final File output;
+
+    private final int appPort;
+
+    private final ObjectNode report = MAPPER.createObjectNode();
+
+    private final ArrayNode runs = report.putArray("runs");
+
+    public RetransformBenchmark(Map<String, String> options) {
+        this.options = options;
+        String sandboxHome = option("sandbox-home", System.getenv("SANDBOX_HOME"));
+        if (sandboxHome == null || sandboxHome.isEmpty()) {
+            throw new IllegalArgumentException("Missing -sandbox-home (or SANDBOX_HOME)");
+        }
+        this.attacher = new SandboxAttacher(new File(sandboxHome));
+        this.scenarios = BenchmarkScenario.select(option("scenarios", null));
+        this.workDir = new File(option("work-dir", "target/benchmark"));
+        this.output = new File(option("output", "retransform-report.json"));
+        this.appPort = Integer.parseInt(option("app-port", "18080"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("-")) {
+                throw new IllegalArgumentException("Expected -name value, got: " + args[i]);
+            }
+            options.put(args[i].substring(1), args[i + 1]);
+        }
+        new RetransformBenchmark(options).run();
+    }
+
+    /**
+     * 依次测量每个类数
+     *
+     * @throws IOException 写报告失败
+     */
+    public void run() throws IOException {
+        if (!workDir.isDirectory() && !workDir.mkdirs()) {
+            throw new IOException("Cannot create work dir: " + workDir);
+        }
+        describeEnvironment();
+        for (String count : option("classes", "1000,10000,100000").split(",")) {
+            int classCount = Integer.parseInt(count.trim());
+            try {
+                runClassCount(classCount);
+            } catch (Exception e) {
+                logger.error("[基准测试] 类数 {} 的测试失败", classCount, e);
+                ObjectNode failed = runs.addObject();
+                failed.put("classes", classCount);
+                failed.put("error", String.valueOf(e));
+            }
+            writeReport();
+        }
+        logger.info("[基准测试] 报告已写入: {}", output.getAbsolutePath());
+    }
+
+    private void runClassCount(int classCount) throws Exception {
+        File jar = new File(workDir, "synthetic-" + classCount + ".jar");
+        long start = System.nanoTime();
+        SyntheticClassGenerator.generate(jar, classCount);
+        logger.info("[基准测试] 已生成合成类: {} 个, {} bytes, 耗时 {}ms", classCount, jar.length(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        Process app = startApp(jar, classCount);
+        try {
+            JsonNode ready = awaitApp(app);
+            long pid = ready.path("pid").asLong();
+            long attachStart = System.nanoTime();
+            int sandboxPort = attacher.attach(pid);
+            long attachMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - attachStart);
+            ChaosbladeClient client = new ChaosbladeClient("127.0.0.1", sandboxPort);
+
+            Thread.sleep(Long.parseLong(option("warmup-millis", "5000")));
+            int rounds = Integer.parseInt(option("rounds", "3"));
+            for (BenchmarkScenario scenario : scenarios) {
+                for (int round = 0; round < rounds; round++) {
+                    ObjectNode run = runs.addObject();
+                    run.put("classes", classCount);
+                    run.put("scenario", scenario.getName());
+                    run.put("round", round);
+                    run.put("appLoadMillis", ready.path("loadMillis").asLong());
+                    run.put("attachMillis", attachMillis);
+                    run.set("params", MAPPER.valueToTree(scenario.getParams()));
+                    try {
+                        measure(client, scenario, run);
+                    } catch (Exception e) {
+                        logger.error("[基准测试] 场景 {} 第 {} 轮失败", scenario.getName(), round, e);
+                        run.put("error", String.valueOf(e));
+                    }
+                }
+            }
+        } finally {
+            app.destroy();
+            if (!app.waitFor(10, TimeUnit.SECONDS)) {
+                app.destroyForcibly();
+            }
+        }
+    }
+
+    private void measure(ChaosbladeClient client, BenchmarkScenario scenario, ObjectNode run) throws Exception {
+        // 1. 基线
+        stats(true);
+        Thread.sleep(Long.parseLong(option("baseline-millis", "2000")));
+        run.set("baseline", stats(true));
+
+        // 2. 创建并等待增强完成
+        Map<String, String> params = new LinkedHashMap<>(scenario.getParams());
+        params.put("await", String.valueOf(AWAIT_MILLIS));
+        long start = System.nanoTime();
+        JsonNode created = client.execute("create", params).path("result");
+        ObjectNode create = run.putObject("create");
+        create.put("wallMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        create.set("during", stats(true));
+        JsonNode state = created.path("state");
+        create.set("state", state);
+        String experimentId = created.path("experimentId").asText();
+        create.set("watchBatch", lastWatchBatch(client));
+        logger.info("[基准测试] {} 个类 / {}: 状态={}, 命中类={}, 扫描={}ms, retransform={}ms",
+                run.path("classes").asInt(), scenario.getName(), state.path("status").asText(),
+                state.path("classes").asInt(), state.path("scanMillis").asLong(),
+                state.path("retransformMillis").asLong());
+
+        // 3. 销毁
+        stats(true);
+        start = System.nanoTime();
+        client.execute("destroy", Collections.singletonMap("uid", experimentId));
+        ObjectNode destroy = run.putObject("destroy");
+        destroy.put("wallMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        destroy.set("during", stats(true));
+    }
+
+    /**
+     * status 中最近一次增强批次的报告（扫描、retransform 耗时等）
+     */
+    private JsonNode lastWatchBatch(ChaosbladeClient client) throws IOException {
+        JsonNode batches = client.execute("status", Collections.<String, String>emptyMap())
+                .path("watchBatches");
+        return batches.size() == 0 ? null : batches.get(batches.size() - 1);
+    }
+
+    private Process startApp(File jar, int classCount) throws IOException, URISyntaxException {
+        String classpath = new File(RetransformBenchmark.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI()).getAbsolutePath();
+        List<String> command = new ArrayList<>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getAbsolutePath());
+        command.addAll(Arrays.asList(option("jvm-args", "-Xms1g -Xmx1g").trim().split("\\s+")));
+        command.add("-cp");
+        command.add(classpath);
+        command.add(BenchmarkApp.class.getName());
+        command.add(jar.getAbsolutePath());
+        command.add(String.valueOf(classCount));
+        command.add(String.valueOf(appPort));
+        File log = new File(workDir, "app-" + classCount + ".log");
+        logger.info("[基准测试] 启动被测应用: {}", command);
+        return new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(log)).start();
+    }
+
+    private JsonNode awaitApp(Process app) throws Exception {
+        long deadline = System.currentTimeMillis() + APP_START_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!app.isAlive()) {
+                throw new IOException("BenchmarkApp exited with " + app.exitValue() + ", see " + workDir);
+            }
+            try {
+                return stats(true);
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IOException("BenchmarkApp did not start within " + APP_START_TIMEOUT_MILLIS + "ms");
+    }
+
+    /**
+     * 读取被测应用的统计
+     *
+     * @param reset 是否开始新的统计窗口
+     */
+    private JsonNode stats(boolean reset) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + appPort + "/stats" + (reset ? "?reset=true" : ""));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(1000);
+        connection.setReadTimeout(10000);
+        try (InputStream in = connection.getInputStream()) {
+            return MAPPER.readTree(ChaosbladeClient.read(in));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private void describeEnvironment() {
+        report.put("generatedAt", System.currentTimeMillis());
+        ObjectNode java = report.putObject("java");
+        java.put("version", System.getProperty("java.version"));
+        java.put("vendor", System.getProperty("java.vendor"));
+        java.put("vm", System.getProperty("java.vm.name"));
+        ObjectNode os = report.putObject("os");
+        os.put("name", System.getProperty("os.name"));
+        os.put("arch", System.getProperty("os.arch"));
+        os.put("processors", Runtime.getRuntime().availableProcessors());
+        report.set("options", MAPPER.valueToTree(options));
+    }
+
+    private void writeReport() throws IOException {
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output, report);
+    }
+
+    private String option(String name, String defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : value;
+    }
+}
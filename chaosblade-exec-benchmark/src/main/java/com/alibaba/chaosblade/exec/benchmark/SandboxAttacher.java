@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SandboxAttacher - 通过 sandbox.sh 注入 Sandbox 并激活 chaosblade 模块
+ *
+ * [改造说明]
+ * 与注入平台 SandboxAutoSetup 的流程一致：sandbox.sh -p 注入、-a 激活模块、-v 解析 SERVER_PORT。
+ * chaosblade 模块 jar 需已放入 Sandbox 的模块目录（sandbox-module 或 ~/.sandbox-module）
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class SandboxAttacher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SandboxAttacher.class);
+
+    private static final Pattern SERVER_PORT = Pattern.compile("SERVER_PORT\\s*:\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
+
+    /** 单条命令的超时时间（秒） */
+    private static final long COMMAND_TIMEOUT_SECONDS = 120;
+
+    private final File script;
+
+    public SandboxAttacher(File sandboxHome) {
+        this.script = new File(new File(sandboxHome, "bin"), "sandbox.sh");
+        if (!script.isFile()) {
+            throw new IllegalArgumentException("sandbox.sh not found: " + script);
+        }
+    }
+
+    /**
+     * 注入 Sandbox 并激活 chaosblade 模块
+     *
+     * @param pid 目标进程
+     * @return Sandbox HTTP 端口
+     * @throws IOException 命令执行失败或无法解析端口
+     */
+    public int attach(long pid) throws IOException {
+        String target = String.valueOf(pid);
+        long start = System.nanoTime();
+        execute("-p", target);
+        execute("-p", target, "-a", "chaosblade");
+        String version = execute("-p", target, "-v");
+        Matcher matcher = SERVER_PORT.matcher(version);
+        if (!matcher.find()) {
+            throw new IOException("Cannot parse SERVER_PORT from sandbox.sh -v output: " + version);
+        }
+        int port = Integer.parseInt(matcher.group(1));
+        logger.info("[基准测试] Sandbox 已注入: pid={}, port={}, 耗时={}ms", pid, port,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return port;
+    }
+
+    private String execute(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("bash");
+        command.add(script.getAbsolutePath());
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        }
+        try {
+            if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("sandbox.sh timed out: " + command);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + command, e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("sandbox.sh failed (" + process.exitValue() + "): " + command + "\n" + output);
+        }
+        return output.toString();
+    }
+}
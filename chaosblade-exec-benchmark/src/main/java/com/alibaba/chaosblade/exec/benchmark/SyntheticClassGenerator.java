@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.benchmark;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * SyntheticClassGenerator - 生成合成类路径
+ *
+ * [改造说明]
+ * 基准测试需要可控数量的已加载类，用 ASM 直接生成字节码打成 jar：
+ * 1. bench.synthetic.p{k}.Service{i}，每个包 PACKAGE_SIZE 个类
+ * 2. i % 10 == 0 的类继承 BaseService，i % 10 == 1 的类实现 Marked，用于父类 / 接口切点
+ * 3. 每个类有 handle(String)、handle(int) 两个重载和 compute(long)，方法体无分支，不需要栈帧
+ * 类名按下标确定，同样的类数生成的 jar 内容相同，结果可复现
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class SyntheticClassGenerator {
+
+    public static final String PACKAGE = "bench.synthetic";
+
+    public static final String MARKED = PACKAGE + ".Marked";
+
+    public static final String BASE_SERVICE = PACKAGE + ".BaseService";
+
+    /** 每个包的类数 */
+    public static final int PACKAGE_SIZE = 1000;
+
+    private SyntheticClassGenerator() {
+    }
+
+    /**
+     * 第 i 个合成类的类名
+     *
+     * @param i 下标
+     * @return 类名（. 分隔）
+     */
+    public static String className(int i) {
+        return PACKAGE + ".p" + (i / PACKAGE_SIZE) + ".Service" + i;
+    }
+
+    /**
+     * 生成 jar
+     *
+     * @param jar        输出文件
+     * @param classCount 合成类数量
+     * @throws IOException 写文件失败
+     */
+    public static void generate(File jar, int classCount) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            write(out, MARKED, markerInterface());
+            write(out, BASE_SERVICE, baseService());
+            for (int i = 0; i < classCount; i++) {
+                write(out, className(i), service(i));
+            }
+        }
+    }
+
+    private static void write(JarOutputStream out, String className, byte[] bytes) throws IOException {
+        out.putNextEntry(new JarEntry(internalName(className) + ".class"));
+        out.write(bytes);
+        out.closeEntry();
+    }
+
+    private static byte[] markerInterface() {
+        ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE,
+                internalName(MARKED), null, "java/lang/Object", null);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] baseService() {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER | Opcodes.ACC_ABSTRACT,
+                internalName(BASE_SERVICE), null, "java/lang/Object", null);
+        constructor(cw, "java/lang/Object");
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] service(int i) {
+        String superName = i % 10 == 0 ? internalName(BASE_SERVICE) : "java/lang/Object";
+        String[] interfaces = i % 10 == 1 ? new String[]{internalName(MARKED)} : null;
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER,
+                internalName(className(i)), null, superName, interfaces);
+        constructor(cw, superName);
+
+        // String handle(String value) { return value; }
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "handle",
+                "(Ljava/lang/String;)Ljava/lang/String;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // int handle(int value) { return value + i; }
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "handle", "(I)I", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ILOAD, 1);
+        mv.visitLdcInsn(i);
+        mv.visitInsn(Opcodes.IADD);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // long compute(long value) { return value ^ i; }
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "compute", "(J)J", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.LLOAD, 1);
+        mv.visitLdcInsn((long) i);
+        mv.visitInsn(Opcodes.LXOR);
+        mv.visitInsn(Opcodes.LRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void constructor(ClassWriter cw, String superName) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static String internalName(String className) {
+        return className.replace('.', '/');
+    }
+}
@@ -16,6 +16,11 @@
 
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox;
 
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.common.util.MethodCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.lang.reflect.Method;
 
 /**
@@ -27,18 +32,30 @@ import java.lang.reflect.Method;
  * 2. 方法参数
  * 3. 返回值（用于Mock）
  * 4. ClassLoader（用于类型转换）
+ * 5. 参数替换与返回事件登记（用于异步延迟）
+ * 
+ * 事件路径零分配：
+ * - 类名、方法名、方法描述直接引用 BeforeEvent 字段，filter() 只依赖这些字段
+ * - Method 延迟到 getMethod() 首次调用时才解析（经 MethodCache）
+ * - 由 MethodEventListener 按线程复用，事件结束后 release() 释放业务对象引用，
+ *   因此增强器不能在 enhance() 返回后继续持有本对象
  * 
  * @author rakkaus
  * @since 1.8.0
  */
 public class EnhancerModel {
     
+    private static final Logger logger = LoggerFactory.getLogger(EnhancerModel.class);
+    
     /** 目标对象实例 */
     private Object target;
     
-    /** 目标方法 */
+    /** 目标方法（延迟解析） */
     private Method method;
     
+    /** 目标方法是否已尝试解析 */
+    private boolean methodResolved;
+    
     /** 方法参数 */
     private Object[] arguments;
     
@@ -57,6 +74,68 @@ public class EnhancerModel {
     /** 方法名 */
     private String methodName;
     
+    /** 方法描述（JVM 格式，用于延迟解析 Method） */
+    private String methodDesc;
+    
+    /** 是否替换过方法参数 */
+    private boolean argumentsChanged;
+    
+    /** 是否需要在方法返回时再次回调增强器 */
+    private boolean awaitReturn;
+    
+    /** 返回时回调的增强器，为 null 时回调执行 enhance() 的增强器 */
+    private Enhancer returnHandler;
+    
+    /** 是否正在被某次事件使用（用于识别同线程重入） */
+    private boolean inUse;
+    
+    /**
+     * 以一次方法调用事件重置上下文，不做任何解析
+     * 
+     * @param classLoader 目标类的 ClassLoader
+     * @param className   目标类名
+     * @param methodName  目标方法名
+     * @param methodDesc  目标方法描述
+     * @param target      目标对象（静态方法为 null）
+     * @param arguments   方法参数
+     * @return 当前对象
+     */
+    public EnhancerModel reset(ClassLoader classLoader, String className, String methodName,
+                               String methodDesc, Object target, Object[] arguments) {
+        this.classLoader = classLoader;
+        this.className = className;
+        this.methodName = methodName;
+        this.methodDesc = methodDesc;
+        this.target = target;
+        this.arguments = arguments;
+        this.method = null;
+        this.methodResolved = false;
+        this.returnValue = null;
+        this.hasReturnValue = false;
+        this.argumentsChanged = false;
+        this.awaitReturn = false;
+        this.returnHandler = null;
+        this.inUse = true;
+        return this;
+    }
+    
+    /**
+     * 事件处理结束，释放对业务对象的引用，避免线程复用时长期持有
+     */
+    public void release() {
+        this.target = null;
+        this.arguments = null;
+        this.classLoader = null;
+        this.method = null;
+        this.returnValue = null;
+        this.returnHandler = null;
+        this.inUse = false;
+    }
+    
+    public boolean isInUse() {
+        return inUse;
+    }
+    
     // Getters and Setters
     
     public Object getTarget() {
@@ -67,17 +146,40 @@ public class EnhancerModel {
         this.target = target;
     }
     
+    /**
+     * 获取目标方法，首次调用时才解析
+     * 
+     * @return 目标方法，解析失败返回 null
+     */
     public Method getMethod() {
+        if (!methodResolved) {
+            methodResolved = true;
+            method = resolveMethod();
+        }
         return method;
     }
     
     public void setMethod(Method method) {
         this.method = method;
+        this.methodResolved = true;
         if (method != null) {
             this.methodName = method.getName();
         }
     }
     
+    private Method resolveMethod() {
+        if (methodDesc == null) {
+            return null;
+        }
+        try {
+            Class<?> clazz = target != null ? target.getClass() : classLoader.loadClass(className);
+            return MethodCache.getMethod(clazz, methodName, methodDesc);
+        } catch (Exception e) {
+            logger.warn("[增强模型] 方法解析失败: {}.{}{}", className, methodName, methodDesc);
+            return null;
+        }
+    }
+    
     public Object[] getArguments() {
         return arguments;
     }
@@ -86,6 +188,47 @@ public class EnhancerModel {
         this.arguments = arguments;
     }
     
+    /**
+     * 替换方法参数，由 MethodEventListener 在 enhance() 返回后写回 BeforeEvent
+     * 
+     * @param index 参数下标
+     * @param value 新的参数值
+     */
+    public void changeArgument(int index, Object value) {
+        arguments[index] = value;
+        argumentsChanged = true;
+    }
+    
+    public boolean isArgumentsChanged() {
+        return argumentsChanged;
+    }
+    
+    /**
+     * 登记本次调用，方法正常返回时由 MethodEventListener 回调 Enhancer.onReturn()
+     */
+    public void awaitReturn() {
+        this.awaitReturn = true;
+    }
+    
+    /**
+     * 登记本次调用，方法正常返回时回调指定增强器的 onReturn()
+     * 用于分发型增强器把返回事件交给实际执行注入的增强器
+     * 
+     * @param handler 返回时回调的增强器
+     */
+    public void awaitReturn(Enhancer handler) {
+        this.awaitReturn = true;
+        this.returnHandler = handler;
+    }
+    
+    public boolean isAwaitReturn() {
+        return awaitReturn;
+    }
+    
+    public Enhancer getReturnHandler() {
+        return returnHandler;
+    }
+    
     public Object getReturnValue() {
         return returnValue;
     }
@@ -123,6 +266,10 @@ public class EnhancerModel {
         this.methodName = methodName;
     }
     
+    public String getMethodDesc() {
+        return methodDesc;
+    }
+    
     @Override
     public String toString() {
         return "EnhancerModel{" +
@@ -18,10 +18,18 @@ package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox;
 
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.Handler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.CommandPipeline;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.CreateHandler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.CreateBatchHandler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.ExperimentQuery;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.DestroyHandler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.DestroyBatchHandler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.PauseHandler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.ResumeHandler;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.StatusHandler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.StreamingHandler;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.ListHandler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler.MetricsHandler;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.DelayEnhancer;
@@ -34,11 +42,16 @@ import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.DubboConsumerEn
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.DubboProviderEnhancer;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.DynamicDispatcherEnhancer;
 
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.async.DelayTimer;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ListenerManager;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.WatchScheduler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.LoadedClassIndex;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.recorder.InjectionRecorder;
 
 import com.alibaba.chaosblade.exec.common.transport.Request;
 import com.alibaba.chaosblade.exec.common.transport.Response;
 import com.alibaba.chaosblade.exec.common.transport.Response.Code;
+import com.alibaba.chaosblade.exec.common.util.JsonUtil;
 
 import com.alibaba.jvm.sandbox.api.Information;
 import com.alibaba.jvm.sandbox.api.LoadCompleted;
@@ -46,13 +59,11 @@ import com.alibaba.jvm.sandbox.api.Module;
 import com.alibaba.jvm.sandbox.api.ModuleLifecycle;
 import com.alibaba.jvm.sandbox.api.http.Http;
 import com.alibaba.jvm.sandbox.api.annotation.Command;
+import com.alibaba.jvm.sandbox.api.resource.LoadedClassDataSource;
 import com.alibaba.jvm.sandbox.api.resource.ModuleEventWatcher;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.MapType;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.JsonNode;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -84,17 +95,28 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
   @Resource 
   private ModuleEventWatcher moduleEventWatcher;
 
+  @Resource
+  private LoadedClassDataSource loadedClassDataSource;
+
   @Override
   public void onLoad() throws Throwable {
     LOGGER.info("加载 chaosblade 模块 - 版本 1.8.0");
     ListenerManager.setModuleEventWatcher(moduleEventWatcher);
+    LoadedClassIndex.get().setLoadedClassDataSource(loadedClassDataSource);
+    InjectionRecorder.start();
+    DelayTimer.start();
+    WatchScheduler.start();
   }
 
   @Override
   public void onUnload() throws Throwable {
     LOGGER.info("卸载 chaosblade 模块");
+    WatchScheduler.stop();
     ListenerManager.clear();
+    LoadedClassIndex.get().clear();
     watchIds.clear();
+    DelayTimer.stop();
+    InjectionRecorder.stop();
     LOGGER.info("chaosblade 模块卸载成功");
   }
 
@@ -123,8 +145,13 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
     LOGGER.info("正在注册处理器...");
     new CreateHandler();
     new DestroyHandler();
+    new CreateBatchHandler();
+    new DestroyBatchHandler();
+    new PauseHandler();
+    new ResumeHandler();
     new StatusHandler();
     new ListHandler();
+    new MetricsHandler();
     LOGGER.info("处理器注册完成: {}", Handler.getRegisteredHandlers());
   }
 
@@ -160,6 +187,26 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
     service("destroy", request, response);
   }
   
+  @Command("create-batch")
+  public void createBatch(HttpServletRequest request, HttpServletResponse response) {
+    service("create-batch", request, response);
+  }
+
+  @Command("destroy-batch")
+  public void destroyBatch(HttpServletRequest request, HttpServletResponse response) {
+    service("destroy-batch", request, response);
+  }
+  
+  @Command("pause")
+  public void pause(HttpServletRequest request, HttpServletResponse response) {
+    service("pause", request, response);
+  }
+
+  @Command("resume")
+  public void resume(HttpServletRequest request, HttpServletResponse response) {
+    service("resume", request, response);
+  }
+  
   @Command("status")
   public void status(HttpServletRequest request, HttpServletResponse response) {
     service("status", request, response);
@@ -170,6 +217,42 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
     service("list", request, response);
   }
 
+  /**
+   * 一次请求顺序执行多条命令：POST 请求体为 NDJSON，每条命令输出一行结果
+   */
+  @Command("pipeline")
+  public void pipeline(HttpServletRequest request, HttpServletResponse response) {
+    if (!"POST".equalsIgnoreCase(request.getMethod())) {
+      output(response, Response.ofFailure(Code.ILLEGAL_PARAMETER, "pipeline requires a POST body"));
+      return;
+    }
+    response.setContentType(CommandPipeline.CONTENT_TYPE);
+
+    PrintWriter writer = null;
+    try {
+      writer = response.getWriter();
+      CommandPipeline.execute(request.getInputStream(), writer);
+    } catch (Exception e) {
+      LOGGER.warn("写入响应失败", e);
+    } finally {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+  }
+
+  @Command("metrics")
+  public void metrics(HttpServletRequest request, HttpServletResponse response) {
+    if (!"POST".equalsIgnoreCase(request.getMethod())) {
+      Map<String, String> params = getRequestFromParams(request).getParams();
+      if (MetricsHandler.isPrometheus(params)) {
+        prometheus(params, response);
+        return;
+      }
+    }
+    service("metrics", request, response);
+  }
+
   private void service(
       String command,
       HttpServletRequest httpServletRequest,
@@ -194,6 +277,13 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
       request = getRequestFromParams(httpServletRequest);
     }
     
+    // 流式处理器直接写出响应
+    Handler handler = Handler.get(command);
+    if (handler instanceof StreamingHandler) {
+      stream((StreamingHandler<?>) handler, request.getParams(), httpServletResponse);
+      return;
+    }
+
     // 分发到具体的Handler
     Response response = Handler.dispatch(command, request.getParams());
     
@@ -224,6 +314,67 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
     }
   }
 
+  /**
+   * 由流式处理器直接写出HTTP响应，参数非法时输出失败响应
+   *
+   * @param handler 流式处理器
+   * @param params 请求参数
+   * @param httpServletResponse HTTP响应对象
+   */
+  private void stream(
+      StreamingHandler<?> handler,
+      Map<String, String> params,
+      HttpServletResponse httpServletResponse) {
+    httpServletResponse.setContentType("application/json;charset=UTF-8");
+
+    PrintWriter writer = null;
+    try {
+      writer = httpServletResponse.getWriter();
+      Response failure = handler.stream(params, writer);
+      if (failure != null) {
+        writer.print(failure.toString());
+      }
+      writer.println();
+      writer.flush();
+    } catch (Exception e) {
+      LOGGER.warn("写入响应失败", e);
+    } finally {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+  }
+
+  /**
+   * 以 Prometheus 文本格式输出实验调用统计，参数非法时输出失败响应
+   *
+   * @param params 请求参数
+   * @param httpServletResponse HTTP响应对象
+   */
+  private void prometheus(Map<String, String> params, HttpServletResponse httpServletResponse) {
+    MetricsHandler handler = (MetricsHandler) Handler.get("metrics");
+    ExperimentQuery query;
+    try {
+      query = ExperimentQuery.parse(params);
+    } catch (IllegalArgumentException e) {
+      output(httpServletResponse, Response.ofFailure(Code.ILLEGAL_PARAMETER, e.getMessage()));
+      return;
+    }
+    httpServletResponse.setContentType(MetricsHandler.PROMETHEUS_CONTENT_TYPE);
+
+    PrintWriter writer = null;
+    try {
+      writer = httpServletResponse.getWriter();
+      handler.writePrometheus(query, writer);
+    } catch (Exception e) {
+      LOGGER.warn("写入响应失败", e);
+    } finally {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+  }
+
   /**
    * 从Query String解析参数（GET请求）
    * 
@@ -248,6 +399,8 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
 
   /**
    * 从JSON Body解析参数（POST请求）
+   * 字段值为对象或数组时（如批量命令的 experiments）保留其 JSON 文本，
+   * Body 本身为数组时作为 experiments 参数
    * 
    * @param httpServletRequest HTTP请求对象
    * @return Request对象
@@ -255,13 +408,22 @@ public class SandboxModule implements Module, ModuleLifecycle, LoadCompleted {
    */
   private Request getRequestFromBody(HttpServletRequest httpServletRequest) throws IOException {
     ServletInputStream inputStream = httpServletRequest.getInputStream();
-    
-    MapType mapType = TypeFactory.defaultInstance()
-        .constructMapType(HashMap.class, String.class, String.class);
-    Map<String, String> parameters = new ObjectMapper().readValue(inputStream, mapType);
+    JsonNode body = JsonUtil.reader().readTree(inputStream);
     
     Request request = new Request();
-    request.addParams(parameters);
+    if (body == null || body.isMissingNode()) {
+      return request;
+    }
+    if (body.isArray()) {
+      request.addParam("experiments", body.toString());
+      return request;
+    }
+    if (!body.isObject()) {
+      throw new IOException("JSON 请求体必须是对象或数组");
+    }
+    for (Map.Entry<String, String> param : Handler.toParams(body).entrySet()) {
+      request.addParam(param.getKey(), param.getValue());
+    }
     return request;
   }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.async;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.jvm.sandbox.api.event.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncDelays - 异步结果的非阻塞延迟
+ *
+ * [改造说明]
+ * 异步调用点（OkHttp enqueue、CompletableFuture、Dubbo 异步结果）上的延迟不再 sleep 调用线程，
+ * 而是推迟结果的完成时间，到期由 DelayTimer 触发：
+ * 1. 回调参数：把 okhttp3.Callback / org.apache.http.concurrent.FutureCallback 参数替换为代理，
+ *    回调方法经 DelayTimer 延迟后再转发给原回调
+ * 2. 返回值：方法返回 CompletableFuture 时替换为延迟完成的新 CompletableFuture
+ *
+ * 只替换类型完全一致的对象（返回值必须正好是 CompletableFuture），避免调用方类型转换失败
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class AsyncDelays {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDelays.class);
+
+    /** 异步延迟需要监听的事件，THROWS 用于清理未返回的登记 */
+    public static final Event.Type[] EVENT_TYPES = {
+        Event.Type.BEFORE, Event.Type.RETURN, Event.Type.THROWS
+    };
+
+    /** 支持延迟的回调接口 */
+    private static final Set<String> CALLBACK_INTERFACES = new HashSet<>(Arrays.asList(
+        "okhttp3.Callback",
+        "org.apache.http.concurrent.FutureCallback"
+    ));
+
+    /** 参数类型 -> 实现的回调接口，不是回调时为 null */
+    private static final ClassValue<Class<?>> CALLBACK_TYPES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            return findCallbackInterface(type);
+        }
+    };
+
+    private AsyncDelays() {
+    }
+
+    /**
+     * 把方法参数中的回调替换为延迟转发的代理
+     *
+     * @param model       执行上下文
+     * @param delayMillis 延迟时间（毫秒）
+     * @return 是否替换了至少一个回调
+     */
+    public static boolean deferCallbacks(EnhancerModel model, long delayMillis) {
+        Object[] arguments = model.getArguments();
+        if (arguments == null) {
+            return false;
+        }
+        boolean deferred = false;
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            if (argument == null || (Proxy.isProxyClass(argument.getClass())
+                    && Proxy.getInvocationHandler(argument) instanceof DelayedCallback)) {
+                continue;
+            }
+            Class<?> callbackType = CALLBACK_TYPES.get(argument.getClass());
+            if (callbackType == null) {
+                continue;
+            }
+            Object proxy = Proxy.newProxyInstance(callbackType.getClassLoader(),
+                    new Class<?>[]{callbackType}, new DelayedCallback(argument, delayMillis));
+            model.changeArgument(i, proxy);
+            deferred = true;
+        }
+        return deferred;
+    }
+
+    /**
+     * 延迟异步返回值的完成
+     *
+     * @param result      方法返回值
+     * @param delayMillis 延迟时间（毫秒）
+     * @return 延迟完成的新返回值，返回值不支持异步延迟时原样返回
+     */
+    @SuppressWarnings("unchecked")
+    public static Object delayResult(Object result, long delayMillis) {
+        if (result == null || result.getClass() != CompletableFuture.class) {
+            return result;
+        }
+        return delay((CompletableFuture<Object>) result, delayMillis);
+    }
+
+    /**
+     * 返回一个在源 future 完成后再延迟指定时间完成的新 future，不阻塞任何线程
+     *
+     * @param source      源 future
+     * @param delayMillis 延迟时间（毫秒）
+     * @param <T>         结果类型
+     * @return 延迟完成的 future
+     */
+    public static <T> CompletableFuture<T> delay(CompletableFuture<T> source, final long delayMillis) {
+        final CompletableFuture<T> delayed = new CompletableFuture<>();
+        source.whenComplete((value, error) -> DelayTimer.schedule(() -> {
+            if (error != null) {
+                delayed.completeExceptionally(error);
+            } else {
+                delayed.complete(value);
+            }
+        }, delayMillis));
+        return delayed;
+    }
+
+    private static Class<?> findCallbackInterface(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> candidate : current.getInterfaces()) {
+                Class<?> found = matchInterface(candidate);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> matchInterface(Class<?> candidate) {
+        if (CALLBACK_INTERFACES.contains(candidate.getName())) {
+            return candidate;
+        }
+        for (Class<?> parent : candidate.getInterfaces()) {
+            Class<?> found = matchInterface(parent);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 延迟转发回调方法的代理，Object 自身的方法直接转发
+     */
+    private static final class DelayedCallback implements InvocationHandler {
+
+        private final Object delegate;
+
+        private final long delayMillis;
+
+        DelayedCallback(Object delegate, long delayMillis) {
+            this.delegate = delegate;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public Object invoke(Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                if ("equals".equals(method.getName())) {
+                    return proxy == args[0];
+                }
+                return method.invoke(delegate, args);
+            }
+            DelayTimer.schedule(() -> {
+                try {
+                    method.invoke(delegate, args);
+                } catch (InvocationTargetException e) {
+                    logger.warn("[异步延迟] 回调执行失败: {}.{}", delegate.getClass().getName(),
+                            method.getName(), e.getCause());
+                } catch (Exception e) {
+                    logger.warn("[异步延迟] 回调转发失败: {}.{}", delegate.getClass().getName(),
+                            method.getName(), e);
+                }
+            }, delayMillis);
+            return null;
+        }
+    }
+}
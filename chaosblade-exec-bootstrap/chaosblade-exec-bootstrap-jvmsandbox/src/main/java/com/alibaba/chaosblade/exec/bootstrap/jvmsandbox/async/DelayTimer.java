@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.async;
+
+import com.alibaba.chaosblade.exec.common.context.HashedWheelTimer;
+import com.alibaba.chaosblade.exec.common.context.Timeout;
+import com.alibaba.chaosblade.exec.common.context.TimerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DelayTimer - 异步延迟共享定时器
+ *
+ * [改造说明]
+ * 异步延迟不再让业务线程 sleep，而是把结果完成/回调投递到时间轮：
+ * 1. 全模块共享一个 HashedWheelTimer（单个守护线程，5ms 刻度）
+ * 2. 时间轮线程只负责到期触发，真正的完成/回调交给模块自己的执行器（有界队列、命名守护线程），
+ *    不占用业务共享的 ForkJoinPool.commonPool()，业务回调也不会阻塞时间轮；
+ *    队列满时由时间轮线程直接执行，以延迟到期精度换取不丢结果
+ * 3. 定时器未启动、已停止或拒绝任务时立即执行，保证结果不会丢失
+ * 4. 模块卸载时停止定时器，未到期的任务立即执行，执行器处理完已投递的任务后退出
+ * 5. 返回时间轮上的 Timeout，调用方可以取消尚未到期的任务（如限时实验被提前销毁）
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class DelayTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DelayTimer.class);
+
+    /** 时间轮刻度（毫秒） */
+    private static final long TICK_MILLIS = 5;
+
+    /** 时间轮槽位数 */
+    private static final int TICKS_PER_WHEEL = 512;
+
+    /** 到期任务执行线程数 */
+    private static final int EXECUTOR_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** 到期任务队列容量 */
+    private static final int EXECUTOR_QUEUE_CAPACITY = 10000;
+
+    private static volatile HashedWheelTimer timer;
+
+    /** 到期任务的执行器，与定时器同时创建和停止 */
+    private static volatile ThreadPoolExecutor executor;
+
+    private DelayTimer() {
+    }
+
+    /**
+     * 创建定时器，工作线程在第一次投递任务时才启动，重复调用无副作用
+     */
+    public static synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        timer = new HashedWheelTimer(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ChaosBlade-DelayTimer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }, TICK_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+        final AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(EXECUTOR_THREADS, EXECUTOR_THREADS,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(EXECUTOR_QUEUE_CAPACITY),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable,
+                                "ChaosBlade-DelayTimer-Executor-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+        logger.info("[异步延迟定时器] 已创建，刻度: {}ms，执行线程数: {}", TICK_MILLIS, EXECUTOR_THREADS);
+    }
+
+    /**
+     * 停止定时器，未到期的任务立即执行
+     */
+    public static synchronized void stop() {
+        HashedWheelTimer current = timer;
+        if (current == null) {
+            return;
+        }
+        timer = null;
+        Set<Timeout> unprocessed = current.stop();
+        for (Timeout timeout : unprocessed) {
+            try {
+                timeout.task().run(timeout);
+            } catch (Throwable e) {
+                logger.warn("[异步延迟定时器] 执行未到期任务失败", e);
+            }
+        }
+        // 已投递的任务继续执行完，之后投递的任务被拒绝并在调用线程执行
+        executor.shutdown();
+        executor = null;
+        logger.info("[异步延迟定时器] 已停止，提前执行任务数: {}", unprocessed.size());
+    }
+
+    /**
+     * 延迟执行任务，不阻塞调用线程
+     *
+     * @param task        到期后执行的任务
+     * @param delayMillis 延迟时间（毫秒）
+     * @return 时间轮上的任务，已立即执行时返回 null
+     */
+    public static Timeout schedule(final Runnable task, long delayMillis) {
+        HashedWheelTimer current = timer;
+        if (current != null && delayMillis > 0) {
+            try {
+                return current.newTimeout(new TimerTask() {
+                    @Override
+                    public void run(Timeout timeout) {
+                        execute(task);
+                    }
+                }, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (IllegalStateException e) {
+                logger.debug("[异步延迟定时器] 定时器已停止，立即执行");
+            } catch (RejectedExecutionException e) {
+                logger.debug("[异步延迟定时器] 定时器拒绝任务，立即执行");
+            }
+        }
+        execute(task);
+        return null;
+    }
+
+    private static void execute(Runnable task) {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            task.run();
+            return;
+        }
+        try {
+            current.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config;
+
+import java.util.Map;
+
+/**
+ * ConfigParser - 实验参数解析工具
+ *
+ * [改造说明]
+ * 供各类实验配置在创建时解析参数使用，非法参数统一抛出 IllegalArgumentException，
+ * 由 CreateHandler 转换为 ILLEGAL_PARAMETER 响应
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class ConfigParser {
+
+    private ConfigParser() {
+    }
+
+    /**
+     * 获取字符串参数
+     *
+     * @param params 参数表，可为 null
+     * @param key    参数名
+     * @return 参数值，未设置或为空字符串时返回 null
+     */
+    public static String getString(Map<String, String> params, String key) {
+        if (params == null) {
+            return null;
+        }
+        String value = params.get(key);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 获取必填的字符串参数
+     *
+     * @param params 参数表
+     * @param key    参数名
+     * @return 参数值
+     * @throws IllegalArgumentException 参数缺失
+     */
+    public static String getRequiredString(Map<String, String> params, String key) {
+        String value = getString(params, key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required parameter: " + key);
+        }
+        return value;
+    }
+
+    /**
+     * 获取非负 long 参数
+     *
+     * @param params       参数表
+     * @param key          参数名
+     * @param defaultValue 未设置时的默认值
+     * @return 参数值
+     * @throws IllegalArgumentException 参数不是非负整数
+     */
+    public static long getNonNegativeLong(Map<String, String> params, String key, long defaultValue) {
+        String value = getString(params, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        long parsed;
+        try {
+            parsed = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Illegal " + key + " parameter: " + value);
+        }
+        if (parsed < 0) {
+            throw new IllegalArgumentException("Illegal " + key + " parameter, must not be negative: " + value);
+        }
+        return parsed;
+    }
+
+    /**
+     * 获取 int 参数
+     *
+     * @param params       参数表
+     * @param key          参数名
+     * @param defaultValue 未设置时的默认值
+     * @return 参数值
+     * @throws IllegalArgumentException 参数不是整数
+     */
+    public static int getInt(Map<String, String> params, String key, int defaultValue) {
+        String value = getString(params, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Illegal " + key + " parameter: " + value);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config;
+
+import com.alibaba.chaosblade.exec.common.model.action.delay.LatencyDistribution;
+import com.alibaba.chaosblade.exec.common.model.action.delay.LatencyDistributions;
+
+import java.util.Map;
+
+/**
+ * DelayConfig - 延迟实验配置
+ *
+ * [改造说明]
+ * 创建实验时解析一次，运行期只读 final 字段
+ *
+ * 参数：
+ * - time: 延迟时间（毫秒）
+ * - offset: 随机偏移量（毫秒，可选）
+ * - distribution: 延迟分布（可选），fixed / uniform / normal / lognormal / pareto / empirical，
+ *   对应参数 stddev、sigma、alpha、percentiles、max，详见 LatencyDistributions
+ * - mode: 延迟方式（可选），sync（默认，阻塞调用线程）/ async（推迟异步结果完成，不阻塞线程）
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class DelayConfig {
+
+    public static final String MODE_KEY = "mode";
+    public static final String MODE_SYNC = "sync";
+    public static final String MODE_ASYNC = "async";
+
+    /** 延迟分布 */
+    private final LatencyDistribution distribution;
+
+    /** 是否异步延迟 */
+    private final boolean async;
+
+    public DelayConfig(LatencyDistribution distribution) {
+        this(distribution, false);
+    }
+
+    public DelayConfig(LatencyDistribution distribution, boolean async) {
+        this.distribution = distribution;
+        this.async = async;
+    }
+
+    /**
+     * 解析延迟参数
+     *
+     * @param params 实验参数
+     * @return 延迟配置
+     * @throws IllegalArgumentException 参数缺失或非法
+     */
+    public static DelayConfig parse(Map<String, String> params) {
+        String mode = ConfigParser.getString(params, MODE_KEY);
+        boolean async = false;
+        if (mode != null) {
+            mode = mode.trim().toLowerCase();
+            if (MODE_ASYNC.equals(mode)) {
+                async = true;
+            } else if (!MODE_SYNC.equals(mode)) {
+                throw new IllegalArgumentException("Illegal " + MODE_KEY + " parameter, expect "
+                        + MODE_SYNC + " or " + MODE_ASYNC + ": " + mode);
+            }
+        }
+        return new DelayConfig(LatencyDistributions.parse(params), async);
+    }
+
+    /**
+     * 采样本次实际延迟时间，不分配对象
+     *
+     * @return 实际延迟时间（毫秒）
+     */
+    public long nextDelay() {
+        return distribution.sample();
+    }
+
+    public LatencyDistribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * 是否异步延迟：推迟异步结果（回调、CompletableFuture）的完成，不阻塞调用线程
+     *
+     * @return 是否异步延迟
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    @Override
+    public String toString() {
+        return "DelayConfig{distribution=" + distribution + ", async=" + async + '}';
+    }
+}
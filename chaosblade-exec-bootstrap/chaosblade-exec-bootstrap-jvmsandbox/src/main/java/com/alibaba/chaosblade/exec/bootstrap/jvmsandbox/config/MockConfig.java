@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config;
+
+import java.util.Map;
+
+/**
+ * MockConfig - 返回值 Mock 实验配置
+ *
+ * [改造说明]
+ * 创建实验时完成类型转换，运行期直接返回转换后的值
+ *
+ * 参数：
+ * - value: Mock返回值（字符串形式）
+ * - type: 返回值类型（可选，默认String）
+ *   支持：String, int, long, boolean, double, float, null
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class MockConfig {
+
+    public static final String VALUE_KEY = "value";
+    public static final String TYPE_KEY = "type";
+
+    /** 转换后的返回值 */
+    private final Object value;
+
+    /** 返回值类型 */
+    private final String valueType;
+
+    private MockConfig(Object value, String valueType) {
+        this.value = value;
+        this.valueType = valueType;
+    }
+
+    /**
+     * 解析 Mock 参数
+     *
+     * @param params        实验参数
+     * @param valueKey      返回值参数名
+     * @param valueRequired 返回值是否必填
+     * @return Mock 配置
+     * @throws IllegalArgumentException 参数缺失、类型未知或值无法转换
+     */
+    public static MockConfig parse(Map<String, String> params, String valueKey, boolean valueRequired) {
+        String rawValue = valueRequired
+                ? ConfigParser.getRequiredString(params, valueKey)
+                : params == null ? null : params.get(valueKey);
+        String type = ConfigParser.getString(params, TYPE_KEY);
+        if (type == null) {
+            type = "String";
+        }
+        return new MockConfig(convert(rawValue, type), type);
+    }
+
+    /**
+     * 转换Mock值为目标类型
+     */
+    private static Object convert(String rawValue, String type) {
+        if (rawValue == null) {
+            return null;
+        }
+        try {
+            switch (type.toLowerCase()) {
+                case "string":
+                    return rawValue;
+                case "int":
+                case "integer":
+                    return Integer.parseInt(rawValue);
+                case "long":
+                    return Long.parseLong(rawValue);
+                case "boolean":
+                    return Boolean.parseBoolean(rawValue);
+                case "double":
+                    return Double.parseDouble(rawValue);
+                case "float":
+                    return Float.parseFloat(rawValue);
+                case "null":
+                    return null;
+                default:
+                    throw new IllegalArgumentException("Unknown mock value type: " + type);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cannot convert mock value " + rawValue + " to type " + type);
+        }
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public String getValueType() {
+        return valueType;
+    }
+
+    @Override
+    public String toString() {
+        return "MockConfig{value=" + value + ", type=" + valueType + '}';
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+
+/**
+ * ThrowsConfig - 异常实验配置
+ *
+ * [改造说明]
+ * 创建实验时解析一次：
+ * 1. 异常类能被模块 ClassLoader 加载时（如 JDK 异常），创建时即完成类型校验和构造器查找
+ * 2. 业务自定义异常在首次注入时通过目标类的 ClassLoader 加载，结果缓存，之后不再反射查找
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class ThrowsConfig {
+
+    public static final String EXCEPTION_KEY = "exception";
+
+    /** 异常类名 */
+    private final String exceptionClassName;
+
+    /** 异常消息，null 表示优先使用无参构造器 */
+    private final String exceptionMessage;
+
+    /** 已解析的异常构造器 */
+    private volatile Constructor<?> constructor;
+
+    /** 构造器是否接收消息参数 */
+    private volatile boolean withMessage;
+
+    private ThrowsConfig(String exceptionClassName, String exceptionMessage) {
+        this.exceptionClassName = exceptionClassName;
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    /**
+     * 解析异常参数
+     *
+     * @param params           实验参数
+     * @param messageKey       异常消息参数名
+     * @param defaultClassName 未指定异常类时的默认值，为 null 表示必填
+     * @param defaultMessage   未指定异常消息时的默认值，可为 null
+     * @return 异常配置
+     * @throws IllegalArgumentException 参数缺失或指定的类不是 Throwable
+     */
+    public static ThrowsConfig parse(Map<String, String> params, String messageKey,
+                                     String defaultClassName, String defaultMessage) {
+        String className = ConfigParser.getString(params, EXCEPTION_KEY);
+        if (className == null) {
+            if (defaultClassName == null) {
+                throw new IllegalArgumentException("Missing required parameter: " + EXCEPTION_KEY);
+            }
+            className = defaultClassName;
+        }
+        String message = ConfigParser.getString(params, messageKey);
+        if (message == null) {
+            message = defaultMessage;
+        }
+
+        ThrowsConfig config = new ThrowsConfig(className.trim(), message);
+        Class<?> exceptionClass;
+        try {
+            exceptionClass = Class.forName(config.exceptionClassName, false, ThrowsConfig.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            // 业务自定义异常，留到首次注入时用目标类的 ClassLoader 加载
+            return config;
+        }
+        config.resolve(exceptionClass);
+        return config;
+    }
+
+    /**
+     * 创建异常实例
+     *
+     * @param classLoader 目标类的 ClassLoader，用于加载业务自定义异常
+     * @return 异常实例
+     * @throws IllegalStateException 异常类无法加载或实例化
+     */
+    public Throwable newThrowable(ClassLoader classLoader) {
+        Constructor<?> resolved = constructor;
+        if (resolved == null) {
+            try {
+                resolve(Class.forName(exceptionClassName, true, classLoader));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Exception class not found: " + exceptionClassName, e);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            resolved = constructor;
+        }
+        try {
+            return withMessage
+                    ? (Throwable) resolved.newInstance(exceptionMessage)
+                    : (Throwable) resolved.newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create exception: " + exceptionClassName, e);
+        }
+    }
+
+    /**
+     * 校验异常类型并查找构造器：有消息时优先 (String)，否则优先无参构造器
+     */
+    private void resolve(Class<?> exceptionClass) {
+        if (!Throwable.class.isAssignableFrom(exceptionClass)) {
+            throw new IllegalArgumentException("Class " + exceptionClassName + " is not a Throwable");
+        }
+        Constructor<?> messageConstructor = findConstructor(exceptionClass, String.class);
+        Constructor<?> defaultConstructor = findConstructor(exceptionClass);
+        boolean useMessage = exceptionMessage != null ? messageConstructor != null : defaultConstructor == null;
+        Constructor<?> resolved = useMessage ? messageConstructor : defaultConstructor;
+        if (resolved == null) {
+            throw new IllegalArgumentException("No public constructor found for exception class: " + exceptionClassName);
+        }
+        this.withMessage = useMessage;
+        this.constructor = resolved;
+    }
+
+    private static Constructor<?> findConstructor(Class<?> clazz, Class<?>... parameterTypes) {
+        try {
+            return clazz.getConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+
+    public String getExceptionMessage() {
+        return exceptionMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "ThrowsConfig{exception=" + exceptionClassName + ", message=" + exceptionMessage + '}';
+    }
+}
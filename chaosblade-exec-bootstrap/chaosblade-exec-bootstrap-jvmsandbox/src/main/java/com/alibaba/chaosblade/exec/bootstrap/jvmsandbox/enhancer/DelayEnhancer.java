@@ -17,8 +17,10 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.async.AsyncDelays;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.DelayConfig;
+import com.alibaba.jvm.sandbox.api.event.Event;
 
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,35 +28,53 @@ import java.util.concurrent.TimeUnit;
  * 
  * [改造说明]
  * 简化版本的延迟注入，在方法执行前休眠指定时间
+ * 延迟参数在创建实验时解析为 DelayConfig
+ * 
+ * mode=async 时不阻塞调用线程：
+ * - 参数中有 OkHttp / HttpClient 回调时，回调延迟转发
+ * - 否则登记本次调用，方法返回 CompletableFuture 时替换为延迟完成的 future
+ * - 其他返回值不做注入
 
  * @author rakkaus
  * @since 1.8.0
  */
 public class DelayEnhancer extends Enhancer {
     
-    /** 延迟时间（毫秒） */
-    private long delayTime = 0;
-    
-    /** 时间偏移量（毫秒） */
-    private int offset = 0;
+    /** 延迟配置 */
+    private DelayConfig delayConfig;
     
     @Override
     public String getName() {
         return "delay";
     }
     
+    @Override
+    public void compile() {
+        delayConfig = DelayConfig.parse(params);
+    }
+    
+    @Override
+    public Event.Type[] getEventTypes() {
+        return delayConfig.isAsync() ? AsyncDelays.EVENT_TYPES : super.getEventTypes();
+    }
+    
     @Override
     public void enhance(EnhancerModel model) throws Exception {
-        // 1. 解析延迟参数
-        parseParams();
+        if (delayConfig.isAsync()) {
+            enhanceAsync(model);
+            return;
+        }
+        
+        // 1. 预占执行次数，达到限制时不注入
+        if (!tryAcquire()) {
+            return;
+        }
         
         // 2. 计算实际延迟时间（加上随机偏移）
-        long actualDelay = calculateActualDelay();
+        long actualDelay = delayConfig.nextDelay();
         
-        // 3. 执行延迟
-        logger.info("[延迟增强器] 开始延迟: {}ms (基础: {}ms, 偏移: {}ms) 用于 {}#{}",
-                actualDelay, delayTime, offset, 
-                model.getClassName(), model.getMethodName());
+        // 3. 记录注入事件（异步输出）并执行延迟
+        recordInjection(model, getName(), actualDelay, null);
         
         try {
             TimeUnit.MILLISECONDS.sleep(actualDelay);
@@ -62,11 +82,39 @@ public class DelayEnhancer extends Enhancer {
             logger.warn("[延迟增强器] 延迟被中断", e);
             Thread.currentThread().interrupt();
         }
-        
-        logger.info("[延迟增强器] 延迟完成");
-        
-        // 4. 增加执行计数
-        increaseCount();
+    }
+    
+    /**
+     * 异步延迟：回调参数立即替换，返回值留到 onReturn() 处理
+     */
+    private void enhanceAsync(EnhancerModel model) {
+        if (!tryAcquire()) {
+            return;
+        }
+        long actualDelay = delayConfig.nextDelay();
+        if (AsyncDelays.deferCallbacks(model, actualDelay)) {
+            recordInjection(model, getName(), actualDelay, "callback");
+            return;
+        }
+        // 没有回调参数，返回时再按返回值决定是否注入
+        releaseCount();
+        model.awaitReturn();
+    }
+    
+    @Override
+    public Object onReturn(EnhancerModel model, Object returnValue) {
+        if (!tryAcquire()) {
+            return returnValue;
+        }
+        long actualDelay = delayConfig.nextDelay();
+        Object delayed = AsyncDelays.delayResult(returnValue, actualDelay);
+        if (delayed == returnValue) {
+            releaseCount();
+            logger.debug("[延迟增强器] 返回值不支持异步延迟，跳过增强");
+            return returnValue;
+        }
+        recordInjection(model, getName(), actualDelay, "future");
+        return delayed;
     }
     
     @Override
@@ -90,67 +138,6 @@ public class DelayEnhancer extends Enhancer {
         
         return true;
     }
-    
-    /**
-     * 解析延迟参数
-     */
-    private void parseParams() {
-        if (params == null) {
-            logger.warn("[延迟增强器] 参数为空，使用默认延迟: 0ms");
-            return;
-        }
-        
-        // 解析延迟时间
-        String timeStr = params.get("time");
-        if (timeStr != null && !timeStr.isEmpty()) {
-            try {
-                delayTime = Long.parseLong(timeStr);
-            } catch (NumberFormatException e) {
-                logger.error("[延迟增强器] 无效的时间参数: {}", timeStr);
-                delayTime = 0;
-            }
-        }
-        
-        // 解析偏移量
-        String offsetStr = params.get("offset");
-        if (offsetStr != null && !offsetStr.isEmpty()) {
-            try {
-                offset = Integer.parseInt(offsetStr);
-            } catch (NumberFormatException e) {
-                logger.error("[延迟增强器] 无效的偏移量参数: {}", offsetStr);
-                offset = 0;
-            }
-        }
-    }
-    
-    /**
-     * 计算实际延迟时间（加上随机偏移）
-     * 
-     * @return 实际延迟时间（毫秒）
-     */
-    private long calculateActualDelay() {
-        if (offset <= 0) {
-            return delayTime;
-        }
-        
-        Random random = new Random();
-        int randomOffset = random.nextInt(offset);
-        
-        // 50%概率增加，50%概率减少
-        long actualDelay;
-        if (randomOffset % 2 == 0) {
-            actualDelay = delayTime + randomOffset;
-        } else {
-            actualDelay = delayTime - randomOffset;
-        }
-        
-        // 确保延迟时间不为负数
-        if (actualDelay <= 0) {
-            actualDelay = offset;
-        }
-        
-        return actualDelay;
-    }
 }
 
 
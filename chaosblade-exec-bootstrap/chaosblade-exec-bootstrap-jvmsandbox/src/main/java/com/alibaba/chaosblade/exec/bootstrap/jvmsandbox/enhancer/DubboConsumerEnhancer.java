@@ -17,6 +17,7 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.jvm.sandbox.api.ProcessControlException;
 import com.alibaba.jvm.sandbox.api.event.Event;
 
 /**
@@ -157,26 +158,16 @@ public class DubboConsumerEnhancer extends DubboEnhancer {
                             String serviceName, 
                             String methodName, 
                             int timeout) throws Exception {
-        if (params == null) {
-            logger.warn("Dubbo 消费者端参数为空，跳过增强");
-            return;
-        }
-        
-        String action = params.get("action");
-        if (action == null || action.isEmpty()) {
-            logger.warn("Dubbo 消费者端 action 为空，跳过增强");
-            return;
-        }
-        
-        logger.info("Dubbo 消费者端增强: 服务={}, 方法={}, 动作={}, 超时={}ms", 
+        String action = dubboAction;
+        logger.debug("Dubbo 消费者端增强: 服务={}, 方法={}, 动作={}, 超时={}ms", 
                     serviceName, methodName, action, timeout);
         
         // 根据 action 执行不同的增强逻辑
         switch (action) {
-            case "delay":
+            case ACTION_DELAY:
                 doDelay(enhancerModel, serviceName, methodName);
                 break;
-            case "throws":
+            case ACTION_THROWS:
                 doThrows(enhancerModel, serviceName, methodName);
                 break;
             default:
@@ -185,25 +176,16 @@ public class DubboConsumerEnhancer extends DubboEnhancer {
     }
     
     /**
-     * 执行延迟注入
+     * 执行延迟注入，mode=async 时推迟到方法返回时处理
      */
     private void doDelay(EnhancerModel enhancerModel, String serviceName, String methodName) throws Exception {
-        String timeStr = params.get("time");
-        if (timeStr == null || timeStr.isEmpty()) {
-            logger.warn("未指定延迟时间，跳过延迟");
+        if (deferDelay(enhancerModel)) {
             return;
         }
         
-        long delayTime;
-        try {
-            delayTime = Long.parseLong(timeStr);
-        } catch (NumberFormatException e) {
-            logger.warn("无效的延迟时间: {}，跳过延迟", timeStr);
-            return;
-        }
+        long delayTime = delayConfig.nextDelay();
         
-        logger.info("Dubbo 消费者端延迟: {}ms 用于 服务={}, 方法={}", 
-                    delayTime, serviceName, methodName);
+        recordInjection(enhancerModel, ACTION_DELAY, delayTime, serviceName);
         
         try {
             Thread.sleep(delayTime);
@@ -214,37 +196,15 @@ public class DubboConsumerEnhancer extends DubboEnhancer {
     }
     
     /**
-     * 执行异常注入
+     * 执行异常注入，异常创建完成后才记录注入，通过 ProcessControlException 抛给调用方
      */
     private void doThrows(EnhancerModel enhancerModel, String serviceName, String methodName) throws Exception {
-        String exceptionClass = params.get("exception");
-        String exceptionMessage = params.get("exceptionMessage");
+        Exception exception = createException(enhancerModel);
         
-        if (exceptionClass == null || exceptionClass.isEmpty()) {
-            logger.warn("未指定异常类，跳过异常注入");
-            return;
-        }
-        
-        logger.info("Dubbo 消费者端抛出异常: {} 用于 服务={}, 方法={}", 
-                    exceptionClass, serviceName, methodName);
-        
-        // 创建异常对象
-        Exception exception;
-        try {
-            Class<?> exceptionType = Class.forName(exceptionClass);
-            if (exceptionMessage != null && !exceptionMessage.isEmpty()) {
-                exception = (Exception) exceptionType.getConstructor(String.class)
-                    .newInstance(exceptionMessage);
-            } else {
-                exception = (Exception) exceptionType.getConstructor().newInstance();
-            }
-        } catch (Exception e) {
-            logger.error("创建异常失败: {}", exceptionClass, e);
-            exception = new RuntimeException("ChaosBlade: " + exceptionClass + 
-                (exceptionMessage != null ? ": " + exceptionMessage : ""));
-        }
+        recordInjection(enhancerModel, ACTION_THROWS, 0, exception.getClass().getName());
         
-        throw exception;
+        // ProcessControlException 必须向上传播，由 Sandbox 在目标方法处抛出异常
+        ProcessControlException.throwThrowsImmediately(exception);
     }
 }
 
@@ -17,11 +17,18 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.async.AsyncDelays;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.ConfigParser;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.DelayConfig;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.MockConfig;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.ThrowsConfig;
+import com.alibaba.jvm.sandbox.api.ProcessControlException;
 import com.alibaba.jvm.sandbox.api.event.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Dubbo RPC 增强器基类
@@ -36,6 +43,12 @@ import java.lang.reflect.Method;
  * - Consumer 端：拦截 Proxy 调用，模拟调用失败、延迟等
  * - Provider 端：拦截 Service 实现，模拟服务异常、延迟等
  * 
+ * 参数在创建实验时按 action 解析为对应的 DelayConfig / ThrowsConfig / MockConfig
+ * 
+ * 延迟 mode=async 时不阻塞 Dubbo 线程，在方法返回时推迟结果完成：
+ * - 返回值是 CompletableFuture（异步服务实现）时替换为延迟完成的 future
+ * - 返回值是 AsyncRpcResult（Dubbo 2.7+）时替换其 responseFuture
+ * 
  * @author rakkaus
  * @since 1.8.0
  */
@@ -52,6 +65,154 @@ public abstract class DubboEnhancer extends Enhancer {
     
     // 默认超时时间（毫秒）
     protected static final int DEFAULT_TIMEOUT = 3000;
+    
+    // 支持的动作
+    protected static final String ACTION_DELAY = "delay";
+    protected static final String ACTION_THROWS = "throws";
+    protected static final String ACTION_MOCK = "mock";
+    
+    /** 故障动作 */
+    protected String dubboAction;
+    
+    /** 延迟配置（action=delay） */
+    protected DelayConfig delayConfig;
+    
+    /** 异常配置（action=throws） */
+    protected ThrowsConfig throwsConfig;
+    
+    /** Mock 配置（action=mock） */
+    protected MockConfig mockConfig;
+    
+    /** 结果类型 -> {getResponseFuture, setResponseFuture}，不支持时为 null */
+    private static final ClassValue<Method[]> RESPONSE_FUTURE_ACCESSORS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            try {
+                Method getter = type.getMethod("getResponseFuture");
+                Method setter = type.getMethod("setResponseFuture", CompletableFuture.class);
+                return getter.getReturnType() == CompletableFuture.class ? new Method[]{getter, setter} : null;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    @Override
+    public void compile() {
+        String action = ConfigParser.getRequiredString(params, "action");
+        if (!isActionSupported(action)) {
+            throw new IllegalArgumentException("Unsupported action for " + getName() + ": " + action);
+        }
+        if (ACTION_DELAY.equals(action)) {
+            delayConfig = DelayConfig.parse(params);
+        } else if (ACTION_THROWS.equals(action)) {
+            throwsConfig = ThrowsConfig.parse(params, "exceptionMessage", null, null);
+        } else if (ACTION_MOCK.equals(action)) {
+            mockConfig = MockConfig.parse(params, "returnValue", true);
+        }
+        dubboAction = action;
+    }
+    
+    @Override
+    public Event.Type[] getEventTypes() {
+        return isAsyncDelay() ? AsyncDelays.EVENT_TYPES : super.getEventTypes();
+    }
+    
+    /**
+     * 是否为异步延迟实验
+     * 
+     * @return action=delay 且 mode=async
+     */
+    protected boolean isAsyncDelay() {
+        return delayConfig != null && delayConfig.isAsync();
+    }
+    
+    /**
+     * 异步延迟：登记本次调用，延迟在 onReturn() 中作用于返回结果
+     * 
+     * @param enhancerModel 增强模型
+     * @return 是否已按异步延迟处理，false 表示调用方应同步延迟
+     */
+    protected boolean deferDelay(EnhancerModel enhancerModel) {
+        if (!isAsyncDelay()) {
+            return false;
+        }
+        enhancerModel.awaitReturn();
+        return true;
+    }
+    
+    @Override
+    public Object onReturn(EnhancerModel enhancerModel, Object returnValue) throws Exception {
+        if (!tryAcquire()) {
+            return returnValue;
+        }
+        long delayTime = delayConfig.nextDelay();
+        Object delayed = AsyncDelays.delayResult(returnValue, delayTime);
+        if (delayed == returnValue && !delayResponseFuture(returnValue, delayTime)) {
+            releaseCount();
+            logger.debug("Dubbo 返回结果不支持异步延迟: {}", 
+                        returnValue == null ? null : returnValue.getClass().getName());
+            return returnValue;
+        }
+        recordInjection(enhancerModel, ACTION_DELAY, delayTime, "async");
+        return delayed;
+    }
+    
+    /**
+     * 替换 AsyncRpcResult 的 responseFuture 为延迟完成的 future
+     * 
+     * @param result    Dubbo 调用结果
+     * @param delayTime 延迟时间（毫秒）
+     * @return 是否替换成功
+     * @throws Exception 反射调用失败
+     */
+    @SuppressWarnings("unchecked")
+    private boolean delayResponseFuture(Object result, long delayTime) throws Exception {
+        if (result == null) {
+            return false;
+        }
+        Method[] accessors = RESPONSE_FUTURE_ACCESSORS.get(result.getClass());
+        if (accessors == null) {
+            return false;
+        }
+        Object future = accessors[0].invoke(result);
+        if (!(future instanceof CompletableFuture)) {
+            return false;
+        }
+        accessors[1].invoke(result, AsyncDelays.delay((CompletableFuture<Object>) future, delayTime));
+        return true;
+    }
+    
+    /**
+     * 是否支持指定的故障动作
+     * 
+     * @param action 动作名称
+     * @return 是否支持
+     */
+    protected boolean isActionSupported(String action) {
+        return ACTION_DELAY.equals(action) || ACTION_THROWS.equals(action);
+    }
+    
+    /**
+     * 按异常配置创建异常，无法创建时退化为 RuntimeException
+     * 
+     * @param enhancerModel 增强模型，用于加载业务自定义异常
+     * @return 待抛出的异常
+     */
+    protected Exception createException(EnhancerModel enhancerModel) {
+        String exceptionMessage = throwsConfig.getExceptionMessage();
+        try {
+            Throwable throwable = throwsConfig.newThrowable(enhancerModel.getClassLoader());
+            if (throwable instanceof Exception) {
+                return (Exception) throwable;
+            }
+            return new RuntimeException(throwable);
+        } catch (IllegalStateException e) {
+            logger.error("创建异常失败: {}", throwsConfig.getExceptionClassName(), e);
+            return new RuntimeException("ChaosBlade: " + throwsConfig.getExceptionClassName() + 
+                (exceptionMessage != null ? ": " + exceptionMessage : ""));
+        }
+    }
 
     @Override
     public boolean filter(EnhancerModel enhancerModel) {
@@ -111,12 +272,17 @@ public abstract class DubboEnhancer extends Enhancer {
             logger.debug("Dubbo RPC Call: service={}, method={}, timeout={}ms", 
                         serviceName, methodName, timeout);
             
+            // 预占执行次数（异步延迟在方法返回时预占）
+            if (!isAsyncDelay() && !tryAcquire()) {
+                return;
+            }
+            
             // 执行具体的增强逻辑
             doEnhance(enhancerModel, serviceName, methodName, timeout);
             
-            // 增加执行计数
-            increaseCount();
-            
+        } catch (ProcessControlException e) {
+            // 注入的异常是 Sandbox 的流程控制，不是增强失败
+            throw e;
         } catch (Exception e) {
             logger.error("Dubbo RPC enhancement failed", e);
             throw e;
@@ -17,11 +17,23 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.async.AsyncDelays;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.ConfigParser;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.MockConfig;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.OverheadProfiler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.recorder.RecordPolicy;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule.ArgumentPath;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule.Condition;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule.DecisionTree;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule.Rule;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule.RuleParser;
 import com.alibaba.jvm.sandbox.api.event.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,11 +42,16 @@ import java.util.Map;
  * 根据运行时条件动态选择不同的增强器执行
  *
  * 功能：
- * - 支持根据参数条件动态选择增强器
- * - 支持多种条件匹配（等于、不等于、包含、不包含）
- * - 支持基本类型和字符串匹配
+ * - 支持按有序规则列表分发，第一条命中的规则生效
+ * - 条件可以读取参数及其属性（p0、p1.userId），支持等于、不等于、包含、不包含
+ * - 支持基本类型、枚举和字符串匹配
  * 
  * 参数：
+ * - rules: 有序规则列表（语法见 RuleParser），例如
+ *   p0 == "pay" && p1.userId == 42 -> throws(exception=java.io.IOException); p0 contains "query" -> delay(time=200)
+ *   动作参数覆盖实验参数中的同名参数，未覆盖的参数（如 time、offset、logsample）对所有规则生效
+ * 
+ * 兼容单条件参数（未指定 rules 时使用）：
  * - paramIndex: 参数索引（从 0 开始）
  * - paramValue: 期望的参数值
  * - conditionType: 条件类型（1=等于, 2=不等于, 3=包含, 4=不包含）
@@ -43,6 +60,9 @@ import java.util.Map;
  * - exception: 异常类名（actionType=2 时使用）
  * - time: 延迟时间（actionType=3 时使用）
  * 
+ * 规则在创建实验时编译为 DecisionTree，每条规则的目标增强器实例化一次；
+ * 运行期判定不反射查找、不解析字符串，未命中时不分配对象
+ * 
  * @author rakkaus
  * @since 1.8.0
  */
@@ -50,6 +70,9 @@ public class DynamicDispatcherEnhancer extends Enhancer {
 
     protected static final Logger logger = LoggerFactory.getLogger(DynamicDispatcherEnhancer.class);
     
+    /** 规则参数 */
+    public static final String RULES_KEY = "rules";
+    
     /**
      * 动作类型枚举
      */
@@ -57,160 +80,151 @@ public class DynamicDispatcherEnhancer extends Enhancer {
     private static final int ACTION_TYPE_THROWS = 2;
     private static final int ACTION_TYPE_DELAY = 3;
     
-    /**
-     * 条件类型枚举
-     */
-    private static final int CONDITION_TYPE_EQUAL = 1;
-    private static final int CONDITION_TYPE_NOT_EQUAL = 2;
-    private static final int CONDITION_TYPE_CONTAIN = 3;
-    private static final int CONDITION_TYPE_NOT_CONTAIN = 4;
-    
     /**
      * 动态增强器映射表
      */
-    private static final Map<Integer, Class<? extends Enhancer>> dynamicEnhancerMap = new HashMap<>();
+    private static final Map<String, Class<? extends Enhancer>> dynamicEnhancerMap = new HashMap<>();
     
     static {
-        dynamicEnhancerMap.put(ACTION_TYPE_MOCK, MockEnhancer.class);
-        dynamicEnhancerMap.put(ACTION_TYPE_THROWS, ThrowsEnhancer.class);
-        dynamicEnhancerMap.put(ACTION_TYPE_DELAY, DelayEnhancer.class);
+        dynamicEnhancerMap.put("mock", MockEnhancer.class);
+        dynamicEnhancerMap.put("throws", ThrowsEnhancer.class);
+        dynamicEnhancerMap.put("delay", DelayEnhancer.class);
     }
 
+    /** 编译后的规则 */
+    private DecisionTree decisionTree;
+    
+    /** 规则命中时执行的增强器，下标与规则顺序一致 */
+    private Enhancer[] delegates;
+    
+    /** 需要监听的事件类型 */
+    private Event.Type[] eventTypes;
+
     @Override
     public String getName() {
         return "dynamic-dispatcher";
     }
 
     @Override
-    public boolean filter(EnhancerModel enhancerModel) {
-        // 动态分发增强器的过滤逻辑在 enhance 方法中处理
-        return true;
-    }
-
-    @Override
-    public void enhance(EnhancerModel enhancerModel) throws Exception {
-        try {
-            // 1. 获取参数
-            Map<String, String> params = getParams();
-            if (params == null || params.isEmpty()) {
-                logger.warn("DynamicDispatcher params is empty");
-                return;
-            }
-            
-            // 2. 获取方法参数
-            Object[] methodArguments = enhancerModel.getArguments();
-            if (methodArguments == null || methodArguments.length == 0) {
-                logger.warn("Method arguments is empty");
-                return;
-            }
-            
-            // 3. 获取条件参数
-            String paramIndexStr = params.get("paramIndex");
-            String paramValue = params.get("paramValue");
-            String conditionTypeStr = params.get("conditionType");
-            String actionTypeStr = params.get("actionType");
-            
-            if (paramIndexStr == null || paramValue == null || 
-                conditionTypeStr == null || actionTypeStr == null) {
-                logger.warn("Missing required parameters for DynamicDispatcher");
-                return;
-            }
-            
-            int paramIndex = Integer.parseInt(paramIndexStr);
-            int conditionType = Integer.parseInt(conditionTypeStr);
-            int actionType = Integer.parseInt(actionTypeStr);
-            
-            // 4. 检查参数索引是否有效
-            if (paramIndex < 0 || paramIndex >= methodArguments.length) {
-                logger.warn("Invalid paramIndex: {}, method has {} arguments", 
-                           paramIndex, methodArguments.length);
-                return;
-            }
-            
-            // 5. 获取目标参数值
-            Object targetParam = methodArguments[paramIndex];
-            if (targetParam == null) {
-                logger.warn("Target parameter at index {} is null", paramIndex);
-                return;
-            }
-            
-            String targetValue = String.valueOf(targetParam);
-            logger.debug("DynamicDispatcher checking: targetValue={}, expectedValue={}, conditionType={}", 
-                        targetValue, paramValue, conditionType);
-            
-            // 6. 条件匹配
-            if (!isMatch(targetValue, paramValue, conditionType)) {
-                logger.debug("Condition not matched, skipping enhancement");
-                return;
+    public void compile() {
+        String rulesText = ConfigParser.getString(params, RULES_KEY);
+        List<Rule> rules = rulesText != null ? RuleParser.parse(rulesText) : Collections.singletonList(legacyRule(params));
+        if (pointCut != null) {
+            RuleParser.checkParameterTypes(rules, pointCut.getParameterTypes());
+        }
+        
+        // 创建并编译每条规则的目标增强器
+        Enhancer[] enhancers = new Enhancer[rules.size()];
+        Event.Type[] types = super.getEventTypes();
+        for (int i = 0; i < enhancers.length; i++) {
+            enhancers[i] = createDelegate(rules.get(i));
+            if (enhancers[i].getEventTypes().length > types.length) {
+                types = AsyncDelays.EVENT_TYPES;
             }
-            
-            logger.info("Condition matched! Dispatching to actionType={}", actionType);
-            
-            // 7. 根据 actionType 分发到对应的增强器
-            dispatchToEnhancer(enhancerModel, actionType, params);
-            
-            // 增加执行计数
-            increaseCount();
-            
-        } catch (Exception e) {
-            logger.error("DynamicDispatcher enhancement failed", e);
-            throw e;
         }
+        decisionTree = DecisionTree.compile(rules);
+        delegates = enhancers;
+        eventTypes = types;
+        logger.info("[动态分发增强器] 规则已编译: uid={}, rules={}, tree={}", getUid(), rules, decisionTree);
     }
     
     /**
-     * 条件匹配
-     * 
-     * @param targetValue 目标值
-     * @param expectedValue 期望值
-     * @param conditionType 条件类型
-     * @return 是否匹配
+     * 把单条件参数转换为一条规则
+     * 参数值为 null 时不命中任何条件，与原有行为一致
      */
-    private boolean isMatch(String targetValue, String expectedValue, int conditionType) {
-        switch (conditionType) {
-            case CONDITION_TYPE_EQUAL:
-                return targetValue.equals(expectedValue);
-            case CONDITION_TYPE_NOT_EQUAL:
-                return !targetValue.equals(expectedValue);
-            case CONDITION_TYPE_CONTAIN:
-                return targetValue.contains(expectedValue);
-            case CONDITION_TYPE_NOT_CONTAIN:
-                return !targetValue.contains(expectedValue);
-            default:
-                logger.warn("Unknown condition type: {}", conditionType);
-                return false;
+    static Rule legacyRule(Map<String, String> params) {
+        int paramIndex = ConfigParser.getInt(params, "paramIndex", -1);
+        String paramValue = params == null ? null : params.get("paramValue");
+        int conditionType = ConfigParser.getInt(params, "conditionType", -1);
+        int actionType = ConfigParser.getInt(params, "actionType", -1);
+        
+        if (paramIndex < 0 || paramValue == null) {
+            throw new IllegalArgumentException("Missing or illegal parameters: " + RULES_KEY
+                    + " or paramIndex, paramValue");
+        }
+        if (conditionType < Condition.EQUAL || conditionType > Condition.NOT_CONTAIN) {
+            throw new IllegalArgumentException("Unknown condition type: " + conditionType);
+        }
+        String action = getActionName(actionType);
+        if (!dynamicEnhancerMap.containsKey(action)) {
+            throw new IllegalArgumentException("Unknown action type: " + actionType);
         }
+        ArgumentPath path = ArgumentPath.parse("p" + paramIndex);
+        Condition[] conditions = {
+            new Condition(path, Condition.NOT_EQUAL, null),
+            new Condition(path, conditionType, paramValue)
+        };
+        return new Rule(conditions, action, Collections.<String, String>emptyMap());
     }
     
     /**
-     * 分发到对应的增强器
-     * 
-     * @param enhancerModel 增强模型
-     * @param actionType 动作类型
-     * @param params 参数
-     * @throws Exception 增强失败
+     * 实例化并编译规则的目标增强器，参数为实验参数叠加动作参数
      */
-    private void dispatchToEnhancer(EnhancerModel enhancerModel, 
-                                    int actionType, 
-                                    Map<String, String> params) throws Exception {
-        // 获取对应的增强器类
-        Class<? extends Enhancer> enhancerClass = dynamicEnhancerMap.get(actionType);
+    private Enhancer createDelegate(Rule rule) {
+        Class<? extends Enhancer> enhancerClass = dynamicEnhancerMap.get(rule.getAction());
         if (enhancerClass == null) {
-            logger.warn("Unknown action type: {}", actionType);
-            return;
+            throw new IllegalArgumentException("Unknown action: " + rule.getAction() + ", expect "
+                    + dynamicEnhancerMap.keySet());
+        }
+        Map<String, String> delegateParams = new HashMap<>();
+        if (params != null) {
+            delegateParams.putAll(params);
+        }
+        delegateParams.remove(RULES_KEY);
+        // 自身开销由分发增强器统计，委托增强器不再采样
+        delegateParams.remove(OverheadProfiler.PROFILE_KEY);
+        delegateParams.putAll(rule.getActionParams());
+        // Mock 返回值沿用 returnValue 参数名
+        if (!delegateParams.containsKey(MockConfig.VALUE_KEY) && delegateParams.containsKey("returnValue")) {
+            delegateParams.put(MockConfig.VALUE_KEY, delegateParams.get("returnValue"));
         }
         
-        // 创建增强器实例
-        Enhancer enhancer = enhancerClass.newInstance();
-        
-        // 设置增强器参数
-        enhancer.setParams(params);
+        Enhancer enhancer;
+        try {
+            enhancer = enhancerClass.newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create enhancer: " + enhancerClass.getSimpleName(), e);
+        }
+        enhancer.setParams(delegateParams);
+        // 目标增强器的注入计入本实验的调用统计
+        enhancer.setMetrics(getMetrics());
         enhancer.setUid(getUid());
         enhancer.setPointCut(getPointCut());
+        enhancer.compile();
+        enhancer.setRecordPolicy(RecordPolicy.parse(delegateParams));
+        return enhancer;
+    }
+
+    @Override
+    public Event.Type[] getEventTypes() {
+        return eventTypes;
+    }
+
+    @Override
+    public boolean filter(EnhancerModel enhancerModel) {
+        // 动态分发增强器的过滤逻辑在 enhance 方法中处理
+        return true;
+    }
+
+    @Override
+    public void enhance(EnhancerModel enhancerModel) throws Exception {
+        // 1. 按规则顺序判定，未命中直接返回
+        int matched = decisionTree.match(enhancerModel.getArguments());
+        if (matched == DecisionTree.NO_MATCH) {
+            return;
+        }
         
-        // 执行增强
-        logger.info("Dispatching to enhancer: {}", enhancerClass.getSimpleName());
-        enhancer.enhance(enhancerModel);
+        // 2. 预占执行次数，分发到创建时准备好的增强器（注入事件由目标增强器记录）
+        if (!tryAcquire()) {
+            return;
+        }
+        Enhancer delegate = delegates[matched];
+        delegate.enhance(enhancerModel);
+        
+        // 3. 返回事件交给目标增强器处理
+        if (enhancerModel.isAwaitReturn()) {
+            enhancerModel.awaitReturn(delegate);
+        }
     }
     
     /**
@@ -219,7 +233,7 @@ public class DynamicDispatcherEnhancer extends Enhancer {
      * @param actionType 动作类型
      * @return 动作名称
      */
-    private String getActionName(int actionType) {
+    private static String getActionName(int actionType) {
         switch (actionType) {
             case ACTION_TYPE_MOCK:
                 return "mock";
@@ -233,4 +247,3 @@ public class DynamicDispatcherEnhancer extends Enhancer {
     }
 
 }
-
@@ -17,13 +17,19 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ExperimentMetrics;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ExperimentState;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.OverheadProfiler;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.PointCut;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.recorder.InjectionRecorder;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.recorder.RecordPolicy;
+import com.alibaba.chaosblade.exec.common.center.EffectCounter;
+import com.alibaba.jvm.sandbox.api.event.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Enhancer - 增强器基类
@@ -33,6 +39,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 1. 增强器注册机制（静态注册）
  * 2. 基本属性管理（uid、pointCut、params）
  * 3. 抽象方法定义（enhance、filter）
+ * 4. 按需监听方法返回事件（getEventTypes、onReturn），用于异步延迟等返回值处理
+ * 5. 实验生命周期状态（getState），由增强调度器和监听器管理器切换
+ * 6. 暂停开关（setPaused）：暂停时字节码增强保留，监听器跳过该实验，恢复无需重新 watch
+ * 7. 调用统计（getMetrics），由监听器记录；参数 latency=true 时追加监听返回事件，记录命中调用的端到端耗时；
+ *    参数 profile=N 时按约 1/N 的采样率记录监听器各阶段的自身开销
  * 
  * 简化点：
  * - 移除了复杂的Flag系统
@@ -46,6 +57,12 @@ public abstract class Enhancer {
     
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     
+    /** 默认只监听方法调用前事件 */
+    private static final Event.Type[] BEFORE_ONLY = {Event.Type.BEFORE};
+    
+    /** 统计端到端耗时时追加返回和异常事件 */
+    private static final Event.Type[] WITH_RETURN = {Event.Type.BEFORE, Event.Type.RETURN, Event.Type.THROWS};
+    
     /** 增强器注册表 */
     private static final Map<String, Class<? extends Enhancer>> enhancerRegistry = 
         new ConcurrentHashMap<>();
@@ -62,8 +79,20 @@ public abstract class Enhancer {
     /** 限制生效次数（0表示不限制） */
     protected int limit = 0;
     
-    /** 已执行次数 */
-    protected AtomicInteger effectCount = new AtomicInteger(0);
+    /** 已执行次数，设置 limit 时按上限精确预占 */
+    protected volatile EffectCounter effectCount = EffectCounter.unbounded();
+    
+    /** 注入事件记录策略（采样、限流） */
+    protected RecordPolicy recordPolicy = RecordPolicy.defaults();
+    
+    /** 生命周期状态，创建时即为 PENDING */
+    protected final ExperimentState state = new ExperimentState();
+    
+    /** 是否暂停，事件路径上只读一次 volatile */
+    private volatile boolean paused;
+    
+    /** 调用统计，setParams() 时按 latency / profile 参数确定是否统计端到端耗时和自身开销 */
+    private ExperimentMetrics metrics = new ExperimentMetrics(false);
     
     /**
      * 注册增强器
@@ -123,19 +152,76 @@ public abstract class Enhancer {
     public abstract String getName();
     
     /**
-     * 检查是否达到限制次数
+     * 编译实验参数
+     * 创建实验时由 CreateHandler 在 setParams() 之后调用一次，子类在此把 params
+     * 解析为不可变的类型化配置，运行期只读取解析结果
+     * 
+     * @throws IllegalArgumentException 参数非法，实验创建失败
+     */
+    public void compile() {
+    }
+    
+    /**
+     * 需要监听的事件类型，在 compile() 之后由 ListenerManager 注册增强时读取
+     * 需要处理返回值的子类追加 RETURN、THROWS
+     * 
+     * @return 事件类型
+     */
+    public Event.Type[] getEventTypes() {
+        return metrics.isLatencyTracked() ? WITH_RETURN : BEFORE_ONLY;
+    }
+    
+    /**
+     * 方法正常返回时回调
+     * 仅对 enhance() 中调用过 model.awaitReturn() 的调用生效，此时 model 只有类名、方法名和 ClassLoader
+     * 
+     * @param model       执行上下文
+     * @param returnValue 方法返回值
+     * @return 替换后的返回值，原样返回表示不替换
+     * @throws Exception 处理过程中的异常
+     */
+    public Object onReturn(EnhancerModel model, Object returnValue) throws Exception {
+        return returnValue;
+    }
+    
+    /**
+     * 检查是否达到限制次数（快速预判，是否注入以 tryAcquire() 为准）
      * 
      * @return true-已达到限制，false-未达到
      */
     public boolean isLimit() {
-        return limit > 0 && effectCount.get() >= limit;
+        return effectCount.isExhausted();
+    }
+    
+    /**
+     * 预占一次执行次数，子类在真正注入故障之前调用
+     * 有 limit 时通过 CAS 预占，并发下执行次数不会超过 limit
+     * 
+     * @return true-可以注入，false-已达到限制
+     */
+    public boolean tryAcquire() {
+        return effectCount.tryAcquire();
     }
     
     /**
-     * 增加执行次数
+     * 归还 tryAcquire() 预占的次数（预占后未能注入）
      */
-    public void increaseCount() {
-        effectCount.incrementAndGet();
+    public void releaseCount() {
+        effectCount.release();
+    }
+    
+    /**
+     * 记录一次故障注入，计入调用统计（injected / injectedDelay），事件异步输出，不在业务线程上格式化或写日志
+     * 
+     * @param model  执行上下文
+     * @param action 注入动作
+     * @param value  数值信息（如延迟毫秒数），无则传 0
+     * @param detail 附加信息（如异常类名、Mock 值）
+     */
+    protected void recordInjection(EnhancerModel model, String action, long value, Object detail) {
+        metrics.injected(value);
+        InjectionRecorder.record(recordPolicy, uid, action,
+                model.getClassName(), model.getMethodName(), value, detail);
     }
     
     // Getters and Setters
@@ -160,8 +246,29 @@ public abstract class Enhancer {
         return params;
     }
     
+    /**
+     * 设置实验参数
+     *
+     * @param params 实验参数
+     * @throws IllegalArgumentException profile 参数非法
+     */
     public void setParams(Map<String, String> params) {
         this.params = params;
+        if (params != null) {
+            boolean latencyTracked = "true".equalsIgnoreCase(params.get("latency"));
+            OverheadProfiler profiler = OverheadProfiler.parse(params);
+            if (latencyTracked || profiler != null) {
+                this.metrics = new ExperimentMetrics(latencyTracked, profiler);
+            }
+        }
+    }
+    
+    public RecordPolicy getRecordPolicy() {
+        return recordPolicy;
+    }
+    
+    public void setRecordPolicy(RecordPolicy recordPolicy) {
+        this.recordPolicy = recordPolicy;
     }
     
     public int getLimit() {
@@ -170,10 +277,36 @@ public abstract class Enhancer {
     
     public void setLimit(int limit) {
         this.limit = limit;
+        this.effectCount = EffectCounter.of(limit);
+    }
+    
+    public ExperimentState getState() {
+        return state;
+    }
+    
+    public boolean isPaused() {
+        return paused;
+    }
+    
+    public void setPaused(boolean paused) {
+        this.paused = paused;
     }
     
     public int getEffectCount() {
-        return effectCount.get();
+        return (int) effectCount.get();
+    }
+    
+    public ExperimentMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * 共用其他增强器的调用统计（分发增强器的目标增强器注入时计入分发增强器）
+     * 
+     * @param metrics 调用统计
+     */
+    void setMetrics(ExperimentMetrics metrics) {
+        this.metrics = metrics;
     }
     
     /**
@@ -192,6 +325,7 @@ public abstract class Enhancer {
                 "uid='" + uid + '\'' +
                 ", pointCut=" + pointCut +
                 ", limit=" + limit +
+                ", paused=" + paused +
                 ", effectCount=" + effectCount.get() +
                 '}';
     }
@@ -68,12 +68,12 @@ public abstract class HttpClientEnhancer extends Enhancer {
             int timeout = extractTimeout(enhancerModel);
             logger.debug("HTTP Timeout: {}ms", timeout);
             
-            // 4. 执行具体的增强逻辑（延迟、异常、Mock 等）
+            // 4. 预占执行次数，执行具体的增强逻辑（延迟、异常、Mock 等）
+            if (!tryAcquire()) {
+                return;
+            }
             doEnhance(enhancerModel, url, httpMethod, timeout);
             
-            // 5. 增加执行计数
-            increaseCount();
-            
         } catch (InterruptProcessException e) {
             // 重新抛出中断异常（用于立即返回）
             throw e;
@@ -102,12 +102,12 @@ public class HttpServerEnhancer extends Enhancer {
             
             logger.debug("HTTP Server Request: {} {}", httpMethod, requestUri);
             
-            // 执行具体的增强逻辑（延迟、异常、Mock 等）
+            // 预占执行次数，执行具体的增强逻辑（延迟、异常、Mock 等）
+            if (!tryAcquire()) {
+                return;
+            }
             doEnhance(enhancerModel, request, response, requestUri, httpMethod);
             
-            // 增加执行计数
-            increaseCount();
-            
         } catch (Exception e) {
             logger.error("HTTP server enhancement failed", e);
             throw e;
@@ -17,6 +17,7 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.MockConfig;
 
 /**
  * MockEnhancer - 返回值Mock增强器
@@ -33,39 +34,38 @@ import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
  * value=100, type=int -> 返回整数 100
  * value=true, type=boolean -> 返回 true
  * 
+ * 返回值在创建实验时转换为 MockConfig，无法转换的值直接拒绝创建
+ * 
  * @author rakkaus
  * @since 1.8.0
  */
 public class MockEnhancer extends Enhancer {
     
-    /** Mock 返回值（字符串形式） */
-    private String mockValue;
-    
-    /** 返回值类型 */
-    private String valueType;
+    /** Mock 配置 */
+    private MockConfig mockConfig;
     
     @Override
     public String getName() {
         return "mock";
     }
     
+    @Override
+    public void compile() {
+        mockConfig = MockConfig.parse(params, MockConfig.VALUE_KEY, false);
+    }
+    
     @Override
     public void enhance(EnhancerModel model) throws Exception {
-        // 1. 解析Mock参数
-        parseParams();
-        
-        // 2. 转换为目标类型
-        Object returnValue = convertValue();
+        // 1. 预占执行次数，达到限制时不注入
+        if (!tryAcquire()) {
+            return;
+        }
         
-        // 3. 设置返回值
+        // 2. 设置返回值（创建时已完成类型转换）
+        Object returnValue = mockConfig.getValue();
         model.setReturnValue(returnValue);
         
-        logger.info("[Mock增强器] Mock 返回值: {} (类型: {}) 用于 {}#{}",
-                returnValue, valueType,
-                model.getClassName(), model.getMethodName());
-        
-        // 4. 增加执行计数
-        increaseCount();
+        recordInjection(model, getName(), 0, returnValue);
     }
     
     @Override
@@ -89,72 +89,6 @@ public class MockEnhancer extends Enhancer {
         
         return true;
     }
-    
-    /**
-     * 解析Mock参数
-     */
-    private void parseParams() {
-        if (params == null) {
-            logger.warn("[Mock增强器] 参数为空，使用默认值: null");
-            mockValue = null;
-            valueType = "String";
-            return;
-        }
-        
-        // 解析返回值
-        mockValue = params.get("value");
-        
-        // 解析类型
-        valueType = params.get("type");
-        if (valueType == null || valueType.isEmpty()) {
-            valueType = "String";
-        }
-    }
-    
-    /**
-     * 转换Mock值为目标类型
-     * 
-     * @return 转换后的值
-     */
-    private Object convertValue() {
-        if (mockValue == null) {
-            return null;
-        }
-        
-        try {
-            switch (valueType.toLowerCase()) {
-                case "string":
-                    return mockValue;
-                    
-                case "int":
-                case "integer":
-                    return Integer.parseInt(mockValue);
-                    
-                case "long":
-                    return Long.parseLong(mockValue);
-                    
-                case "boolean":
-                    return Boolean.parseBoolean(mockValue);
-                    
-                case "double":
-                    return Double.parseDouble(mockValue);
-                    
-                case "float":
-                    return Float.parseFloat(mockValue);
-                    
-                case "null":
-                    return null;
-                    
-                default:
-                    logger.warn("[Mock增强器] 未知类型: {}，使用 String", valueType);
-                    return mockValue;
-            }
-        } catch (Exception e) {
-            logger.error("[Mock增强器] 转换值失败: {} 到类型: {}", 
-                    mockValue, valueType, e);
-            return mockValue;
-        }
-    }
 }
 
 
@@ -17,6 +17,7 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.ThrowsConfig;
 import com.alibaba.jvm.sandbox.api.ProcessControlException;
 
 /**
@@ -32,38 +33,53 @@ import com.alibaba.jvm.sandbox.api.ProcessControlException;
  * 示例：
  * exception=java.lang.RuntimeException, message=Chaos injected exception
  * 
+ * 异常参数在创建实验时解析为 ThrowsConfig，异常类和构造器只查找一次
+ * 
  * @author rakkaus
  * @since 1.8.0
  */
 public class ThrowsEnhancer extends Enhancer {
     
-    /** 异常类名 */
-    private String exceptionClassName;
+    private static final String DEFAULT_EXCEPTION = "java.lang.RuntimeException";
+    
+    private static final String DEFAULT_MESSAGE = "Chaos injected exception by ChaosBlade";
     
-    /** 异常消息 */
-    private String exceptionMessage;
+    /** 异常配置 */
+    private ThrowsConfig throwsConfig;
     
     @Override
     public String getName() {
         return "throws";
     }
     
+    @Override
+    public void compile() {
+        throwsConfig = ThrowsConfig.parse(params, "message", DEFAULT_EXCEPTION, DEFAULT_MESSAGE);
+    }
+    
     @Override
     public void enhance(EnhancerModel model) throws Exception {
-        // 1. 解析异常参数
-        parseParams();
+        // 1. 预占执行次数，达到限制时不注入
+        if (!tryAcquire()) {
+            return;
+        }
         
-        // 2. 创建并抛出异常
-        logger.info("[ThrowsEnhancer] Throwing exception: {} with message: {} for {}#{}",
-                exceptionClassName, exceptionMessage,
-                model.getClassName(), model.getMethodName());
+        // 2. 先创建异常，创建失败时归还预占的次数，不记录注入
+        Throwable throwable;
+        try {
+            throwable = throwsConfig.newThrowable(model.getClassLoader());
+        } catch (IllegalStateException e) {
+            releaseCount();
+            logger.error("[ThrowsEnhancer] {}", e.getMessage());
+            throw new RuntimeException(e.getMessage(), e);
+        }
         
-        // 3. 增加执行计数
-        increaseCount();
+        // 3. 记录注入事件（异步输出）
+        recordInjection(model, getName(), 0, throwsConfig.getExceptionClassName());
         
-        // 4. 抛出异常（使用 ProcessControlException）
-        // 注意：ProcessControlException.throwThrowsImmediately() 会抛出异常，不会返回
-        throwException();
+        // 4. 使用 ProcessControlException 抛出异常（让 Sandbox 处理）
+        // 注意：ProcessControlException 必须向上传播，不能被捕获
+        ProcessControlException.throwThrowsImmediately(throwable);
     }
     
     @Override
@@ -87,77 +103,4 @@ public class ThrowsEnhancer extends Enhancer {
         
         return true;
     }
-    
-    /**
-     * 解析异常参数
-     */
-    private void parseParams() {
-        if (params == null) {
-            logger.warn("[ThrowsEnhancer] Params is null, using default exception");
-            exceptionClassName = "java.lang.RuntimeException";
-            exceptionMessage = "Chaos injected exception";
-            return;
-        }
-        
-        // 解析异常类名
-        exceptionClassName = params.get("exception");
-        if (exceptionClassName == null || exceptionClassName.isEmpty()) {
-            exceptionClassName = "java.lang.RuntimeException";
-        }
-        
-        // 解析异常消息
-        exceptionMessage = params.get("message");
-        if (exceptionMessage == null || exceptionMessage.isEmpty()) {
-            exceptionMessage = "Chaos injected exception by ChaosBlade";
-        }
-    }
-    
-    /**
-     * 创建并抛出异常
-     * 使用 ProcessControlException.throwThrowsImmediately() 来让 Sandbox 处理异常
-     * 
-     * @throws Exception ProcessControlException（必须抛出给 Sandbox）
-     */
-    private void throwException() throws Exception {
-        try {
-            // 1. 加载异常类
-            Class<?> exceptionClass = Class.forName(exceptionClassName);
-            
-            // 2. 检查是否是 Throwable 的子类
-            if (!Throwable.class.isAssignableFrom(exceptionClass)) {
-                logger.error("[ThrowsEnhancer] Class {} is not a Throwable", exceptionClassName);
-                throw new RuntimeException("Invalid exception class: " + exceptionClassName);
-            }
-            
-            // 3. 创建异常实例
-            Throwable throwable;
-            try {
-                // 尝试使用带 String 参数的构造函数
-                throwable = (Throwable) exceptionClass
-                        .getConstructor(String.class)
-                        .newInstance(exceptionMessage);
-            } catch (NoSuchMethodException e) {
-                // 如果没有带 String 参数的构造函数，使用无参构造函数
-                throwable = (Throwable) exceptionClass.newInstance();
-            }
-            
-            // 4. 使用 ProcessControlException 抛出异常（让 Sandbox 处理）
-            // 注意：ProcessControlException 必须向上传播，不能被捕获
-            logger.info("[ThrowsEnhancer] 即将通过 ProcessControlException 抛出异常: {}", throwable.getClass().getName());
-            ProcessControlException.throwThrowsImmediately(throwable);
-            
-        } catch (ProcessControlException e) {
-            // ProcessControlException 必须向上传播，不能被捕获
-            throw e;
-        } catch (ClassNotFoundException e) {
-            logger.error("[ThrowsEnhancer] Exception class not found: {}", exceptionClassName);
-            throw new RuntimeException("Exception class not found: " + exceptionClassName, e);
-        } catch (Exception e) {
-            logger.error("[ThrowsEnhancer] Failed to create exception instance", e);
-            throw new RuntimeException("Failed to create exception: " + exceptionClassName, e);
-        }
-    }
 }
-
-
-
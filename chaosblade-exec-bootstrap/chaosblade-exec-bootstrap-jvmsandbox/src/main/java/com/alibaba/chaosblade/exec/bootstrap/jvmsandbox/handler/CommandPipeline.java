@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.alibaba.chaosblade.exec.common.util.JsonUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * CommandPipeline - 一次请求顺序执行多条命令
+ *
+ * [改造说明]
+ * 编排系统对同一个 JVM 下发几百个操作时，每个命令一次 HTTP 请求，往返开销远大于命令本身。pipeline：
+ * 1. 请求体为 NDJSON，每行一个命令对象，command 字段为命令名（create / destroy / pause / resume / status ...），
+ *    其余字段与该命令的参数相同（对象或数组字段保留 JSON 文本，与 POST 单个命令一致）
+ * 2. 用共享的 ObjectReader 逐个解析命令，解析一条执行一条，不把整个请求体读入内存
+ * 3. 按顺序执行，每条命令输出一行结果（NDJSON），内容与单独调用该命令的响应相同，逐行 flush；
+ *    某条命令失败不影响后续命令
+ * 4. 某行不是 JSON 对象或缺少 command 时该行输出失败结果；请求体无法解析时输出失败结果并停止
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class CommandPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandPipeline.class);
+
+    public static final String COMMAND_KEY = "command";
+
+    /** NDJSON 的 Content-Type */
+    public static final String CONTENT_TYPE = "application/x-ndjson;charset=UTF-8";
+
+    private static final ObjectReader COMMAND_READER = JsonUtil.reader().forType(JsonNode.class);
+
+    private CommandPipeline() {
+    }
+
+    /**
+     * 顺序执行请求体中的命令
+     *
+     * @param body   请求体（NDJSON）
+     * @param writer 响应输出，每条命令一行，不由本方法关闭
+     * @return 已执行（含失败）的命令数
+     * @throws IOException 写出失败
+     */
+    public static int execute(InputStream body, Writer writer) throws IOException {
+        StringWriter buffer = new StringWriter(256);
+        int count = 0;
+        MappingIterator<JsonNode> commands;
+        try {
+            commands = COMMAND_READER.readValues(body);
+        } catch (IOException e) {
+            writeLine(writer, illegal("Illegal pipeline body: " + e.getMessage()));
+            return count;
+        }
+        try {
+            while (true) {
+                JsonNode command;
+                try {
+                    if (!commands.hasNextValue()) {
+                        break;
+                    }
+                    command = commands.nextValue();
+                } catch (IOException | RuntimeException e) {
+                    // 解析出错后无法定位下一条命令的开始位置，停止执行
+                    writeLine(writer, illegal("Illegal command at index " + count + ": " + e.getMessage()));
+                    logger.warn("[命令管道] 请求体解析失败，已执行命令数: {}", count, e);
+                    return count;
+                }
+                execute(command, buffer);
+                writer.write(buffer.toString());
+                writer.write('\n');
+                writer.flush();
+                buffer.getBuffer().setLength(0);
+                count++;
+            }
+        } finally {
+            commands.close();
+        }
+        logger.info("[命令管道] 执行完成，命令数: {}", count);
+        return count;
+    }
+
+    /**
+     * 执行一条命令，结果写到 buffer（不含换行）
+     */
+    private static void execute(JsonNode command, StringWriter buffer) {
+        if (command == null || !command.isObject()) {
+            buffer.write(illegal("Command must be a JSON object").toString());
+            return;
+        }
+        Map<String, String> params = Handler.toParams(command);
+        String name = params.remove(COMMAND_KEY);
+        if (name == null || name.isEmpty()) {
+            buffer.write(illegal("Missing required field: " + COMMAND_KEY).toString());
+            return;
+        }
+        Handler handler = Handler.get(name);
+        if (handler instanceof StreamingHandler) {
+            // 先写到缓冲区，写出过程中失败时整行替换为失败结果，不输出半行
+            try {
+                Response failure = ((StreamingHandler<?>) handler).stream(params, buffer);
+                if (failure != null) {
+                    buffer.write(failure.toString());
+                }
+            } catch (Exception e) {
+                logger.error("[命令管道] 命令 {} 执行失败", name, e);
+                buffer.getBuffer().setLength(0);
+                buffer.write(Response.ofFailure(
+                    Response.Code.SERVER_ERROR, "Command execution failed: " + e.getMessage()).toString());
+            }
+            return;
+        }
+        buffer.write(Handler.dispatch(name, params).toString());
+    }
+
+    private static void writeLine(Writer writer, Response response) throws IOException {
+        writer.write(response.toString());
+        writer.write('\n');
+        writer.flush();
+    }
+
+    private static Response illegal(String error) {
+        return Response.ofFailure(Response.Code.ILLEGAL_PARAMETER, error);
+    }
+}
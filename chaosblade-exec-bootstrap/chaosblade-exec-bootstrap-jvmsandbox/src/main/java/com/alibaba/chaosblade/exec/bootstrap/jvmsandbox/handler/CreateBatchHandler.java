@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ExperimentState;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.WatchScheduler;
+import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.alibaba.chaosblade.exec.common.util.JsonUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CreateBatchHandler - 批量创建混沌实验
+ *
+ * [改造说明]
+ * 一个场景通常包含几十个实验，逐个创建需要同样多次请求。批量创建：
+ * 1. experiments 参数为实验参数数组（JSON），每项与 create 命令的参数相同；
+ *    POST 请求体可以是 {"experiments":[...], "await":"5000"}，也可以直接是数组
+ * 2. 先校验全部实验，任一非法时一个都不创建，返回各项的错误信息
+ * 3. 全部合法时整体注册，通过 WatchScheduler.submitAll() 在同一批内增强，只做一次类扫描和 retransform
+ * 4. 可选参数 await=<毫秒>：所有实验共用一个等待期限，等待增强完成或失败
+ * 5. 返回各项的实验 ID、状态，增强失败的项带错误信息
+ * 6. 各项可以单独指定 duration / expireAt，到期后各自自动销毁
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class CreateBatchHandler extends Handler {
+
+    private static final ObjectReader SPECS_READER =
+        JsonUtil.reader().forType(new TypeReference<List<Map<String, String>>>() { });
+
+    @Override
+    protected String getHandlerName() {
+        return "create-batch";
+    }
+
+    @Override
+    protected Response handle(Map<String, String> params) {
+        logger.info("[批量创建处理器] 正在批量创建实验");
+
+        // 1. 解析参数
+        String specsJson = params.get("experiments");
+        if (specsJson == null || specsJson.isEmpty()) {
+            return Response.ofFailure(
+                Response.Code.ILLEGAL_PARAMETER,
+                "Missing required parameter: experiments"
+            );
+        }
+        List<Map<String, String>> specs;
+        long await;
+        try {
+            specs = SPECS_READER.readValue(specsJson);
+            await = CreateHandler.parseAwait(params);
+        } catch (IOException e) {
+            return Response.ofFailure(
+                Response.Code.ILLEGAL_PARAMETER,
+                "Illegal experiments parameter: " + e.getMessage()
+            );
+        } catch (IllegalArgumentException e) {
+            return Response.ofFailure(Response.Code.ILLEGAL_PARAMETER, e.getMessage());
+        }
+        if (specs == null || specs.isEmpty()) {
+            return Response.ofFailure(
+                Response.Code.ILLEGAL_PARAMETER,
+                "Illegal experiments parameter: empty"
+            );
+        }
+
+        // 2. 校验全部实验，任一非法时一个都不创建
+        int size = specs.size();
+        List<Enhancer> enhancers = new ArrayList<>(size);
+        String[] errors = new String[size];
+        int invalid = 0;
+        for (int i = 0; i < size; i++) {
+            Map<String, String> spec = specs.get(i);
+            try {
+                if (spec == null) {
+                    throw new IllegalArgumentException("Experiment spec must be an object");
+                }
+                enhancers.add(CreateHandler.prepare(new HashMap<>(spec)));
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+                invalid++;
+            } catch (Exception e) {
+                logger.error("[批量创建处理器] 创建增强器失败, 下标: {}", i, e);
+                errors[i] = "Failed to create experiment: " + e.getMessage();
+                invalid++;
+            }
+        }
+        if (invalid > 0) {
+            logger.warn("[批量创建处理器] {} / {} 个实验参数非法，未创建任何实验", invalid, size);
+            return new Response(null, Response.Code.ILLEGAL_PARAMETER.getCode(), false,
+                buildInvalidResult(errors),
+                invalid + " of " + size + " experiment specs are invalid, none created");
+        }
+
+        // 3. 整体注册，同一批内增强
+        ExperimentRegistry experiments = CreateHandler.getExperiments();
+        for (Enhancer enhancer : enhancers) {
+            experiments.put(enhancer);
+            CreateHandler.scheduleExpiry(enhancer);
+        }
+        WatchScheduler.submitAll(enhancers);
+
+        // 4. 等待增强，所有实验共用一个期限
+        if (await > 0) {
+            long deadline = System.currentTimeMillis() + await;
+            for (Enhancer enhancer : enhancers) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                CreateHandler.awaitEnhanced(enhancer.getState(), remaining);
+            }
+        }
+
+        // 5. 构建响应
+        int failed = 0;
+        for (Enhancer enhancer : enhancers) {
+            if (enhancer.getState().getStatus() == ExperimentState.Status.FAILED) {
+                failed++;
+            }
+        }
+        String result = buildCreatedResult(enhancers, failed == 0);
+        if (failed > 0) {
+            logger.warn("[批量创建处理器] {} / {} 个实验增强失败", failed, size);
+            return new Response(null, Response.Code.SERVER_ERROR.getCode(), false, result,
+                failed + " of " + size + " experiments failed to enhance");
+        }
+        logger.info("[批量创建处理器] 批量创建成功，实验数: {}", size);
+        return Response.ofSuccess(result);
+    }
+
+    /**
+     * 构建校验失败的结果，合法的项只有下标
+     *
+     * @param errors 各项错误信息，合法为 null
+     * @return JSON 格式的结果
+     */
+    private String buildInvalidResult(String[] errors) {
+        StringBuilder result = new StringBuilder();
+        result.append("{");
+        result.append("\"code\":").append(Response.Code.ILLEGAL_PARAMETER.getCode()).append(",");
+        result.append("\"success\":false,");
+        result.append("\"result\":{\"experiments\":[");
+        for (int i = 0; i < errors.length; i++) {
+            if (i > 0) result.append(",");
+            result.append("{\"index\":").append(i);
+            if (errors[i] != null) {
+                result.append(",\"error\":\"").append(escapeJson(errors[i])).append("\"");
+            }
+            result.append("}");
+        }
+        result.append("]}");
+        result.append("}");
+        return result.toString();
+    }
+
+    /**
+     * 构建已创建实验的结果
+     *
+     * @param enhancers 已创建的实验（与请求顺序一致）
+     * @param success   是否全部成功
+     * @return JSON 格式的结果
+     */
+    private String buildCreatedResult(List<Enhancer> enhancers, boolean success) {
+        StringBuilder result = new StringBuilder();
+        result.append("{");
+        result.append("\"code\":")
+            .append(success ? Response.Code.OK.getCode() : Response.Code.SERVER_ERROR.getCode()).append(",");
+        result.append("\"success\":").append(success).append(",");
+        result.append("\"result\":{\"experiments\":[");
+        for (int i = 0; i < enhancers.size(); i++) {
+            Enhancer enhancer = enhancers.get(i);
+            Map<String, String> params = enhancer.getParams();
+            ExperimentState state = enhancer.getState();
+            if (i > 0) result.append(",");
+            result.append("{\"index\":").append(i).append(",");
+            result.append("\"experimentId\":\"").append(enhancer.getUid()).append("\",");
+            result.append("\"target\":\"").append(escapeJson(params.get("target"))).append("\",");
+            result.append("\"action\":\"").append(escapeJson(params.get("action"))).append("\",");
+            result.append("\"status\":\"created\",");
+            result.append("\"state\":").append(state.toJson());
+            if (state.getStatus() == ExperimentState.Status.FAILED) {
+                result.append(",\"error\":\"").append(escapeJson(state.getError())).append("\"");
+            }
+            result.append("}");
+        }
+        result.append("]}");
+        result.append("}");
+        return result.toString();
+    }
+}
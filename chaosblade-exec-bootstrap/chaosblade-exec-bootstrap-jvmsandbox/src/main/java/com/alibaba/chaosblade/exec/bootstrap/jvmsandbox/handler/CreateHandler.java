@@ -16,15 +16,17 @@
 
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
 
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.async.DelayTimer;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
-import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ListenerManager;
-import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.FilterUtil;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ExperimentState;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.WatchScheduler;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.PointCut;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.recorder.RecordPolicy;
+import com.alibaba.chaosblade.exec.common.context.Timeout;
 import com.alibaba.chaosblade.exec.common.transport.Response;
 
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CreateHandler - 创建混沌实验
@@ -34,14 +36,18 @@ import java.util.concurrent.ConcurrentHashMap;
  * 1. 解析实验参数（target, action, matchers）
  * 2. 生成实验 ID
  * 3. 创建并注册 Enhancer
+ * 4. 可选参数 await=<毫秒>：阻塞到字节码增强完成（ACTIVE）或失败（FAILED），
+ *    超时仍返回成功，响应中的 state 为当时的状态
+ * 5. 可选参数 duration=<毫秒> 或 expireAt=<时间戳毫秒>：限时实验，到期时在 JVM 内部自动销毁
+ *    （DelayTimer 共享时间轮，与客户端连接无关），手动销毁时取消到期任务
  * 
  * @author rakkaus
  * @since 1.8.0
  */
 public class CreateHandler extends Handler {
     
-    /** 实验注册表：experimentId -> Enhancer */
-    private static final Map<String, Enhancer> experiments = new ConcurrentHashMap<>();
+    /** 实验注册表：experimentId -> Enhancer，按实验 ID 排序并记录版本和变更 */
+    private static final ExperimentRegistry experiments = new ExperimentRegistry();
 
     @Override
     protected String getHandlerName() {
@@ -53,7 +59,7 @@ public class CreateHandler extends Handler {
      * 
      * @return 实验注册表
      */
-    public static Map<String, Enhancer> getExperiments() {
+    public static ExperimentRegistry getExperiments() {
         return experiments;
     }
 
@@ -62,100 +68,41 @@ public class CreateHandler extends Handler {
         logger.info("[创建处理器] 正在创建实验，参数: {}", params);
 
         try {
-            // 1. 参数验证
-            String target = params.get("target");
-            String action = params.get("action");
-            
-            if (target == null || target.isEmpty()) {
-                return Response.ofFailure(
-                    Response.Code.ILLEGAL_PARAMETER,
-                    "Missing required parameter: target"
-                );
-            }
-            
-            if (action == null || action.isEmpty()) {
-                return Response.ofFailure(
-                    Response.Code.ILLEGAL_PARAMETER,
-                    "Missing required parameter: action"
-                );
-            }
-
-            // 2. 生成实验 ID
-            String experimentId = generateExperimentId();
-            params.put("uid", experimentId); // 添加uid到参数中
-            logger.info("[创建处理器] 已生成实验 ID: {}", experimentId);
-
-            // 3. 创建 Enhancer
-            Class<? extends Enhancer> enhancerClass = Enhancer.getEnhancer(target);
-            if (enhancerClass == null) {
-                // 如果 target 找不到，尝试使用 action
-                enhancerClass = Enhancer.getEnhancer(action);
-                if (enhancerClass == null) {
-                    return Response.ofFailure(
-                        Response.Code.ILLEGAL_PARAMETER,
-                        "Unknown target/action: " + target + "/" + action
-                    );
-                }
-                logger.info("[创建处理器] 使用基于 action 的增强器: {}", action);
-            } else {
-                logger.info("[创建处理器] 使用基于 target 的增强器: {}", target);
+            // 1. 校验参数并创建 Enhancer
+            long await;
+            Enhancer enhancer;
+            try {
+                await = parseAwait(params);
+                enhancer = prepare(params);
+            } catch (IllegalArgumentException e) {
+                logger.warn("[创建处理器] 实验参数非法: {}", e.getMessage());
+                return Response.ofFailure(Response.Code.ILLEGAL_PARAMETER, e.getMessage());
             }
+            String experimentId = enhancer.getUid();
             
-            Enhancer enhancer = enhancerClass.newInstance();
-            
-            // 4. 设置 Enhancer 属性
-            enhancer.setUid(experimentId);
-            enhancer.setParams(params);
-            
-            // 5. 创建 PointCut
-            String className = params.get("classname");
-            String methodName = params.get("methodname");
-            PointCut pointCut = new PointCut(className, methodName);
-            enhancer.setPointCut(pointCut);
-            
-            // 6. 设置限制次数
-            String limitStr = params.get("limit");
-            if (limitStr != null && !limitStr.isEmpty()) {
-                try {
-                    int limit = Integer.parseInt(limitStr);
-                    enhancer.setLimit(limit);
-                } catch (NumberFormatException e) {
-                    logger.warn("[创建处理器] 无效的限制次数参数: {}", limitStr);
-                }
-            }
-            
-            // 7. 注册实验到 Map
-            experiments.put(experimentId, enhancer);
+            // 2. 注册实验到 Map，限时实验投递到期任务
+            experiments.put(enhancer);
+            scheduleExpiry(enhancer);
             logger.info("[创建处理器] 增强器已注册: {}", enhancer);
 
-            // 8. 注册字节码增强（Phase 4）
+            // 3. 注册字节码增强（Phase 4）
             // 注意：watch 操作会扫描所有已加载的类，可能耗时较长（几十秒甚至更久）
-            // 使用异步执行，避免阻塞 HTTP 响应
-            // 立即返回响应，不等待 watch 完成
-            final Enhancer finalEnhancer = enhancer;
-            final PointCut finalPointCut = pointCut;
-            final String finalExperimentId = experimentId;  // 确保线程安全
-            
-            Thread watchThread = new Thread(() -> {
-                try {
-                    logger.info("[创建处理器] 开始异步字节码增强，实验 ID: {}", finalExperimentId);
-                    com.alibaba.jvm.sandbox.api.filter.Filter filter = FilterUtil.createFilter(finalPointCut);
-                    ListenerManager.watch(finalEnhancer, filter);
-                    logger.info("[创建处理器] 字节码增强注册成功，实验 ID: {}", finalExperimentId);
-                } catch (Exception e) {
-                    logger.error("[创建处理器] 注册字节码增强失败，实验 ID: {}", finalExperimentId, e);
-                    // 即使字节码增强失败，实验已创建，不影响返回
-                }
-            }, "ChaosBlade-Watch-" + experimentId);
-            
-            // 设置为守护线程，避免阻止 JVM 退出
-            watchThread.setDaemon(true);
-            watchThread.start();
-            
-            logger.info("[创建处理器] 字节码增强注册已启动（异步），实验 ID: {}", experimentId);
+            // 交给 WatchScheduler 异步执行，短时间内并发创建的实验合并为一次扫描和 retransform
+            // 未指定 await 时立即返回响应，不等待 watch 完成
+            WatchScheduler.submit(enhancer);
+            ExperimentState state = enhancer.getState();
+            awaitEnhanced(state, await);
+            if (state.getStatus() == ExperimentState.Status.FAILED) {
+                logger.warn("[创建处理器] 实验增强失败: {}, 原因: {}", experimentId, state.getError());
+                return Response.ofFailure(
+                    Response.Code.SERVER_ERROR,
+                    "Enhancement failed: " + experimentId + ", " + state.getError()
+                );
+            }
 
-            // 9. 构建响应
-            String result = buildExperimentResult(experimentId, target, action, params);
+            // 4. 构建响应
+            String result = buildExperimentResult(experimentId, params.get("target"), params.get("action"), 
+                params, state);
 
             logger.info("[创建处理器] 实验创建成功: {}", experimentId);
             return Response.ofSuccess(result);
@@ -169,13 +116,205 @@ public class CreateHandler extends Handler {
         }
     }
 
+    /**
+     * 校验实验参数并创建 Enhancer（生成实验 ID、编译切点和参数），不注册、不提交增强
+     * 单个创建和批量创建共用
+     * 
+     * @param params 实验参数，会写入生成的 uid
+     * @return 已编译的 Enhancer
+     * @throws IllegalArgumentException 参数非法，消息即返回给调用方的错误信息
+     * @throws ReflectiveOperationException Enhancer 实例化失败
+     */
+    static Enhancer prepare(Map<String, String> params) throws ReflectiveOperationException {
+        // 1. 参数验证
+        String target = params.get("target");
+        String action = params.get("action");
+        
+        if (target == null || target.isEmpty()) {
+            throw new IllegalArgumentException("Missing required parameter: target");
+        }
+        
+        if (action == null || action.isEmpty()) {
+            throw new IllegalArgumentException("Missing required parameter: action");
+        }
+
+        // 2. 查找 Enhancer
+        Class<? extends Enhancer> enhancerClass = Enhancer.getEnhancer(target);
+        if (enhancerClass == null) {
+            // 如果 target 找不到，尝试使用 action
+            enhancerClass = Enhancer.getEnhancer(action);
+            if (enhancerClass == null) {
+                throw new IllegalArgumentException("Unknown target/action: " + target + "/" + action);
+            }
+            logger.info("[创建处理器] 使用基于 action 的增强器: {}", action);
+        } else {
+            logger.info("[创建处理器] 使用基于 target 的增强器: {}", target);
+        }
+
+        // 3. 生成实验 ID
+        String experimentId = generateExperimentId();
+        params.put("uid", experimentId); // 添加uid到参数中
+        logger.info("[创建处理器] 已生成实验 ID: {}", experimentId);
+        
+        // 4. 设置 Enhancer 属性
+        Enhancer enhancer = enhancerClass.newInstance();
+        enhancer.setUid(experimentId);
+        enhancer.setParams(params);
+        
+        // 5. 创建并编译 PointCut（类名、方法名、类结构）
+        try {
+            enhancer.setPointCut(PointCut.parse(params));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Illegal pointcut: " + e.getMessage(), e);
+        }
+        
+        // 6. 编译实验参数，非法参数直接拒绝创建
+        try {
+            enhancer.compile();
+            enhancer.setRecordPolicy(RecordPolicy.parse(params));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Illegal parameter: " + e.getMessage(), e);
+        }
+        
+        // 7. 设置限制次数
+        String limitStr = params.get("limit");
+        if (limitStr != null && !limitStr.isEmpty()) {
+            try {
+                enhancer.setLimit(Integer.parseInt(limitStr));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Illegal limit parameter: " + limitStr, e);
+            }
+        }
+        
+        // 8. 设置到期时间
+        enhancer.getState().setExpireTime(parseExpireTime(params));
+        return enhancer;
+    }
+
+    /**
+     * 解析 await 参数（等待增强完成的最长毫秒数）
+     * 
+     * @param params 请求参数
+     * @return 等待时间，未指定返回 0
+     * @throws IllegalArgumentException 参数非法
+     */
+    static long parseAwait(Map<String, String> params) {
+        String awaitStr = params.get("await");
+        if (awaitStr == null || awaitStr.isEmpty()) {
+            return 0;
+        }
+        long await;
+        try {
+            await = Long.parseLong(awaitStr);
+        } catch (NumberFormatException e) {
+            await = -1;
+        }
+        if (await < 0) {
+            throw new IllegalArgumentException("Illegal await parameter: " + awaitStr);
+        }
+        return await;
+    }
+
+    /**
+     * 解析 duration（存活毫秒数）或 expireAt（到期时间戳毫秒），两者互斥
+     * 
+     * @param params 请求参数
+     * @return 到期时间，未指定返回 0
+     * @throws IllegalArgumentException 参数非法或到期时间已过
+     */
+    static long parseExpireTime(Map<String, String> params) {
+        String durationStr = params.get("duration");
+        String expireAtStr = params.get("expireAt");
+        boolean hasDuration = durationStr != null && !durationStr.isEmpty();
+        boolean hasExpireAt = expireAtStr != null && !expireAtStr.isEmpty();
+        if (hasDuration && hasExpireAt) {
+            throw new IllegalArgumentException("Parameters duration and expireAt are mutually exclusive");
+        }
+        long now = System.currentTimeMillis();
+        if (hasDuration) {
+            long duration;
+            try {
+                duration = Long.parseLong(durationStr);
+            } catch (NumberFormatException e) {
+                duration = -1;
+            }
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Illegal duration parameter: " + durationStr);
+            }
+            return now + duration;
+        }
+        if (hasExpireAt) {
+            long expireAt;
+            try {
+                expireAt = Long.parseLong(expireAtStr);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Illegal expireAt parameter: " + expireAtStr, e);
+            }
+            if (expireAt <= now) {
+                throw new IllegalArgumentException("Illegal expireAt parameter, already expired: " + expireAtStr);
+            }
+            return expireAt;
+        }
+        return 0;
+    }
+
+    /**
+     * 限时实验投递到期任务，到期时仍是同一个实验才销毁
+     * 销毁需要 ListenerManager 类锁，到期回调只把销毁交给 WatchScheduler 的工作线程，不占用 DelayTimer 的执行线程
+     * 
+     * @param enhancer 已注册的实验
+     */
+    static void scheduleExpiry(final Enhancer enhancer) {
+        ExperimentState state = enhancer.getState();
+        long remaining = state.getRemainingMillis();
+        if (remaining < 0) {
+            return;
+        }
+        final Runnable expire = new Runnable() {
+            @Override
+            public void run() {
+                if (experiments.get(enhancer.getUid()) != enhancer) {
+                    return;
+                }
+                logger.info("[创建处理器] 实验已到期，自动销毁: {}", enhancer.getUid());
+                DestroyHandler.destroy(enhancer);
+            }
+        };
+        Timeout expiry = DelayTimer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                WatchScheduler.execute(expire);
+            }
+        }, remaining);
+        if (expiry != null) {
+            state.setExpiry(expiry);
+        }
+    }
+
+    /**
+     * 等待增强完成或失败，超时直接返回
+     * 
+     * @param state 实验状态
+     * @param await 最长等待时间（毫秒），0 表示不等待
+     */
+    static void awaitEnhanced(ExperimentState state, long await) {
+        if (await <= 0) {
+            return;
+        }
+        try {
+            state.await(await);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * 生成实验 ID
      * 格式：UUID 的前 8 位
      * 
      * @return 实验 ID
      */
-    private String generateExperimentId() {
+    private static String generateExperimentId() {
         return UUID.randomUUID().toString().substring(0, 8);
     }
 
@@ -186,13 +325,15 @@ public class CreateHandler extends Handler {
      * @param target       目标类型
      * @param action       操作类型
      * @param params       所有参数
+     * @param state        实验状态
      * @return JSON 格式的结果
      */
     private String buildExperimentResult(
             String experimentId,
             String target,
             String action,
-            Map<String, String> params) {
+            Map<String, String> params,
+            ExperimentState state) {
         
         StringBuilder result = new StringBuilder();
         result.append("{");
@@ -202,7 +343,8 @@ public class CreateHandler extends Handler {
         result.append("\"experimentId\":\"").append(experimentId).append("\",");
         result.append("\"target\":\"").append(target).append("\",");
         result.append("\"action\":\"").append(action).append("\",");
-        result.append("\"status\":\"created\"");
+        result.append("\"status\":\"created\",");
+        result.append("\"state\":").append(state.toJson());
         
         // 添加其他重要参数
         if (params.containsKey("classname")) {
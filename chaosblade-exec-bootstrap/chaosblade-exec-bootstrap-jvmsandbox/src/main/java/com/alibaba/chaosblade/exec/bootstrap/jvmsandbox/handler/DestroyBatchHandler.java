@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.WatchScheduler;
+import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.alibaba.chaosblade.exec.common.util.JsonUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DestroyBatchHandler - 批量销毁混沌实验
+ *
+ * [改造说明]
+ * 1. uids 参数为实验 ID 数组（JSON），或逗号分隔的实验 ID
+ * 2. 存在的实验先全部标记为 DESTROYING，再在一次加锁内取消增强（不会与某批增强交错），最后从注册表移除
+ * 3. 不存在的实验不影响其他实验的销毁，在结果中逐项返回错误
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class DestroyBatchHandler extends Handler {
+
+    private static final ObjectReader UIDS_READER =
+        JsonUtil.reader().forType(new TypeReference<List<String>>() { });
+
+    @Override
+    protected String getHandlerName() {
+        return "destroy-batch";
+    }
+
+    @Override
+    protected Response handle(Map<String, String> params) {
+        logger.info("[批量销毁处理器] 正在批量销毁实验，参数: {}", params);
+
+        // 1. 解析实验 ID
+        Set<String> uids;
+        try {
+            uids = parseUids(params.get("uids"));
+        } catch (IOException e) {
+            return Response.ofFailure(
+                Response.Code.ILLEGAL_PARAMETER,
+                "非法参数 uids: " + e.getMessage()
+            );
+        }
+        if (uids.isEmpty()) {
+            return Response.ofFailure(
+                Response.Code.ILLEGAL_PARAMETER,
+                "缺少必需参数: uids (实验ID列表)"
+            );
+        }
+
+        // 2. 标记为正在销毁
+        ExperimentRegistry experiments = CreateHandler.getExperiments();
+        List<String> found = new ArrayList<>(uids.size());
+        List<Enhancer> removed = new ArrayList<>(uids.size());
+        for (String uid : uids) {
+            Enhancer enhancer = experiments.get(uid);
+            if (enhancer != null) {
+                enhancer.getState().destroying();
+                found.add(uid);
+                removed.add(enhancer);
+            }
+        }
+
+        // 3. 取消字节码增强
+        WatchScheduler.cancelAll(found);
+
+        // 4. 从实验注册表中移除
+        for (int i = 0; i < found.size(); i++) {
+            experiments.remove(found.get(i), removed.get(i));
+        }
+        int missing = uids.size() - found.size();
+        logger.info("[批量销毁处理器] 已销毁实验数: {}, 未找到: {}", found.size(), missing);
+
+        // 5. 构建响应
+        String result = buildDestroyResult(uids, new HashSet<>(found), missing == 0);
+        if (missing > 0) {
+            return new Response(null, Response.Code.NOT_FOUND.getCode(), false, result,
+                missing + " 个实验未找到");
+        }
+        return Response.ofSuccess(result);
+    }
+
+    /**
+     * 解析实验 ID 列表，去重并保持顺序
+     */
+    private Set<String> parseUids(String uidsStr) throws IOException {
+        Set<String> uids = new LinkedHashSet<>();
+        if (uidsStr == null || uidsStr.trim().isEmpty()) {
+            return uids;
+        }
+        String trimmed = uidsStr.trim();
+        List<String> values;
+        if (trimmed.startsWith("[")) {
+            values = UIDS_READER.readValue(trimmed);
+        } else {
+            values = new ArrayList<>();
+            for (String uid : trimmed.split(",")) {
+                values.add(uid);
+            }
+        }
+        for (String uid : values) {
+            if (uid != null && !uid.trim().isEmpty()) {
+                uids.add(uid.trim());
+            }
+        }
+        return uids;
+    }
+
+    /**
+     * 构建销毁结果信息
+     *
+     * @param uids      请求的实验 ID
+     * @param destroyed 已销毁的实验 ID
+     * @param success   是否全部找到
+     * @return JSON 格式的结果
+     */
+    private String buildDestroyResult(Set<String> uids, Set<String> destroyed, boolean success) {
+        StringBuilder result = new StringBuilder();
+        result.append("{");
+        result.append("\"code\":")
+            .append(success ? Response.Code.OK.getCode() : Response.Code.NOT_FOUND.getCode()).append(",");
+        result.append("\"success\":").append(success).append(",");
+        result.append("\"result\":{\"experiments\":[");
+        boolean first = true;
+        for (String uid : uids) {
+            if (!first) result.append(",");
+            result.append("{\"experimentId\":\"").append(escapeJson(uid)).append("\",");
+            if (destroyed.contains(uid)) {
+                result.append("\"status\":\"destroyed\"");
+            } else {
+                result.append("\"error\":\"实验未找到: ").append(escapeJson(uid)).append("\"");
+            }
+            result.append("}");
+            first = false;
+        }
+        result.append("]}");
+        result.append("}");
+        return result.toString();
+    }
+}
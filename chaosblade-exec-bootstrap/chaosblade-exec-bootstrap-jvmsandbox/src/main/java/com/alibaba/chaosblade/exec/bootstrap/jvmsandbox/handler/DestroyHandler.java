@@ -17,7 +17,7 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
-import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ListenerManager;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.WatchScheduler;
 import com.alibaba.chaosblade.exec.common.transport.Response;
 
 import java.util.Map;
@@ -28,8 +28,8 @@ import java.util.Map;
  * [改造说明]
  * 简化版本的实验销毁处理器，主要功能：
  * 1. 解析实验 ID
- * 2. 从实验注册表中移除
- * 3. 取消字节码增强（后续实现）
+ * 2. 标记为 DESTROYING（取消增强期间 list/status 可见，限时实验的到期任务同时取消）
+ * 3. 取消字节码增强后从实验注册表中移除，限时实验到期时同样通过 destroy() 销毁
  * 
  *
  * @author rakkaus
@@ -56,9 +56,8 @@ public class DestroyHandler extends Handler {
             );
         }
 
-        // 2. 从实验注册表中移除
-        Map<String, Enhancer> experiments = CreateHandler.getExperiments();
-        Enhancer removed = experiments.remove(experimentId);
+        // 2. 销毁实验
+        Enhancer removed = CreateHandler.getExperiments().get(experimentId);
         
         if (removed == null) {
             logger.warn("[销毁处理器] 实验未找到: {}", experimentId);
@@ -67,23 +66,37 @@ public class DestroyHandler extends Handler {
                 "实验未找到: " + experimentId
             );
         }
+        destroy(removed);
+
+        // 3. 构建响应
+        String result = buildDestroyResult(experimentId);
+
+        logger.info("[销毁处理器] 实验销毁成功: {}", experimentId);
+        return Response.ofSuccess(result);
+    }
+
+    /**
+     * 销毁实验：标记为 DESTROYING（同时取消到期任务），取消字节码增强后从实验注册表中移除
+     * 手动销毁和限时实验到期共用
+     * 
+     * @param enhancer 实验增强器
+     */
+    static void destroy(Enhancer enhancer) {
+        String experimentId = enhancer.getUid();
+        enhancer.getState().destroying();
         
-        // 3. 取消字节码增强（Phase 4）
+        // 取消字节码增强（Phase 4）
         try {
-            ListenerManager.delete(experimentId);
+            WatchScheduler.cancel(experimentId);
             logger.info("[销毁处理器] 已移除字节码增强，实验ID: {}", experimentId);
         } catch (Exception e) {
             logger.error("[销毁处理器] 移除字节码增强失败", e);
-            // 即使取消增强失败，也继续执行（实验已从Map移除）
+            // 即使取消增强失败，也继续执行（实验仍从Map移除）
         }
         
-        logger.info("[销毁处理器] 实验已移除: {}", removed);
-
-        // 3. 构建响应
-        String result = buildDestroyResult(experimentId);
-
-        logger.info("[销毁处理器] 实验销毁成功: {}", experimentId);
-        return Response.ofSuccess(result);
+        // 从实验注册表中移除
+        CreateHandler.getExperiments().remove(experimentId, enhancer);
+        logger.info("[销毁处理器] 实验已移除: {}", enhancer);
     }
 
     /**
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ExperimentState;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.PointCut;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+/**
+ * ExperimentQuery - list / status 的实验过滤和分页
+ *
+ * [改造说明]
+ * 1. 过滤：target、action、classname、state（生命周期状态，逗号分隔多个，另可写 PAUSED 表示已暂停），
+ *    不同条件为且；classname 为具体类名，与实验的类名规则相同或被实验切点匹配即命中
+ * 2. 分页：实验注册表按实验 ID 排序，cursor 为上一页最后一个实验 ID，pagesize 为每页条数（不指定时不分页），
+ *    还有下一页时输出 nextCursor；翻页期间新建或销毁的实验不会导致重复或遗漏已返回的实验
+ * 3. 直接在注册表上按 ID 顺序遍历，不复制、不排序
+ * 4. 增量（list 使用）：since 为调用方已知的注册表版本，wait 为没有变化时最多等待的毫秒数（长轮询，需指定 since）
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class ExperimentQuery {
+
+    /** 已暂停，用于 state 过滤 */
+    private static final String PAUSED = "PAUSED";
+
+    private String target;
+    private String action;
+    private String className;
+
+    /** 生命周期状态，不过滤时为 null */
+    private Set<ExperimentState.Status> states;
+
+    /** 只要已暂停的实验 */
+    private boolean paused;
+
+    private String cursor;
+
+    /** 每页条数，0 表示不分页 */
+    private int pageSize;
+
+    /** 已知的注册表版本，-1 表示全量 */
+    private long since = -1;
+
+    /** 长轮询最长等待时间（毫秒） */
+    private long waitMillis;
+
+    /** 长轮询等待时间上限（毫秒） */
+    static final long MAX_WAIT_MILLIS = 60000;
+
+    /**
+     * 逐个写出实验
+     */
+    public interface ExperimentWriter {
+
+        /**
+         * @param generator JSON 生成器
+         * @param enhancer  实验
+         * @throws IOException 写出失败
+         */
+        void write(JsonGenerator generator, Enhancer enhancer) throws IOException;
+    }
+
+    /**
+     * 从请求参数解析
+     *
+     * @param params 请求参数
+     * @return 查询条件
+     * @throws IllegalArgumentException state、pagesize、since 或 wait 非法
+     */
+    public static ExperimentQuery parse(Map<String, String> params) {
+        ExperimentQuery query = new ExperimentQuery();
+        query.target = trimToNull(params.get("target"));
+        query.action = trimToNull(params.get("action"));
+        query.className = trimToNull(params.get("classname"));
+        query.cursor = trimToNull(params.get("cursor"));
+        String states = trimToNull(params.get("state"));
+        if (states != null) {
+            query.states = EnumSet.noneOf(ExperimentState.Status.class);
+            for (String part : states.split(",")) {
+                String state = part.trim().toUpperCase();
+                if (state.isEmpty()) {
+                    continue;
+                }
+                if (PAUSED.equals(state)) {
+                    query.paused = true;
+                    continue;
+                }
+                try {
+                    query.states.add(ExperimentState.Status.valueOf(state));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Illegal state: " + part.trim());
+                }
+            }
+            if (query.states.isEmpty()) {
+                query.states = null;
+            }
+        }
+        String pageSize = trimToNull(params.get("pagesize"));
+        if (pageSize != null) {
+            try {
+                query.pageSize = Integer.parseInt(pageSize);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Illegal pagesize: " + pageSize);
+            }
+            if (query.pageSize <= 0) {
+                throw new IllegalArgumentException("Illegal pagesize: " + pageSize);
+            }
+        }
+        query.since = parseLong(params, "since", -1);
+        query.waitMillis = Math.min(parseLong(params, "wait", 0), MAX_WAIT_MILLIS);
+        if (query.waitMillis > 0 && query.since < 0) {
+            throw new IllegalArgumentException("Parameter wait requires since");
+        }
+        return query;
+    }
+
+    /**
+     * @return 已知的注册表版本，未指定为 -1
+     */
+    public long getSince() {
+        return since;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * 实验是否满足过滤条件
+     *
+     * @param enhancer 实验
+     * @return 是否满足
+     */
+    public boolean accepts(Enhancer enhancer) {
+        Map<String, String> params = enhancer.getParams();
+        if (target != null && (params == null || !target.equals(params.get("target")))) {
+            return false;
+        }
+        if (action != null && !action.equals(enhancer.getAction())) {
+            return false;
+        }
+        if (paused && !enhancer.isPaused()) {
+            return false;
+        }
+        if (states != null && !states.contains(enhancer.getState().getStatus())) {
+            return false;
+        }
+        if (className != null) {
+            PointCut pointCut = enhancer.getPointCut();
+            boolean sameRule = params != null && className.equals(params.get("classname"));
+            if (!sameRule && (pointCut == null || !pointCut.matchClass(className))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 满足过滤条件的实验数，不受分页影响；没有过滤条件时直接取注册表大小
+     *
+     * @param experiments 按实验 ID 排序的注册表
+     * @return 实验数
+     */
+    public int count(NavigableMap<String, Enhancer> experiments) {
+        if (target == null && action == null && className == null && states == null && !paused) {
+            return experiments.size();
+        }
+        int count = 0;
+        for (Enhancer enhancer : experiments.values()) {
+            if (accepts(enhancer)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 写出一页实验：字段 experiments（数组），还有下一页时再写 nextCursor
+     *
+     * @param generator   JSON 生成器，当前位于对象内
+     * @param experiments 按实验 ID 排序的注册表
+     * @param writer      单个实验的写出方式
+     * @return 本页实验数
+     * @throws IOException 写出失败
+     */
+    public int writePage(JsonGenerator generator, NavigableMap<String, Enhancer> experiments,
+            ExperimentWriter writer) throws IOException {
+        NavigableMap<String, Enhancer> view = cursor == null ? experiments : experiments.tailMap(cursor, false);
+        String last = null;
+        String nextCursor = null;
+        int count = 0;
+        generator.writeArrayFieldStart("experiments");
+        for (Map.Entry<String, Enhancer> entry : view.entrySet()) {
+            if (!accepts(entry.getValue())) {
+                continue;
+            }
+            if (pageSize > 0 && count == pageSize) {
+                nextCursor = last;
+                break;
+            }
+            writer.write(generator, entry.getValue());
+            last = entry.getKey();
+            count++;
+        }
+        generator.writeEndArray();
+        if (nextCursor != null) {
+            generator.writeStringField("nextCursor", nextCursor);
+        }
+        return count;
+    }
+
+    private static long parseLong(Map<String, String> params, String name, long defaultValue) {
+        String value = trimToNull(params.get(name));
+        if (value == null) {
+            return defaultValue;
+        }
+        long parsed;
+        try {
+            parsed = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Illegal " + name + ": " + value);
+        }
+        if (parsed < 0) {
+            throw new IllegalArgumentException("Illegal " + name + ": " + value);
+        }
+        return parsed;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * ExperimentRegistry - 带版本号的实验注册表
+ *
+ * [改造说明]
+ * 控制台定期轮询每个 JVM 的 list / status，实验没有变化时也每次拿到全量结果。注册表：
+ * 1. 按实验 ID 排序保存实验（list / status 以实验 ID 作为分页游标）
+ * 2. 每次变化（创建、状态切换、暂停 / 恢复、销毁）版本号加一，并记入有界的变更日志（最近 MAX_CHANGES 条）
+ * 3. changesSince() 返回某版本之后的变更，同一实验只保留最后一次；版本早于日志保留范围时返回 null，调用方改为全量
+ * 4. awaitChange() 阻塞到版本超过给定值或超时，用于 list 的长轮询
+ * 生效次数不算变化（每次注入都会变，记录下来日志会被刷满）
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class ExperimentRegistry {
+
+    /** 变更日志保留条数 */
+    static final int MAX_CHANGES = 1024;
+
+    /**
+     * 变更类型
+     */
+    public enum ChangeType {
+        CREATED, UPDATED, DESTROYED
+    }
+
+    /**
+     * 一次变更
+     */
+    public static class Change {
+
+        private final long version;
+        private final ChangeType type;
+        private final Enhancer enhancer;
+
+        Change(long version, ChangeType type, Enhancer enhancer) {
+            this.version = version;
+            this.type = type;
+            this.enhancer = enhancer;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        /**
+         * @return 变更的实验，已销毁的实验保留销毁时的引用
+         */
+        public Enhancer getEnhancer() {
+            return enhancer;
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, Enhancer> experiments = new ConcurrentSkipListMap<>();
+
+    private final NavigableMap<String, Enhancer> view = Collections.unmodifiableNavigableMap(experiments);
+
+    /** 变更日志，按版本递增，受 this 保护 */
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+
+    /** 当前版本，受 this 保护，读取可不加锁 */
+    private volatile long version;
+
+    /**
+     * 注册实验，之后实验的状态切换都记为变更
+     *
+     * @param enhancer 实验
+     */
+    public void put(final Enhancer enhancer) {
+        final String experimentId = enhancer.getUid();
+        synchronized (this) {
+            experiments.put(experimentId, enhancer);
+            record(ChangeType.CREATED, enhancer);
+        }
+        enhancer.getState().setChangeListener(new Runnable() {
+            @Override
+            public void run() {
+                updated(enhancer);
+            }
+        });
+    }
+
+    /**
+     * 移除实验，只有仍是同一个实验时才移除
+     *
+     * @param experimentId 实验 ID
+     * @param enhancer     实验
+     * @return 是否移除
+     */
+    public synchronized boolean remove(String experimentId, Enhancer enhancer) {
+        if (!experiments.remove(experimentId, enhancer)) {
+            return false;
+        }
+        record(ChangeType.DESTROYED, enhancer);
+        return true;
+    }
+
+    /**
+     * 记录实验的变化（状态切换、暂停 / 恢复），已移除的实验忽略
+     *
+     * @param enhancer 实验
+     */
+    public synchronized void updated(Enhancer enhancer) {
+        if (experiments.get(enhancer.getUid()) == enhancer) {
+            record(ChangeType.UPDATED, enhancer);
+        }
+    }
+
+    public Enhancer get(String experimentId) {
+        return experiments.get(experimentId);
+    }
+
+    public int size() {
+        return experiments.size();
+    }
+
+    /**
+     * @return 按实验 ID 排序的只读视图
+     */
+    public NavigableMap<String, Enhancer> view() {
+        return view;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 某版本之后的变更，同一实验只保留最后一次（先创建后更新仍记为创建），按版本排序
+     *
+     * @param since 调用方已知的版本
+     * @return 变更列表，since 早于日志保留范围（或晚于当前版本）时返回 null
+     */
+    public synchronized List<Change> changesSince(long since) {
+        if (since > version) {
+            return null;
+        }
+        Change oldest = changes.peekFirst();
+        if (since < version && (oldest == null || oldest.version > since + 1)) {
+            return null;
+        }
+        Map<String, Change> latest = new LinkedHashMap<>();
+        for (Iterator<Change> it = changes.descendingIterator(); it.hasNext(); ) {
+            Change change = it.next();
+            if (change.version <= since) {
+                break;
+            }
+            String experimentId = change.enhancer.getUid();
+            Change later = latest.get(experimentId);
+            if (later == null) {
+                latest.put(experimentId, change);
+            } else if (change.type == ChangeType.CREATED && later.type == ChangeType.UPDATED) {
+                latest.put(experimentId, new Change(later.version, ChangeType.CREATED, later.enhancer));
+            }
+        }
+        // 倒序遍历得到的是版本从新到旧
+        List<Change> result = new ArrayList<>(latest.values());
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 等待版本超过 since
+     *
+     * @param since         调用方已知的版本
+     * @param timeoutMillis 最长等待时间（毫秒）
+     * @return 返回时的版本
+     * @throws InterruptedException 等待被中断
+     */
+    public synchronized long awaitChange(long since, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (version <= since) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            wait(remaining);
+        }
+        return version;
+    }
+
+    private void record(ChangeType type, Enhancer enhancer) {
+        long next = version + 1;
+        if (changes.size() == MAX_CHANGES) {
+            changes.removeFirst();
+        }
+        changes.addLast(new Change(next, type, enhancer));
+        version = next;
+        notifyAll();
+    }
+}
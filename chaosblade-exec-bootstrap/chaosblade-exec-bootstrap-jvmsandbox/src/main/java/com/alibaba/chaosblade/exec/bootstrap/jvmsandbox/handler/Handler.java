@@ -17,9 +17,12 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
 
 import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -104,6 +107,16 @@ public abstract class Handler {
         }
     }
 
+    /**
+     * 按命令名称查找 Handler
+     * 
+     * @param command 命令名称
+     * @return Handler，未注册时返回 null
+     */
+    public static Handler get(String command) {
+        return handlers.get(command);
+    }
+
     /**
      * 获取所有已注册的 Handler 名称
      * 用于调试和状态查询
@@ -113,5 +126,46 @@ public abstract class Handler {
     public static java.util.Set<String> getRegisteredHandlers() {
         return handlers.keySet();
     }
-}
 
+    /**
+     * 把 JSON 对象转换为命令参数
+     * 字段值为对象或数组时（如批量命令的 experiments）保留其 JSON 文本，null 保留为 null
+     *
+     * @param object JSON 对象
+     * @return 命令参数
+     */
+    public static Map<String, String> toParams(JsonNode object) {
+        Map<String, String> params = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                params.put(field.getKey(), null);
+            } else if (value.isContainerNode()) {
+                params.put(field.getKey(), value.toString());
+            } else {
+                params.put(field.getKey(), value.asText());
+            }
+        }
+        return params;
+    }
+
+    /**
+     * 转义 JSON 字符串
+     * 
+     * @param obj 对象
+     * @return 转义后的字符串
+     */
+    protected static String escapeJson(Object obj) {
+        if (obj == null) {
+            return "";
+        }
+        String str = String.valueOf(obj);
+        return str.replace("\\", "\\\\")
+                  .replace("\"", "\\\"")
+                  .replace("\n", "\\n")
+                  .replace("\r", "\\r")
+                  .replace("\t", "\\t");
+    }
+}
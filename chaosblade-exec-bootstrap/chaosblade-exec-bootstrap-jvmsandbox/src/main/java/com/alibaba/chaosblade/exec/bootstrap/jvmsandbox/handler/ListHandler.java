@@ -17,17 +17,34 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
-import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ExperimentState;
+import com.fasterxml.jackson.core.JsonGenerator;
 
-import java.util.*;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 
 /**
  * 列出所有活跃实验
  * 
+ * status 为实验生命周期状态（PENDING / WATCHING / ACTIVE / FAILED / DESTROYING），
+ * paused 为是否已暂停（与生命周期状态无关），ttl 为限时实验距到期的剩余毫秒数（不限时不输出），
+ * createTime 为实验创建时间，state 为各阶段时间点、命中类数和增强耗时（ExperimentState）
+ * 
+ * 结果为 {"total":满足过滤条件的实验数（不受分页影响）,"experiments":[...],"nextCursor":...}，按实验 ID 排序，
+ * 支持 target / action / classname / state 过滤和 cursor / pagesize 分页（见 ExperimentQuery），
+ * 由 StreamingHandler 直接写到响应输出；version 为注册表当前版本
+ * 
+ * 增量：指定 since=<版本> 时结果为 {"version":...,"changes":[...]}，每项为 uid、type（CREATED / UPDATED / DESTROYED，
+ * 不再满足过滤条件的为 EXCLUDED）、version，CREATED / UPDATED 带 experiment（当前内容）；
+ * since 早于变更日志保留范围时退回全量结果（有 experiments 而没有 changes）。
+ * 可选 wait=<毫秒>：没有变化时等待到有变化或超时（最长 60 秒）
+ * 
  * @author rakkaus
  * @since 1.8.0
  */
-public class ListHandler extends Handler {
+public class ListHandler extends StreamingHandler<ExperimentQuery> implements ExperimentQuery.ExperimentWriter {
     
     @Override
     public String getHandlerName() {
@@ -35,125 +52,110 @@ public class ListHandler extends Handler {
     }
     
     @Override
-    protected Response handle(Map<String, String> params) {
-        // 获取所有实验
-        Map<String, Enhancer> experiments = CreateHandler.getExperiments();
-        
-        // 构建实验列表（模仿 zz 版本的格式）
-        List<Map<String, Object>> experimentList = new ArrayList<>();
-        for (Map.Entry<String, Enhancer> entry : experiments.entrySet()) {
-            Enhancer enhancer = entry.getValue();
-            Map<String, Object> expInfo = new HashMap<>();
-            
-            // 基本信息
-            expInfo.put("uid", entry.getKey());
-            expInfo.put("action", enhancer.getAction());
-            expInfo.put("target", enhancer.getParams().get("target"));
-            
-            // 统计信息
-            expInfo.put("effectCount", enhancer.getEffectCount());
-            expInfo.put("limit", enhancer.getLimit());
-            
-            // 切点信息
-            Map<String, String> enhancerParams = enhancer.getParams();
-            if (enhancerParams != null) {
-                expInfo.put("className", enhancerParams.get("classname"));
-                expInfo.put("methodName", enhancerParams.get("methodname"));
-                
-                // 动作特定参数
-                if ("delay".equals(enhancer.getAction())) {
-                    expInfo.put("time", enhancerParams.get("time"));
-                } else if ("throws".equals(enhancer.getAction())) {
-                    expInfo.put("exception", enhancerParams.get("exception"));
-                    expInfo.put("message", enhancerParams.get("message"));
-                } else if ("mock".equals(enhancer.getAction())) {
-                    expInfo.put("value", enhancerParams.get("value"));
-                    expInfo.put("type", enhancerParams.get("type"));
-                }
+    protected ExperimentQuery parse(Map<String, String> params) {
+        return ExperimentQuery.parse(params);
+    }
+    
+    @Override
+    protected void write(ExperimentQuery query, JsonGenerator generator) throws IOException {
+        ExperimentRegistry experiments = CreateHandler.getExperiments();
+        long since = query.getSince();
+        if (since >= 0 && query.getWaitMillis() > 0) {
+            try {
+                experiments.awaitChange(since, query.getWaitMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
-            
-            // 状态信息
-            expInfo.put("status", "running");
-            expInfo.put("createTime", System.currentTimeMillis());
-            
-            experimentList.add(expInfo);
         }
+        // 先取版本再取内容，之间发生的变更下次会再返回一次，不会遗漏
+        long version = experiments.getVersion();
+        List<ExperimentRegistry.Change> changes = since >= 0 ? experiments.changesSince(since) : null;
+        generator.writeStartObject();
+        generator.writeNumberField("version", version);
+        if (changes != null) {
+            writeChanges(query, changes, generator);
+            generator.writeEndObject();
+            logger.debug("[列表处理器] 已列出版本 {} 之后的 {} 项变更", since, changes.size());
+            return;
+        }
+        NavigableMap<String, Enhancer> view = experiments.view();
+        generator.writeNumberField("total", query.count(view));
+        int count = query.writePage(generator, view, this);
+        generator.writeEndObject();
+        logger.debug("[列表处理器] 已列出 {} 个实验", count);
+    }
+    
+    private void writeChanges(ExperimentQuery query, List<ExperimentRegistry.Change> changes,
+            JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("changes");
+        for (ExperimentRegistry.Change change : changes) {
+            Enhancer enhancer = change.getEnhancer();
+            ExperimentRegistry.ChangeType type = change.getType();
+            boolean accepted = query.accepts(enhancer);
+            generator.writeStartObject();
+            generator.writeStringField("uid", enhancer.getUid());
+            generator.writeStringField("type", type != ExperimentRegistry.ChangeType.DESTROYED && !accepted
+                ? "EXCLUDED" : type.name());
+            generator.writeNumberField("version", change.getVersion());
+            if (type != ExperimentRegistry.ChangeType.DESTROYED && accepted) {
+                generator.writeFieldName("experiment");
+                write(generator, enhancer);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+    
+    @Override
+    public void write(JsonGenerator generator, Enhancer enhancer) throws IOException {
+        ExperimentState state = enhancer.getState();
+        generator.writeStartObject();
         
-        // 构建响应（JSON 格式）
-        StringBuilder result = new StringBuilder();
-        result.append("[");
+        // 基本信息
+        generator.writeStringField("uid", enhancer.getUid());
+        generator.writeStringField("action", enhancer.getAction());
         
-        for (int i = 0; i < experimentList.size(); i++) {
-            Map<String, Object> exp = experimentList.get(i);
-            result.append("{");
-            
-            // 基本信息
-            result.append("\"uid\":\"").append(escapeJson(exp.get("uid"))).append("\",");
-            result.append("\"action\":\"").append(escapeJson(exp.get("action"))).append("\",");
-            result.append("\"target\":\"").append(escapeJson(exp.get("target"))).append("\",");
-            
-            // 统计信息
-            result.append("\"effectCount\":").append(exp.get("effectCount")).append(",");
-            result.append("\"limit\":").append(exp.get("limit")).append(",");
+        // 统计信息
+        generator.writeNumberField("effectCount", enhancer.getEffectCount());
+        generator.writeNumberField("limit", enhancer.getLimit());
+        
+        Map<String, String> params = enhancer.getParams();
+        if (params != null) {
+            generator.writeStringField("target", params.get("target"));
             
             // 切点信息
-            if (exp.get("className") != null) {
-                result.append("\"className\":\"").append(escapeJson(exp.get("className"))).append("\",");
-            }
-            if (exp.get("methodName") != null) {
-                result.append("\"methodName\":\"").append(escapeJson(exp.get("methodName"))).append("\",");
-            }
+            writeOptional(generator, "className", params.get("classname"));
+            writeOptional(generator, "methodName", params.get("methodname"));
             
             // 动作特定参数
-            if (exp.get("time") != null) {
-                result.append("\"time\":\"").append(escapeJson(exp.get("time"))).append("\",");
-            }
-            if (exp.get("exception") != null) {
-                result.append("\"exception\":\"").append(escapeJson(exp.get("exception"))).append("\",");
-            }
-            if (exp.get("message") != null) {
-                result.append("\"message\":\"").append(escapeJson(exp.get("message"))).append("\",");
-            }
-            if (exp.get("value") != null) {
-                result.append("\"value\":\"").append(escapeJson(exp.get("value"))).append("\",");
-            }
-            if (exp.get("type") != null) {
-                result.append("\"type\":\"").append(escapeJson(exp.get("type"))).append("\",");
-            }
-            
-            // 状态信息
-            result.append("\"status\":\"").append(exp.get("status")).append("\",");
-            result.append("\"createTime\":").append(exp.get("createTime"));
-            
-            result.append("}");
-            if (i < experimentList.size() - 1) {
-                result.append(",");
+            if ("delay".equals(enhancer.getAction())) {
+                writeOptional(generator, "time", params.get("time"));
+            } else if ("throws".equals(enhancer.getAction())) {
+                writeOptional(generator, "exception", params.get("exception"));
+                writeOptional(generator, "message", params.get("message"));
+            } else if ("mock".equals(enhancer.getAction())) {
+                writeOptional(generator, "value", params.get("value"));
+                writeOptional(generator, "type", params.get("type"));
             }
         }
         
-        result.append("]");
-        
-        logger.info("[列表处理器] 已列出 {} 个实验", experiments.size());
+        // 状态信息
+        generator.writeStringField("status", state.getStatus().name());
+        generator.writeBooleanField("paused", enhancer.isPaused());
+        long ttl = state.getRemainingMillis();
+        if (ttl >= 0) {
+            generator.writeNumberField("ttl", ttl);
+        }
+        generator.writeNumberField("createTime", state.getCreateTime());
+        generator.writeFieldName("state");
+        generator.writeRawValue(state.toJson());
         
-        return Response.ofSuccess(result.toString());
+        generator.writeEndObject();
     }
     
-    /**
-     * 转义 JSON 字符串
-     * 
-     * @param obj 对象
-     * @return 转义后的字符串
-     */
-    private String escapeJson(Object obj) {
-        if (obj == null) {
-            return "";
+    private static void writeOptional(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
         }
-        String str = String.valueOf(obj);
-        return str.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", "\\n")
-                  .replace("\r", "\\r")
-                  .replace("\t", "\\t");
     }
 }
-
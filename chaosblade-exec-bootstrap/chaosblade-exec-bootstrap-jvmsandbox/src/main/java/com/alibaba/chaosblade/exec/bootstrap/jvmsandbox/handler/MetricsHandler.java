@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.ExperimentMetrics;
+import com.alibaba.chaosblade.exec.common.center.LogLinearHistogram;
+import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * MetricsHandler - 导出实验调用统计
+ *
+ * [改造说明]
+ * 1. 默认输出 JSON：{"experiments":[{uid, action, target, effectCount, intercepted, rejected, matched, injected,
+ *    errors, matchRate, injectedDelay, endToEnd}], "nextCursor":...}，直方图单位为微秒，带 count / sum / mean / max / 百分位
+ * 2. format=prometheus 时输出 Prometheus 文本格式：计数器为 chaosblade_experiment_*_total，
+ *    直方图为 summary（秒），标签为 uid、action、target；SandboxModule 直接写出文本，不套响应信封
+ * 3. 过滤和分页与 list 相同（ExperimentQuery），Prometheus 格式不分页
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class MetricsHandler extends StreamingHandler<ExperimentQuery> implements ExperimentQuery.ExperimentWriter {
+
+    public static final String FORMAT_PROMETHEUS = "prometheus";
+
+    /** Prometheus 文本格式的 Content-Type */
+    public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String PREFIX = "chaosblade_experiment_";
+
+    @Override
+    protected String getHandlerName() {
+        return "metrics";
+    }
+
+    @Override
+    protected ExperimentQuery parse(Map<String, String> params) {
+        return ExperimentQuery.parse(params);
+    }
+
+    @Override
+    protected Response handle(Map<String, String> params) {
+        if (!isPrometheus(params)) {
+            return super.handle(params);
+        }
+        StringWriter result = new StringWriter(1024);
+        try {
+            writePrometheus(parse(params), result);
+        } catch (IllegalArgumentException e) {
+            return Response.ofFailure(Response.Code.ILLEGAL_PARAMETER, e.getMessage());
+        } catch (IOException e) {
+            return Response.ofFailure(Response.Code.SERVER_ERROR, "Failed to write result: " + e.getMessage());
+        }
+        return Response.ofSuccess(result.toString());
+    }
+
+    /**
+     * @param params 请求参数
+     * @return 是否要求 Prometheus 文本格式
+     */
+    public static boolean isPrometheus(Map<String, String> params) {
+        return FORMAT_PROMETHEUS.equalsIgnoreCase(params.get("format"));
+    }
+
+    @Override
+    protected void write(ExperimentQuery query, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        query.writePage(generator, CreateHandler.getExperiments().view(), this);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void write(JsonGenerator generator, Enhancer enhancer) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uid", enhancer.getUid());
+        generator.writeStringField("action", enhancer.getAction());
+        generator.writeStringField("target", target(enhancer));
+        generator.writeNumberField("effectCount", enhancer.getEffectCount());
+        enhancer.getMetrics().writeFields(generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * 以 Prometheus 文本格式写出满足过滤条件的实验，同一指标的各实验写在一起
+     *
+     * @param query  过滤条件
+     * @param writer 输出
+     * @throws IOException 写出失败
+     */
+    public void writePrometheus(ExperimentQuery query, Writer writer) throws IOException {
+        Iterable<Enhancer> experiments = CreateHandler.getExperiments().view().values();
+        StringBuilder line = new StringBuilder(256);
+        for (int metric = 0; metric < COUNTERS.length; metric++) {
+            String name = PREFIX + COUNTERS[metric] + "_total";
+            writer.write("# HELP " + name + " " + COUNTER_HELP[metric] + "\n");
+            writer.write("# TYPE " + name + " counter\n");
+            for (Enhancer enhancer : experiments) {
+                if (!query.accepts(enhancer)) {
+                    continue;
+                }
+                line.setLength(0);
+                appendSample(line, name, enhancer, null, counter(enhancer, metric));
+                writer.write(line.toString());
+            }
+        }
+        for (int metric = 0; metric < SUMMARIES.length; metric++) {
+            String name = PREFIX + SUMMARIES[metric] + "_seconds";
+            writer.write("# HELP " + name + " " + SUMMARY_HELP[metric] + "\n");
+            writer.write("# TYPE " + name + " summary\n");
+            for (Enhancer enhancer : experiments) {
+                LogLinearHistogram histogram = metric == 0
+                    ? enhancer.getMetrics().getInjectedDelay() : enhancer.getMetrics().getEndToEnd();
+                if (histogram == null || !query.accepts(enhancer)) {
+                    continue;
+                }
+                LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+                line.setLength(0);
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    appendSample(line, name, enhancer, QUANTILE_LABELS[i],
+                        seconds(snapshot.getValueAtPercentile(QUANTILES[i])));
+                }
+                appendSample(line, name + "_sum", enhancer, null, seconds(snapshot.getSum()));
+                appendSample(line, name + "_count", enhancer, null, String.valueOf(snapshot.getCount()));
+                writer.write(line.toString());
+            }
+        }
+        writer.flush();
+    }
+
+    private static final String[] COUNTERS = {"intercepted", "rejected", "matched", "errors", "injected"};
+
+    private static final String[] COUNTER_HELP = {
+        "Calls that reached the experiment on the enhanced method",
+        "Calls rejected by the experiment filter",
+        "Calls that passed the filter and ran the enhancer",
+        "Errors raised while injecting",
+        "Faults actually injected"
+    };
+
+    private static final String[] SUMMARIES = {"injected_delay", "end_to_end"};
+
+    private static final String[] SUMMARY_HELP = {
+        "Delay injected per injection, 0 for non-delay faults",
+        "Duration of injected calls from entry to return or throw, with latency=true"
+    };
+
+    private static final double[] QUANTILES = {50, 90, 99, 99.9};
+
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+
+    private static String counter(Enhancer enhancer, int metric) {
+        ExperimentMetrics metrics = enhancer.getMetrics();
+        switch (metric) {
+            case 0: return String.valueOf(metrics.getIntercepted());
+            case 1: return String.valueOf(metrics.getRejected());
+            case 2: return String.valueOf(metrics.getMatched());
+            case 3: return String.valueOf(metrics.getErrors());
+            default: return String.valueOf(metrics.getInjected());
+        }
+    }
+
+    private static void appendSample(StringBuilder line, String name, Enhancer enhancer, String quantile,
+            String value) {
+        line.append(name).append("{uid=\"");
+        appendLabel(line, enhancer.getUid());
+        line.append("\",action=\"");
+        appendLabel(line, enhancer.getAction());
+        line.append("\",target=\"");
+        appendLabel(line, target(enhancer));
+        line.append('"');
+        if (quantile != null) {
+            line.append(",quantile=\"").append(quantile).append('"');
+        }
+        line.append("} ").append(value).append('\n');
+    }
+
+    /**
+     * 标签值转义：反斜杠、双引号、换行
+     */
+    private static void appendLabel(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    private static String seconds(long micros) {
+        return String.valueOf(micros / 1e6);
+    }
+
+    private static String target(Enhancer enhancer) {
+        Map<String, String> params = enhancer.getParams();
+        return params == null ? null : params.get("target");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.common.transport.Response;
+
+import java.util.Map;
+
+/**
+ * PauseHandler - 暂停混沌实验
+ *
+ * [改造说明]
+ * 销毁实验会 retransform 回原始字节码，重新开启又要一次全量 watch，频繁开关故障时
+ * 每次都会触发大量类重新编译。暂停只切换实验的 volatile 开关：
+ * 1. 字节码增强保留，监听器跳过已暂停的实验，切换开销与 retransform 无关
+ * 2. 尚未增强完成的实验也可以暂停，增强完成后保持暂停
+ * 3. 重复暂停 / 恢复幂等，返回当前状态
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class PauseHandler extends Handler {
+
+    @Override
+    protected String getHandlerName() {
+        return "pause";
+    }
+
+    /**
+     * @return true-暂停，false-恢复
+     */
+    protected boolean isPause() {
+        return true;
+    }
+
+    @Override
+    protected Response handle(Map<String, String> params) {
+        String experimentId = params.get("uid");
+        if (experimentId == null || experimentId.isEmpty()) {
+            return Response.ofFailure(
+                Response.Code.ILLEGAL_PARAMETER,
+                "缺少必需参数: uid (实验ID)"
+            );
+        }
+
+        Enhancer enhancer = CreateHandler.getExperiments().get(experimentId);
+        if (enhancer == null) {
+            logger.warn("[暂停处理器] 实验未找到: {}", experimentId);
+            return Response.ofFailure(
+                Response.Code.NOT_FOUND,
+                "实验未找到: " + experimentId
+            );
+        }
+
+        boolean pause = isPause();
+        enhancer.setPaused(pause);
+        CreateHandler.getExperiments().updated(enhancer);
+        logger.info("[暂停处理器] 实验已{}: {}", pause ? "暂停" : "恢复", experimentId);
+
+        return Response.ofSuccess(buildResult(enhancer));
+    }
+
+    /**
+     * 构建暂停 / 恢复结果
+     *
+     * @param enhancer 实验增强器
+     * @return JSON 格式的结果
+     */
+    private String buildResult(Enhancer enhancer) {
+        return "{" +
+                "\"code\":200," +
+                "\"success\":true," +
+                "\"result\":{" +
+                "\"experimentId\":\"" + escapeJson(enhancer.getUid()) + "\"," +
+                "\"paused\":" + enhancer.isPaused() + "," +
+                "\"state\":" + enhancer.getState().toJson() +
+                "}" +
+                "}";
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+/**
+ * ResumeHandler - 恢复已暂停的混沌实验
+ *
+ * [改造说明]
+ * 与 PauseHandler 相同，只把实验的暂停开关置回 false，不重新 watch
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class ResumeHandler extends PauseHandler {
+
+    @Override
+    protected String getHandlerName() {
+        return "resume";
+    }
+
+    @Override
+    protected boolean isPause() {
+        return false;
+    }
+}
@@ -17,10 +17,13 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
-import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.OverheadProfiler;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.WatchReport;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.WatchScheduler;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * StatusHandler - 查询系统状态
@@ -30,13 +33,15 @@ import java.util.Set;
  * 1. 查询所有正在运行的实验
  * 2. 查询已注册的 Handler
  * 3. 系统健康检查
- * 
- * TODO: Phase 3 实现 Enhancer 后，添加实验列表查询
+ * 4. 最近几批字节码增强的耗时（WatchReport）
+ * 5. 各实验的生命周期状态（ExperimentState）
+ * 6. 结果由 StreamingHandler 直接写到响应输出，实验列表支持与 list 相同的过滤和分页（ExperimentQuery）
+ * 7. 开启了 profile 的实验输出 overhead：监听器各阶段自身开销的采样直方图（纳秒）
  * 
  * @author rakkaus
  * @since 1.8.0
  */
-public class StatusHandler extends Handler {
+public class StatusHandler extends StreamingHandler<ExperimentQuery> implements ExperimentQuery.ExperimentWriter {
 
     @Override
     protected String getHandlerName() {
@@ -44,88 +49,64 @@ public class StatusHandler extends Handler {
     }
 
     @Override
-    protected Response handle(Map<String, String> params) {
-        logger.info("[状态处理器] 正在查询状态");
-
-        // 1. 获取已注册的 Handler
-        Set<String> registeredHandlers = Handler.getRegisteredHandlers();
-        
-        // 2. 获取已注册的 Enhancer
-        Set<String> registeredEnhancers = Enhancer.getRegisteredEnhancers();
-        
-        // 3. 获取运行中的实验
-        Map<String, Enhancer> experiments = CreateHandler.getExperiments();
-        
-        // 4. 构建状态信息
-        String result = buildStatusResult(registeredHandlers, registeredEnhancers, experiments);
-
-        logger.info("[状态处理器] 状态查询完成");
-        return Response.ofSuccess(result);
+    protected ExperimentQuery parse(Map<String, String> params) {
+        return ExperimentQuery.parse(params);
     }
 
-    /**
-     * 构建状态结果信息
-     * 
-     * @param registeredHandlers 已注册的 Handler
-     * @param registeredEnhancers 已注册的 Enhancer
-     * @param experiments 运行中的实验
-     * @return JSON 格式的结果
-     */
-    private String buildStatusResult(
-            Set<String> registeredHandlers,
-            Set<String> registeredEnhancers,
-            Map<String, Enhancer> experiments) {
-        
-        StringBuilder result = new StringBuilder();
-        result.append("{");
-        result.append("\"code\":200,");
-        result.append("\"success\":true,");
-        result.append("\"result\":{");
-        result.append("\"version\":\"1.8.0\",");
-        result.append("\"author\":\"rakkaus\",");
-        result.append("\"status\":\"running\",");
-        
+    @Override
+    protected void write(ExperimentQuery query, JsonGenerator generator) throws IOException {
+        logger.info("[状态处理器] 正在查询状态");
+        generator.writeStartObject();
+        generator.writeStringField("version", "1.8.0");
+        generator.writeStringField("author", "rakkaus");
+        generator.writeStringField("status", "running");
+
         // 已注册的 Handler
-        result.append("\"registeredHandlers\":[");
-        boolean first = true;
-        for (String handler : registeredHandlers) {
-            if (!first) result.append(",");
-            result.append("\"").append(handler).append("\"");
-            first = false;
+        generator.writeArrayFieldStart("registeredHandlers");
+        for (String handler : Handler.getRegisteredHandlers()) {
+            generator.writeString(handler);
         }
-        result.append("],");
-        
+        generator.writeEndArray();
+
         // 已注册的 Enhancer
-        result.append("\"registeredEnhancers\":[");
-        first = true;
-        for (String enhancer : registeredEnhancers) {
-            if (!first) result.append(",");
-            result.append("\"").append(enhancer).append("\"");
-            first = false;
+        generator.writeArrayFieldStart("registeredEnhancers");
+        for (String enhancer : Enhancer.getRegisteredEnhancers()) {
+            generator.writeString(enhancer);
         }
-        result.append("],");
-        
+        generator.writeEndArray();
+
         // 运行中的实验
-        result.append("\"experimentCount\":").append(experiments.size()).append(",");
-        result.append("\"experiments\":[");
-        first = true;
-        for (Map.Entry<String, Enhancer> entry : experiments.entrySet()) {
-            if (!first) result.append(",");
-            Enhancer enhancer = entry.getValue();
-            result.append("{");
-            result.append("\"uid\":\"").append(entry.getKey()).append("\",");
-            result.append("\"action\":\"").append(enhancer.getName()).append("\",");
-            result.append("\"effectCount\":").append(enhancer.getEffectCount()).append(",");
-            result.append("\"limit\":").append(enhancer.getLimit());
-            result.append("}");
-            first = false;
+        ExperimentRegistry experiments = CreateHandler.getExperiments();
+        generator.writeNumberField("version", experiments.getVersion());
+        generator.writeNumberField("experimentCount", experiments.size());
+        query.writePage(generator, experiments.view(), this);
+
+        // 最近几批字节码增强
+        generator.writeArrayFieldStart("watchBatches");
+        for (WatchReport report : WatchScheduler.getRecentReports()) {
+            generator.writeRawValue(report.toJson());
         }
-        result.append("]");
-        
-        result.append("}");
-        result.append("}");
-        
-        return result.toString();
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        logger.info("[状态处理器] 状态查询完成");
     }
-}
 
+    @Override
+    public void write(JsonGenerator generator, Enhancer enhancer) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("uid", enhancer.getUid());
+        generator.writeStringField("action", enhancer.getName());
+        generator.writeNumberField("effectCount", enhancer.getEffectCount());
+        generator.writeNumberField("limit", enhancer.getLimit());
+        generator.writeBooleanField("paused", enhancer.isPaused());
+        generator.writeFieldName("state");
+        generator.writeRawValue(enhancer.getState().toJson());
+        OverheadProfiler profiler = enhancer.getMetrics().getProfiler();
+        if (profiler != null) {
+            generator.writeFieldName("overhead");
+            profiler.write(generator);
+        }
+        generator.writeEndObject();
+    }
+}
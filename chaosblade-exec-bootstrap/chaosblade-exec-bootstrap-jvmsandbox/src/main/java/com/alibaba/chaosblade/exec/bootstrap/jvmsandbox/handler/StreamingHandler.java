@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.handler;
+
+import com.alibaba.chaosblade.exec.common.transport.Response;
+import com.alibaba.chaosblade.exec.common.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * StreamingHandler - 流式输出结果的处理器
+ *
+ * [改造说明]
+ * list / status 原来先把所有实验复制到临时集合，再拼出一个完整的 JSON 字符串，由 Response 再转义一次写出；
+ * 实验多、轮询频繁时每次请求都产生与实验数成正比的临时对象。流式处理器：
+ * 1. 先由 parse() 校验参数，非法时返回失败响应，不写出任何内容
+ * 2. 再由 write() 通过 JsonGenerator 把结果直接写到 Servlet 的 Writer，响应信封为
+ *    {"requestId":null,"code":200,"success":true,"result":{...},"error":null}，result 为 JSON 对象而不是转义后的字符串
+ * 3. 通过 Handler.dispatch() 调用时仍返回 Response，result 为同样内容的 JSON 文本
+ *
+ * @param <Q> 解析后的参数
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public abstract class StreamingHandler<Q> extends Handler {
+
+    private static final JsonFactory FACTORY = JsonUtil.writer().getFactory();
+
+    /**
+     * 解析并校验参数
+     *
+     * @param params 请求参数
+     * @return 解析后的参数
+     * @throws IllegalArgumentException 参数非法
+     */
+    protected abstract Q parse(Map<String, String> params);
+
+    /**
+     * 写出 result 的内容（一个 JSON 值）
+     *
+     * @param query     解析后的参数
+     * @param generator JSON 生成器
+     * @throws IOException 写出失败
+     */
+    protected abstract void write(Q query, JsonGenerator generator) throws IOException;
+
+    @Override
+    protected Response handle(Map<String, String> params) {
+        Q query;
+        try {
+            query = parse(params);
+        } catch (IllegalArgumentException e) {
+            return Response.ofFailure(Response.Code.ILLEGAL_PARAMETER, e.getMessage());
+        }
+        StringWriter result = new StringWriter(256);
+        try (JsonGenerator generator = FACTORY.createGenerator(result)) {
+            write(query, generator);
+        } catch (IOException e) {
+            return Response.ofFailure(Response.Code.SERVER_ERROR, "Failed to write result: " + e.getMessage());
+        }
+        return Response.ofSuccess(result.toString());
+    }
+
+    /**
+     * 把响应直接写到 writer
+     *
+     * @param params 请求参数
+     * @param writer 响应输出，不由本方法关闭
+     * @return 参数非法时返回失败响应（未写出任何内容），已写出时返回 null
+     * @throws IOException 写出失败
+     */
+    public Response stream(Map<String, String> params, Writer writer) throws IOException {
+        Q query;
+        try {
+            query = parse(params);
+        } catch (IllegalArgumentException e) {
+            return Response.ofFailure(Response.Code.ILLEGAL_PARAMETER, e.getMessage());
+        }
+        JsonGenerator generator = FACTORY.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            generator.writeStartObject();
+            generator.writeNullField("requestId");
+            generator.writeNumberField("code", Response.Code.OK.getCode());
+            generator.writeBooleanField("success", true);
+            generator.writeFieldName("result");
+            write(query, generator);
+            generator.writeNullField("error");
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+        return null;
+    }
+}
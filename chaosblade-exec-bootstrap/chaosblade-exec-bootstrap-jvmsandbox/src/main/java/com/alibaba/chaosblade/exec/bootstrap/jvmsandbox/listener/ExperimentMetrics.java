@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
+
+import com.alibaba.chaosblade.exec.common.center.LogLinearHistogram;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ExperimentMetrics - 单个实验的调用统计
+ *
+ * [改造说明]
+ * 原来每个实验只有生效次数（effectCount），看不到切点方法被调用了多少次、命中率、注入延迟的分布。
+ * 由 MethodEventListener 在事件路径上记录：
+ * 1. intercepted：进入该实验的调用（已暂停的实验不计）
+ * 2. rejected：被 filter() 过滤的调用；matched：通过过滤、执行了 enhance() 的调用；errors：增强过程异常
+ * 3. injected / injectedDelay：实际注入的次数和每次注入的延迟，由增强器在注入时（Enhancer.recordInjection）记录，
+ *    达到限制次数、规则未命中、异步延迟未能注入等执行了 enhance() 但没有注入的调用不计；非延迟故障的延迟记为 0
+ * 4. endToEnd：命中调用从方法进入到返回或抛出异常的耗时，需要监听返回事件，仅在实验指定 latency=true 时记录
+ * 5. profiler：监听器各阶段自身开销的采样统计（OverheadProfiler），仅在实验指定 profile 时记录
+ *
+ * 计数器用 LongAdder（分段数不超过 CPU 数），直方图用 common 模块的 LogLinearHistogram，
+ * 按微秒记录、最长 1 小时，创建实验时一次分配，之后不再分配内存，记录路径无锁
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class ExperimentMetrics {
+
+    /** 每个 2 的幂区间的线性分段（2^4），相对误差不超过 1/16 */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** 直方图上限（微秒） */
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    /** 输出的百分位 */
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LongAdder intercepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder injected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private final LogLinearHistogram injectedDelay = new LogLinearHistogram(SUB_BUCKET_BITS, HIGHEST_MICROS);
+
+    /** 未开启耗时统计时为 null */
+    private final LogLinearHistogram endToEnd;
+
+    /** 未开启开销采样时为 null */
+    private final OverheadProfiler profiler;
+
+    /**
+     * @param latencyTracked 是否记录命中调用的端到端耗时
+     */
+    public ExperimentMetrics(boolean latencyTracked) {
+        this(latencyTracked, null);
+    }
+
+    /**
+     * @param latencyTracked 是否记录命中调用的端到端耗时
+     * @param profiler       开销采样，null 表示不采样
+     */
+    public ExperimentMetrics(boolean latencyTracked, OverheadProfiler profiler) {
+        this.endToEnd = latencyTracked ? new LogLinearHistogram(SUB_BUCKET_BITS, HIGHEST_MICROS) : null;
+        this.profiler = profiler;
+    }
+
+    public void intercepted() {
+        intercepted.increment();
+    }
+
+    public void rejected() {
+        rejected.increment();
+    }
+
+    public void error() {
+        errors.increment();
+    }
+
+    /**
+     * 记录一次通过过滤、执行 enhance() 的调用
+     */
+    public void matched() {
+        matched.increment();
+    }
+
+    /**
+     * 记录一次实际注入
+     *
+     * @param delayMillis 注入的延迟（毫秒），非延迟故障为 0
+     */
+    public void injected(long delayMillis) {
+        injected.increment();
+        injectedDelay.record(TimeUnit.MILLISECONDS.toMicros(Math.max(0, delayMillis)));
+    }
+
+    /**
+     * 记录一次命中调用的端到端耗时，未开启耗时统计时忽略
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void endToEnd(long nanos) {
+        if (endToEnd != null) {
+            endToEnd.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    public boolean isLatencyTracked() {
+        return endToEnd != null;
+    }
+
+    /**
+     * @return 开销采样，未开启时为 null
+     */
+    public OverheadProfiler getProfiler() {
+        return profiler;
+    }
+
+    public long getIntercepted() {
+        return intercepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getMatched() {
+        return matched.sum();
+    }
+
+    public long getInjected() {
+        return injected.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public LogLinearHistogram getInjectedDelay() {
+        return injectedDelay;
+    }
+
+    /**
+     * @return 端到端耗时，未开启耗时统计时为 null
+     */
+    public LogLinearHistogram getEndToEnd() {
+        return endToEnd;
+    }
+
+    /**
+     * 写出计数器和直方图（当前位于对象内）
+     *
+     * @param generator JSON 生成器
+     * @throws IOException 写出失败
+     */
+    public void writeFields(JsonGenerator generator) throws IOException {
+        long interceptedCount = intercepted.sum();
+        long matchedCount = matched.sum();
+        generator.writeNumberField("intercepted", interceptedCount);
+        generator.writeNumberField("rejected", rejected.sum());
+        generator.writeNumberField("matched", matchedCount);
+        generator.writeNumberField("injected", injected.sum());
+        generator.writeNumberField("errors", errors.sum());
+        generator.writeNumberField("matchRate", interceptedCount == 0 ? 0 : (double) matchedCount / interceptedCount);
+        writeHistogram(generator, "injectedDelay", "us", injectedDelay);
+        if (endToEnd != null) {
+            writeHistogram(generator, "endToEnd", "us", endToEnd);
+        }
+    }
+
+    static void writeHistogram(JsonGenerator generator, String name, String unit, LogLinearHistogram histogram)
+            throws IOException {
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        generator.writeObjectFieldStart(name);
+        generator.writeStringField("unit", unit);
+        generator.writeNumberField("count", snapshot.getCount());
+        generator.writeNumberField("sum", snapshot.getSum());
+        generator.writeNumberField("mean", snapshot.getMean());
+        generator.writeNumberField("max", snapshot.getMax());
+        for (double percentile : PERCENTILES) {
+            generator.writeNumberField(percentileName(percentile), snapshot.getValueAtPercentile(percentile));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * @return p50、p99、p999 这样的字段名
+     */
+    private static String percentileName(double percentile) {
+        String digits = String.valueOf(percentile).replace(".0", "").replace(".", "");
+        return "p" + digits;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
+
+import com.alibaba.chaosblade.exec.common.context.Timeout;
+
+/**
+ * ExperimentState - 实验生命周期状态
+ *
+ * [改造说明]
+ * 字节码增强由 WatchScheduler 异步执行，创建接口返回时故障并未生效，增强失败也只打日志。
+ * 每个实验记录自己的状态和各阶段时间点：
+ * - PENDING: 已创建，在增强队列中等待
+ * - WATCHING: 所在批次开始类扫描和 retransform
+ * - ACTIVE: 增强完成，故障已生效（activeTime 即故障生效时间）
+ * - FAILED: 增强失败，error 为失败原因
+ * - DESTROYING: 正在销毁
+ *
+ * ACTIVE 时记录切点命中的类数、所在 watch 的扫描耗时和 retransform 耗时，复用已有 watch 的实验两者为 0。
+ * ACTIVE / FAILED / DESTROYING 为终态，之后的状态切换被忽略（销毁与增强并发时保持 DESTROYING）。
+ * 调用方可以通过 await() 阻塞到实验离开 PENDING / WATCHING。
+ * 限时实验记录到期时间（expireTime）和时间轮上的到期任务，切换为 DESTROYING 时取消到期任务。
+ * 每次状态切换后通知 changeListener（实验注册表据此记录变更、唤醒长轮询）。
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class ExperimentState {
+
+    public enum Status {
+        PENDING, WATCHING, ACTIVE, FAILED, DESTROYING
+    }
+
+    private final long createTime = System.currentTimeMillis();
+
+    private Status status = Status.PENDING;
+
+    private long watchTime;
+    private long activeTime;
+    private long failTime;
+    private long destroyTime;
+
+    /** 切点命中的类数 */
+    private int classes;
+    private long scanMillis;
+    private long retransformMillis;
+
+    /** 失败原因 */
+    private String error;
+
+    /** 到期时间，0 表示不限时 */
+    private long expireTime;
+
+    /** 到期自动销毁任务 */
+    private Timeout expiry;
+
+    /** 状态切换的通知，在持有本对象锁时调用 */
+    private volatile Runnable changeListener;
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public synchronized long getActiveTime() {
+        return activeTime;
+    }
+
+    public synchronized int getClasses() {
+        return classes;
+    }
+
+    public synchronized long getRetransformMillis() {
+        return retransformMillis;
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+
+    public synchronized long getExpireTime() {
+        return expireTime;
+    }
+
+    public synchronized void setExpireTime(long expireTime) {
+        this.expireTime = expireTime;
+    }
+
+    /**
+     * 距到期的剩余时间
+     *
+     * @return 剩余毫秒数，不限时返回 -1
+     */
+    public synchronized long getRemainingMillis() {
+        if (expireTime <= 0) {
+            return -1;
+        }
+        return Math.max(0, expireTime - System.currentTimeMillis());
+    }
+
+    /**
+     * 关联到期任务，已在销毁时直接取消
+     *
+     * @param expiry 时间轮上的到期任务
+     */
+    public synchronized void setExpiry(Timeout expiry) {
+        if (status == Status.DESTROYING) {
+            expiry.cancel();
+            return;
+        }
+        this.expiry = expiry;
+    }
+
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * 是否还在等待增强
+     */
+    public synchronized boolean isEnhancing() {
+        return status == Status.PENDING || status == Status.WATCHING;
+    }
+
+    synchronized void watching() {
+        if (status == Status.PENDING) {
+            status = Status.WATCHING;
+            watchTime = System.currentTimeMillis();
+            fireChanged();
+        }
+    }
+
+    synchronized void active(int classes, long scanMillis, long retransformMillis) {
+        if (!isEnhancing()) {
+            return;
+        }
+        this.classes = classes;
+        this.scanMillis = scanMillis;
+        this.retransformMillis = retransformMillis;
+        status = Status.ACTIVE;
+        activeTime = System.currentTimeMillis();
+        notifyAll();
+        fireChanged();
+    }
+
+    synchronized void failed(String error) {
+        if (!isEnhancing()) {
+            return;
+        }
+        this.error = error;
+        status = Status.FAILED;
+        failTime = System.currentTimeMillis();
+        notifyAll();
+        fireChanged();
+    }
+
+    /**
+     * 标记为正在销毁，在取消增强之前调用
+     */
+    public synchronized void destroying() {
+        if (status == Status.DESTROYING) {
+            return;
+        }
+        status = Status.DESTROYING;
+        destroyTime = System.currentTimeMillis();
+        if (expiry != null) {
+            expiry.cancel();
+            expiry = null;
+        }
+        notifyAll();
+        fireChanged();
+    }
+
+    private void fireChanged() {
+        Runnable listener = changeListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * 等待增强结束
+     *
+     * @param timeoutMillis 最长等待时间（毫秒）
+     * @return 返回时的状态，超时返回 PENDING 或 WATCHING
+     * @throws InterruptedException 等待被中断
+     */
+    public synchronized Status await(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (isEnhancing()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            wait(remaining);
+        }
+        return status;
+    }
+
+    /**
+     * @return JSON 格式，未到达的时间点不输出
+     */
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder(160);
+        json.append("{\"status\":\"").append(status.name()).append('"');
+        json.append(",\"createTime\":").append(createTime);
+        appendTime(json, "watchTime", watchTime);
+        appendTime(json, "activeTime", activeTime);
+        appendTime(json, "failTime", failTime);
+        appendTime(json, "destroyTime", destroyTime);
+        appendTime(json, "expireTime", expireTime);
+        if (activeTime > 0) {
+            json.append(",\"classes\":").append(classes);
+            json.append(",\"scanMillis\":").append(scanMillis);
+            json.append(",\"retransformMillis\":").append(retransformMillis);
+        }
+        if (error != null) {
+            json.append(",\"error\":\"").append(escape(error)).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendTime(StringBuilder json, String name, long time) {
+        if (time > 0) {
+            json.append(",\"").append(name).append("\":").append(time);
+        }
+    }
+
+    private static String escape(String str) {
+        return str.replace("\\", "\\\\")
+                  .replace("\"", "\\\"")
+                  .replace("\n", "\\n")
+                  .replace("\r", "\\r")
+                  .replace("\t", "\\t");
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ExperimentState{status=" + status + ", classes=" + classes
+                + ", retransformMillis=" + retransformMillis + (error == null ? "" : ", error=" + error) + '}';
+    }
+}
@@ -17,10 +17,21 @@
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.FilterUtil;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.PointCut;
+import com.alibaba.chaosblade.exec.common.util.MethodCache;
+import com.alibaba.jvm.sandbox.api.event.Event;
+import com.alibaba.jvm.sandbox.api.filter.Filter;
+import com.alibaba.jvm.sandbox.api.listener.EventListener;
 import com.alibaba.jvm.sandbox.api.resource.ModuleEventWatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -33,6 +44,25 @@ import java.util.concurrent.ConcurrentHashMap;
  * 2. 注册字节码增强（watch）
  * 3. 取消字节码增强（delete）
  * 4. 查询实验是否存在
+ * 5. 取消增强时清理方法解析缓存（MethodCache）
+ * 
+ * 按切点复用 watch：
+ * - 切点标识（PointCut.getKey()）与事件类型相同的实验共享一个 watch 和一个 MethodEventListener
+ * - 已增强切点上增删实验只替换监听器内的实验数组，不触发 retransform
+ * 
+ * 批量增强（由 WatchScheduler 调用）：
+ * - 一批实验中需要新建 watch 的切点按事件类型分组，每组合并为一个 Filter，只做一次类扫描和 retransform
+ * - 合并 watch 由 PointCutRouter 把事件转给各切点的监听器，只有一个切点时直接注册该切点的监听器
+ * - 切点标识相同的实验共用第一个实验的 PointCut 实例（运行期类结构匹配结果缓存在 PointCut 上，
+ *   watch 删除时清空）
+ * - 切点上最后一个实验销毁后保留监听器，同一 watch 的切点全部没有实验时才删除 watch，
+ *   期间同一切点上新建的实验直接复用，不再 retransform
+ * - 类扫描和 retransform 期间不持有类锁，只在复用已有 watch 和登记 watch 结果时持有，
+ *   销毁实验（delete）不会被批量增强阻塞；watch 只由 WatchScheduler 的单个工作线程调用
+ * 
+ * 实验状态（ExperimentState）：
+ * - watch 成功后本批实验切换为 ACTIVE，记录切点命中的类数、扫描和 retransform 耗时
+ * - watch 失败时该组实验切换为 FAILED 并记录原因，复用已有 watch 的实验直接切换为 ACTIVE
  * 
  * @author rakkaus
  * @since 1.8.0
@@ -44,6 +74,12 @@ public class ListenerManager {
     /** watchIds 缓存：experimentId -> watcherId */
     private static final Map<String, Integer> watchIds = new ConcurrentHashMap<>();
     
+    /** 切点监听：watchKey -> 共享的 watch（仅在持有类锁时修改） */
+    private static final Map<String, SharedWatch> sharedWatches = new HashMap<>();
+    
+    /** 实验所在切点：experimentId -> watchKey（仅在持有类锁时修改） */
+    private static final Map<String, String> experimentKeys = new HashMap<>();
+    
     /** ModuleEventWatcher 实例（由 SandboxModule 注入） */
     private static ModuleEventWatcher moduleEventWatcher;
     
@@ -58,57 +94,202 @@ public class ListenerManager {
         logger.info("[监听器管理器] ModuleEventWatcher 已设置");
     }
     
+    public static ModuleEventWatcher getModuleEventWatcher() {
+        return moduleEventWatcher;
+    }
+    
     /**
-     * 注册字节码增强
+     * 批量注册字节码增强
+     * 切点上已有 watch 时只把实验加入已有监听器，其余切点按事件类型合并 watch
+     * 只能由 WatchScheduler 的工作线程调用，新建的 watch 在类扫描完成后才登记
      * 
-     * @param enhancer Enhancer 实例
-     * @param filter Filter 实例（匹配规则）
-     * @return watcherId
+     * @param enhancers 实验增强器
+     * @return 本批增强统计
      */
-    public static int watch(Enhancer enhancer, com.alibaba.jvm.sandbox.api.filter.Filter filter) {
+    public static WatchReport watch(List<Enhancer> enhancers) {
         if (moduleEventWatcher == null) {
             throw new IllegalStateException("ModuleEventWatcher not initialized");
         }
-
-        // 创建事件监听器
-        MethodEventListener listener = new MethodEventListener(enhancer);
+        WatchReport report = new WatchReport();
         
-        // 注册字节码增强（只监听 BEFORE 事件）
-        int watcherId = moduleEventWatcher.watch(
-            filter,
-            listener,
-            com.alibaba.jvm.sandbox.api.event.Event.Type.BEFORE
-        );
+        // 1. 已增强的切点只替换监听器内的实验数组，其余切点按事件类型分组
+        Map<String, Map<String, List<Enhancer>>> groups;
+        synchronized (ListenerManager.class) {
+            groups = reuseOrGroup(enhancers, report);
+        }
         
-        // 缓存 watcherId
-        String experimentId = enhancer.getUid();
-        watchIds.put(experimentId, watcherId);
+        // 2. 每组只做一次类扫描和 retransform
+        for (Map<String, List<Enhancer>> group : groups.values()) {
+            watchGroup(group, report);
+        }
+        return report;
+    }
+    
+    /**
+     * 切点上已有 watch 的实验直接加入监听器，其余实验按事件类型、切点分组（需持有类锁）
+     */
+    private static Map<String, Map<String, List<Enhancer>>> reuseOrGroup(List<Enhancer> enhancers,
+                                                                          WatchReport report) {
+        Map<String, Map<String, List<Enhancer>>> groups = new LinkedHashMap<>();
+        for (Enhancer enhancer : enhancers) {
+            Event.Type[] eventTypes = enhancer.getEventTypes();
+            String key = watchKey(enhancer, eventTypes);
+            SharedWatch shared = sharedWatches.get(key);
+            if (shared != null) {
+                // 切点标识相同的实验共用 PointCut，运行期类结构匹配结果对本实验同样有效
+                enhancer.setPointCut(shared.pointCut);
+                shared.listener.add(enhancer);
+                register(enhancer.getUid(), key, shared);
+                enhancer.getState().active(shared.classes, 0, 0);
+                report.addExperiment(true);
+                logger.info("[监听器管理器] 复用已有监听: 实验ID={}, 监听器ID={}, 切点实验数={}", 
+                    enhancer.getUid(), shared.watch.watcherId, shared.listener.size());
+                continue;
+            }
+            Map<String, List<Enhancer>> group = groups.get(Arrays.toString(eventTypes));
+            if (group == null) {
+                group = new LinkedHashMap<>();
+                groups.put(Arrays.toString(eventTypes), group);
+            }
+            List<Enhancer> sameKey = group.get(key);
+            if (sameKey == null) {
+                sameKey = new ArrayList<>();
+                group.put(key, sameKey);
+            }
+            sameKey.add(enhancer);
+        }
+        return groups;
+    }
+    
+    private static void watchGroup(Map<String, List<Enhancer>> group, WatchReport report) {
+        int size = group.size();
+        String[] keys = group.keySet().toArray(new String[0]);
+        PointCut[] pointCuts = new PointCut[size];
+        MethodEventListener[] listeners = new MethodEventListener[size];
+        int experimentCount = 0;
+        for (int i = 0; i < size; i++) {
+            List<Enhancer> sameKey = group.get(keys[i]);
+            pointCuts[i] = sameKey.get(0).getPointCut();
+            listeners[i] = new MethodEventListener(sameKey.get(0));
+            for (int j = 1; j < sameKey.size(); j++) {
+                sameKey.get(j).setPointCut(pointCuts[i]);
+                listeners[i].add(sameKey.get(j));
+            }
+            experimentCount += sameKey.size();
+        }
+        Event.Type[] eventTypes = group.get(keys[0]).get(0).getEventTypes();
         
-        logger.info("[监听器管理器] 监听已注册: 实验ID={}, 监听器ID={}", 
-            experimentId, watcherId);
+        // 只有一个切点时不需要路由
+        Filter filter = size == 1
+            ? FilterUtil.createFilter(pointCuts[0]) : FilterUtil.createFilter(Arrays.asList(pointCuts));
+        EventListener listener = size == 1 ? listeners[0] : new PointCutRouter(pointCuts, listeners);
+        WatchReport.Progress progress = new WatchReport.Progress();
+        int watcherId;
+        try {
+            // 默认只监听 BEFORE 事件，异步延迟等需要返回值的增强器追加 RETURN、THROWS
+            watcherId = moduleEventWatcher.watch(filter, listener, progress, eventTypes);
+        } catch (RuntimeException e) {
+            logger.error("[监听器管理器] 注册字节码增强失败: 切点={}", Arrays.toString(keys), e);
+            report.addFailed(experimentCount);
+            for (List<Enhancer> sameKey : group.values()) {
+                for (Enhancer enhancer : sameKey) {
+                    enhancer.getState().failed(String.valueOf(e));
+                }
+            }
+            return;
+        } finally {
+            // 扫描和 retransform 在本线程完成，之后新加载的类由类加载线程各自过滤
+            FilterUtil.release(filter);
+        }
+        progress.done();
+        report.addWatch(progress);
+        long scanMillis = progress.scanNanos() / 1000000L;
+        long retransformMillis = progress.retransformNanos() / 1000000L;
         
-        return watcherId;
+        Watch watch = new Watch(watcherId, keys, listeners);
+        int[] classes = new int[size];
+        for (int i = 0; i < size; i++) {
+            classes[i] = size == 1 ? progress.classes() : countClasses(pointCuts[i], progress.classNames());
+        }
+        synchronized (ListenerManager.class) {
+            for (int i = 0; i < size; i++) {
+                SharedWatch shared = new SharedWatch(watch, pointCuts[i], listeners[i], classes[i]);
+                sharedWatches.put(keys[i], shared);
+                for (Enhancer enhancer : group.get(keys[i])) {
+                    register(enhancer.getUid(), keys[i], shared);
+                    enhancer.getState().active(classes[i], scanMillis, retransformMillis);
+                    report.addExperiment(false);
+                }
+            }
+        }
+        logger.info("[监听器管理器] 监听已注册: 监听器ID={}, 切点={}, 实验数={}, 扫描耗时={}ms, retransform耗时={}ms", 
+            watcherId, Arrays.toString(keys), experimentCount, scanMillis, retransformMillis);
+    }
+    
+    /**
+     * 合并 watch 中切点命中的类数
+     */
+    private static int countClasses(PointCut pointCut, List<String> classNames) {
+        if (pointCut == null) {
+            return 0;
+        }
+        int count = 0;
+        for (String className : classNames) {
+            if (pointCut.matchClass(className)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static void register(String experimentId, String key, SharedWatch shared) {
+        experimentKeys.put(experimentId, key);
+        watchIds.put(experimentId, shared.watch.watcherId);
     }
     
     /**
      * 取消字节码增强
+     * 切点上仍有其他实验，或同一 watch 的其他切点仍有实验时只从监听器中移除本实验
      * 
      * @param experimentId 实验 ID
      */
-    public static void delete(String experimentId) {
+    public static synchronized void delete(String experimentId) {
         if (moduleEventWatcher == null) {
             logger.warn("[监听器管理器] ModuleEventWatcher 未初始化，无法删除");
             return;
         }
         
         Integer watcherId = watchIds.remove(experimentId);
-        if (watcherId != null) {
-            moduleEventWatcher.delete(watcherId);
-            logger.info("[监听器管理器] 监听已删除: 实验ID={}, 监听器ID={}", 
-                experimentId, watcherId);
-        } else {
+        String key = experimentKeys.remove(experimentId);
+        SharedWatch shared = key == null ? null : sharedWatches.get(key);
+        if (watcherId == null || shared == null) {
             logger.warn("[监听器管理器] 监听未找到: 实验ID={}", experimentId);
+            return;
         }
+        
+        int remaining = shared.listener.remove(experimentId);
+        if (remaining > 0) {
+            logger.info("[监听器管理器] 实验已从共享监听移除: 实验ID={}, 监听器ID={}, 剩余实验数={}", 
+                experimentId, watcherId, remaining);
+            return;
+        }
+        if (!shared.watch.isIdle()) {
+            logger.info("[监听器管理器] 切点已无实验，同一监听的其他切点仍在使用: 实验ID={}, 监听器ID={}", 
+                experimentId, watcherId);
+            return;
+        }
+        
+        for (String watchKey : shared.watch.keys) {
+            SharedWatch removed = sharedWatches.remove(watchKey);
+            if (removed != null && removed.pointCut != null) {
+                removed.pointCut.clearStructureMatches();
+            }
+        }
+        moduleEventWatcher.delete(shared.watch.watcherId);
+        // 增强已撤销，清理方法解析缓存
+        MethodCache.clear();
+        logger.info("[监听器管理器] 监听已删除: 实验ID={}, 监听器ID={}", 
+            experimentId, watcherId);
     }
     
     /**
@@ -133,9 +314,77 @@ public class ListenerManager {
     /**
      * 清空所有 watchIds（用于模块卸载）
      */
-    public static void clear() {
+    public static synchronized void clear() {
+        for (SharedWatch shared : sharedWatches.values()) {
+            if (shared.pointCut != null) {
+                shared.pointCut.clearStructureMatches();
+            }
+        }
         watchIds.clear();
+        experimentKeys.clear();
+        sharedWatches.clear();
+        MethodCache.clear();
         logger.info("[监听器管理器] 所有监听器ID已清空");
     }
+    
+    /**
+     * 共享 watch 的标识：切点标识 + 事件类型，事件类型不同的实验不能共用一次增强
+     */
+    private static String watchKey(Enhancer enhancer, Event.Type[] eventTypes) {
+        String pointCutKey = enhancer.getPointCut() == null
+            ? "experiment:" + enhancer.getUid() : enhancer.getPointCut().getKey();
+        return pointCutKey + Arrays.toString(eventTypes);
+    }
+    
+    /**
+     * 一次 watch 及其包含的切点
+     */
+    private static final class Watch {
+        
+        final int watcherId;
+        
+        final String[] keys;
+        
+        final MethodEventListener[] listeners;
+        
+        Watch(int watcherId, String[] keys, MethodEventListener[] listeners) {
+            this.watcherId = watcherId;
+            this.keys = keys;
+            this.listeners = listeners;
+        }
+        
+        /**
+         * 所有切点都没有实验
+         */
+        boolean isIdle() {
+            for (MethodEventListener listener : listeners) {
+                if (listener.size() > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * 切点所在的 watch 及切点的监听器
+     */
+    private static final class SharedWatch {
+        
+        final Watch watch;
+        
+        final PointCut pointCut;
+        
+        final MethodEventListener listener;
+        
+        /** 切点命中的类数 */
+        final int classes;
+        
+        SharedWatch(Watch watch, PointCut pointCut, MethodEventListener listener, int classes) {
+            this.watch = watch;
+            this.pointCut = pointCut;
+            this.listener = listener;
+            this.classes = classes;
+        }
+    }
 }
-
@@ -18,15 +18,18 @@ package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
 
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.EnhancerModel;
 import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
-import com.alibaba.chaosblade.exec.common.util.ReflectUtil;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.ClassLoaderScope;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.PointCut;
 import com.alibaba.jvm.sandbox.api.ProcessControlException;
 import com.alibaba.jvm.sandbox.api.event.BeforeEvent;
 import com.alibaba.jvm.sandbox.api.event.Event;
+import com.alibaba.jvm.sandbox.api.event.InvokeEvent;
+import com.alibaba.jvm.sandbox.api.event.ReturnEvent;
 import com.alibaba.jvm.sandbox.api.listener.EventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Method;
+import java.util.Arrays;
 
 /**
  * MethodEventListener - 方法事件监听器
@@ -37,11 +40,34 @@ import java.lang.reflect.Method;
  * 2. 构建 EnhancerModel（执行上下文）
  * 3. 调用 Enhancer 的 filter() 和 enhance() 方法
  * 4. 处理返回值 Mock（通过 ProcessControlException）
+ * 5. 增强器登记过的调用，在 ReturnEvent 中回调 onReturn() 替换返回值
  * 
  * 简化点：
- * - 只处理 BeforeEvent
- * - 移除 LineEvent 和 ReturnEvent 支持
- * - 移除复杂的 ThreadLocal 缓存
+ * - 移除 LineEvent 支持
+ * - ReturnEvent / ThrowsEvent 只在增强器声明时注册，且只处理 BeforeEvent 阶段登记过的调用
+ * 
+ * 多实验复用：
+ * - 同一切点（及事件类型）只有一个监听器和一次 watch，由 ListenerManager 维护
+ * - 活跃实验保存在不可变数组中，增删实验时整体替换数组（写时复制），事件路径只读一次 volatile
+ * - 每个事件只取一次 EnhancerModel，逐个实验重置后判定，开销不随实验数量增加额外分配
+ * - 某个实验设置了返回值或抛出控制异常时，后续实验不再执行（目标方法本身已不会执行）
+ * - 暂停的实验在判定之前跳过，不重置上下文也不计数；已登记返回事件的调用仍会完成回调
+ * - 切点限定了类加载器时，不在范围内的类副本的事件在取上下文之前直接返回
+ * - 切点指定了类结构时，按事件的 (类加载器, 类名) 判定类结构（PointCut.matchStructure），
+ *   同名类不符合结构的副本的事件同样直接返回
+ * - 每个实验记录调用统计（ExperimentMetrics）：进入、被过滤、命中及 enhance() 耗时、异常；
+ *   只有命中的调用读取时钟；实验统计端到端耗时时，命中的调用按线程压栈，返回 / 异常事件记录耗时
+ * - 实验开启 profile 时，采样的调用按阶段（limit / model / filter / enhance）记录自身开销（OverheadProfiler），
+ *   未采样的调用不读取时钟
+ * 
+ * 返回事件关联：
+ * - ReturnEvent 不带类名方法名，BeforeEvent 登记时按线程压栈保存 invokeId、实验、类名、方法名
+ * - 同线程调用严格嵌套，返回/异常事件弹出 invokeId 不小于当前事件的栈帧，不会残留
+ * 
+ * 事件路径：
+ * - EnhancerModel 按线程复用，只引用 BeforeEvent 字段，Method 由增强器按需延迟解析
+ * - 未触发故障的调用在 filter() 判定前不产生任何对象分配
+ * - 同线程重入（增强逻辑内再次触发被拦截方法）时退化为临时分配新的 EnhancerModel
  * 
  * @author rakkaus
  * @since 1.8.0
@@ -50,102 +76,280 @@ public class MethodEventListener implements EventListener {
     
     private static final Logger logger = LoggerFactory.getLogger(MethodEventListener.class);
     
-    /** 关联的 Enhancer */
-    private final Enhancer enhancer;
+    private static final Enhancer[] EMPTY = new Enhancer[0];
+    
+    /** 按线程复用的执行上下文 */
+    private static final ThreadLocal<EnhancerModel> MODEL_HOLDER = new ThreadLocal<EnhancerModel>() {
+        @Override
+        protected EnhancerModel initialValue() {
+            return new EnhancerModel();
+        }
+    };
+    
+    /** 当前切点上的活跃实验（写时复制，数组本身不可修改） */
+    private volatile Enhancer[] enhancers = EMPTY;
+    
+    /** 本线程等待返回事件的调用，仅在增强器登记时创建 */
+    private final ThreadLocal<PendingReturns> pendingReturns = new ThreadLocal<>();
+    
+    /** 切点的类加载器范围，同一监听器上的实验切点标识相同，范围也相同 */
+    private final ClassLoaderScope loaderScope;
+    
+    /** 指定了类结构的切点，按事件的 (类加载器, 类名) 判定；未指定时为 null */
+    private final PointCut structurePointCut;
     
     public MethodEventListener(Enhancer enhancer) {
-        this.enhancer = enhancer;
+        PointCut pointCut = enhancer.getPointCut();
+        this.loaderScope = pointCut == null ? null : pointCut.getLoaderScope();
+        this.structurePointCut = pointCut != null && pointCut.hasClassStructure() ? pointCut : null;
+        add(enhancer);
+    }
+    
+    /**
+     * 添加实验，只替换数组引用，不触发重新增强
+     * 
+     * @param enhancer 实验增强器
+     */
+    public synchronized void add(Enhancer enhancer) {
+        Enhancer[] current = enhancers;
+        Enhancer[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = enhancer;
+        enhancers = updated;
+    }
+    
+    /**
+     * 移除实验，只替换数组引用
+     * 
+     * @param experimentId 实验 ID
+     * @return 剩余实验数
+     */
+    public synchronized int remove(String experimentId) {
+        Enhancer[] current = enhancers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getUid().equals(experimentId)) {
+                Enhancer[] updated = new Enhancer[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                enhancers = updated.length == 0 ? EMPTY : updated;
+                return updated.length;
+            }
+        }
+        return current.length;
+    }
+    
+    /**
+     * 当前活跃实验数
+     * 
+     * @return 实验数
+     */
+    public int size() {
+        return enhancers.length;
     }
     
     @Override
     public void onEvent(Event event) throws Throwable {
-        // 简化版本：只处理 BeforeEvent
-        if (!(event instanceof BeforeEvent)) {
+        if (event instanceof BeforeEvent) {
+            onBefore((BeforeEvent) event);
+        } else if (event instanceof InvokeEvent) {
+            onAfter((InvokeEvent) event);
+        }
+    }
+    
+    private void onBefore(BeforeEvent beforeEvent) throws Throwable {
+        Enhancer[] snapshot = enhancers;
+        if (snapshot.length == 0) {
+            return;
+        }
+        if (loaderScope != null && !loaderScope.matches(beforeEvent.javaClassLoader)) {
+            return;
+        }
+        if (structurePointCut != null
+                && !structurePointCut.matchStructure(beforeEvent.javaClassLoader, beforeEvent.javaClassName)) {
             return;
         }
         
-        BeforeEvent beforeEvent = (BeforeEvent) event;
-        
+        // 取出本线程的 EnhancerModel，仅引用事件字段，不做解析
+        EnhancerModel model = acquireModel();
         try {
-            // 1. 检查是否达到限制次数
-            if (enhancer.isLimit()) {
-                logger.debug("[方法事件监听器] 增强器已达到限制次数: {}", enhancer.getUid());
-                return;
+            for (Enhancer enhancer : snapshot) {
+                dispatch(enhancer, beforeEvent, model);
             }
-            
-            // 2. 构建 EnhancerModel
-            EnhancerModel model = buildEnhancerModel(beforeEvent);
-            if (model == null) {
-                return;
+        } catch (ProcessControlException e) {
+            // 目标方法不再执行，不会有返回事件，撤销本次调用的登记
+            PendingReturns pending = pendingReturns.get();
+            if (pending != null) {
+                pending.discard(beforeEvent.invokeId);
             }
-            
+            // ProcessControlException 是 Sandbox 的控制异常，必须抛出
+            // 用于控制方法执行流程（如立即返回、抛出异常等）
+            throw e;
+        } finally {
+            // 释放业务对象引用，Sandbox 会复用事件对象，上下文不能跨事件保留
+            model.release();
+        }
+    }
+    
+    /**
+     * 对单个实验执行 BeforeEvent 处理
+     * 
+     * @param enhancer    实验增强器
+     * @param beforeEvent 调用前事件
+     * @param model       本事件复用的执行上下文
+     * @throws ProcessControlException 实验要求立即返回或抛出异常
+     */
+    private void dispatch(Enhancer enhancer, BeforeEvent beforeEvent, EnhancerModel model)
+            throws ProcessControlException {
+        // 1. 跳过已暂停的实验，检查是否达到限制次数（采样的调用按阶段记录自身开销，mark 为 0 表示未采样）
+        ExperimentMetrics metrics = enhancer.getMetrics();
+        OverheadProfiler profiler = metrics.getProfiler();
+        long mark = profiler == null ? 0 : profiler.start();
+        if (enhancer.isPaused()) {
+            if (mark != 0) {
+                profiler.lap(OverheadProfiler.LIMIT, mark);
+            }
+            return;
+        }
+        metrics.intercepted();
+        boolean limited = enhancer.isLimit();
+        if (mark != 0) {
+            mark = profiler.lap(OverheadProfiler.LIMIT, mark);
+        }
+        if (limited) {
+            logger.debug("[方法事件监听器] 增强器已达到限制次数: {}", enhancer.getUid());
+            return;
+        }
+        
+        // 2. 以本事件重置上下文（上一个实验可能修改过上下文状态）
+        model.reset(beforeEvent.javaClassLoader, beforeEvent.javaClassName, beforeEvent.javaMethodName,
+                beforeEvent.javaMethodDesc, beforeEvent.target, beforeEvent.argumentArray);
+        if (mark != 0) {
+            mark = profiler.lap(OverheadProfiler.MODEL, mark);
+        }
+        
+        long start = 0;
+        try {
             // 3. 过滤：是否应该执行增强
-            if (!enhancer.filter(model)) {
+            boolean accepted = enhancer.filter(model);
+            if (mark != 0) {
+                profiler.lap(OverheadProfiler.FILTER, mark);
+            }
+            if (!accepted) {
+                metrics.rejected();
                 logger.debug("[方法事件监听器] 增强器被过滤: {}", enhancer.getUid());
                 return;
             }
+            metrics.matched();
             
-            // 4. 执行增强（内部会调用 increaseCount()）
-            enhancer.enhance(model);
+            // 4. 执行增强（注入前由增强器 tryAcquire() 预占执行次数，实际注入由增强器记录）
+            start = System.nanoTime();
+            try {
+                enhancer.enhance(model);
+            } finally {
+                if (mark != 0) {
+                    profiler.record(OverheadProfiler.ENHANCE, System.nanoTime() - start);
+                }
+            }
+            
+            // 5. 写回被替换的参数，登记需要返回事件的调用
+            if (model.isArgumentsChanged()) {
+                Object[] arguments = model.getArguments();
+                for (int i = 0; i < arguments.length; i++) {
+                    beforeEvent.changeParameter(i, arguments[i]);
+                }
+            }
+            boolean timed = metrics.isLatencyTracked();
+            if (model.isAwaitReturn() || timed) {
+                PendingReturns pending = pendingReturns.get();
+                if (pending == null) {
+                    pending = new PendingReturns();
+                    pendingReturns.set(pending);
+                }
+                // 分发型增强器可以指定由实际注入的增强器处理返回事件
+                Enhancer handler = model.getReturnHandler() != null ? model.getReturnHandler() : enhancer;
+                pending.push(beforeEvent.invokeId, model.isAwaitReturn() ? handler : null,
+                        timed ? metrics : null, start, beforeEvent.javaClassLoader,
+                        beforeEvent.javaClassName, beforeEvent.javaMethodName);
+            }
             
-            // 5. 处理返回值 Mock（如果设置了返回值）
+            // 6. 处理返回值 Mock（如果设置了返回值）
             handleReturnValue(model);
             
         } catch (ProcessControlException e) {
-            // ProcessControlException 是 Sandbox 的控制异常，必须抛出
-            // 用于控制方法执行流程（如立即返回、抛出异常等）
+            // 目标方法不再执行，端到端耗时即注入耗时（已登记的栈帧由 onBefore() 撤销）
+            if (start != 0) {
+                metrics.endToEnd(System.nanoTime() - start);
+            }
             throw e;
         } catch (Throwable e) {
-            logger.error("[方法事件监听器] 增强过程中发生错误", e);
-            // 其他异常不抛出，避免影响目标方法执行
+            metrics.error();
+            logger.error("[方法事件监听器] 增强过程中发生错误，实验ID: {}", enhancer.getUid(), e);
+            // 其他异常不抛出，避免影响目标方法执行和其他实验
         }
     }
     
     /**
-     * 构建 EnhancerModel
+     * 处理返回/异常事件，只有 BeforeEvent 阶段登记过的调用才回调增强器或记录端到端耗时
+     * 同一调用登记了多个实验时按登记的逆序依次替换返回值，异常事件只记录耗时
      * 
-     * @param beforeEvent BeforeEvent 事件
-     * @return EnhancerModel 实例
+     * @param event ReturnEvent 或 ThrowsEvent
+     * @throws Throwable ProcessControlException
      */
-    private EnhancerModel buildEnhancerModel(BeforeEvent beforeEvent) {
+    private void onAfter(InvokeEvent event) throws Throwable {
+        PendingReturns pending = pendingReturns.get();
+        if (pending == null || !pending.popUntil(event.invokeId)) {
+            return;
+        }
+        
+        boolean returned = event instanceof ReturnEvent;
+        Object returnValue = returned ? ((ReturnEvent) event).object : null;
+        Object current = returnValue;
+        long now = 0;
+        EnhancerModel model = null;
         try {
-            // 1. 获取类
-            Class<?> clazz;
-            if (beforeEvent.target == null) {
-                clazz = beforeEvent.javaClassLoader.loadClass(beforeEvent.javaClassName);
-            } else {
-                clazz = beforeEvent.target.getClass();
+            while (pending.isTop(event.invokeId)) {
+                ExperimentMetrics timing = pending.topTiming();
+                if (timing != null) {
+                    if (now == 0) {
+                        now = System.nanoTime();
+                    }
+                    timing.endToEnd(now - pending.topStartNanos());
+                }
+                Enhancer enhancer = pending.topEnhancer();
+                if (!returned || enhancer == null) {
+                    pending.clearTop();
+                    continue;
+                }
+                if (model == null) {
+                    model = acquireModel();
+                }
+                model.reset(pending.topClassLoader(), pending.topClassName(), pending.topMethodName(),
+                        null, null, null);
+                pending.clearTop();
+                try {
+                    current = enhancer.onReturn(model, current);
+                } catch (Throwable e) {
+                    logger.error("[方法事件监听器] 处理返回值时发生错误，实验ID: {}", enhancer.getUid(), e);
+                }
             }
-            
-            // 2. 获取方法
-            Method method;
-            try {
-                method = ReflectUtil.getMethod(
-                    clazz, 
-                    beforeEvent.javaMethodDesc, 
-                    beforeEvent.javaMethodName
-                );
-            } catch (NoSuchMethodException e) {
-                logger.warn("[方法事件监听器] 方法未找到: {}.{}", 
-                    beforeEvent.javaClassName, beforeEvent.javaMethodName);
-                return null;
+        } finally {
+            if (model != null) {
+                model.release();
             }
-            
-            // 3. 构建 EnhancerModel
-            EnhancerModel model = new EnhancerModel();
-            model.setTarget(beforeEvent.target);
-            model.setMethod(method);
-            model.setArguments(beforeEvent.argumentArray);
-            model.setClassLoader(beforeEvent.javaClassLoader);
-            model.setClassName(beforeEvent.javaClassName);
-            model.setMethodName(beforeEvent.javaMethodName);
-            
-            return model;
-            
-        } catch (Exception e) {
-            logger.error("[方法事件监听器] 构建增强模型失败", e);
-            return null;
         }
+        if (current != returnValue) {
+            ProcessControlException.throwReturnImmediately(current);
+        }
+    }
+    
+    /**
+     * 获取本线程可用的 EnhancerModel
+     * 同线程重入时复用对象仍被外层事件占用，此时临时分配一个新对象
+     * 
+     * @return 可用的 EnhancerModel
+     */
+    private static EnhancerModel acquireModel() {
+        EnhancerModel model = MODEL_HOLDER.get();
+        return model.isInUse() ? new EnhancerModel() : model;
     }
     
     /**
@@ -153,26 +357,114 @@ public class MethodEventListener implements EventListener {
      * 如果 Enhancer 设置了返回值，通过 ProcessControlException 返回
      * 
      * @param model EnhancerModel
-     * @throws Throwable ProcessControlException
+     * @throws ProcessControlException 立即返回
      */
-    private void handleReturnValue(EnhancerModel model) throws Throwable {
+    private void handleReturnValue(EnhancerModel model) throws ProcessControlException {
         // 使用 hasReturnValue() 而不是检查 returnValue != null
         // 这样可以正确处理 null 返回值的情况
-        logger.info("[方法事件监听器] 调用处理返回值方法, hasReturnValue={}", model.hasReturnValue());
-        
         if (model.hasReturnValue()) {
             Object returnValue = model.getReturnValue();
-            logger.info("[方法事件监听器] Mock 返回值: {} 用于 {}.{}",
-                returnValue, model.getClassName(), model.getMethodName());
-            logger.info("[方法事件监听器] 即将抛出 ProcessControlException.throwReturnImmediately");
-            
             // 通过 ProcessControlException 立即返回
             ProcessControlException.throwReturnImmediately(returnValue);
-            
-            logger.info("[方法事件监听器] 这行代码不应该被执行到！");
-        } else {
-            logger.info("[方法事件监听器] 未设置返回值，跳过 Mock");
+        }
+    }
+    
+    /**
+     * 等待返回事件的调用栈（单线程使用）
+     * 弹出后栈顶槽位的引用由 clearTop() 清空，避免线程长期持有业务 ClassLoader 和已销毁的实验
+     */
+    private static final class PendingReturns {
+        
+        private int[] invokeIds = new int[4];
+        private Enhancer[] enhancers = new Enhancer[4];
+        private ExperimentMetrics[] timings = new ExperimentMetrics[4];
+        private long[] startNanos = new long[4];
+        private ClassLoader[] classLoaders = new ClassLoader[4];
+        private String[] classNames = new String[4];
+        private String[] methodNames = new String[4];
+        private int size;
+        
+        /**
+         * @param enhancer 回调 onReturn() 的增强器，不需要回调时为 null
+         * @param timing   记录端到端耗时的统计，不记录时为 null
+         * @param start    命中时间（System.nanoTime()）
+         */
+        void push(int invokeId, Enhancer enhancer, ExperimentMetrics timing, long start,
+                ClassLoader classLoader, String className, String methodName) {
+            if (size == invokeIds.length) {
+                int capacity = size << 1;
+                invokeIds = Arrays.copyOf(invokeIds, capacity);
+                enhancers = Arrays.copyOf(enhancers, capacity);
+                timings = Arrays.copyOf(timings, capacity);
+                startNanos = Arrays.copyOf(startNanos, capacity);
+                classLoaders = Arrays.copyOf(classLoaders, capacity);
+                classNames = Arrays.copyOf(classNames, capacity);
+                methodNames = Arrays.copyOf(methodNames, capacity);
+            }
+            invokeIds[size] = invokeId;
+            enhancers[size] = enhancer;
+            timings[size] = timing;
+            startNanos[size] = start;
+            classLoaders[size] = classLoader;
+            classNames[size] = className;
+            methodNames[size] = methodName;
+            size++;
+        }
+        
+        /**
+         * 丢弃比当前事件更内层的残留栈帧（invokeId 更大），栈顶与当前事件匹配时返回 true
+         */
+        boolean popUntil(int invokeId) {
+            while (size > 0 && invokeIds[size - 1] > invokeId) {
+                clearTop();
+            }
+            return isTop(invokeId);
+        }
+        
+        boolean isTop(int invokeId) {
+            return size > 0 && invokeIds[size - 1] == invokeId;
+        }
+        
+        /**
+         * 丢弃当前调用的全部栈帧
+         */
+        void discard(int invokeId) {
+            while (isTop(invokeId)) {
+                clearTop();
+            }
+        }
+        
+        Enhancer topEnhancer() {
+            return enhancers[size - 1];
+        }
+        
+        ExperimentMetrics topTiming() {
+            return timings[size - 1];
+        }
+        
+        long topStartNanos() {
+            return startNanos[size - 1];
+        }
+        
+        ClassLoader topClassLoader() {
+            return classLoaders[size - 1];
+        }
+        
+        String topClassName() {
+            return classNames[size - 1];
+        }
+        
+        String topMethodName() {
+            return methodNames[size - 1];
+        }
+        
+        void clearTop() {
+            size--;
+            enhancers[size] = null;
+            timings[size] = null;
+            classLoaders[size] = null;
+            classNames[size] = null;
+            methodNames[size] = null;
         }
     }
 }
-
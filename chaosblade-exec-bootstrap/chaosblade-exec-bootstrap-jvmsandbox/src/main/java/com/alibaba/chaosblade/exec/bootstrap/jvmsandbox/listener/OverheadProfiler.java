@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.ConfigParser;
+import com.alibaba.chaosblade.exec.common.center.LogLinearHistogram;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OverheadProfiler - 监听器自身开销的采样统计
+ *
+ * [改造说明]
+ * 空闲或未命中的实验在事件路径上的开销需要能量化，不依赖外部 profiler。
+ * 实验指定 profile=N（或 1/N）时，MethodEventListener 对约 1/N 的调用按阶段记录 System.nanoTime() 差值：
+ * - limit：暂停和次数上限检查
+ * - model：以本事件重置 EnhancerModel
+ * - filter：enhancer.filter()
+ * - enhance：enhancer.enhance()
+ * 被暂停、到达上限或被过滤的调用只记录已经过的阶段。
+ *
+ * N 向上取整为 2 的幂，是否采样用 ThreadLocalRandom 判定（不共享计数器），
+ * 未采样的调用不读时钟；直方图按纳秒记录，创建实验时一次分配，由 status 命令输出
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class OverheadProfiler {
+
+    public static final String PROFILE_KEY = "profile";
+
+    public static final int LIMIT = 0;
+    public static final int MODEL = 1;
+    public static final int FILTER = 2;
+    public static final int ENHANCE = 3;
+
+    private static final String[] STAGES = {"limit", "model", "filter", "enhance"};
+
+    /** 采样间隔上限 */
+    private static final int MAX_INTERVAL = 1 << 30;
+
+    /** 每个 2 的幂区间的线性分段（2^4），相对误差不超过 1/16 */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** 直方图上限（纳秒），enhance 阶段包含注入的延迟 */
+    private static final long HIGHEST_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    /** 采样间隔（2 的幂） */
+    private final int interval;
+
+    private final int mask;
+
+    private final LongAdder samples = new LongAdder();
+
+    private final LogLinearHistogram[] stages = new LogLinearHistogram[STAGES.length];
+
+    /**
+     * @param interval 采样间隔，向上取整为 2 的幂
+     */
+    public OverheadProfiler(int interval) {
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("interval must be in [1, " + MAX_INTERVAL + "]: " + interval);
+        }
+        this.interval = interval == 1 ? 1 : Integer.highestOneBit(interval - 1) << 1;
+        this.mask = this.interval - 1;
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new LogLinearHistogram(SUB_BUCKET_BITS, HIGHEST_NANOS);
+        }
+    }
+
+    /**
+     * 解析采样间隔
+     *
+     * @param params 实验参数
+     * @return 未指定 profile 时返回 null
+     * @throws IllegalArgumentException 参数非法
+     */
+    public static OverheadProfiler parse(Map<String, String> params) {
+        String value = ConfigParser.getString(params, PROFILE_KEY);
+        if (value == null) {
+            return null;
+        }
+        String interval = value.trim();
+        if (interval.startsWith("1/")) {
+            interval = interval.substring(2).trim();
+        }
+        int parsed;
+        try {
+            parsed = Integer.parseInt(interval);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Illegal " + PROFILE_KEY + " parameter: " + value);
+        }
+        if (parsed < 1 || parsed > MAX_INTERVAL) {
+            throw new IllegalArgumentException(
+                "Illegal " + PROFILE_KEY + " parameter, must be in [1, " + MAX_INTERVAL + "]: " + value);
+        }
+        return new OverheadProfiler(parsed);
+    }
+
+    /**
+     * 判定本次调用是否采样
+     *
+     * @return 采样时返回当前时间（纳秒，非 0），否则返回 0
+     */
+    public long start() {
+        if (mask != 0 && (ThreadLocalRandom.current().nextInt() & mask) != 0) {
+            return 0;
+        }
+        samples.increment();
+        long now = System.nanoTime();
+        return now == 0 ? 1 : now;
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     *
+     * @param stage 阶段（LIMIT / MODEL / FILTER / ENHANCE）
+     * @param mark  阶段开始时间，start() 或上一次 lap() 的返回值
+     * @return 当前时间，作为下一阶段的开始时间
+     */
+    public long lap(int stage, long mark) {
+        long now = System.nanoTime();
+        stages[stage].record(now - mark);
+        return now == 0 ? 1 : now;
+    }
+
+    /**
+     * 记录一个阶段的耗时（调用方已测得）
+     *
+     * @param stage 阶段
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(int stage, long nanos) {
+        stages[stage].record(nanos);
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    public LogLinearHistogram getStage(int stage) {
+        return stages[stage];
+    }
+
+    /**
+     * 写出采样统计（作为对象值）
+     *
+     * @param generator JSON 生成器
+     * @throws IOException 写出失败
+     */
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("sampleRate", "1/" + interval);
+        generator.writeNumberField("samples", samples.sum());
+        generator.writeObjectFieldStart("stages");
+        for (int i = 0; i < stages.length; i++) {
+            ExperimentMetrics.writeHistogram(generator, STAGES[i], "ns", stages[i]);
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.PointCut;
+import com.alibaba.jvm.sandbox.api.event.BeforeEvent;
+import com.alibaba.jvm.sandbox.api.event.Event;
+import com.alibaba.jvm.sandbox.api.listener.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PointCutRouter - 合并 watch 的事件路由
+ *
+ * [改造说明]
+ * 一次 watch 合并了多个切点时，Sandbox 只认一个监听器，由本路由把事件转给各切点的 MethodEventListener：
+ * 1. BeforeEvent 按 (类名, 方法名) 查找命中的切点监听器，结果按类名、方法名两级缓存，
+ *    每个被增强的方法只做一次切点匹配，之后每次调用只有两次 Map 查找，不分配对象
+ *    路由只按类名和方法匹配，类结构和类加载器范围由各切点的监听器按事件的类加载器判定
+ * 2. ReturnEvent / ThrowsEvent 不带类名方法名，转给全部监听器，由各监听器按本线程登记的 invokeId 判断
+ * 3. 某个切点抛出 ProcessControlException 时直接抛出，后续切点不再执行（与同切点多实验一致）
+ * 4. 有切点指定了方法签名（paramtypes / paramcount）时，同名重载可能命中不同切点，
+ *    方法名下再按方法描述符缓存一级，其余情况不读取描述符
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class PointCutRouter implements EventListener {
+
+    private static final MethodEventListener[] NONE = new MethodEventListener[0];
+
+    /** 切点，下标与 listeners 一致 */
+    private final PointCut[] pointCuts;
+
+    /** 切点监听器 */
+    private final MethodEventListener[] listeners;
+
+    /** 类名 -> 方法名 -> 命中的监听器 */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, MethodEventListener[]>> routes =
+        new ConcurrentHashMap<>();
+
+    /** 有切点指定了方法签名时：类名 -> 方法名 -> 方法描述符 -> 命中的监听器 */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<String, MethodEventListener[]>>>
+        signatureRoutes = new ConcurrentHashMap<>();
+
+    /** 是否有切点指定了方法签名 */
+    private final boolean signatureAware;
+
+    public PointCutRouter(PointCut[] pointCuts, MethodEventListener[] listeners) {
+        this.pointCuts = pointCuts;
+        this.listeners = listeners;
+        boolean aware = false;
+        for (PointCut pointCut : pointCuts) {
+            aware |= pointCut != null && pointCut.hasMethodSignature();
+        }
+        this.signatureAware = aware;
+    }
+
+    @Override
+    public void onEvent(Event event) throws Throwable {
+        MethodEventListener[] targets;
+        if (event instanceof BeforeEvent) {
+            BeforeEvent beforeEvent = (BeforeEvent) event;
+            targets = signatureAware
+                ? route(beforeEvent.javaClassName, beforeEvent.javaMethodName, beforeEvent.javaMethodDesc)
+                : route(beforeEvent.javaClassName, beforeEvent.javaMethodName);
+        } else {
+            targets = listeners;
+        }
+        for (MethodEventListener listener : targets) {
+            listener.onEvent(event);
+        }
+    }
+
+    private MethodEventListener[] route(String className, String methodName) {
+        ConcurrentHashMap<String, MethodEventListener[]> methods = routes.get(className);
+        if (methods == null) {
+            methods = new ConcurrentHashMap<>(4);
+            ConcurrentHashMap<String, MethodEventListener[]> previous = routes.putIfAbsent(className, methods);
+            if (previous != null) {
+                methods = previous;
+            }
+        }
+        MethodEventListener[] targets = methods.get(methodName);
+        if (targets == null) {
+            targets = resolve(className, methodName, null);
+            methods.put(methodName, targets);
+        }
+        return targets;
+    }
+
+    private MethodEventListener[] route(String className, String methodName, String methodDesc) {
+        if (methodDesc == null) {
+            return route(className, methodName);
+        }
+        ConcurrentHashMap<String, ConcurrentHashMap<String, MethodEventListener[]>> methods =
+            signatureRoutes.get(className);
+        if (methods == null) {
+            methods = new ConcurrentHashMap<>(4);
+            ConcurrentHashMap<String, ConcurrentHashMap<String, MethodEventListener[]>> previous =
+                signatureRoutes.putIfAbsent(className, methods);
+            if (previous != null) {
+                methods = previous;
+            }
+        }
+        ConcurrentHashMap<String, MethodEventListener[]> descs = methods.get(methodName);
+        if (descs == null) {
+            descs = new ConcurrentHashMap<>(2);
+            ConcurrentHashMap<String, MethodEventListener[]> previous = methods.putIfAbsent(methodName, descs);
+            if (previous != null) {
+                descs = previous;
+            }
+        }
+        MethodEventListener[] targets = descs.get(methodDesc);
+        if (targets == null) {
+            targets = resolve(className, methodName, methodDesc);
+            descs.put(methodDesc, targets);
+        }
+        return targets;
+    }
+
+    private MethodEventListener[] resolve(String className, String methodName, String methodDesc) {
+        List<MethodEventListener> matched = new ArrayList<>(1);
+        for (int i = 0; i < pointCuts.length; i++) {
+            PointCut pointCut = pointCuts[i];
+            if (pointCut != null && pointCut.matchClass(className) 
+                    && pointCut.matchMethodDesc(methodName, methodDesc)) {
+                matched.add(listeners[i]);
+            }
+        }
+        return matched.isEmpty() ? NONE : matched.toArray(new MethodEventListener[0]);
+    }
+}
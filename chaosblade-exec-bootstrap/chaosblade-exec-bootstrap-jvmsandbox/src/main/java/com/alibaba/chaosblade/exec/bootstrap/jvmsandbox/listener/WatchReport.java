@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
+
+import com.alibaba.jvm.sandbox.api.resource.ModuleEventWatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WatchReport - 一批实验的字节码增强统计
+ *
+ * [改造说明]
+ * WatchScheduler 每处理一批实验生成一份报告：
+ * - experiments: 本批实验数，reused: 其中复用已有 watch 的实验数，failed: 增强失败的实验数
+ * - watches: 本批新建的 watch 数（每个 watch 一次类扫描和一次 retransform）
+ * - classes / methods: 被增强的类数、方法数
+ * - scanMillis: 扫描已加载类并过滤的耗时，retransformMillis: retransform 耗时
+ *
+ * 耗时来自 Sandbox 的 Progress 回调：watch 开始到 begin() 为扫描，begin() 到 finish() 为 retransform
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class WatchReport {
+
+    /** 批次开始时间 */
+    private final long startTime = System.currentTimeMillis();
+
+    private int experiments;
+    private int reused;
+    private int failed;
+    private int watches;
+    private int classes;
+    private int methods;
+    private long scanNanos;
+    private long retransformNanos;
+
+    void addExperiment(boolean reuse) {
+        experiments++;
+        if (reuse) {
+            reused++;
+        }
+    }
+
+    void addFailed(int count) {
+        failed += count;
+    }
+
+    void addWatch(Progress progress) {
+        watches++;
+        classes += progress.classes;
+        methods += progress.methods;
+        scanNanos += progress.scanNanos();
+        retransformNanos += progress.retransformNanos();
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public int getExperiments() {
+        return experiments;
+    }
+
+    public int getReused() {
+        return reused;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getWatches() {
+        return watches;
+    }
+
+    public int getClasses() {
+        return classes;
+    }
+
+    public int getMethods() {
+        return methods;
+    }
+
+    public long getScanMillis() {
+        return scanNanos / 1000000L;
+    }
+
+    public long getRetransformMillis() {
+        return retransformNanos / 1000000L;
+    }
+
+    /**
+     * @return JSON 格式
+     */
+    public String toJson() {
+        return "{\"startTime\":" + startTime
+                + ",\"experiments\":" + experiments
+                + ",\"reused\":" + reused
+                + ",\"failed\":" + failed
+                + ",\"watches\":" + watches
+                + ",\"classes\":" + classes
+                + ",\"methods\":" + methods
+                + ",\"scanMillis\":" + getScanMillis()
+                + ",\"retransformMillis\":" + getRetransformMillis()
+                + "}";
+    }
+
+    @Override
+    public String toString() {
+        return "WatchReport{experiments=" + experiments + ", reused=" + reused + ", failed=" + failed
+                + ", watches=" + watches + ", classes=" + classes + ", methods=" + methods
+                + ", scanMillis=" + getScanMillis() + ", retransformMillis=" + getRetransformMillis() + '}';
+    }
+
+    /**
+     * 单次 watch 的进度回调，记录扫描和 retransform 的时间点，以及 retransform 成功的类名（用于统计各切点命中的类数）
+     */
+    static final class Progress implements ModuleEventWatcher.Progress {
+
+        private final long start = System.nanoTime();
+        private long begin;
+        private long finish;
+        private int classes;
+        private int methods;
+        private final List<String> classNames = new ArrayList<>();
+
+        @Override
+        public void begin(int total) {
+            begin = System.nanoTime();
+        }
+
+        @Override
+        public void progressOnSuccess(Class<?> clazz, int index) {
+            classNames.add(clazz.getName());
+        }
+
+        @Override
+        public void progressOnFailed(Class<?> clazz, int index, Throwable cause) {
+        }
+
+        @Override
+        public void finish(int cCnt, int mCnt) {
+            finish = System.nanoTime();
+            classes = cCnt;
+            methods = mCnt;
+        }
+
+        /**
+         * watch 返回后调用，补齐未回调的时间点
+         */
+        void done() {
+            long now = System.nanoTime();
+            if (finish == 0) {
+                finish = now;
+            }
+            if (begin == 0) {
+                begin = finish;
+            }
+        }
+
+        int classes() {
+            return classes;
+        }
+
+        List<String> classNames() {
+            return classNames;
+        }
+
+        long scanNanos() {
+            return begin - start;
+        }
+
+        long retransformNanos() {
+            return finish - begin;
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer.Enhancer;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher.LoadedClassIndex;
+import com.alibaba.jvm.sandbox.api.resource.ModuleEventWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WatchScheduler - 字节码增强调度器
+ *
+ * [改造说明]
+ * watch 会扫描所有已加载类并 retransform，原来每次创建实验都新起一个线程执行，
+ * 并发创建几十个实验时会同时进行几十次全量扫描，应用 CPU 被打满。改为：
+ * 1. 单个守护线程串行执行所有 watch，同一时间最多一次类扫描
+ * 2. 收到实验后再等待一个短窗口（BATCH_WINDOW_MILLIS），窗口内到达的实验合并为一批，
+ *    由 ListenerManager 合并为一次类扫描和一次 retransform（按事件类型分组）
+ * 3. 每批生成 WatchReport（扫描耗时、retransform 耗时等），保留最近 MAX_REPORTS 份供状态查询
+ * 4. 尚未增强的实验被销毁时直接从队列中撤销；正在增强的实验记录为待撤销，本批增强完成后再取消增强
+ * 5. 空闲时维护 LoadedClassIndex：首次空闲时建立索引（一次全量扫描），之后每 PRUNE_INTERVAL_MILLIS
+ *    对账移除已卸载的类，都不占用实验创建的路径
+ * 6. 批次开始时实验切换为 WATCHING，整批失败或模块卸载时未完成的实验切换为 FAILED
+ * 7. submitAll() 提交的一组实验作为一个整体入队，保证在同一批内增强（不受 MAX_BATCH_SIZE 拆分）
+ * 8. 类扫描和 retransform 期间不持有 ListenerManager 类锁，只在取出本批实验、登记结果和处理待撤销实验时持有，
+ *    销毁实验不会被批量增强阻塞
+ * 9. stop()（模块卸载）之后不再接受提交，提交的实验直接切换为 FAILED
+ * 10. execute() 把需要 ListenerManager 类锁的任务（如限时实验到期销毁）交给工作线程在批次之间执行，
+ *     投递方（DelayTimer 的到期任务执行线程）不会等待锁
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class WatchScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchScheduler.class);
+
+    /** 合并窗口（毫秒） */
+    private static final long BATCH_WINDOW_MILLIS = 50;
+
+    /** 单批最多实验数（一组实验不拆分，单组可以超过） */
+    private static final int MAX_BATCH_SIZE = 128;
+
+    /** 保留的批次报告数 */
+    private static final int MAX_REPORTS = 16;
+
+    /** 空闲多久后维护类索引（毫秒） */
+    private static final long IDLE_MILLIS = 1000;
+
+    /** 类索引对账间隔（毫秒） */
+    private static final long PRUNE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /** 上次对账时间 */
+    private static long lastPruneTime;
+
+    /** 类索引建立失败后不再重试 */
+    private static boolean indexFailed;
+
+    /** 等待增强的实验 ID 队列，每个元素为同一次提交的一组实验 */
+    private static final LinkedBlockingQueue<List<String>> queue = new LinkedBlockingQueue<>();
+
+    /** 唤醒工作线程执行任务的空组 */
+    private static final List<String> WAKE_UP = Collections.emptyList();
+
+    /** 等待工作线程执行的任务 */
+    private static final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /** 等待增强的实验：experimentId -> Enhancer，撤销时移除（仅在持有 ListenerManager 类锁时移除） */
+    private static final Map<String, Enhancer> pending = new ConcurrentHashMap<>();
+
+    /** 正在增强的实验 ID（仅在持有 ListenerManager 类锁时访问） */
+    private static final Set<String> inFlight = new HashSet<>();
+
+    /** 增强期间被销毁的实验 ID，本批增强完成后取消增强（仅在持有 ListenerManager 类锁时访问） */
+    private static final List<String> tombstones = new ArrayList<>();
+
+    /** 最近的批次报告 */
+    private static final ArrayDeque<WatchReport> reports = new ArrayDeque<>();
+
+    private static Thread worker;
+
+    /** 已停止，不再接受提交 */
+    private static boolean stopped;
+
+    private WatchScheduler() {
+    }
+
+    /**
+     * 启动工作线程，重复调用或 stop() 之后调用无副作用
+     */
+    public static synchronized void start() {
+        if (worker != null || stopped) {
+            return;
+        }
+        worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runLoop();
+            }
+        }, "ChaosBlade-Watch");
+        // 设置为守护线程，避免阻止 JVM 退出
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("[增强调度器] 已启动，合并窗口: {}ms", BATCH_WINDOW_MILLIS);
+    }
+
+    /**
+     * 停止工作线程，丢弃未增强的实验
+     */
+    public static synchronized void stop() {
+        stopped = true;
+        Thread current = worker;
+        if (current == null) {
+            return;
+        }
+        worker = null;
+        current.interrupt();
+        int dropped = pending.size();
+        queue.clear();
+        tasks.clear();
+        for (Enhancer enhancer : pending.values()) {
+            enhancer.getState().failed("module unloaded before enhancement");
+        }
+        pending.clear();
+        synchronized (reports) {
+            reports.clear();
+        }
+        logger.info("[增强调度器] 已停止，丢弃未增强实验数: {}", dropped);
+    }
+
+    /**
+     * 提交实验，异步执行字节码增强，不阻塞调用线程
+     *
+     * @param enhancer 实验增强器
+     */
+    public static void submit(Enhancer enhancer) {
+        submitAll(Collections.singletonList(enhancer));
+    }
+
+    /**
+     * 提交一组实验，保证在同一批内完成字节码增强（一次类扫描和 retransform）
+     * 已停止时不入队，实验直接切换为 FAILED
+     *
+     * @param enhancers 实验增强器
+     */
+    public static void submitAll(List<Enhancer> enhancers) {
+        if (enhancers.isEmpty()) {
+            return;
+        }
+        List<String> group = new ArrayList<>(enhancers.size());
+        for (Enhancer enhancer : enhancers) {
+            group.add(enhancer.getUid());
+        }
+        // 与 stop() 互斥，停止后提交的实验不会留在队列中
+        synchronized (WatchScheduler.class) {
+            if (stopped) {
+                for (Enhancer enhancer : enhancers) {
+                    enhancer.getState().failed("module unloaded");
+                }
+                logger.warn("[增强调度器] 已停止，拒绝提交实验: {}", group);
+                return;
+            }
+            start();
+            for (Enhancer enhancer : enhancers) {
+                pending.put(enhancer.getUid(), enhancer);
+            }
+            queue.offer(group);
+        }
+        logger.info("[增强调度器] 实验已加入增强队列: {}, 排队组数: {}", group, queue.size());
+    }
+
+    /**
+     * 在工作线程上执行任务，不阻塞调用线程；已停止时丢弃
+     *
+     * @param task 任务，可以调用 cancel() 等需要 ListenerManager 类锁的方法
+     */
+    public static void execute(Runnable task) {
+        synchronized (WatchScheduler.class) {
+            if (stopped) {
+                logger.debug("[增强调度器] 已停止，丢弃任务");
+                return;
+            }
+            start();
+            tasks.offer(task);
+            queue.offer(WAKE_UP);
+        }
+    }
+
+    /**
+     * 撤销实验的字节码增强：尚未增强时从队列中移除，正在增强时待本批完成后取消，已增强时取消增强
+     *
+     * @param experimentId 实验 ID
+     */
+    public static void cancel(String experimentId) {
+        // 与取出本批实验、处理待撤销实验互斥，实验要么在本批之前被撤销，要么在本批增强完成之后再取消增强
+        synchronized (ListenerManager.class) {
+            if (pending.remove(experimentId) != null) {
+                logger.info("[增强调度器] 实验尚未增强，已从队列撤销: {}", experimentId);
+                return;
+            }
+            if (inFlight.contains(experimentId)) {
+                tombstones.add(experimentId);
+                logger.info("[增强调度器] 实验正在增强，本批完成后取消增强: {}", experimentId);
+                return;
+            }
+            ListenerManager.delete(experimentId);
+        }
+    }
+
+    /**
+     * 撤销一组实验的字节码增强，整组与批量增强互斥，不会有一部分在某批增强前撤销、一部分在之后撤销
+     *
+     * @param experimentIds 实验 ID
+     */
+    public static void cancelAll(List<String> experimentIds) {
+        synchronized (ListenerManager.class) {
+            for (String experimentId : experimentIds) {
+                try {
+                    cancel(experimentId);
+                } catch (RuntimeException e) {
+                    logger.error("[增强调度器] 取消增强失败: {}", experimentId, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 最近的批次报告（按时间先后）
+     *
+     * @return 报告列表
+     */
+    public static List<WatchReport> getRecentReports() {
+        synchronized (reports) {
+            return new ArrayList<>(reports);
+        }
+    }
+
+    private static void runLoop() {
+        Thread self = Thread.currentThread();
+        while (!self.isInterrupted()) {
+            List<String> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    process(batch);
+                } catch (Throwable e) {
+                    logger.error("[增强调度器] 批量增强失败，实验: {}", batch, e);
+                }
+            }
+            runTasks();
+        }
+        logger.info("[增强调度器] 工作线程退出");
+    }
+
+    /**
+     * 等待第一个实验（空闲时维护类索引），再在合并窗口内收集后续到达的实验；被任务唤醒时返回空批次
+     */
+    private static List<String> nextBatch() throws InterruptedException {
+        List<String> first;
+        while ((first = queue.poll(IDLE_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            maintainIndex();
+        }
+        if (first.isEmpty()) {
+            return first;
+        }
+        List<String> batch = new ArrayList<>(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BATCH_WINDOW_MILLIS);
+        while (batch.size() < MAX_BATCH_SIZE) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            List<String> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.addAll(next);
+        }
+        List<String> next;
+        while (batch.size() < MAX_BATCH_SIZE && (next = queue.poll()) != null) {
+            batch.addAll(next);
+        }
+        return batch;
+    }
+
+    private static void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                logger.error("[增强调度器] 执行任务失败", e);
+            }
+        }
+    }
+
+    private static void maintainIndex() {
+        LoadedClassIndex index = LoadedClassIndex.get();
+        ModuleEventWatcher watcher = ListenerManager.getModuleEventWatcher();
+        try {
+            if (!index.isReady()) {
+                if (!indexFailed && watcher != null) {
+                    index.build(watcher);
+                    lastPruneTime = System.currentTimeMillis();
+                }
+            } else if (System.currentTimeMillis() - lastPruneTime >= PRUNE_INTERVAL_MILLIS) {
+                lastPruneTime = System.currentTimeMillis();
+                index.pruneUnloaded();
+            }
+        } catch (RuntimeException e) {
+            indexFailed = !index.isReady();
+            logger.warn("[增强调度器] 维护类索引失败，按切点逐类匹配", e);
+        }
+    }
+
+    private static void process(List<String> batch) {
+        List<Enhancer> enhancers = new ArrayList<>(batch.size());
+        synchronized (ListenerManager.class) {
+            // 跳过已撤销的实验
+            for (String experimentId : batch) {
+                Enhancer enhancer = pending.remove(experimentId);
+                if (enhancer != null) {
+                    enhancers.add(enhancer);
+                    inFlight.add(experimentId);
+                }
+            }
+            if (enhancers.isEmpty()) {
+                return;
+            }
+            for (Enhancer enhancer : enhancers) {
+                enhancer.getState().watching();
+            }
+        }
+        logger.info("[增强调度器] 开始批量字节码增强，实验数: {}", enhancers.size());
+        WatchReport report;
+        try {
+            report = ListenerManager.watch(enhancers);
+        } catch (RuntimeException e) {
+            // 已切换为 ACTIVE 的实验不受影响
+            for (Enhancer enhancer : enhancers) {
+                enhancer.getState().failed(String.valueOf(e));
+            }
+            throw e;
+        } finally {
+            applyTombstones();
+        }
+        synchronized (reports) {
+            if (reports.size() == MAX_REPORTS) {
+                reports.removeFirst();
+            }
+            reports.addLast(report);
+        }
+        logger.info("[增强调度器] 批量字节码增强完成: {}", report);
+    }
+
+    /**
+     * 本批增强结束，取消增强期间被销毁的实验
+     */
+    private static void applyTombstones() {
+        synchronized (ListenerManager.class) {
+            inFlight.clear();
+            for (String experimentId : tombstones) {
+                // 增强失败的实验没有监听
+                if (!ListenerManager.exists(experimentId)) {
+                    continue;
+                }
+                try {
+                    ListenerManager.delete(experimentId);
+                } catch (RuntimeException e) {
+                    logger.error("[增强调度器] 取消增强失败: {}", experimentId, e);
+                }
+            }
+            tombstones.clear();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher;
+
+import com.alibaba.jvm.sandbox.api.resource.LoadedClassDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ClassLoaderScope - 按类加载器限定实验范围
+ *
+ * [改造说明]
+ * 多个 webapp、OSGi bundle 或 shade 出的依赖会让同名类在 JVM 中存在多份，只按类名匹配时每一份都会被
+ * retransform 并注入故障。切点可以限定类加载器（classloader / loadermatch 参数）：
+ * 1. name（默认）：加载器类名，逗号分隔多个，bootstrap 表示启动类加载器
+ * 2. anchor：与锚点类（classloader 参数为锚点类名）同一个加载器，锚点类需在创建实验前已加载
+ * 3. first：第一个遇到的加载器，增强时按已加载类的顺序确定，之后不再改变
+ *
+ * 两处生效：
+ * - 类过滤：Sandbox 的 Filter 只传类名，增强前由 resolve() 遍历一次已加载类，记录所有副本都不在范围内的类名，
+ *   类过滤直接排除；只要有一份副本在范围内，同名的其他副本仍会被增强
+ * - 运行期：MethodEventListener 按事件的类加载器再判定一次（matches()），只比较引用或加载器类名，不做分配
+ * 加载器只保存弱引用，不会阻止 webapp 卸载；被回收的加载器不再匹配
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class ClassLoaderScope {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassLoaderScope.class);
+
+    public static final String MODE_NAME = "name";
+    public static final String MODE_ANCHOR = "anchor";
+    public static final String MODE_FIRST = "first";
+
+    /** 启动类加载器在 name 模式下的名称 */
+    public static final String BOOTSTRAP = "bootstrap";
+
+    /** 代表启动类加载器的引用 */
+    private static final WeakReference<ClassLoader> BOOTSTRAP_REF = new WeakReference<ClassLoader>(null);
+
+    @SuppressWarnings("unchecked")
+    private static final WeakReference<ClassLoader>[] NO_LOADERS = new WeakReference[0];
+
+    private final String mode;
+
+    /** 加载器类名或锚点类名，first 模式为 null */
+    private final String value;
+
+    /** name 模式：加载器类名 */
+    private final Set<String> loaderNames;
+
+    /** name 模式：是否包含启动类加载器 */
+    private final boolean bootstrap;
+
+    /** anchor 模式：锚点类的加载器，resolve() 时确定 */
+    private volatile WeakReference<ClassLoader>[] anchors = NO_LOADERS;
+
+    /** first 模式：第一个遇到的加载器 */
+    private final AtomicReference<WeakReference<ClassLoader>> first = new AtomicReference<WeakReference<ClassLoader>>();
+
+    /** 所有副本都不在范围内的类名，resolve() 时确定 */
+    private volatile Set<String> excluded = Collections.emptySet();
+
+    private ClassLoaderScope(String mode, String value) {
+        this.mode = mode;
+        this.value = value;
+        Set<String> names = new HashSet<String>();
+        boolean includesBootstrap = false;
+        if (MODE_NAME.equals(mode)) {
+            for (String part : value.split(",")) {
+                String name = part.trim();
+                if (BOOTSTRAP.equalsIgnoreCase(name)) {
+                    includesBootstrap = true;
+                } else if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        this.loaderNames = names;
+        this.bootstrap = includesBootstrap;
+    }
+
+    /**
+     * 从实验参数创建
+     *
+     * @param value 加载器类名（name）或锚点类名（anchor），first 模式不需要
+     * @param mode  name / anchor / first，为空时按 name
+     * @return 加载器范围，两者都未指定时返回 null（不限制）
+     * @throws IllegalArgumentException 模式未知或缺少 classloader 参数
+     */
+    public static ClassLoaderScope parse(String value, String mode) {
+        String trimmed = value == null ? "" : value.trim();
+        String normalized = mode == null ? "" : mode.trim().toLowerCase();
+        if (trimmed.isEmpty() && normalized.isEmpty()) {
+            return null;
+        }
+        if (normalized.isEmpty()) {
+            normalized = MODE_NAME;
+        }
+        if (MODE_FIRST.equals(normalized)) {
+            return new ClassLoaderScope(MODE_FIRST, null);
+        }
+        if (!MODE_NAME.equals(normalized) && !MODE_ANCHOR.equals(normalized)) {
+            throw new IllegalArgumentException("Illegal loadermatch: " + mode);
+        }
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("Missing classloader for loadermatch " + normalized);
+        }
+        if (MODE_ANCHOR.equals(normalized)) {
+            trimmed = trimmed.replace('/', '.');
+            if (trimmed.indexOf(',') >= 0) {
+                throw new IllegalArgumentException("Only one anchor class is allowed: " + value);
+            }
+        }
+        return new ClassLoaderScope(normalized, trimmed);
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 类加载器是否在范围内（运行期）
+     *
+     * @param loader 事件的类加载器，启动类加载器为 null
+     * @return 是否在范围内
+     */
+    public boolean matches(ClassLoader loader) {
+        if (MODE_NAME.equals(mode)) {
+            return loader == null ? bootstrap : loaderNames.contains(loader.getClass().getName());
+        }
+        if (MODE_ANCHOR.equals(mode)) {
+            for (WeakReference<ClassLoader> anchor : anchors) {
+                if (refersTo(anchor, loader)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        WeakReference<ClassLoader> current = first.get();
+        if (current == null) {
+            WeakReference<ClassLoader> claimed = reference(loader);
+            current = first.compareAndSet(null, claimed) ? claimed : first.get();
+        }
+        return refersTo(current, loader);
+    }
+
+    /**
+     * 类过滤时是否排除该类名（所有已加载副本都不在范围内）
+     *
+     * @param className 类名
+     * @return 是否排除
+     */
+    public boolean excludes(String className) {
+        return excluded.contains(className);
+    }
+
+    /**
+     * 增强前遍历一次已加载类：确定锚点类和首个加载器，记录所有副本都不在范围内的类名
+     *
+     * @param pointCut   所属切点，只按类名匹配
+     * @param dataSource 已加载类数据源，为 null 时不在类过滤阶段排除
+     */
+    public void resolve(PointCut pointCut, LoadedClassDataSource dataSource) {
+        if (dataSource == null) {
+            return;
+        }
+        List<WeakReference<ClassLoader>> resolved = new ArrayList<WeakReference<ClassLoader>>();
+        Map<String, List<ClassLoader>> copies = new HashMap<String, List<ClassLoader>>();
+        for (Iterator<Class<?>> it = dataSource.iteratorForLoadedClasses(); it.hasNext(); ) {
+            Class<?> clazz = it.next();
+            String className = clazz.getName();
+            if (MODE_ANCHOR.equals(mode) && className.equals(value)) {
+                resolved.add(reference(clazz.getClassLoader()));
+            }
+            if (clazz.isArray() || !pointCut.matchClass(className)) {
+                continue;
+            }
+            List<ClassLoader> loaders = copies.get(className);
+            if (loaders == null) {
+                loaders = new ArrayList<ClassLoader>(1);
+                copies.put(className, loaders);
+            }
+            loaders.add(clazz.getClassLoader());
+            if (MODE_FIRST.equals(mode) && first.get() == null) {
+                first.compareAndSet(null, reference(clazz.getClassLoader()));
+            }
+        }
+        if (MODE_ANCHOR.equals(mode)) {
+            if (resolved.isEmpty()) {
+                logger.warn("[加载器范围] 锚点类未加载，不匹配任何类: {}", value);
+            }
+            @SuppressWarnings("unchecked")
+            WeakReference<ClassLoader>[] array = resolved.toArray(new WeakReference[0]);
+            anchors = array;
+        }
+
+        Set<String> names = new HashSet<String>();
+        for (Map.Entry<String, List<ClassLoader>> entry : copies.entrySet()) {
+            boolean inScope = false;
+            for (ClassLoader loader : entry.getValue()) {
+                if (matches(loader)) {
+                    inScope = true;
+                    break;
+                }
+            }
+            if (!inScope) {
+                names.add(entry.getKey());
+            }
+        }
+        excluded = names;
+        logger.info("[加载器范围] {}, 已加载的匹配类数: {}, 排除类数: {}", this, copies.size(), names.size());
+    }
+
+    private static WeakReference<ClassLoader> reference(ClassLoader loader) {
+        return loader == null ? BOOTSTRAP_REF : new WeakReference<ClassLoader>(loader);
+    }
+
+    private static boolean refersTo(WeakReference<ClassLoader> ref, ClassLoader loader) {
+        if (ref == BOOTSTRAP_REF) {
+            return loader == null;
+        }
+        // 被回收的加载器 get() 为 null，不能与启动类加载器混淆
+        return loader != null && ref.get() == loader;
+    }
+
+    /**
+     * 用于切点标识
+     */
+    public String getKey() {
+        return value == null ? mode : mode + ':' + value;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassLoaderScope{" + getKey() + '}';
+    }
+}
@@ -20,12 +20,32 @@ import com.alibaba.jvm.sandbox.api.filter.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * FilterUtil - Filter 工具类
  * 
  * [改造说明]
  * 简化的 Filter 创建工具，用于将 PointCut 转换为 Sandbox 的 Filter
  * 
+ * 合并过滤器：
+ * - 多个切点合并为一个 Filter，一次 watch 只扫描一遍已加载类、只 retransform 一次
+ * - Sandbox 对每个类先调用 doClassFilter()，再在同一线程上对该类的方法逐个调用 doMethodFilter()，
+ *   因此按线程记录当前类命中的切点，方法只与这些切点匹配，不会把 A 切点的方法增强到 B 切点的类上；
+ *   每次 doClassFilter() 都重新设置该线程的记录，类未命中时移除，没有前置类匹配的 doMethodFilter() 不匹配任何方法，
+ *   只有命中的类分配记录数组
+ * - 创建 Filter 时从 LoadedClassIndex 解析各切点的候选类，已入索引的类只做一次哈希查找，
+ *   不再逐个切点匹配；索引未建立或切点无法缩小范围时按切点匹配
+ * - 类名命中后再按 Sandbox 传入的父类、接口、注解做类结构匹配（PointCut.matchStructure），
+ *   更上层的父类和接口从 LoadedClassIndex 中查找；未指定类结构的切点不做这一步
+ * - 方法按方法名和参数类型匹配（paramtypes / paramcount），未指定方法签名的切点只比较方法名
+ * - 限定了类加载器的切点在创建 Filter 时遍历一次已加载类（ClassLoaderScope.resolve），
+ *   所有副本都不在范围内的类名在类名命中后直接排除
+ * 
  * @author rakkaus
  * @since 1.8.0
  */
@@ -60,35 +80,138 @@ public class FilterUtil {
             };
         }
         
-        return new Filter() {
-            @Override
-            public boolean doClassFilter(int access, String javaClassName,
-                    String superClassTypeJavaClassName,
-                    String[] interfaceTypeJavaClassNameArray,
-                    String[] annotationTypeJavaClassNameArray) {
-                // 使用 PointCut 的 matchClass 方法
-                boolean matched = pointCut.matchClass(javaClassName);
-                // 只在 DEBUG 级别记录匹配的类，避免日志过多
-                if (matched) {
-                    log.debug("[Filter] 类匹配成功: {} (期望: {})", javaClassName, pointCut.getClassName());
+        return createFilter(Collections.singletonList(pointCut));
+    }
+    
+    /**
+     * 把多个切点合并为一个 Filter，类或方法命中任一切点即增强
+     * 
+     * @param pointCuts 切点列表
+     * @return Filter 实例
+     */
+    public static Filter createFilter(final List<PointCut> pointCuts) {
+        final PointCut[] candidates = pointCuts.toArray(new PointCut[0]);
+        
+        // 从已加载类索引解析各切点的候选类：类名 -> 命中的切点
+        final LoadedClassIndex index = LoadedClassIndex.get();
+        final long version = index.getVersion();
+        final boolean[] narrowed = new boolean[candidates.length];
+        for (PointCut candidate : candidates) {
+            ClassLoaderScope scope = candidate == null ? null : candidate.getLoaderScope();
+            if (scope != null) {
+                scope.resolve(candidate, index.getLoadedClassDataSource());
+            }
+        }
+        final Map<String, boolean[]> indexed = new HashMap<String, boolean[]>();
+        if (index.isReady()) {
+            for (int i = 0; i < candidates.length; i++) {
+                Set<String> classNames = candidates[i] == null ? null : candidates[i].narrowClasses(index);
+                if (classNames == null) {
+                    continue;
+                }
+                narrowed[i] = true;
+                for (String className : classNames) {
+                    boolean[] hits = indexed.get(className);
+                    if (hits == null) {
+                        hits = new boolean[candidates.length];
+                        indexed.put(className, hits);
+                    }
+                    hits[i] = true;
                 }
-                return matched;
             }
-            
-            @Override
-            public boolean doMethodFilter(int access, String javaMethodName,
-                    String[] parameterTypeJavaClassNameArray,
-                    String[] throwsTypeJavaClassNameArray,
-                    String[] annotationTypeJavaClassNameArray) {
-                // 使用 PointCut 的 matchMethod 方法
-                boolean matched = pointCut.matchMethod(javaMethodName);
-                // 只在 DEBUG 级别记录匹配的方法，避免日志过多
-                if (matched) {
-                    log.debug("[Filter] 方法匹配成功: {} (期望: {})", javaMethodName, pointCut.getMethodName());
+            log.info("[Filter] 已从类索引解析候选类: 切点数={}, 候选类数={}, 索引类数={}", 
+                candidates.length, indexed.size(), index.size());
+        }
+        
+        return new MergedFilter(candidates, index, version, narrowed, indexed);
+    }
+
+    /**
+     * 在当前线程上结束过滤，移除该线程记录的类匹配结果（watch 返回后由发起线程调用）
+     *
+     * @param filter createFilter() 返回的 Filter
+     */
+    public static void release(Filter filter) {
+        if (filter instanceof MergedFilter) {
+            ((MergedFilter) filter).classMatched.remove();
+        }
+    }
+
+    /**
+     * 合并多个切点的 Filter
+     */
+    private static final class MergedFilter implements Filter {
+
+        private final PointCut[] candidates;
+        private final LoadedClassIndex index;
+        private final long version;
+        private final boolean[] narrowed;
+        private final Map<String, boolean[]> indexed;
+
+        /** 当前线程正在过滤的类命中了哪些切点，类未命中时不保留 */
+        private final ThreadLocal<boolean[]> classMatched = new ThreadLocal<boolean[]>();
+
+        MergedFilter(PointCut[] candidates, LoadedClassIndex index, long version, boolean[] narrowed,
+                Map<String, boolean[]> indexed) {
+            this.candidates = candidates;
+            this.index = index;
+            this.version = version;
+            this.narrowed = narrowed;
+            this.indexed = indexed;
+        }
+
+        @Override
+        public boolean doClassFilter(int access, String javaClassName,
+                String superClassTypeJavaClassName,
+                String[] interfaceTypeJavaClassNameArray,
+                String[] annotationTypeJavaClassNameArray) {
+            // 快照前已入索引的类直接查候选集，其余类逐个切点匹配
+            boolean known = index.isIndexed(javaClassName, version);
+            boolean[] hits = known ? indexed.get(javaClassName) : null;
+            boolean[] matched = null;
+            for (int i = 0; i < candidates.length; i++) {
+                boolean hit;
+                if (candidates[i] == null) {
+                    hit = false;
+                } else if (known && narrowed[i]) {
+                    hit = hits != null && hits[i];
+                } else {
+                    hit = candidates[i].matchClass(javaClassName);
                 }
-                return matched;
+                if (hit && !candidates[i].excludesByLoader(javaClassName)
+                        && candidates[i].matchStructure(index, javaClassName,
+                        superClassTypeJavaClassName, interfaceTypeJavaClassNameArray,
+                        annotationTypeJavaClassNameArray)) {
+                    if (matched == null) {
+                        matched = new boolean[candidates.length];
+                    }
+                    matched[i] = true;
+                }
+            }
+            if (matched == null) {
+                classMatched.remove();
+                return false;
+            }
+            classMatched.set(matched);
+            log.debug("[Filter] 类匹配成功: {} (合并切点数: {})", javaClassName, candidates.length);
+            return true;
+        }
+        
+        @Override
+        public boolean doMethodFilter(int access, String javaMethodName,
+                String[] parameterTypeJavaClassNameArray,
+                String[] throwsTypeJavaClassNameArray,
+                String[] annotationTypeJavaClassNameArray) {
+            boolean[] matched = classMatched.get();
+            if (matched == null) {
+                return false;
             }
-        };
+            for (int i = 0; i < candidates.length; i++) {
+                if (matched[i] && candidates[i].matchMethod(javaMethodName, parameterTypeJavaClassNameArray)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
-
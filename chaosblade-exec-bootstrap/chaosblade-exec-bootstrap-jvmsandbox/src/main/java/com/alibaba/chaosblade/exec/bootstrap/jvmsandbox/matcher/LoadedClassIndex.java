@@ -0,0 +1,431 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher;
+
+import com.alibaba.jvm.sandbox.api.event.Event;
+import com.alibaba.jvm.sandbox.api.filter.Filter;
+import com.alibaba.jvm.sandbox.api.listener.EventListener;
+import com.alibaba.jvm.sandbox.api.resource.LoadedClassDataSource;
+import com.alibaba.jvm.sandbox.api.resource.ModuleEventWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadedClassIndex - 已加载类索引
+ *
+ * [改造说明]
+ * 每次 watch 都要用 Filter 过一遍全部已加载类，类多（数万）的应用里逐类匹配多个切点是实验创建的主要耗时。
+ * 模块维护一份已加载类索引，watch 前先从索引解析出各切点的候选类，Filter 对每个类只做哈希查找：
+ * 1. 索引键：包名前缀树、简单类名、直接父类、直接实现的接口
+ * 2. 增量维护：注册一个不匹配任何类的索引 watch，Sandbox 扫描已加载类和之后每次加载新类时都会回调其
+ *    Filter，借此记录类名、父类和接口，不额外遍历已加载类；卸载的类由 prune() 在空闲时对账移除
+ * 3. 每个类入索引时分配递增版本号，Filter 以创建时的版本为快照：版本不晚于快照的类按候选集判定，
+ *    快照之后加载或未入索引的类退化为切点匹配，结果与逐类匹配一致
+ *
+ * 索引建立前（isReady() 为 false）Filter 全部退化为切点匹配
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class LoadedClassIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadedClassIndex.class);
+
+    private static final LoadedClassIndex INSTANCE = new LoadedClassIndex();
+
+    /** 类名 -> 入索引时的版本号 */
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+
+    /** 包名前缀树 */
+    private final PackageNode root = new PackageNode();
+
+    /** 简单类名 -> 类名 */
+    private final ConcurrentHashMap<String, Set<String>> simpleNames = new ConcurrentHashMap<>();
+
+    /** 父类 -> 直接子类 */
+    private final ConcurrentHashMap<String, Set<String>> subclasses = new ConcurrentHashMap<>();
+
+    /** 接口 -> 直接实现类（含子接口） */
+    private final ConcurrentHashMap<String, Set<String>> implementors = new ConcurrentHashMap<>();
+
+    /** 类名 -> 父类及接口，用于移除 */
+    private final ConcurrentHashMap<String, String[]> supertypes = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile boolean ready;
+
+    /** 索引 watch 的 ID */
+    private volatile int watcherId = -1;
+
+    /** 已加载类数据源（由 SandboxModule 注入），用于对账卸载的类 */
+    private volatile LoadedClassDataSource loadedClassDataSource;
+
+    /**
+     * 模块共享的索引
+     *
+     * @return 索引
+     */
+    public static LoadedClassIndex get() {
+        return INSTANCE;
+    }
+
+    /**
+     * 注册索引 watch，Sandbox 在 watch 内遍历已加载类建立索引，之后随类加载增量更新
+     * 耗时与一次 watch 相当，由 WatchScheduler 在空闲时调用
+     *
+     * @param watcher ModuleEventWatcher
+     */
+    public synchronized void build(ModuleEventWatcher watcher) {
+        if (ready) {
+            return;
+        }
+        long start = System.nanoTime();
+        watcherId = watcher.watch(createIndexingFilter(), new EventListener() {
+            @Override
+            public void onEvent(Event event) {
+                // 索引 watch 不增强任何方法，不会收到事件
+            }
+        }, Event.Type.BEFORE);
+        ready = true;
+        logger.info("[类索引] 已建立: 类数={}, 耗时={}ms", versions.size(),
+                (System.nanoTime() - start) / 1000000L);
+    }
+
+    /**
+     * 清空索引，模块卸载时调用（Sandbox 卸载模块时自动删除索引 watch）
+     */
+    public synchronized void clear() {
+        ready = false;
+        watcherId = -1;
+        versions.clear();
+        root.children.clear();
+        root.classes.clear();
+        simpleNames.clear();
+        subclasses.clear();
+        implementors.clear();
+        supertypes.clear();
+    }
+
+    /**
+     * 记录 Sandbox 回调的类，不增强任何类
+     */
+    private Filter createIndexingFilter() {
+        return new Filter() {
+            @Override
+            public boolean doClassFilter(int access, String javaClassName,
+                    String superClassTypeJavaClassName,
+                    String[] interfaceTypeJavaClassNameArray,
+                    String[] annotationTypeJavaClassNameArray) {
+                add(javaClassName, superClassTypeJavaClassName, interfaceTypeJavaClassNameArray);
+                return false;
+            }
+
+            @Override
+            public boolean doMethodFilter(int access, String javaMethodName,
+                    String[] parameterTypeJavaClassNameArray,
+                    String[] throwsTypeJavaClassNameArray,
+                    String[] annotationTypeJavaClassNameArray) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 加入索引，版本号在各索引写入完成后才分配，保证版本不晚于快照的类一定能被查询到
+     *
+     * @param className  类名
+     * @param superName  父类名，可为 null
+     * @param interfaces 直接实现的接口，可为 null
+     */
+    public void add(String className, String superName, String[] interfaces) {
+        if (className == null) {
+            return;
+        }
+        int dot = className.lastIndexOf('.');
+        packageNode(className, dot, true).classes.add(className);
+        bucket(simpleNames, className.substring(dot + 1)).add(className);
+        int interfaceCount = interfaces == null ? 0 : interfaces.length;
+        String[] types = new String[interfaceCount + 1];
+        types[0] = superName;
+        if (superName != null) {
+            bucket(subclasses, superName).add(className);
+        }
+        for (int i = 0; i < interfaceCount; i++) {
+            types[i + 1] = interfaces[i];
+            bucket(implementors, interfaces[i]).add(className);
+        }
+        supertypes.put(className, types);
+        versions.put(className, sequence.incrementAndGet());
+    }
+
+    /**
+     * 移除索引，先移除版本号，之后的 Filter 对该类退化为切点匹配
+     *
+     * @param className 类名
+     */
+    public void remove(String className) {
+        if (versions.remove(className) == null) {
+            return;
+        }
+        int dot = className.lastIndexOf('.');
+        PackageNode node = packageNode(className, dot, false);
+        if (node != null) {
+            node.classes.remove(className);
+        }
+        removeFrom(simpleNames, className.substring(dot + 1), className);
+        String[] types = supertypes.remove(className);
+        if (types != null) {
+            if (types[0] != null) {
+                removeFrom(subclasses, types[0], className);
+            }
+            for (int i = 1; i < types.length; i++) {
+                removeFrom(implementors, types[i], className);
+            }
+        }
+    }
+
+    public void setLoadedClassDataSource(LoadedClassDataSource loadedClassDataSource) {
+        this.loadedClassDataSource = loadedClassDataSource;
+    }
+
+    public LoadedClassDataSource getLoadedClassDataSource() {
+        return loadedClassDataSource;
+    }
+
+    /**
+     * 与 LoadedClassDataSource 对账，移除已卸载的类，由 WatchScheduler 在空闲时调用
+     *
+     * @return 移除的类数
+     */
+    public int pruneUnloaded() {
+        LoadedClassDataSource dataSource = loadedClassDataSource;
+        if (!ready || dataSource == null) {
+            return 0;
+        }
+        // 取已加载类之后入索引的类不参与对账
+        long version = getVersion();
+        return prune(dataSource.list(), version);
+    }
+
+    /**
+     * 与当前已加载类对账，移除已卸载的类
+     *
+     * @param loadedClasses 当前已加载的类
+     * @param version       取已加载类之前的索引版本，之后入索引的类不移除
+     * @return 移除的类数
+     */
+    public int prune(Set<Class<?>> loadedClasses, long version) {
+        Set<String> loaded = new HashSet<>(loadedClasses.size() * 2);
+        for (Class<?> clazz : loadedClasses) {
+            loaded.add(clazz.getName());
+        }
+        int removed = 0;
+        for (Iterator<String> it = versions.keySet().iterator(); it.hasNext(); ) {
+            String className = it.next();
+            if (isIndexed(className, version) && !loaded.contains(className)) {
+                remove(className);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            logger.info("[类索引] 已移除卸载的类: {}, 剩余类数: {}", removed, versions.size());
+        }
+        return removed;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 当前版本，作为 Filter 的快照
+     *
+     * @return 版本号
+     */
+    public long getVersion() {
+        return sequence.get();
+    }
+
+    /**
+     * 类是否在快照版本之前已入索引
+     *
+     * @param className 类名
+     * @param version   快照版本
+     * @return true-候选集对该类有效
+     */
+    public boolean isIndexed(String className, long version) {
+        Long indexed = versions.get(className);
+        return indexed != null && indexed <= version;
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    /**
+     * @param className 类名
+     * @return 已入索引时返回只含该类的集合，否则为空集合
+     */
+    public Set<String> findByName(String className) {
+        return versions.containsKey(className) ? Collections.singleton(className) : Collections.<String>emptySet();
+    }
+
+    /**
+     * 类名以 prefix 开头的类，只遍历前缀所在的子树
+     *
+     * @param prefix 类名前缀
+     * @return 类名集合
+     */
+    public Set<String> findByPrefix(String prefix) {
+        Set<String> result = new HashSet<>();
+        int dot = prefix.lastIndexOf('.');
+        PackageNode node = packageNode(prefix, dot, false);
+        if (node == null) {
+            return result;
+        }
+        String partial = prefix.substring(dot + 1);
+        for (String className : node.classes) {
+            if (className.startsWith(prefix)) {
+                result.add(className);
+            }
+        }
+        for (Map.Entry<String, PackageNode> child : node.children.entrySet()) {
+            if (child.getKey().startsWith(partial)) {
+                collect(child.getValue(), result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param simpleName 简单类名（内部类为 Outer$Inner）
+     * @return 类名集合
+     */
+    public Set<String> findBySimpleName(String simpleName) {
+        return snapshot(simpleNames.get(simpleName));
+    }
+
+    /**
+     * @param superName 父类名
+     * @return 直接子类
+     */
+    public Set<String> findSubclasses(String superName) {
+        return snapshot(subclasses.get(superName));
+    }
+
+    /**
+     * @param className 类名
+     * @return 下标 0 为直接父类（可为 null），其后为直接实现的接口；未入索引时返回 null
+     */
+    public String[] findSupertypes(String className) {
+        String[] types = supertypes.get(className);
+        return types == null ? null : types.clone();
+    }
+
+    /**
+     * @param interfaceName 接口名
+     * @return 直接实现该接口的类和直接继承该接口的接口
+     */
+    public Set<String> findImplementors(String interfaceName) {
+        return snapshot(implementors.get(interfaceName));
+    }
+
+    private static Set<String> snapshot(Set<String> set) {
+        return set == null ? new HashSet<String>() : new HashSet<>(set);
+    }
+
+    private static void collect(PackageNode node, Set<String> result) {
+        result.addAll(node.classes);
+        for (PackageNode child : node.children.values()) {
+            collect(child, result);
+        }
+    }
+
+    /**
+     * 定位 name 中 end 之前部分对应的包节点
+     */
+    private PackageNode packageNode(String name, int end, boolean create) {
+        PackageNode node = root;
+        int start = 0;
+        while (start < end) {
+            int next = name.indexOf('.', start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            String segment = name.substring(start, next);
+            PackageNode child = node.children.get(segment);
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = new PackageNode();
+                PackageNode previous = node.children.putIfAbsent(segment, child);
+                if (previous != null) {
+                    child = previous;
+                }
+            }
+            node = child;
+            start = next + 1;
+        }
+        return node;
+    }
+
+    private static Set<String> bucket(ConcurrentHashMap<String, Set<String>> map, String key) {
+        Set<String> set = map.get(key);
+        if (set == null) {
+            set = ConcurrentHashMap.newKeySet();
+            Set<String> previous = map.putIfAbsent(key, set);
+            if (previous != null) {
+                set = previous;
+            }
+        }
+        return set;
+    }
+
+    private static void removeFrom(ConcurrentHashMap<String, Set<String>> map, String key, String className) {
+        Set<String> set = map.get(key);
+        if (set != null) {
+            set.remove(className);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LoadedClassIndex{ready=" + ready + ", classes=" + versions.size() + ", watcherId=" + watcherId + '}';
+    }
+
+    /**
+     * 包名前缀树节点
+     */
+    private static final class PackageNode {
+
+        /** 子包 */
+        final ConcurrentHashMap<String, PackageNode> children = new ConcurrentHashMap<>();
+
+        /** 本包内的类 */
+        final Set<String> classes = ConcurrentHashMap.newKeySet();
+    }
+}
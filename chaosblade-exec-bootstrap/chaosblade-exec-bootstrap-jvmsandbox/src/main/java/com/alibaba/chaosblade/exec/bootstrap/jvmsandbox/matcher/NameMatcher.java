@@ -0,0 +1,355 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * NameMatcher - 预编译的名称匹配器
+ *
+ * [改造说明]
+ * 创建实验时由 PointCut 编译一次，运行期匹配不做任何字符串分配：
+ * 1. exact：精确匹配
+ * 2. prefix：包名前缀匹配
+ * 3. glob：通配符匹配，* 匹配任意字符序列，? 匹配单个字符
+ * 4. regex：正则匹配，Matcher 按线程复用
+ * 5. contains：子串匹配（兼容旧版本的模糊匹配行为）
+ * 多个规则可用逗号分隔，任一命中即匹配
+ *
+ * 类名匹配器可以从 LoadedClassIndex 解析候选类（narrow）：exact 按类名、prefix 按包名前缀树、
+ * glob 按字面前缀或简单类名，regex / contains 无法缩小范围
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public abstract class NameMatcher {
+
+    public static final String MODE_EXACT = "exact";
+    public static final String MODE_PREFIX = "prefix";
+    public static final String MODE_GLOB = "glob";
+    public static final String MODE_REGEX = "regex";
+    public static final String MODE_CONTAINS = "contains";
+
+    /** 匹配所有名称 */
+    public static final NameMatcher ANY = new NameMatcher() {
+        @Override
+        public boolean matches(String name) {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "any";
+        }
+    };
+
+    /**
+     * 是否匹配
+     *
+     * @param name 类名（. 分隔）或方法名
+     * @return 是否匹配
+     */
+    public abstract boolean matches(String name);
+
+    /**
+     * 从已加载类索引中解析匹配的类
+     *
+     * @param index 已加载类索引
+     * @return 匹配的类名，无法通过索引缩小范围时返回 null
+     */
+    public Set<String> narrow(LoadedClassIndex index) {
+        return null;
+    }
+
+    /**
+     * 编译匹配规则
+     *
+     * @param pattern 匹配规则，为空时匹配所有；多个规则用逗号分隔
+     * @param mode    匹配模式，为空时含通配符按 glob，否则按 exact
+     * @return 编译后的匹配器
+     * @throws IllegalArgumentException 匹配模式未知或正则非法
+     */
+    public static NameMatcher compile(String pattern, String mode) {
+        if (pattern == null || pattern.trim().isEmpty()) {
+            return ANY;
+        }
+        // 正则中的逗号有语义，不做拆分
+        if (MODE_REGEX.equalsIgnoreCase(mode)) {
+            return new RegexMatcher(pattern.trim());
+        }
+        List<NameMatcher> alternatives = new ArrayList<NameMatcher>();
+        for (String part : pattern.split(",")) {
+            String alternative = part.trim();
+            if (!alternative.isEmpty()) {
+                alternatives.add(compileSingle(alternative, mode));
+            }
+        }
+        if (alternatives.isEmpty()) {
+            return ANY;
+        }
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+        return new AnyOfMatcher(alternatives.toArray(new NameMatcher[0]));
+    }
+
+    private static NameMatcher compileSingle(String pattern, String mode) {
+        if (mode == null || mode.isEmpty()) {
+            mode = isGlob(pattern) ? MODE_GLOB : MODE_EXACT;
+        }
+        if (MODE_EXACT.equalsIgnoreCase(mode)) {
+            return new ExactMatcher(pattern);
+        }
+        if (MODE_PREFIX.equalsIgnoreCase(mode)) {
+            return new PrefixMatcher(pattern);
+        }
+        if (MODE_GLOB.equalsIgnoreCase(mode)) {
+            return isGlob(pattern) ? new GlobMatcher(pattern) : new ExactMatcher(pattern);
+        }
+        if (MODE_CONTAINS.equalsIgnoreCase(mode)) {
+            return new ContainsMatcher(pattern);
+        }
+        throw new IllegalArgumentException("Unknown match mode: " + mode);
+    }
+
+    private static boolean isGlob(String pattern) {
+        return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0;
+    }
+
+    static final class ExactMatcher extends NameMatcher {
+        private final String expected;
+
+        ExactMatcher(String expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public boolean matches(String name) {
+            return expected.equals(name);
+        }
+
+        @Override
+        public Set<String> narrow(LoadedClassIndex index) {
+            return index.findByName(expected);
+        }
+
+        @Override
+        public String toString() {
+            return "exact:" + expected;
+        }
+    }
+
+    static final class PrefixMatcher extends NameMatcher {
+        private final String prefix;
+
+        PrefixMatcher(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean matches(String name) {
+            return name != null && name.startsWith(prefix);
+        }
+
+        @Override
+        public Set<String> narrow(LoadedClassIndex index) {
+            return index.findByPrefix(prefix);
+        }
+
+        @Override
+        public String toString() {
+            return "prefix:" + prefix;
+        }
+    }
+
+    static final class ContainsMatcher extends NameMatcher {
+        private final String fragment;
+
+        ContainsMatcher(String fragment) {
+            this.fragment = fragment;
+        }
+
+        @Override
+        public boolean matches(String name) {
+            return name != null && name.contains(fragment);
+        }
+
+        @Override
+        public String toString() {
+            return "contains:" + fragment;
+        }
+    }
+
+    /**
+     * 通配符匹配，逐字符比较并在 * 处回溯，不使用正则
+     */
+    static final class GlobMatcher extends NameMatcher {
+        private final String pattern;
+
+        /** 第一个通配符之前的字面前缀，用于快速排除 */
+        private final String literalPrefix;
+
+        GlobMatcher(String pattern) {
+            this.pattern = pattern;
+            int wildcard = 0;
+            while (wildcard < pattern.length()
+                    && pattern.charAt(wildcard) != '*' && pattern.charAt(wildcard) != '?') {
+                wildcard++;
+            }
+            this.literalPrefix = pattern.substring(0, wildcard);
+        }
+
+        @Override
+        public boolean matches(String name) {
+            if (name == null || !name.startsWith(literalPrefix)) {
+                return false;
+            }
+            int p = literalPrefix.length();
+            int n = literalPrefix.length();
+            int starP = -1;
+            int starN = 0;
+            while (n < name.length()) {
+                if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == name.charAt(n))) {
+                    p++;
+                    n++;
+                } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                    starP = p++;
+                    starN = n;
+                } else if (starP >= 0) {
+                    p = starP + 1;
+                    n = ++starN;
+                } else {
+                    return false;
+                }
+            }
+            while (p < pattern.length() && pattern.charAt(p) == '*') {
+                p++;
+            }
+            return p == pattern.length();
+        }
+
+        @Override
+        public Set<String> narrow(LoadedClassIndex index) {
+            Set<String> candidates;
+            int dot = pattern.lastIndexOf('.');
+            String simpleName = pattern.substring(dot + 1);
+            if (literalPrefix.indexOf('.') >= 0) {
+                // 至少确定一级包名，按前缀树查找
+                candidates = index.findByPrefix(literalPrefix);
+            } else if (dot >= 0 && simpleName.indexOf('*') < 0 && simpleName.indexOf('?') < 0) {
+                // 如 *.UserService，按简单类名查找
+                candidates = index.findBySimpleName(simpleName);
+            } else {
+                return null;
+            }
+            for (Iterator<String> it = candidates.iterator(); it.hasNext(); ) {
+                if (!matches(it.next())) {
+                    it.remove();
+                }
+            }
+            return candidates;
+        }
+
+        @Override
+        public String toString() {
+            return "glob:" + pattern;
+        }
+    }
+
+    static final class RegexMatcher extends NameMatcher {
+        private final Pattern pattern;
+
+        /** Matcher 非线程安全，按线程复用以避免每次匹配分配 */
+        private final ThreadLocal<Matcher> matchers;
+
+        RegexMatcher(String regex) {
+            this.pattern = Pattern.compile(regex);
+            this.matchers = new ThreadLocal<Matcher>() {
+                @Override
+                protected Matcher initialValue() {
+                    return pattern.matcher("");
+                }
+            };
+        }
+
+        @Override
+        public boolean matches(String name) {
+            if (name == null) {
+                return false;
+            }
+            Matcher matcher = matchers.get().reset(name);
+            boolean matched = matcher.matches();
+            // 释放对输入字符串的引用
+            matcher.reset("");
+            return matched;
+        }
+
+        @Override
+        public String toString() {
+            return "regex:" + pattern.pattern();
+        }
+    }
+
+    static final class AnyOfMatcher extends NameMatcher {
+        private final NameMatcher[] alternatives;
+
+        AnyOfMatcher(NameMatcher[] alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public boolean matches(String name) {
+            for (NameMatcher alternative : alternatives) {
+                if (alternative.matches(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Set<String> narrow(LoadedClassIndex index) {
+            Set<String> union = new HashSet<String>();
+            for (NameMatcher alternative : alternatives) {
+                Set<String> candidates = alternative.narrow(index);
+                if (candidates == null) {
+                    return null;
+                }
+                union.addAll(candidates);
+            }
+            return union;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("anyOf[");
+            for (int i = 0; i < alternatives.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(alternatives[i]);
+            }
+            return builder.append(']').toString();
+        }
+    }
+}
@@ -16,13 +16,50 @@
 
 package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher;
 
+import com.alibaba.chaosblade.exec.common.aop.matcher.MethodInfo;
+import com.alibaba.chaosblade.exec.common.aop.matcher.method.MethodMatcher;
+import com.alibaba.chaosblade.exec.common.aop.matcher.method.ParameterMethodMatcher;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * PointCut - 切点定义（匹配规则）
  * 
  * [改造说明]
  * 简化的切点定义，用于匹配需要增强的类和方法
  * 
- * TODO: Phase 3 后续可以扩展为更复杂的匹配规则
+ * 匹配规则在构造时编译为 NameMatcher，retransform 时的类过滤和每次调用的
+ * filter() 都只做一次预编译匹配，不再有字符串替换和子串扫描：
+ * - 类名支持 exact / prefix / glob / regex / contains 五种模式（classmatch 参数），
+ *   未指定时含通配符按 glob，否则按 exact；内部格式（/ 分隔）在编译时统一为 . 分隔
+ * - 方法名支持精确匹配和通配符，多个规则用逗号分隔
+ * 
+ * 类结构匹配（superclass / interface / annotation 参数，各自可用逗号分隔多个，同类参数为或、不同参数为且）：
+ * - superclass 匹配任一级父类，interface 匹配类及其各级父类实现的接口和这些接口的父接口，annotation 只匹配类上声明的注解
+ * - retransform 的类过滤中从 Sandbox 传入的直接父类、接口出发，沿 LoadedClassIndex 记录的父类、接口向上查找，
+ *   不加载类；未入索引的类型不再向上查找
+ * - 类过滤只传类名、不传类加载器，同名类的多份副本无法在类过滤时区分；运行期由 MethodEventListener 按事件的
+ *   (类加载器, 类名) 调用 matchStructure(loader, className)，首次遇到时用该加载器中的类判定一次并缓存，
+ *   加载器只保存弱引用；watch 删除时由 ListenerManager 调用 clearStructureMatches() 清空缓存
+ * - 运行期判定通过反射读取完整的父类链、接口和注解，注解需为 RUNTIME 保留；类无法读取时沿用类过滤的结果
+ * - 指定 superclass 时从 LoadedClassIndex 的各级子类缩小候选类
+ * 
+ * 方法签名匹配（区分重载）：
+ * - paramtypes: 参数类型列表（逗号分隔，如 java.lang.String,int,long[]），* 表示该位置不限，
+ *   同时要求参数个数相等；paramcount: 参数个数，可写 2、>2、<2，与 paramtypes 同时指定时以 paramcount 为准
+ * - 用 common 模块的 ParameterMethodMatcher 在方法过滤时按 Sandbox 传入的参数类型判定，未命中的重载不被增强
+ * - 运行期由方法描述符解析参数类型（matchMethod(name, desc)），合并 watch 的事件路由据此区分重载
+ * 
+ * 类加载器范围（classloader / loadermatch 参数，见 ClassLoaderScope）：
+ * - 同名类有多份副本时只增强指定加载器中的一份，类过滤排除所有副本都不在范围内的类名，
+ *   运行期由 MethodEventListener 按事件的类加载器判定
  * 
  * @author rakkaus
  * @since 1.8.0
@@ -35,9 +72,68 @@ public class PointCut {
     /** 方法名匹配规则 */
     private String methodName;
     
+    /** 类名匹配模式 */
+    private String classMatchMode;
+    
+    /** 编译后的类名匹配器 */
+    private volatile NameMatcher classMatcher;
+    
+    /** 编译后的方法名匹配器 */
+    private volatile NameMatcher methodMatcher;
+    
+    /** 父类、接口、注解匹配规则（逗号分隔），未指定为 null */
+    private String superClass;
+    private String interfaceName;
+    private String annotation;
+    
+    /** 编译后的类结构规则，未指定类结构时为 null */
+    private volatile Structure structure;
+    
+    /** 运行期类结构匹配结果：类名 -> 各类加载器中该类的结果 */
+    private final ConcurrentHashMap<String, StructureMatches> structureMatches = new ConcurrentHashMap<>();
+    
+    /** 参数类型、参数个数规则，未指定为 null */
+    private String parameterTypes;
+    private String parameterCount;
+    
+    /** 编译后的参数匹配器，未指定方法签名时为 null */
+    private volatile MethodMatcher parameterMatcher;
+    
+    /** 类加载器范围，未指定时为 null */
+    private volatile ClassLoaderScope loaderScope;
+    
     public PointCut(String className, String methodName) {
+        this(className, methodName, null);
+    }
+    
+    /**
+     * @param className      类名匹配规则
+     * @param methodName     方法名匹配规则
+     * @param classMatchMode 类名匹配模式，见 NameMatcher.MODE_*
+     * @throws IllegalArgumentException 匹配模式未知或正则非法
+     */
+    public PointCut(String className, String methodName, String classMatchMode) {
         this.className = className;
         this.methodName = methodName;
+        this.classMatchMode = classMatchMode;
+        this.classMatcher = compileClassMatcher(className, classMatchMode);
+        this.methodMatcher = NameMatcher.compile(methodName, null);
+    }
+    
+    /**
+     * 从实验参数创建切点：classname、methodname、classmatch、superclass、interface、annotation、
+     * paramtypes、paramcount、classloader、loadermatch
+     * 
+     * @param params 实验参数
+     * @return 切点
+     * @throws IllegalArgumentException 匹配模式未知或正则非法
+     */
+    public static PointCut parse(Map<String, String> params) {
+        PointCut pointCut = new PointCut(params.get("classname"), params.get("methodname"), params.get("classmatch"));
+        pointCut.setClassStructure(params.get("superclass"), params.get("interface"), params.get("annotation"));
+        pointCut.setMethodSignature(params.get("paramtypes"), params.get("paramcount"));
+        pointCut.setLoaderScope(ClassLoaderScope.parse(params.get("classloader"), params.get("loadermatch")));
+        return pointCut;
     }
     
     public String getClassName() {
@@ -45,6 +141,7 @@ public class PointCut {
     }
     
     public void setClassName(String className) {
+        this.classMatcher = compileClassMatcher(className, classMatchMode);
         this.className = className;
     }
     
@@ -53,37 +150,171 @@ public class PointCut {
     }
     
     public void setMethodName(String methodName) {
+        this.methodMatcher = NameMatcher.compile(methodName, null);
         this.methodName = methodName;
     }
     
+    public String getClassMatchMode() {
+        return classMatchMode;
+    }
+    
+    public String getSuperClass() {
+        return superClass;
+    }
+    
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+    
+    public String getAnnotation() {
+        return annotation;
+    }
+    
     /**
-     * 匹配类名
+     * 设置类结构匹配规则，各参数可用逗号分隔多个，为空表示不限制
+     * 
+     * @param superClass    任一级父类
+     * @param interfaceName 实现的接口（含父类实现的接口和父接口）
+     * @param annotation    类上的注解
+     */
+    public void setClassStructure(String superClass, String interfaceName, String annotation) {
+        this.superClass = normalizeTypes(superClass);
+        this.interfaceName = normalizeTypes(interfaceName);
+        this.annotation = normalizeTypes(annotation);
+        Structure compiled = new Structure(this.superClass, this.interfaceName, this.annotation);
+        this.structureMatches.clear();
+        this.structure = compiled.isEmpty() ? null : compiled;
+    }
+    
+    /**
+     * 是否指定了类结构匹配规则
+     */
+    public boolean hasClassStructure() {
+        return structure != null;
+    }
+    
+    /**
+     * 只匹配类名（类过滤和运行期共用），类结构和类加载器另行判定
      * 
      * @param targetClassName 目标类名
      * @return 是否匹配
      */
     public boolean matchClass(String targetClassName) {
-        if (className == null || className.isEmpty()) {
-            return true; // 空表示匹配所有
-        }
-        
-        // 精确匹配
-        if (className.equals(targetClassName)) {
+        return classMatcher.matches(targetClassName);
+    }
+    
+    /**
+     * 按 Sandbox 传入的直接父类、接口和注解匹配类结构（类过滤时调用），更上层的父类和接口从索引中查找
+     * 
+     * @param index           已加载类索引
+     * @param targetClassName 目标类名
+     * @param superName       直接父类
+     * @param interfaces      直接实现的接口
+     * @param annotations     类上的注解
+     * @return 是否匹配，未指定类结构时返回 true
+     */
+    public boolean matchStructure(LoadedClassIndex index, String targetClassName, String superName,
+            String[] interfaces, String[] annotations) {
+        Structure compiled = structure;
+        if (compiled == null) {
             return true;
         }
-        
-        // 转换为内部格式（. -> /）进行匹配
-        String internalClassName = className.replace('.', '/');
-        if (internalClassName.equals(targetClassName)) {
-            return true;
+        Set<String> superClasses = new HashSet<String>();
+        Set<String> allInterfaces = new HashSet<String>();
+        collectInterfaces(index, interfaces, 0, allInterfaces);
+        String type = superName;
+        while (type != null && superClasses.add(type)) {
+            String[] supertypes = index.findSupertypes(type);
+            if (supertypes == null) {
+                break;
+            }
+            collectInterfaces(index, supertypes, 1, allInterfaces);
+            type = supertypes[0];
         }
-        
-        // 包含匹配（用于模糊匹配）
-        if (targetClassName.contains(className) || targetClassName.contains(internalClassName)) {
+        return compiled.matches(superClasses, allInterfaces, annotations);
+    }
+    
+    /**
+     * 按类加载器中的类匹配类结构（运行期），同一 (类加载器, 类名) 只判定一次
+     * 
+     * @param loader          事件的类加载器，启动类加载器为 null
+     * @param targetClassName 目标类名
+     * @return 是否匹配，未指定类结构时返回 true
+     */
+    public boolean matchStructure(ClassLoader loader, String targetClassName) {
+        Structure compiled = structure;
+        if (compiled == null) {
             return true;
         }
-        
-        return false;
+        StructureMatches matches = structureMatches.get(targetClassName);
+        if (matches == null) {
+            matches = new StructureMatches();
+            StructureMatches previous = structureMatches.putIfAbsent(targetClassName, matches);
+            if (previous != null) {
+                matches = previous;
+            }
+        }
+        return matches.matches(loader, targetClassName, compiled);
+    }
+    
+    /**
+     * 清空运行期类结构匹配结果（所属 watch 删除时调用）
+     */
+    public void clearStructureMatches() {
+        structureMatches.clear();
+    }
+    
+    public ClassLoaderScope getLoaderScope() {
+        return loaderScope;
+    }
+    
+    /**
+     * 设置类加载器范围
+     * 
+     * @param loaderScope 类加载器范围，null 表示不限制
+     */
+    public void setLoaderScope(ClassLoaderScope loaderScope) {
+        this.loaderScope = loaderScope;
+    }
+    
+    /**
+     * 类过滤时是否因类加载器范围排除该类（所有已加载副本都不在范围内）
+     * 
+     * @param targetClassName 目标类名
+     * @return 是否排除
+     */
+    public boolean excludesByLoader(String targetClassName) {
+        ClassLoaderScope scope = loaderScope;
+        return scope != null && scope.excludes(targetClassName);
+    }
+    
+    /**
+     * 从已加载类索引中解析匹配的类（只是候选，仍需 matchStructure() 判定）
+     * 
+     * @param index 已加载类索引
+     * @return 匹配的类名，无法通过索引缩小范围时返回 null
+     */
+    public Set<String> narrowClasses(LoadedClassIndex index) {
+        Set<String> byName = classMatcher.narrow(index);
+        if (superClass == null) {
+            return byName;
+        }
+        // 父类匹配任一级父类，沿索引的直接子类逐级展开
+        Set<String> bySuper = new HashSet<String>();
+        for (String name : splitTypes(superClass)) {
+            List<String> pending = new ArrayList<String>(index.findSubclasses(name));
+            while (!pending.isEmpty()) {
+                String subclass = pending.remove(pending.size() - 1);
+                if (bySuper.add(subclass)) {
+                    pending.addAll(index.findSubclasses(subclass));
+                }
+            }
+        }
+        if (byName == null) {
+            return bySuper;
+        }
+        bySuper.retainAll(byName);
+        return bySuper;
     }
     
     /**
@@ -93,10 +324,394 @@ public class PointCut {
      * @return 是否匹配
      */
     public boolean matchMethod(String targetMethodName) {
-        if (methodName == null || methodName.isEmpty()) {
-            return true; // 空表示匹配所有
+        return methodMatcher.matches(targetMethodName);
+    }
+    
+    /**
+     * 按方法名和参数类型匹配（方法过滤时调用）
+     * 
+     * @param targetMethodName 目标方法名
+     * @param parameterTypes   参数类型（Java 类名，数组为 xxx[]）
+     * @return 是否匹配
+     */
+    public boolean matchMethod(String targetMethodName, String[] parameterTypes) {
+        if (!methodMatcher.matches(targetMethodName)) {
+            return false;
+        }
+        MethodMatcher matcher = parameterMatcher;
+        return matcher == null 
+            || matcher.isMatched(targetMethodName, new MethodInfo(0, targetMethodName, parameterTypes, null, null, null));
+    }
+    
+    /**
+     * 按方法名和方法描述符匹配（运行期调用，结果应由调用方缓存）
+     * 
+     * @param targetMethodName 目标方法名
+     * @param methodDesc       方法描述符，如 (Ljava/lang/String;I)V
+     * @return 是否匹配，未指定方法签名时只匹配方法名
+     */
+    public boolean matchMethodDesc(String targetMethodName, String methodDesc) {
+        if (parameterMatcher == null || methodDesc == null) {
+            return matchMethod(targetMethodName);
+        }
+        return matchMethod(targetMethodName, parseParameterTypes(methodDesc));
+    }
+    
+    /**
+     * 设置方法签名规则
+     * 
+     * @param parameterTypes 参数类型，逗号分隔，* 表示该位置不限
+     * @param parameterCount 参数个数，可写 n、>n、<n
+     * @throws IllegalArgumentException 参数个数格式非法
+     */
+    public void setMethodSignature(String parameterTypes, String parameterCount) {
+        String[] types = null;
+        if (parameterTypes != null && !parameterTypes.trim().isEmpty()) {
+            String[] parts = parameterTypes.split(",");
+            types = new String[parts.length];
+            StringBuilder normalized = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                String type = parts[i].trim().replace('/', '.');
+                // null 表示该位置不限
+                types[i] = "*".equals(type) || type.isEmpty() ? null : type;
+                normalized.append(i == 0 ? "" : ",").append(types[i] == null ? "*" : type);
+            }
+            this.parameterTypes = normalized.toString();
+        } else {
+            this.parameterTypes = null;
+        }
+        
+        int length = types == null ? ParameterMethodMatcher.DEFAULT_LENGTH : types.length;
+        int compareFlag = ParameterMethodMatcher.EQUAL;
+        String count = parameterCount == null ? "" : parameterCount.trim();
+        if (!count.isEmpty()) {
+            String number = count;
+            if (count.startsWith(">")) {
+                compareFlag = ParameterMethodMatcher.GREAT_THAN;
+                number = count.substring(1).trim();
+            } else if (count.startsWith("<")) {
+                compareFlag = ParameterMethodMatcher.LESS_THAN;
+                number = count.substring(1).trim();
+            }
+            try {
+                length = Integer.parseInt(number);
+            } catch (NumberFormatException e) {
+                length = -1;
+            }
+            if (length < 0) {
+                throw new IllegalArgumentException("Illegal paramcount: " + parameterCount);
+            }
+            this.parameterCount = count;
+        } else {
+            this.parameterCount = null;
+        }
+        
+        if (types == null && this.parameterCount == null) {
+            this.parameterMatcher = null;
+        } else {
+            this.parameterMatcher = new ParameterMethodMatcher(
+                types == null ? new String[0] : types, length, compareFlag);
+        }
+    }
+    
+    /**
+     * 是否指定了方法签名规则
+     */
+    public boolean hasMethodSignature() {
+        return parameterMatcher != null;
+    }
+    
+    public String getParameterTypes() {
+        return parameterTypes;
+    }
+    
+    public String getParameterCount() {
+        return parameterCount;
+    }
+    
+    /**
+     * 从方法描述符解析参数类型，格式与 Sandbox 方法过滤传入的一致：int、java.lang.String、java.lang.String[]
+     * 
+     * @param methodDesc 方法描述符
+     * @return 参数类型
+     */
+    static String[] parseParameterTypes(String methodDesc) {
+        List<String> types = new ArrayList<String>();
+        int i = methodDesc.indexOf('(') + 1;
+        int end = methodDesc.indexOf(')');
+        while (i > 0 && i < end) {
+            int dimensions = 0;
+            while (methodDesc.charAt(i) == '[') {
+                dimensions++;
+                i++;
+            }
+            String type;
+            char c = methodDesc.charAt(i);
+            if (c == 'L') {
+                int semicolon = methodDesc.indexOf(';', i);
+                type = methodDesc.substring(i + 1, semicolon).replace('/', '.');
+                i = semicolon + 1;
+            } else {
+                type = primitiveName(c);
+                i++;
+            }
+            StringBuilder name = new StringBuilder(type);
+            for (int d = 0; d < dimensions; d++) {
+                name.append("[]");
+            }
+            types.add(name.toString());
+        }
+        return types.toArray(new String[0]);
+    }
+    
+    private static String primitiveName(char descriptor) {
+        switch (descriptor) {
+            case 'Z': return "boolean";
+            case 'B': return "byte";
+            case 'C': return "char";
+            case 'S': return "short";
+            case 'I': return "int";
+            case 'J': return "long";
+            case 'F': return "float";
+            case 'D': return "double";
+            default: throw new IllegalArgumentException("Illegal method descriptor type: " + descriptor);
+        }
+    }
+    
+    /**
+     * 切点标识，匹配规则相同的切点标识相同，用于多个实验共享同一个 watch
+     * 
+     * @return 切点标识
+     */
+    public String getKey() {
+        String mode = classMatchMode == null ? "" : classMatchMode.trim().toLowerCase();
+        String key = mode + '|' + className + '#' + methodName;
+        if (structure != null) {
+            key += "|super=" + superClass + "|interface=" + interfaceName + "|annotation=" + annotation;
+        }
+        if (parameterMatcher != null) {
+            key += "|params=" + parameterTypes + "|count=" + parameterCount;
+        }
+        if (loaderScope != null) {
+            key += "|loader=" + loaderScope.getKey();
+        }
+        return key;
+    }
+    
+    /**
+     * 把 types[from..] 中的接口及其父接口（从索引中查找）加入 result
+     */
+    private static void collectInterfaces(LoadedClassIndex index, String[] types, int from, Set<String> result) {
+        if (types == null) {
+            return;
+        }
+        for (int i = from; i < types.length; i++) {
+            if (types[i] != null && result.add(types[i])) {
+                String[] supertypes = index.findSupertypes(types[i]);
+                if (supertypes != null) {
+                    collectInterfaces(index, supertypes, 1, result);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 把接口及其父接口加入 result
+     */
+    private static void collectInterfaces(Class<?>[] interfaces, Set<String> result) {
+        for (Class<?> type : interfaces) {
+            if (result.add(type.getName())) {
+                collectInterfaces(type.getInterfaces(), result);
+            }
+        }
+    }
+    
+    /**
+     * 拆分逗号分隔的类型名，统一为 . 分隔，注解名可带 @
+     */
+    private static List<String> splitTypes(String types) {
+        List<String> names = new ArrayList<String>();
+        if (types == null) {
+            return names;
+        }
+        for (String part : types.split(",")) {
+            String name = part.trim();
+            if (name.startsWith("@")) {
+                name = name.substring(1).trim();
+            }
+            if (!name.isEmpty()) {
+                names.add(name.replace('/', '.'));
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * 规范化后以逗号连接，用于切点标识，没有类型时返回 null
+     */
+    private static String normalizeTypes(String types) {
+        List<String> names = splitTypes(types);
+        if (names.isEmpty()) {
+            return null;
+        }
+        StringBuilder joined = new StringBuilder();
+        for (String name : names) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(name);
+        }
+        return joined.toString();
+    }
+    
+    private static NameMatcher compileClassMatcher(String className, String mode) {
+        if (className != null && !NameMatcher.MODE_REGEX.equalsIgnoreCase(mode)) {
+            className = className.replace('/', '.');
+        }
+        return NameMatcher.compile(className, mode);
+    }
+    
+    /**
+     * 用类加载器中的类判定类结构（完整的父类链和接口），类无法读取时返回 true（已通过类过滤）
+     */
+    private static boolean resolveStructure(ClassLoader loader, String className, Structure structure) {
+        try {
+            Class<?> type = Class.forName(className, false, loader);
+            Set<String> superClasses = new HashSet<String>();
+            Set<String> interfaces = new HashSet<String>();
+            collectInterfaces(type.getInterfaces(), interfaces);
+            for (Class<?> superClass = type.getSuperclass(); superClass != null;
+                    superClass = superClass.getSuperclass()) {
+                superClasses.add(superClass.getName());
+                collectInterfaces(superClass.getInterfaces(), interfaces);
+            }
+            Annotation[] annotations = type.getDeclaredAnnotations();
+            String[] annotationNames = new String[annotations.length];
+            for (int i = 0; i < annotations.length; i++) {
+                annotationNames[i] = annotations[i].annotationType().getName();
+            }
+            return structure.matches(superClasses, interfaces, annotationNames);
+        } catch (Throwable e) {
+            return true;
+        }
+    }
+    
+    /**
+     * 编译后的类结构规则：同一种类的多个类型为或，不同种类为且，未指定的种类为 null
+     */
+    private static final class Structure {
+        
+        private final String[] superClasses;
+        private final String[] interfaces;
+        private final String[] annotations;
+        
+        Structure(String superClasses, String interfaces, String annotations) {
+            this.superClasses = toArray(superClasses);
+            this.interfaces = toArray(interfaces);
+            this.annotations = toArray(annotations);
+        }
+        
+        private static String[] toArray(String types) {
+            List<String> names = splitTypes(types);
+            return names.isEmpty() ? null : names.toArray(new String[0]);
+        }
+        
+        boolean isEmpty() {
+            return superClasses == null && interfaces == null && annotations == null;
+        }
+        
+        /**
+         * @param allSuperClasses 各级父类
+         * @param allInterfaces   类及各级父类实现的接口和父接口
+         * @param declared        类上声明的注解，可为 null
+         */
+        boolean matches(Set<String> allSuperClasses, Set<String> allInterfaces, String[] declared) {
+            return (superClasses == null || containsAny(allSuperClasses, superClasses))
+                && (interfaces == null || containsAny(allInterfaces, interfaces))
+                && (annotations == null || containsAny(declared, annotations));
+        }
+        
+        private static boolean containsAny(Set<String> actual, String[] expected) {
+            for (String name : expected) {
+                if (actual.contains(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static boolean containsAny(String[] actual, String[] expected) {
+            if (actual == null) {
+                return false;
+            }
+            for (String name : actual) {
+                for (String type : expected) {
+                    if (type.equals(name)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * 同名类在各类加载器中的类结构匹配结果，加载器只保存弱引用，被回收的加载器在下次追加时移除
+     */
+    private static final class StructureMatches {
+        
+        private static final Entry[] NONE = new Entry[0];
+        
+        private volatile Entry[] entries = NONE;
+        
+        boolean matches(ClassLoader loader, String className, Structure structure) {
+            for (Entry entry : entries) {
+                if (entry.refersTo(loader)) {
+                    return entry.matched;
+                }
+            }
+            return resolve(loader, className, structure);
+        }
+        
+        private synchronized boolean resolve(ClassLoader loader, String className, Structure structure) {
+            List<Entry> kept = new ArrayList<Entry>(entries.length + 1);
+            for (Entry entry : entries) {
+                if (entry.refersTo(loader)) {
+                    return entry.matched;
+                }
+                if (entry.isLive()) {
+                    kept.add(entry);
+                }
+            }
+            boolean matched = resolveStructure(loader, className, structure);
+            kept.add(new Entry(loader, matched));
+            entries = kept.toArray(NONE);
+            return matched;
+        }
+    }
+    
+    /**
+     * 单个类加载器中的匹配结果
+     */
+    private static final class Entry {
+        
+        /** 启动类加载器为 null */
+        private final WeakReference<ClassLoader> loader;
+        
+        final boolean matched;
+        
+        Entry(ClassLoader loader, boolean matched) {
+            this.loader = loader == null ? null : new WeakReference<ClassLoader>(loader);
+            this.matched = matched;
+        }
+        
+        boolean refersTo(ClassLoader target) {
+            return loader == null ? target == null : target != null && loader.get() == target;
+        }
+        
+        boolean isLive() {
+            return loader == null || loader.get() != null;
         }
-        return methodName.equals(targetMethodName);
     }
     
     @Override
@@ -104,6 +719,13 @@ public class PointCut {
         return "PointCut{" +
                 "className='" + className + '\'' +
                 ", methodName='" + methodName + '\'' +
+                ", classMatcher=" + classMatcher +
+                ", methodMatcher=" + methodMatcher +
+                (structure == null ? "" : ", superClass='" + superClass + '\'' 
+                    + ", interface='" + interfaceName + '\'' + ", annotation='" + annotation + '\'') +
+                (parameterMatcher == null ? "" : ", paramTypes='" + parameterTypes + '\'' 
+                    + ", paramCount='" + parameterCount + '\'') +
+                (loaderScope == null ? "" : ", loaderScope=" + loaderScope.getKey()) +
                 '}';
     }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.recorder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * InjectionRecorder - 注入事件记录器
+ *
+ * [改造说明]
+ * 故障注入事件不再在业务线程上同步打印日志：
+ * 1. 业务线程把定长事件记录写入预分配的环形缓冲区（多生产者单消费者，无锁）
+ * 2. 后台守护线程批量取出事件并输出日志，字符串格式化和 appender I/O 都发生在后台线程
+ * 3. 缓冲区满时直接丢弃并计数，业务线程从不阻塞
+ * 4. 每个实验通过 RecordPolicy 做采样和限流
+ *
+ * 事件只保存对已有对象的引用（实验ID、类名、方法名等），写入路径不分配对象
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class InjectionRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(InjectionRecorder.class);
+
+    /** 缓冲区容量，必须是 2 的幂 */
+    private static final int CAPACITY = 4096;
+
+    private static final int MASK = CAPACITY - 1;
+
+    /** 缓冲区为空时后台线程的休眠时间 */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** 预分配的事件槽位 */
+    private static final Slot[] slots = new Slot[CAPACITY];
+
+    /** 生产者写入位置 */
+    private static final AtomicLong tail = new AtomicLong();
+
+    /** 消费者读取位置（仅后台线程访问） */
+    private static long head;
+
+    /** 因缓冲区满而丢弃的事件数 */
+    private static final AtomicLong dropped = new AtomicLong();
+
+    /** 已报告过的丢弃数 */
+    private static long reportedDropped;
+
+    private static volatile boolean running;
+
+    private static Thread drainThread;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Slot(i);
+        }
+    }
+
+    private InjectionRecorder() {
+    }
+
+    /**
+     * 启动后台输出线程，重复调用无副作用
+     */
+    public static synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drainLoop();
+            }
+        }, "ChaosBlade-InjectionRecorder");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        logger.info("[注入事件记录器] 已启动，缓冲区容量: {}", CAPACITY);
+    }
+
+    /**
+     * 停止后台输出线程，输出缓冲区中剩余的事件
+     */
+    public static synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = drainThread;
+        drainThread = null;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("[注入事件记录器] 已停止，累计丢弃事件: {}", dropped.get());
+    }
+
+    /**
+     * 记录一次故障注入
+     *
+     * @param policy       实验的记录策略
+     * @param experimentId 实验 ID
+     * @param action       注入动作
+     * @param className    目标类名
+     * @param methodName   目标方法名
+     * @param value        数值信息（如延迟毫秒数），无则传 0
+     * @param detail       附加信息（如异常类名、Mock 值），在后台线程转为字符串
+     * @return 是否写入缓冲区
+     */
+    public static boolean record(RecordPolicy policy, String experimentId, String action,
+                                 String className, String methodName, long value, Object detail) {
+        if (!running || !policy.tryAcquire()) {
+            return false;
+        }
+        long position = tail.get();
+        Slot slot;
+        for (;;) {
+            slot = slots[(int) (position & MASK)];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 缓冲区已满，丢弃
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        slot.timestamp = System.currentTimeMillis();
+        slot.experimentId = experimentId;
+        slot.action = action;
+        slot.className = className;
+        slot.methodName = methodName;
+        slot.value = value;
+        slot.detail = detail;
+        // 发布事件，volatile 写保证以上字段对消费者可见
+        slot.sequence = position + 1;
+        return true;
+    }
+
+    /**
+     * 累计丢弃的事件数
+     *
+     * @return 丢弃数
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * 输出缓冲区中当前可读的全部事件
+     *
+     * @return 输出的事件数
+     */
+    private static int drain() {
+        int count = 0;
+        for (;;) {
+            Slot slot = slots[(int) (head & MASK)];
+            if (slot.sequence != head + 1) {
+                break;
+            }
+            try {
+                logger.info("[注入事件] 时间={}, 实验ID={}, 动作={}, 目标={}#{}, 值={}, 详情={}",
+                        slot.timestamp, slot.experimentId, slot.action,
+                        slot.className, slot.methodName, slot.value, slot.detail);
+            } catch (Throwable e) {
+                // 日志输出失败不影响后续事件
+            }
+            slot.clear();
+            // 释放槽位给下一轮生产者
+            slot.sequence = head + CAPACITY;
+            head++;
+            count++;
+        }
+        long droppedNow = dropped.get();
+        if (droppedNow != reportedDropped) {
+            logger.warn("[注入事件记录器] 缓冲区已满，丢弃事件: {}", droppedNow - reportedDropped);
+            reportedDropped = droppedNow;
+        }
+        return count;
+    }
+
+    /**
+     * 定长事件槽位
+     */
+    private static final class Slot {
+        volatile long sequence;
+        long timestamp;
+        String experimentId;
+        String action;
+        String className;
+        String methodName;
+        long value;
+        Object detail;
+
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+
+        void clear() {
+            experimentId = null;
+            action = null;
+            className = null;
+            methodName = null;
+            detail = null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.recorder;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.config.ConfigParser;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecordPolicy - 单个实验的注入事件记录策略
+ *
+ * [改造说明]
+ * 每个实验一份，创建实验时由参数解析：
+ * - logsample: 采样率，取值 [0, 1]，默认 1（全部记录），0 表示不记录
+ * - lograte: 每秒最多记录的事件数，默认 100，0 表示不限制
+ *
+ * 判定只用 ThreadLocalRandom 和两个原子变量，不加锁、不分配对象
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class RecordPolicy {
+
+    public static final String SAMPLE_KEY = "logsample";
+    public static final String RATE_KEY = "lograte";
+
+    private static final int DEFAULT_RATE = 100;
+
+    /** 采样率 */
+    private final double sampleRate;
+
+    /** 每秒最多记录的事件数，0 表示不限制 */
+    private final int ratePerSecond;
+
+    /** 当前计数窗口（秒） */
+    private final AtomicLong window = new AtomicLong();
+
+    /** 当前窗口内已记录的事件数 */
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    public RecordPolicy(double sampleRate, int ratePerSecond) {
+        this.sampleRate = sampleRate;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    /**
+     * 默认策略：全部记录，每秒最多 100 条
+     *
+     * @return 新的记录策略（限流计数按实验独立）
+     */
+    public static RecordPolicy defaults() {
+        return new RecordPolicy(1.0d, DEFAULT_RATE);
+    }
+
+    /**
+     * 解析记录策略
+     *
+     * @param params 实验参数
+     * @return 记录策略
+     * @throws IllegalArgumentException 参数非法
+     */
+    public static RecordPolicy parse(Map<String, String> params) {
+        String sample = ConfigParser.getString(params, SAMPLE_KEY);
+        double sampleRate = 1.0d;
+        if (sample != null) {
+            try {
+                sampleRate = Double.parseDouble(sample.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Illegal " + SAMPLE_KEY + " parameter: " + sample);
+            }
+            if (!(sampleRate >= 0 && sampleRate <= 1)) {
+                throw new IllegalArgumentException("Illegal " + SAMPLE_KEY + " parameter, must be in [0, 1]: " + sample);
+            }
+        }
+        int rate = ConfigParser.getInt(params, RATE_KEY, DEFAULT_RATE);
+        if (rate < 0) {
+            throw new IllegalArgumentException("Illegal " + RATE_KEY + " parameter, must not be negative: " + rate);
+        }
+        return new RecordPolicy(sampleRate, rate);
+    }
+
+    /**
+     * 本次事件是否需要记录
+     *
+     * @return 是否记录
+     */
+    public boolean tryAcquire() {
+        if (sampleRate < 1.0d && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return false;
+        }
+        if (ratePerSecond == 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long current = window.get();
+        if (second != current && window.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= ratePerSecond;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ArgumentPath - 方法参数路径
+ *
+ * [改造说明]
+ * 规则条件通过路径读取参数：p0 表示第 1 个参数，p1.userId 表示第 2 个参数的 userId 属性，
+ * 属性可以多级（p1.user.id）
+ *
+ * 属性读取：
+ * - Map 直接按 key 取值
+ * - 其他对象依次查找 getXxx() / isXxx() / xxx() 公有方法和字段（含父类）
+ * - 访问器按 (运行时类型, 属性名) 缓存在 ClassValue 中，只在第一次遇到该类型时反射查找，
+ *   找不到的属性同样缓存，读取结果为 null
+ * - 访问器为 MethodHandle，基本类型的 getter / 字段按类型读取（getLong、getDouble 等），不装箱；
+ *   float 单独读取（getFloat），不放宽为 double，与 float 比较值的精度一致；
+ *   条件先取路径末级属性所在的对象（owner()），再按访问器类型（accessor().getKind()）读取
+ * - 读取路径不分配对象
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class ArgumentPath {
+
+    /** 访问器类型：引用类型（含包装类型）、整数、double、布尔、字符、float */
+    static final int OBJECT = 0;
+    static final int LONG = 1;
+    static final int DOUBLE = 2;
+    static final int BOOLEAN = 3;
+    static final int CHAR = 4;
+    static final int FLOAT = 5;
+
+    /** 基本类型访问器读取失败（getter 抛出异常），不带栈，预先分配 */
+    static final RuntimeException READ_FAILED = new RuntimeException("argument path read failed", null, false, false) {
+    };
+
+    /** 运行时类型 -> 属性名 -> 访问器 */
+    private static final ClassValue<ConcurrentHashMap<String, Accessor>> ACCESSORS =
+        new ClassValue<ConcurrentHashMap<String, Accessor>>() {
+            @Override
+            protected ConcurrentHashMap<String, Accessor> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>(8);
+            }
+        };
+
+    /** 访问器通过 setAccessible 后的 Method / Field 生成 */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /** 原始路径文本 */
+    private final String text;
+
+    /** 参数下标 */
+    private final int index;
+
+    /** 属性链 */
+    private final String[] properties;
+
+    /** 末级属性所在对象为 Map 时的访问器，没有属性时为 null */
+    private final Accessor mapAccessor;
+
+    private ArgumentPath(String text, int index, String[] properties) {
+        this.text = text;
+        this.index = index;
+        this.properties = properties;
+        this.mapAccessor = properties.length == 0 ? null : new MapAccessor(properties[properties.length - 1]);
+    }
+
+    /**
+     * 解析参数路径
+     *
+     * @param text 路径，如 p0、p1.userId
+     * @return 参数路径
+     * @throws IllegalArgumentException 路径非法
+     */
+    public static ArgumentPath parse(String text) {
+        String trimmed = text == null ? "" : text.trim();
+        String[] segments = trimmed.split("\\.", -1);
+        String head = segments[0];
+        if (head.length() < 2 || head.charAt(0) != 'p') {
+            throw new IllegalArgumentException("Illegal argument path, expect p<index>[.property]: " + text);
+        }
+        int index;
+        try {
+            index = Integer.parseInt(head.substring(1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Illegal argument path, expect p<index>[.property]: " + text);
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Illegal argument index: " + text);
+        }
+        String[] properties = new String[segments.length - 1];
+        for (int i = 1; i < segments.length; i++) {
+            String property = segments[i].trim();
+            if (property.isEmpty()) {
+                throw new IllegalArgumentException("Empty property in argument path: " + text);
+            }
+            properties[i - 1] = property;
+        }
+        return new ArgumentPath(trimmed, index, properties);
+    }
+
+    /**
+     * 读取路径上的值
+     *
+     * @param arguments 方法参数
+     * @return 值，参数不存在、中间属性为 null 或属性不存在时返回 null
+     */
+    public Object read(Object[] arguments) {
+        Object owner = owner(arguments);
+        return owner == null ? null : accessor(owner).get(owner);
+    }
+
+    /**
+     * 读取末级属性所在的对象，没有属性时即参数本身
+     *
+     * @param arguments 方法参数
+     * @return 所在对象，参数不存在或中间属性为 null 时返回 null
+     */
+    Object owner(Object[] arguments) {
+        if (arguments == null || index >= arguments.length) {
+            return null;
+        }
+        Object current = arguments[index];
+        for (int i = 0; i < properties.length - 1 && current != null; i++) {
+            current = accessor(current, properties[i]).get(current);
+        }
+        return current;
+    }
+
+    /**
+     * 末级属性的访问器，没有属性时返回对象本身
+     *
+     * @param owner owner() 返回的对象，不为 null
+     * @return 访问器
+     */
+    Accessor accessor(Object owner) {
+        if (properties.length == 0) {
+            return Accessor.IDENTITY;
+        }
+        if (owner instanceof Map) {
+            return mapAccessor;
+        }
+        return accessor(owner, properties[properties.length - 1]);
+    }
+
+    /**
+     * @return 是否直接比较参数本身（没有属性）
+     */
+    boolean isArgument() {
+        return properties.length == 0;
+    }
+
+    private static Accessor accessor(Object target, String property) {
+        if (target instanceof Map) {
+            return new MapAccessor(property);
+        }
+        ConcurrentHashMap<String, Accessor> accessors = ACCESSORS.get(target.getClass());
+        Accessor accessor = accessors.get(property);
+        if (accessor == null) {
+            accessor = resolve(target.getClass(), property);
+            Accessor previous = accessors.putIfAbsent(property, accessor);
+            if (previous != null) {
+                accessor = previous;
+            }
+        }
+        return accessor;
+    }
+
+    private static Accessor resolve(Class<?> type, String property) {
+        String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (String name : new String[]{"get" + capitalized, "is" + capitalized, property}) {
+            try {
+                Method method = type.getMethod(name);
+                if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                    method.setAccessible(true);
+                    return HandleAccessor.of(method.getReturnType(), LOOKUP.unreflect(method));
+                }
+            } catch (NoSuchMethodException e) {
+                // 继续查找
+            } catch (IllegalAccessException | RuntimeException e) {
+                // 模块系统禁止访问时按不存在处理
+                break;
+            }
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(property);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    return HandleAccessor.of(field.getType(), LOOKUP.unreflectGetter(field));
+                }
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            } catch (IllegalAccessException | RuntimeException e) {
+                break;
+            }
+        }
+        return Accessor.MISSING;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * 属性访问器，按 getKind() 调用对应的读取方法
+     */
+    abstract static class Accessor {
+
+        static final Accessor MISSING = new Accessor(OBJECT) {
+            @Override
+            Object get(Object target) {
+                return null;
+            }
+        };
+
+        static final Accessor IDENTITY = new Accessor(OBJECT) {
+            @Override
+            Object get(Object target) {
+                return target;
+            }
+        };
+
+        private final int kind;
+
+        Accessor(int kind) {
+            this.kind = kind;
+        }
+
+        int getKind() {
+            return kind;
+        }
+
+        /**
+         * 读取引用值（基本类型会装箱，仅在不按类型读取时使用），读取失败返回 null
+         */
+        abstract Object get(Object target);
+
+        /**
+         * 读取整数（byte / short / int / long），失败抛出 READ_FAILED
+         */
+        long getLong(Object target) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * 读取 double，失败抛出 READ_FAILED
+         */
+        double getDouble(Object target) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * 读取 float，失败抛出 READ_FAILED
+         */
+        float getFloat(Object target) {
+            throw new UnsupportedOperationException();
+        }
+
+        boolean getBoolean(Object target) {
+            throw new UnsupportedOperationException();
+        }
+
+        char getChar(Object target) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class MapAccessor extends Accessor {
+
+        private final String key;
+
+        MapAccessor(String key) {
+            super(OBJECT);
+            this.key = key;
+        }
+
+        @Override
+        Object get(Object target) {
+            return target instanceof Map ? ((Map<?, ?>) target).get(key) : null;
+        }
+    }
+
+    /**
+     * getter 或字段的 MethodHandle，调用类型已转换为 (Object) 返回对应的基本类型或 Object
+     */
+    private static final class HandleAccessor extends Accessor {
+
+        private final MethodHandle handle;
+
+        private HandleAccessor(int kind, MethodHandle handle) {
+            super(kind);
+            this.handle = handle;
+        }
+
+        static HandleAccessor of(Class<?> type, MethodHandle handle) {
+            int kind;
+            Class<?> readType;
+            if (type == long.class || type == int.class || type == short.class || type == byte.class) {
+                kind = LONG;
+                readType = long.class;
+            } else if (type == double.class) {
+                kind = DOUBLE;
+                readType = double.class;
+            } else if (type == float.class) {
+                kind = FLOAT;
+                readType = float.class;
+            } else if (type == boolean.class) {
+                kind = BOOLEAN;
+                readType = boolean.class;
+            } else if (type == char.class) {
+                kind = CHAR;
+                readType = char.class;
+            } else {
+                kind = OBJECT;
+                readType = Object.class;
+            }
+            return new HandleAccessor(kind, handle.asType(MethodType.methodType(readType, Object.class)));
+        }
+
+        @Override
+        Object get(Object target) {
+            try {
+                switch (getKind()) {
+                    case LONG:
+                        return (long) handle.invokeExact(target);
+                    case DOUBLE:
+                        return (double) handle.invokeExact(target);
+                    case FLOAT:
+                        return (float) handle.invokeExact(target);
+                    case BOOLEAN:
+                        return (boolean) handle.invokeExact(target);
+                    case CHAR:
+                        return (char) handle.invokeExact(target);
+                    default:
+                        return (Object) handle.invokeExact(target);
+                }
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        @Override
+        long getLong(Object target) {
+            try {
+                return (long) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw READ_FAILED;
+            }
+        }
+
+        @Override
+        double getDouble(Object target) {
+            try {
+                return (double) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw READ_FAILED;
+            }
+        }
+
+        @Override
+        float getFloat(Object target) {
+            try {
+                return (float) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw READ_FAILED;
+            }
+        }
+
+        @Override
+        boolean getBoolean(Object target) {
+            try {
+                return (boolean) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw READ_FAILED;
+            }
+        }
+
+        @Override
+        char getChar(Object target) {
+            try {
+                return (char) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw READ_FAILED;
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule;
+
+/**
+ * Condition - 规则条件
+ *
+ * [改造说明]
+ * 形如 {@code p1.userId == 42} 的单个条件，创建实验时编译：
+ * - 比较值按可能的类型预先解析（long、double、float、boolean），运行期不做字符串解析；
+ *   float 值与按 float 解析的比较值比较（0.1f == "0.1"），不放宽为 double
+ * - String / CharSequence、Enum（按 name）、Boolean、Character、整数、浮点数直接比较，不分配对象
+ * - 路径末级为基本类型的 getter / 字段时按类型读取比较，不装箱
+ * - 其他类型不做字符串转换，== 恒不成立；contains 只适用于字符串，其他类型恒不成立
+ *
+ * 运算符：== / != / contains / !contains，比较值 null 表示空值，* 条件恒为真
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class Condition {
+
+    public static final int EQUAL = 1;
+    public static final int NOT_EQUAL = 2;
+    public static final int CONTAIN = 3;
+    public static final int NOT_CONTAIN = 4;
+
+    /** 恒为真的条件 */
+    public static final Condition ALWAYS = new Condition(null, EQUAL, null);
+
+    /** 参数路径，ALWAYS 为 null */
+    private final ArgumentPath path;
+
+    /** 运算符 */
+    private final int operator;
+
+    /** 比较值，null 表示空值 */
+    private final String literal;
+
+    /** 比较值能否按整数比较 */
+    private final boolean integral;
+    private final long longLiteral;
+
+    /** 比较值能否按浮点数比较 */
+    private final boolean floating;
+    private final double doubleLiteral;
+    private final float floatLiteral;
+
+    /** 比较值能否按布尔比较 */
+    private final boolean bool;
+    private final boolean boolLiteral;
+
+    public Condition(ArgumentPath path, int operator, String literal) {
+        if (operator < EQUAL || operator > NOT_CONTAIN) {
+            throw new IllegalArgumentException("Unknown condition operator: " + operator);
+        }
+        if (literal == null && path != null && (operator == CONTAIN || operator == NOT_CONTAIN)) {
+            throw new IllegalArgumentException("contains does not accept null: " + path);
+        }
+        this.path = path;
+        this.operator = operator;
+        this.literal = literal;
+
+        long parsedLong = 0;
+        boolean isLong = false;
+        double parsedDouble = 0;
+        float parsedFloat = 0;
+        boolean isDouble = false;
+        if (literal != null) {
+            try {
+                parsedLong = Long.parseLong(literal);
+                isLong = true;
+            } catch (NumberFormatException e) {
+                // 不是整数
+            }
+            try {
+                parsedDouble = Double.parseDouble(literal);
+                parsedFloat = Float.parseFloat(literal);
+                isDouble = true;
+            } catch (NumberFormatException e) {
+                // 不是浮点数
+            }
+        }
+        this.integral = isLong;
+        this.longLiteral = parsedLong;
+        this.floating = isDouble;
+        this.doubleLiteral = parsedDouble;
+        this.floatLiteral = parsedFloat;
+        this.bool = "true".equals(literal) || "false".equals(literal);
+        this.boolLiteral = "true".equals(literal);
+    }
+
+    /**
+     * 判定条件
+     *
+     * @param arguments 方法参数
+     * @return 是否满足
+     */
+    public boolean matches(Object[] arguments) {
+        if (path == null) {
+            return true;
+        }
+        Object owner = path.owner(arguments);
+        if (owner == null) {
+            return test(null);
+        }
+        ArgumentPath.Accessor accessor = path.accessor(owner);
+        try {
+            switch (accessor.getKind()) {
+                case ArgumentPath.LONG:
+                    return testLong(accessor.getLong(owner));
+                case ArgumentPath.DOUBLE:
+                    return testDouble(accessor.getDouble(owner));
+                case ArgumentPath.FLOAT:
+                    return testFloat(accessor.getFloat(owner));
+                case ArgumentPath.BOOLEAN:
+                    return compare(bool && accessor.getBoolean(owner) == boolLiteral);
+                case ArgumentPath.CHAR:
+                    return testChar(accessor.getChar(owner));
+                default:
+                    return test(accessor.get(owner));
+            }
+        } catch (RuntimeException e) {
+            // 与引用类型读取失败一致，按 null 判定
+            return test(null);
+        }
+    }
+
+    private boolean testLong(long value) {
+        return compare(integral && value == longLiteral);
+    }
+
+    private boolean testDouble(double value) {
+        return compare(floating && value == doubleLiteral);
+    }
+
+    private boolean testFloat(float value) {
+        return compare(floating && value == floatLiteral);
+    }
+
+    private boolean testChar(char value) {
+        return compare(literal != null && literal.length() == 1 && value == literal.charAt(0));
+    }
+
+    /**
+     * 非字符串值的判定：== / != 取决于是否相等，contains 恒不成立
+     */
+    private boolean compare(boolean equal) {
+        switch (operator) {
+            case EQUAL:
+                return equal;
+            case NOT_EQUAL:
+                return !equal;
+            case CONTAIN:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * 对已读取的值判定条件
+     *
+     * @param value 参数路径上的值
+     * @return 是否满足
+     */
+    boolean test(Object value) {
+        switch (operator) {
+            case EQUAL:
+                return isEqual(value);
+            case NOT_EQUAL:
+                return !isEqual(value);
+            case CONTAIN:
+                return value != null && contains(value);
+            case NOT_CONTAIN:
+                return value == null || !contains(value);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isEqual(Object value) {
+        if (value == null || literal == null) {
+            return value == literal;
+        }
+        if (value instanceof String) {
+            return literal.equals(value);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return integral && ((Number) value).longValue() == longLiteral;
+        }
+        if (value instanceof Double) {
+            return floating && (Double) value == doubleLiteral;
+        }
+        if (value instanceof Float) {
+            return floating && (Float) value == floatLiteral;
+        }
+        if (value instanceof Boolean) {
+            return bool && (Boolean) value == boolLiteral;
+        }
+        if (value instanceof Character) {
+            return literal.length() == 1 && (Character) value == literal.charAt(0);
+        }
+        if (value instanceof Enum) {
+            return literal.equals(((Enum<?>) value).name());
+        }
+        if (value instanceof CharSequence) {
+            return literal.contentEquals((CharSequence) value);
+        }
+        return false;
+    }
+
+    private boolean contains(Object value) {
+        if (value instanceof String) {
+            return ((String) value).contains(literal);
+        }
+        if (value instanceof CharSequence) {
+            return indexOf((CharSequence) value, literal) >= 0;
+        }
+        return false;
+    }
+
+    private static int indexOf(CharSequence text, String target) {
+        int last = text.length() - target.length();
+        for (int i = 0; i <= last; i++) {
+            int j = 0;
+            while (j < target.length() && text.charAt(i + j) == target.charAt(j)) {
+                j++;
+            }
+            if (j == target.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public ArgumentPath getPath() {
+        return path;
+    }
+
+    public int getOperator() {
+        return operator;
+    }
+
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * 比较值是否可以作为整数分支键
+     *
+     * @return 是否整数
+     */
+    boolean isIntegral() {
+        return integral;
+    }
+
+    long getLongLiteral() {
+        return longLiteral;
+    }
+
+    @Override
+    public String toString() {
+        if (path == null) {
+            return "*";
+        }
+        String op;
+        switch (operator) {
+            case EQUAL:
+                op = " == ";
+                break;
+            case NOT_EQUAL:
+                op = " != ";
+                break;
+            case CONTAIN:
+                op = " contains ";
+                break;
+            default:
+                op = " !contains ";
+                break;
+        }
+        return path + op + (literal == null ? "null" : '"' + literal + '"');
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DecisionTree - 编译后的规则判定树
+ *
+ * [改造说明]
+ * 有序规则在创建实验时编译一次，运行期按书写顺序返回第一条命中的规则：
+ * 1. 连续多条首个条件为「同一路径 == 常量」的规则合并为一个分支节点，
+ *    路径只读一次，按值查表（字符串 HashMap、整数有序数组二分查找，基本类型整数不装箱）
+ *    直接跳到候选规则，不再逐条比较；值为其他类型时退化为逐条判定，结果与逐条判定一致
+ * 2. 其余规则逐条判定
+ *
+ * 判定过程不反射查找、不解析字符串，未命中时不分配对象
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class DecisionTree {
+
+    /** 未命中 */
+    public static final int NO_MATCH = -1;
+
+    /** 分支节点最少合并的规则数 */
+    private static final int MIN_SWITCH_RULES = 2;
+
+    private final Node[] nodes;
+
+    private final int ruleCount;
+
+    private DecisionTree(Node[] nodes, int ruleCount) {
+        this.nodes = nodes;
+        this.ruleCount = ruleCount;
+    }
+
+    /**
+     * 编译规则
+     *
+     * @param rules 有序规则
+     * @return 判定树
+     */
+    public static DecisionTree compile(List<Rule> rules) {
+        List<Node> nodes = new ArrayList<>();
+        int i = 0;
+        while (i < rules.size()) {
+            int end = i + 1;
+            String key = switchKey(rules.get(i));
+            if (key != null) {
+                while (end < rules.size() && key.equals(switchKey(rules.get(end)))) {
+                    end++;
+                }
+            }
+            if (key != null && end - i >= MIN_SWITCH_RULES) {
+                nodes.add(new SwitchNode(rules, i, end));
+            } else {
+                end = i + 1;
+                nodes.add(new RuleNode(rules.get(i), i));
+            }
+            i = end;
+        }
+        return new DecisionTree(nodes.toArray(new Node[0]), rules.size());
+    }
+
+    /**
+     * 可以合并为分支节点的规则返回其首个条件的路径
+     */
+    private static String switchKey(Rule rule) {
+        Condition first = rule.getConditions()[0];
+        if (first.getPath() == null || first.getOperator() != Condition.EQUAL || first.getLiteral() == null) {
+            return null;
+        }
+        return first.getPath().toString();
+    }
+
+    /**
+     * 返回第一条命中的规则
+     *
+     * @param arguments 方法参数
+     * @return 规则下标（按书写顺序），未命中返回 NO_MATCH
+     */
+    public int match(Object[] arguments) {
+        for (Node node : nodes) {
+            int matched = node.match(arguments);
+            if (matched != NO_MATCH) {
+                return matched;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "DecisionTree" + Arrays.toString(nodes);
+    }
+
+    private interface Node {
+
+        int match(Object[] arguments);
+    }
+
+    /**
+     * 单条规则
+     */
+    private static final class RuleNode implements Node {
+
+        private final Rule rule;
+
+        private final int index;
+
+        RuleNode(Rule rule, int index) {
+            this.rule = rule;
+            this.index = index;
+        }
+
+        @Override
+        public int match(Object[] arguments) {
+            return rule.matches(arguments, 0) ? index : NO_MATCH;
+        }
+
+        @Override
+        public String toString() {
+            return "rule#" + index;
+        }
+    }
+
+    /**
+     * 首个条件为同一路径 == 常量的连续规则
+     */
+    private static final class SwitchNode implements Node {
+
+        private final ArgumentPath path;
+
+        /** 字符串 / 枚举值 -> 候选规则下标（升序） */
+        private final Map<String, int[]> byString;
+
+        /** 整数值（升序）及对应候选规则下标 */
+        private final long[] longKeys;
+        private final int[][] byLong;
+
+        /** 全部规则（值为其他类型时逐条判定） */
+        private final Rule[] rules;
+        private final int from;
+
+        SwitchNode(List<Rule> all, int from, int to) {
+            this.path = all.get(from).getConditions()[0].getPath();
+            this.from = from;
+            this.rules = all.subList(from, to).toArray(new Rule[0]);
+
+            Map<String, List<Integer>> strings = new HashMap<>();
+            TreeMap<Long, List<Integer>> longs = new TreeMap<>();
+            for (int i = from; i < to; i++) {
+                Condition first = all.get(i).getConditions()[0];
+                add(strings, first.getLiteral(), i);
+                if (first.isIntegral()) {
+                    add(longs, first.getLongLiteral(), i);
+                }
+            }
+            this.byString = new HashMap<>(strings.size() * 2);
+            for (Map.Entry<String, List<Integer>> entry : strings.entrySet()) {
+                byString.put(entry.getKey(), toArray(entry.getValue()));
+            }
+            this.longKeys = new long[longs.size()];
+            this.byLong = new int[longs.size()][];
+            int k = 0;
+            for (Map.Entry<Long, List<Integer>> entry : longs.entrySet()) {
+                longKeys[k] = entry.getKey();
+                byLong[k++] = toArray(entry.getValue());
+            }
+        }
+
+        private static <K> void add(Map<K, List<Integer>> map, K key, int index) {
+            List<Integer> indexes = map.get(key);
+            if (indexes == null) {
+                indexes = new ArrayList<>();
+                map.put(key, indexes);
+            }
+            indexes.add(index);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+
+        @Override
+        public int match(Object[] arguments) {
+            Object owner = path.owner(arguments);
+            if (owner == null) {
+                // 首个条件的常量都不为 null
+                return NO_MATCH;
+            }
+            ArgumentPath.Accessor accessor = path.accessor(owner);
+            if (accessor.getKind() == ArgumentPath.LONG) {
+                long value;
+                try {
+                    value = accessor.getLong(owner);
+                } catch (RuntimeException e) {
+                    return NO_MATCH;
+                }
+                int k = Arrays.binarySearch(longKeys, value);
+                return k < 0 ? NO_MATCH : matchCandidates(byLong[k], arguments);
+            }
+            if (accessor.getKind() != ArgumentPath.OBJECT) {
+                // 其他基本类型按条件逐条判定，不装箱
+                for (int i = 0; i < rules.length; i++) {
+                    if (rules[i].matches(arguments, 0)) {
+                        return from + i;
+                    }
+                }
+                return NO_MATCH;
+            }
+            Object value = accessor.get(owner);
+            if (value == null) {
+                return NO_MATCH;
+            }
+            int[] candidates;
+            if (value instanceof String) {
+                candidates = byString.get(value);
+            } else if (value instanceof Enum) {
+                candidates = byString.get(((Enum<?>) value).name());
+            } else if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                int k = Arrays.binarySearch(longKeys, ((Number) value).longValue());
+                candidates = k < 0 ? null : byLong[k];
+            } else {
+                return matchEach(value, arguments);
+            }
+            return candidates == null ? NO_MATCH : matchCandidates(candidates, arguments);
+        }
+
+        private int matchCandidates(int[] candidates, Object[] arguments) {
+            for (int index : candidates) {
+                if (rules[index - from].matches(arguments, 1)) {
+                    return index;
+                }
+            }
+            return NO_MATCH;
+        }
+
+        private int matchEach(Object value, Object[] arguments) {
+            for (int i = 0; i < rules.length; i++) {
+                if (rules[i].getConditions()[0].test(value) && rules[i].matches(arguments, 1)) {
+                    return from + i;
+                }
+            }
+            return NO_MATCH;
+        }
+
+        @Override
+        public String toString() {
+            return "switch(" + path + ")#" + from + ".." + (from + rules.length - 1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Rule - 分发规则
+ *
+ * [改造说明]
+ * 一条规则由若干条件（全部满足才命中）和一个动作组成，例如
+ * {@code p0 == "pay" && p1.userId == 42 -> throws(exception=java.io.IOException)}
+ *
+ * 规则只描述动作名称和动作参数，动作对应的增强器由 DynamicDispatcherEnhancer 在创建实验时实例化
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class Rule {
+
+    /** 条件，全部满足才命中 */
+    private final Condition[] conditions;
+
+    /** 动作名称：mock / throws / delay */
+    private final String action;
+
+    /** 动作参数，覆盖实验参数中的同名参数 */
+    private final Map<String, String> actionParams;
+
+    public Rule(Condition[] conditions, String action, Map<String, String> actionParams) {
+        this.conditions = conditions;
+        this.action = action;
+        this.actionParams = Collections.unmodifiableMap(actionParams);
+    }
+
+    /**
+     * 从第 from 个条件开始判定
+     *
+     * @param arguments 方法参数
+     * @param from      起始条件下标
+     * @return 是否全部满足
+     */
+    boolean matches(Object[] arguments, int from) {
+        for (int i = from; i < conditions.length; i++) {
+            if (!conditions[i].matches(arguments)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Condition[] getConditions() {
+        return conditions;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Map<String, String> getActionParams() {
+        return actionParams;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < conditions.length; i++) {
+            if (i > 0) {
+                builder.append(" && ");
+            }
+            builder.append(conditions[i]);
+        }
+        return builder.append(" -> ").append(action).append(actionParams).toString();
+    }
+}
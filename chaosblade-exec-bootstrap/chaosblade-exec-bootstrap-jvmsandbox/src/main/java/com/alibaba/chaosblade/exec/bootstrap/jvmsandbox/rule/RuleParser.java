@@ -0,0 +1,246 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RuleParser - 规则解析
+ *
+ * [改造说明]
+ * 创建实验时把 rules 参数解析为有序规则列表，语法：
+ * <pre>
+ * rules     := rule (';' rule)*
+ * rule      := condition ('&&' condition)* '->' action
+ * condition := '*' | path op literal
+ * path      := 'p' index ('.' property)*
+ * op        := '==' | '!=' | 'contains' | '!contains'
+ * literal   := null | "带引号的字符串" | 不带引号的字符串
+ * action    := name ['(' key '=' value (',' key '=' value)* ')']
+ * </pre>
+ *
+ * 引号内的 ; && -> , ( ) 不作为分隔符，引号内用 \" 和 \\ 转义
+ *
+ * contains / !contains 只适用于字符串，声明了参数类型时，直接作用在基本类型、包装类型
+ * 或数组参数上的 contains 条件在创建实验时报错（checkParameterTypes）
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public final class RuleParser {
+
+    /** 不是字符串的参数类型（基本类型及其包装类型） */
+    private static final Set<String> NON_STRING_TYPES = new HashSet<>(Arrays.asList(
+            "boolean", "byte", "char", "short", "int", "long", "float", "double",
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+            "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double"));
+
+    private RuleParser() {
+    }
+
+    /**
+     * 解析规则列表
+     *
+     * @param text rules 参数
+     * @return 按书写顺序排列的规则
+     * @throws IllegalArgumentException 语法错误
+     */
+    public static List<Rule> parse(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("Empty rules");
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (String ruleText : split(text, ";")) {
+            if (!ruleText.trim().isEmpty()) {
+                rules.add(parseRule(ruleText));
+            }
+        }
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Empty rules");
+        }
+        return rules;
+    }
+
+    /**
+     * 按声明的参数类型检查规则，contains 条件不能直接作用在非字符串参数上
+     *
+     * @param rules 规则
+     * @param parameterTypes 逗号分隔的参数类型，* 表示任意类型，null 表示未声明
+     * @throws IllegalArgumentException contains 作用在基本类型、包装类型或数组参数上
+     */
+    public static void checkParameterTypes(List<Rule> rules, String parameterTypes) {
+        if (parameterTypes == null) {
+            return;
+        }
+        String[] types = parameterTypes.split(",");
+        for (Rule rule : rules) {
+            for (Condition condition : rule.getConditions()) {
+                ArgumentPath path = condition.getPath();
+                if (path == null || !path.isArgument()
+                        || (condition.getOperator() != Condition.CONTAIN && condition.getOperator() != Condition.NOT_CONTAIN)
+                        || path.getIndex() >= types.length) {
+                    continue;
+                }
+                String type = types[path.getIndex()].trim();
+                if (NON_STRING_TYPES.contains(type) || type.endsWith("[]")) {
+                    throw new IllegalArgumentException("contains only applies to strings, " + path + " is " + type
+                            + ": " + condition);
+                }
+            }
+        }
+    }
+
+    private static Rule parseRule(String text) {
+        List<String> parts = split(text, "->");
+        if (parts.size() != 2) {
+            throw new IllegalArgumentException("Illegal rule, expect <conditions> -> <action>: " + text.trim());
+        }
+        List<String> conditionTexts = split(parts.get(0), "&&");
+        Condition[] conditions = new Condition[conditionTexts.size()];
+        for (int i = 0; i < conditions.length; i++) {
+            conditions[i] = parseCondition(conditionTexts.get(i).trim(), text);
+        }
+
+        String actionText = parts.get(1).trim();
+        int open = actionText.indexOf('(');
+        String action = (open < 0 ? actionText : actionText.substring(0, open)).trim().toLowerCase();
+        if (action.isEmpty()) {
+            throw new IllegalArgumentException("Missing action: " + text.trim());
+        }
+        Map<String, String> actionParams = new LinkedHashMap<>();
+        if (open >= 0) {
+            if (!actionText.endsWith(")")) {
+                throw new IllegalArgumentException("Unclosed action parameters: " + actionText);
+            }
+            String paramsText = actionText.substring(open + 1, actionText.length() - 1);
+            if (!paramsText.trim().isEmpty()) {
+                for (String pair : split(paramsText, ",")) {
+                    int eq = indexOfUnquoted(pair, "=", 0);
+                    if (eq <= 0) {
+                        throw new IllegalArgumentException("Illegal action parameter, expect key=value: " + pair.trim());
+                    }
+                    String value = unquote(pair.substring(eq + 1).trim(), text);
+                    actionParams.put(pair.substring(0, eq).trim(), value);
+                }
+            }
+        }
+        return new Rule(conditions, action, actionParams);
+    }
+
+    private static Condition parseCondition(String text, String rule) {
+        if ("*".equals(text)) {
+            return Condition.ALWAYS;
+        }
+        int end = 0;
+        while (end < text.length()) {
+            char c = text.charAt(end);
+            if (Character.isWhitespace(c) || c == '=' || c == '!') {
+                break;
+            }
+            end++;
+        }
+        ArgumentPath path = ArgumentPath.parse(text.substring(0, end));
+        String rest = text.substring(end).trim();
+
+        int operator;
+        String literal;
+        if (rest.startsWith("==")) {
+            operator = Condition.EQUAL;
+            literal = rest.substring(2);
+        } else if (rest.startsWith("!=")) {
+            operator = Condition.NOT_EQUAL;
+            literal = rest.substring(2);
+        } else if (startsWithWord(rest, "!contains")) {
+            operator = Condition.NOT_CONTAIN;
+            literal = rest.substring("!contains".length());
+        } else if (startsWithWord(rest, "contains")) {
+            operator = Condition.CONTAIN;
+            literal = rest.substring("contains".length());
+        } else {
+            throw new IllegalArgumentException("Illegal condition, expect <path> ==|!=|contains|!contains <value>: "
+                    + text + " in rule: " + rule.trim());
+        }
+        literal = literal.trim();
+        if (literal.isEmpty()) {
+            throw new IllegalArgumentException("Missing value in condition: " + text);
+        }
+        return new Condition(path, operator, "null".equals(literal) ? null : unquote(literal, rule));
+    }
+
+    private static boolean startsWithWord(String text, String word) {
+        return text.startsWith(word)
+                && (text.length() == word.length() || Character.isWhitespace(text.charAt(word.length()))
+                || text.charAt(word.length()) == '"');
+    }
+
+    /**
+     * 去掉首尾引号并处理转义，不带引号时原样返回
+     */
+    private static String unquote(String text, String rule) {
+        if (text.isEmpty() || text.charAt(0) != '"') {
+            return text;
+        }
+        if (text.length() < 2 || text.charAt(text.length() - 1) != '"') {
+            throw new IllegalArgumentException("Unclosed quote: " + text + " in rule: " + rule.trim());
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 1; i < text.length() - 1; i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length() - 1) {
+                c = text.charAt(++i);
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 按分隔符切分，忽略引号内的分隔符
+     */
+    private static List<String> split(String text, String separator) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = indexOfUnquoted(text, separator, start)) >= 0) {
+            parts.add(text.substring(start, index));
+            start = index + separator.length();
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    private static int indexOfUnquoted(String text, String separator, int from) {
+        boolean quoted = false;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted && c == '\\') {
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && text.startsWith(separator, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
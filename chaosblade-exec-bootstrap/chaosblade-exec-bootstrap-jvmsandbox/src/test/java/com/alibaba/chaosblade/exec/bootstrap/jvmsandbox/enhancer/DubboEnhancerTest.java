@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.listener.MethodEventListener;
+import com.alibaba.jvm.sandbox.api.ProcessControlException;
+import com.alibaba.jvm.sandbox.api.event.BeforeEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class DubboEnhancerTest {
+
+    private static final String PROXY_INVOKER = "org.apache.dubbo.rpc.proxy.AbstractProxyInvoker";
+
+    @Test
+    public void testConsumerThrowsReachesCaller() throws Throwable {
+        DubboConsumerEnhancer enhancer = compile(new DubboConsumerEnhancer());
+        BeforeEvent event = new BeforeEvent(1, 1, getClass().getClassLoader(), PROXY_INVOKER, "invoke",
+                "(Lorg/apache/dubbo/rpc/Invocation;)Lorg/apache/dubbo/rpc/Result;", null,
+                new Object[] {new Invocation("com.example.OrderService", "create")});
+        assertThrowsToCaller(enhancer, event);
+    }
+
+    @Test
+    public void testProviderThrowsReachesCaller() throws Throwable {
+        DubboProviderEnhancer enhancer = compile(new DubboProviderEnhancer());
+        BeforeEvent event = new BeforeEvent(1, 1, getClass().getClassLoader(), PROXY_INVOKER, "doInvoke",
+                "(Ljava/lang/Object;Ljava/lang/String;[Ljava/lang/Class;[Ljava/lang/Object;)Ljava/lang/Object;",
+                new ProxyInvoker(Runnable.class), new Object[] {null, "run", new Class<?>[0], new Object[0]});
+        assertThrowsToCaller(enhancer, event);
+    }
+
+    @Test
+    public void testThrowsRespectsLimit() throws Throwable {
+        DubboConsumerEnhancer enhancer = compile(new DubboConsumerEnhancer());
+        enhancer.setLimit(1);
+        BeforeEvent event = new BeforeEvent(1, 1, getClass().getClassLoader(), PROXY_INVOKER, "invoke",
+                "(Lorg/apache/dubbo/rpc/Invocation;)Lorg/apache/dubbo/rpc/Result;", null,
+                new Object[] {new Invocation("com.example.OrderService", "create")});
+        MethodEventListener listener = assertThrowsToCaller(enhancer, event);
+        listener.onEvent(event);
+        Assert.assertEquals(1, enhancer.getMetrics().getInjected());
+    }
+
+    private static <T extends DubboEnhancer> T compile(T enhancer) {
+        Map<String, String> params = new HashMap<>();
+        params.put("action", "throws");
+        params.put("exception", "java.lang.IllegalStateException");
+        params.put("exceptionMessage", "dubbo unavailable");
+        enhancer.setUid("dubbo-" + enhancer.getName());
+        enhancer.setParams(params);
+        enhancer.compile();
+        return enhancer;
+    }
+
+    private static MethodEventListener assertThrowsToCaller(DubboEnhancer enhancer, BeforeEvent event)
+            throws Throwable {
+        MethodEventListener listener = new MethodEventListener(enhancer);
+        try {
+            listener.onEvent(event);
+            Assert.fail("injected exception did not reach the caller");
+        } catch (ProcessControlException e) {
+            Assert.assertEquals(ProcessControlException.State.THROWS_IMMEDIATELY, e.getState());
+            Throwable thrown = (Throwable) e.getRespond();
+            Assert.assertEquals(IllegalStateException.class, thrown.getClass());
+            Assert.assertEquals("dubbo unavailable", thrown.getMessage());
+        }
+        Assert.assertEquals(1, enhancer.getMetrics().getInjected());
+        Assert.assertEquals(0, enhancer.getMetrics().getErrors());
+        return listener;
+    }
+
+    public static class Invocation {
+
+        private final String interfaceName;
+        private final String methodName;
+
+        Invocation(String interfaceName, String methodName) {
+            this.interfaceName = interfaceName;
+            this.methodName = methodName;
+        }
+
+        public String getInterfaceName() {
+            return interfaceName;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public String getAttachment(String key) {
+            return null;
+        }
+    }
+
+    public static class ProxyInvoker {
+
+        private final Class<?> type;
+
+        ProxyInvoker(Class<?> type) {
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.enhancer;
+
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule.DecisionTree;
+import com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule.Rule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class DynamicDispatcherEnhancerTest {
+
+    @Test
+    public void testLegacyParametersMapToOneRule() {
+        Rule rule = DynamicDispatcherEnhancer.legacyRule(params("1", "abc", "3", "2"));
+        Assert.assertEquals("throws", rule.getAction());
+        Assert.assertTrue(rule.getActionParams().isEmpty());
+
+        DecisionTree tree = DecisionTree.compile(Collections.singletonList(rule));
+        Assert.assertEquals(0, tree.match(new Object[] {"x", "xxabcxx"}));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(new Object[] {"x", "xyz"}));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(new Object[] {"x", null}));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(new Object[] {"abc"}));
+    }
+
+    @Test
+    public void testLegacyNullParameterNeverMatches() {
+        // != 条件对 null 参数也不命中，与原有行为一致
+        Rule rule = DynamicDispatcherEnhancer.legacyRule(params("0", "pay", "2", "1"));
+        Assert.assertEquals("mock", rule.getAction());
+        DecisionTree tree = DecisionTree.compile(Collections.singletonList(rule));
+        Assert.assertEquals(0, tree.match(new Object[] {"query"}));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(new Object[] {"pay"}));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(new Object[] {null}));
+
+        rule = DynamicDispatcherEnhancer.legacyRule(params("0", "42", "1", "3"));
+        Assert.assertEquals("delay", rule.getAction());
+        tree = DecisionTree.compile(Collections.singletonList(rule));
+        Assert.assertEquals(0, tree.match(new Object[] {42}));
+        Assert.assertEquals(0, tree.match(new Object[] {"42"}));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(new Object[] {43}));
+    }
+
+    @Test
+    public void testLegacyParametersValidated() {
+        String[][] illegal = {
+            {null, "abc", "1", "1"},
+            {"0", null, "1", "1"},
+            {"0", "abc", "5", "1"},
+            {"0", "abc", "1", "9"}
+        };
+        for (String[] values : illegal) {
+            try {
+                DynamicDispatcherEnhancer.legacyRule(params(values[0], values[1], values[2], values[3]));
+                Assert.fail(String.join(",", String.valueOf(values[0]), values[1], values[2], values[3]));
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    private static Map<String, String> params(String paramIndex, String paramValue, String conditionType,
+                                              String actionType) {
+        Map<String, String> params = new HashMap<>();
+        if (paramIndex != null) {
+            params.put("paramIndex", paramIndex);
+        }
+        if (paramValue != null) {
+            params.put("paramValue", paramValue);
+        }
+        params.put("conditionType", conditionType);
+        params.put("actionType", actionType);
+        return params;
+    }
+}
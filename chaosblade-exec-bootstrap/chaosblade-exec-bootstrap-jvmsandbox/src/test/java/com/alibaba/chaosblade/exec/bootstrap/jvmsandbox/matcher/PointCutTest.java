@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.matcher;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class PointCutTest {
+
+    private static final String[] NONE = new String[0];
+
+    @Test
+    public void testRuntimeStructureMatchesIndirectSuperclass() {
+        PointCut pointCut = structure("superclass", BaseService.class.getName());
+        ClassLoader loader = getClass().getClassLoader();
+        Assert.assertTrue(pointCut.matchStructure(loader, MiddleService.class.getName()));
+        Assert.assertTrue(pointCut.matchStructure(loader, OrderService.class.getName()));
+        Assert.assertFalse(pointCut.matchStructure(loader, BaseService.class.getName()));
+        Assert.assertFalse(pointCut.matchStructure(loader, Unrelated.class.getName()));
+    }
+
+    @Test
+    public void testRuntimeStructureMatchesSubInterfaces() {
+        PointCut pointCut = structure("interface", Api.class.getName());
+        ClassLoader loader = getClass().getClassLoader();
+        Assert.assertTrue(pointCut.matchStructure(loader, ApiImpl.class.getName()));
+        Assert.assertTrue(pointCut.matchStructure(loader, ApiImplChild.class.getName()));
+        Assert.assertTrue(pointCut.matchStructure(loader, SubApi.class.getName()));
+        Assert.assertFalse(pointCut.matchStructure(loader, Unrelated.class.getName()));
+    }
+
+    @Test
+    public void testFilterStructureWalksIndexedSupertypes() {
+        LoadedClassIndex index = new LoadedClassIndex();
+        index.add("com.example.Base", "java.lang.Object", null);
+        index.add("com.example.Middle", "com.example.Base", null);
+        index.add("com.example.SubApi", "java.lang.Object", new String[] {"com.example.Api"});
+        index.add("com.example.Impl", "com.example.Middle", new String[] {"com.example.SubApi"});
+
+        PointCut bySuper = structure("superclass", "com.example.Base");
+        Assert.assertTrue(bySuper.matchStructure(index, "com.example.Middle", "com.example.Base", NONE, null));
+        Assert.assertTrue(bySuper.matchStructure(index, "com.example.Leaf", "com.example.Impl", NONE, null));
+        Assert.assertFalse(bySuper.matchStructure(index, "com.example.Other", "java.lang.Object", NONE, null));
+
+        PointCut byInterface = structure("interface", "com.example.Api");
+        Assert.assertTrue(byInterface.matchStructure(index, "com.example.Leaf", "com.example.Impl", NONE, null));
+        Assert.assertTrue(byInterface.matchStructure(index, "com.example.Own", "java.lang.Object",
+                new String[] {"com.example.SubApi"}, null));
+        Assert.assertFalse(byInterface.matchStructure(index, "com.example.Middle", "com.example.Base", NONE, null));
+
+        Set<String> narrowed = bySuper.narrowClasses(index);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("com.example.Middle", "com.example.Impl")), narrowed);
+    }
+
+    private static PointCut structure(String kind, String type) {
+        Map<String, String> params = new HashMap<>();
+        params.put("classname", "*");
+        params.put("methodname", "*");
+        params.put(kind, type);
+        return PointCut.parse(params);
+    }
+
+    public interface Api {
+    }
+
+    public interface SubApi extends Api {
+    }
+
+    public static class ApiImpl implements SubApi {
+    }
+
+    public static class ApiImplChild extends ApiImpl {
+    }
+
+    public static class BaseService {
+    }
+
+    public static class MiddleService extends BaseService {
+    }
+
+    public static class OrderService extends MiddleService {
+    }
+
+    public static class Unrelated {
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.bootstrap.jvmsandbox.rule;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class DecisionTreeTest {
+
+    @Test
+    public void testFirstMatchingRuleWins() {
+        DecisionTree tree = compile("p0 == \"pay\" && p1 == 1 -> delay(time=10); "
+                + "p0 == \"pay\" -> throws; "
+                + "p1 == 1 -> mock; "
+                + "* -> delay");
+        Assert.assertEquals(0, tree.match(args("pay", 1)));
+        Assert.assertEquals(1, tree.match(args("pay", 2)));
+        Assert.assertEquals(2, tree.match(args("query", 1)));
+        Assert.assertEquals(3, tree.match(args("query", 2)));
+        Assert.assertEquals(3, tree.match(new Object[0]));
+    }
+
+    @Test
+    public void testSwitchGroupsConsecutiveEqualityRules() {
+        DecisionTree tree = compile("p0 == \"a\" -> mock; "
+                + "p0 == \"b\" && p1 == 2 -> mock; "
+                + "p0 == \"b\" -> throws; "
+                + "p1 == 3 -> delay; "
+                + "p0 == \"c\" -> delay");
+        Assert.assertEquals("DecisionTree[switch(p0)#0..2, rule#3, rule#4]", tree.toString());
+        Assert.assertEquals(0, tree.match(args("a", 2)));
+        Assert.assertEquals(1, tree.match(args("b", 2)));
+        Assert.assertEquals(2, tree.match(args("b", 3)));
+        Assert.assertEquals(3, tree.match(args("c", 3)));
+        Assert.assertEquals(4, tree.match(args("c", 4)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(args("d", 4)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(args(null, 4)));
+    }
+
+    @Test
+    public void testSwitchOnIntegersAndEnums() {
+        DecisionTree tree = compile("p0 == 7 -> mock; p0 == 42 -> throws; p0 == SECONDS -> delay");
+        Assert.assertEquals(0, tree.match(args(7)));
+        Assert.assertEquals(1, tree.match(args(42L)));
+        Assert.assertEquals(1, tree.match(args((short) 42)));
+        Assert.assertEquals(2, tree.match(args(java.util.concurrent.TimeUnit.SECONDS)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(args(8)));
+    }
+
+    @Test
+    public void testSwitchOnPrimitiveGetter() {
+        DecisionTree tree = compile("p0.id == 7 -> mock; p0.id == 42 -> throws; p0.vip == true -> delay");
+        Assert.assertEquals("DecisionTree[switch(p0.id)#0..1, rule#2]", tree.toString());
+        Assert.assertEquals(0, tree.match(args(new User(7, false))));
+        Assert.assertEquals(1, tree.match(args(new User(42, false))));
+        Assert.assertEquals(2, tree.match(args(new User(1, true))));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(args(new User(1, false))));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(args((Object) null)));
+    }
+
+    @Test
+    public void testPrimitiveFieldsAndNestedProperties() {
+        Order order = new Order(new User(42, true), 9.5, 'A', "pay-42");
+        Assert.assertEquals(0, compile("p0.user.id == 42 -> mock").match(args(order)));
+        Assert.assertEquals(0, compile("p0.user.vip != false -> mock").match(args(order)));
+        Assert.assertEquals(0, compile("p0.amount == 9.5 -> mock").match(args(order)));
+        Assert.assertEquals(0, compile("p0.grade == A -> mock").match(args(order)));
+        Assert.assertEquals(0, compile("p0.missing == null -> mock").match(args(order)));
+        Assert.assertEquals(0, compile("p0.user.id != 41 -> mock").match(args(order)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0.user.id == 41 -> mock").match(args(order)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0.user.id == x -> mock").match(args(order)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0.user.id == 42 -> mock")
+                .match(args(new Order(null, 0, 'B', null))));
+        Assert.assertEquals(0, compile("p0.no == \"pay\" -> mock")
+                .match(args(Collections.singletonMap("no", "pay"))));
+    }
+
+    @Test
+    public void testFloatComparedAtFloatPrecision() {
+        Assert.assertEquals(0, compile("p0 == 0.1 -> mock").match(args(0.1f)));
+        Assert.assertEquals(0, compile("p0 == 0.1 -> mock").match(args(0.1)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0 != 0.1 -> mock").match(args(0.1f)));
+        Assert.assertEquals(0, compile("p0.rate == 0.1 -> mock").match(args(new Coupon(0.1f))));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0.rate == 0.2 -> mock").match(args(new Coupon(0.1f))));
+
+        DecisionTree tree = compile("p0.rate == 0.1 -> mock; p0.rate == 0.2 -> throws; p0.rate == 0.3 -> delay");
+        Assert.assertEquals(1, tree.match(args(new Coupon(0.2f))));
+        Assert.assertEquals(2, tree.match(args(new Coupon(0.3f))));
+        tree = compile("p0 == 0.1 -> mock; p0 == 0.2 -> throws; p0 == 0.3 -> delay");
+        Assert.assertEquals(2, tree.match(args(0.3f)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, tree.match(args(0.4f)));
+    }
+
+    @Test
+    public void testContainsOnlyAppliesToStrings() {
+        Order order = new Order(new User(42, true), 9.5, 'A', "pay-42");
+        Assert.assertEquals(0, compile("p0.no contains \"y-4\" -> mock").match(args(order)));
+        Assert.assertEquals(0, compile("p0 contains \"y-4\" -> mock").match(args(new StringBuilder("pay-42"))));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0 contains \"z\" -> mock")
+                .match(args(new StringBuilder("pay-42"))));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0.user.id contains 4 -> mock").match(args(order)));
+        Assert.assertEquals(0, compile("p0.user.id !contains 4 -> mock").match(args(order)));
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0 contains 4 -> mock").match(args(42)));
+    }
+
+    @Test
+    public void testEqualityDoesNotStringifyObjects() {
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                return "pay";
+            }
+        };
+        Assert.assertEquals(DecisionTree.NO_MATCH, compile("p0 == pay -> mock").match(args(value)));
+        Assert.assertEquals(0, compile("p0 == pay -> mock").match(args(new StringBuilder("pay"))));
+    }
+
+    @Test
+    public void testContainsRejectedOnNonStringParameters() {
+        List<Rule> rules = RuleParser.parse("p1 contains 4 -> mock");
+        RuleParser.checkParameterTypes(rules, "java.lang.String,java.lang.String");
+        RuleParser.checkParameterTypes(rules, "java.lang.String,*");
+        RuleParser.checkParameterTypes(rules, null);
+        RuleParser.checkParameterTypes(RuleParser.parse("p1.id contains 4 -> mock"), "int,int");
+        RuleParser.checkParameterTypes(RuleParser.parse("p1 == 4 -> mock"), "int,int");
+        for (String types : new String[] {"java.lang.String,int", "*,java.lang.Long", "*,java.lang.String[]"}) {
+            try {
+                RuleParser.checkParameterTypes(rules, types);
+                Assert.fail(types);
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("p1"));
+            }
+        }
+    }
+
+    private static DecisionTree compile(String rules) {
+        return DecisionTree.compile(RuleParser.parse(rules));
+    }
+
+    private static Object[] args(Object... args) {
+        return args;
+    }
+
+    private static class User {
+
+        private final int id;
+        private final boolean vip;
+
+        User(int id, boolean vip) {
+            this.id = id;
+            this.vip = vip;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public boolean isVip() {
+            return vip;
+        }
+    }
+
+    private static class Coupon {
+
+        private final float rate;
+
+        Coupon(float rate) {
+            this.rate = rate;
+        }
+    }
+
+    private static class Order {
+
+        private final User user;
+        private final double amount;
+        private final char grade;
+        private final String no;
+
+        Order(User user, double amount, char grade, String no) {
+            this.user = user;
+            this.amount = amount;
+            this.grade = grade;
+            this.no = no;
+        }
+
+        public User getUser() {
+            return user;
+        }
+    }
+}
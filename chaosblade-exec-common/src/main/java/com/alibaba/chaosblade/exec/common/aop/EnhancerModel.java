@@ -72,10 +72,25 @@ public class EnhancerModel {
     return actionModel.getFlag(key);
   }
 
+  public Map<String, String> getActionFlags() {
+    return actionModel.getFlags();
+  }
+
   public void addActionFlag(String key, String value) {
     actionModel.addFlag(key, value);
   }
 
+  /**
+   * @return flags compiled by the action spec, null if not compiled yet
+   */
+  public Object getCompiledActionFlags() {
+    return actionModel.getCompiled();
+  }
+
+  public void setCompiledActionFlags(Object compiled) {
+    actionModel.setCompiled(compiled);
+  }
+
   public ClassLoader getClassLoader() {
     return classLoader;
   }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.aop.matcher.clazz;
+
+import com.alibaba.chaosblade.exec.common.aop.matcher.ClassInfo;
+
+/**
+ * Matches classes annotated with the given annotation type.
+ *
+ * @author rakkaus
+ * @since 1.8.0
+ */
+public class AnnotationClassMatcher implements ClassMatcher {
+
+  private final String annotation;
+
+  /** @param annotation annotation class name, format: xxx.xxx.Xxx */
+  public AnnotationClassMatcher(String annotation) {
+    this.annotation = annotation;
+  }
+
+  @Override
+  public boolean isMatched(String className, ClassInfo classInfo) {
+    String[] annotations = classInfo.getAnnotations();
+    if (annotations == null) {
+      return false;
+    }
+    for (String item : annotations) {
+      if (annotation.equals(item)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -32,6 +32,9 @@ import com.alibaba.chaosblade.exec.common.aop.matcher.ClassInfo;
   @Override
   public boolean isMatched(String className, ClassInfo classInfo) {
     String[] interfaces = classInfo.getInterfaces();
+    if (interfaces == null) {
+      return false;
+    }
     for (String itf : interfaces) {
       if (classInterface.equals(itf)) {
         return true;
@@ -43,7 +43,7 @@ public class ParameterMethodMatcher implements MethodMatcher {
   }
 
   public ParameterMethodMatcher(String[] parameters) {
-    convertToMap(parameters);
+    this.parametersMap = convertToMap(parameters);
   }
 
   public ParameterMethodMatcher(String[] parameters, int parametersLength, int compareFlag) {
@@ -72,7 +72,7 @@ public class ParameterMethodMatcher implements MethodMatcher {
   @Override
   public boolean isMatched(String methodName, MethodInfo methodInfo) {
     String[] parameterTypes = methodInfo.getParameterTypes();
-    int length = parameterTypes.length;
+    int length = parameterTypes == null ? 0 : parameterTypes.length;
 
     boolean result = compareParametersLength(length);
     if (!result) {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.center;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many times an experiment took effect and enforces its effect limit.
+ *
+ * <p>A bounded counter reserves each effect with a CAS on a single {@link AtomicLong}, so the count
+ * never exceeds the limit however many threads race, and no reservation is dropped because of
+ * contention. An unbounded counter has nothing to check and counts on a striped {@link LongAdder}.
+ *
+ * <p>Call {@link #tryAcquire()} before injecting and {@link #release()} if the injection did not
+ * happen after all.
+ *
+ * @author rakkaus
+ */
+public abstract class EffectCounter {
+
+  private EffectCounter() {}
+
+  /**
+   * Create a counter
+   *
+   * @param limit max effect count, {@code <= 0} means no limit
+   * @return bounded counter if {@code limit > 0}, unbounded otherwise
+   */
+  public static EffectCounter of(long limit) {
+    return limit > 0 ? bounded(limit) : unbounded();
+  }
+
+  /**
+   * @param limit max effect count, {@code 0} means the experiment never takes effect
+   * @return exact counter that stops at {@code limit}
+   */
+  public static EffectCounter bounded(long limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit must not be negative: " + limit);
+    }
+    return new Bounded(limit);
+  }
+
+  /** @return counter without limit */
+  public static EffectCounter unbounded() {
+    return new Unbounded();
+  }
+
+  /**
+   * Reserve one effect
+   *
+   * @return false if the limit is reached, the caller must not inject then
+   */
+  public abstract boolean tryAcquire();
+
+  /** Give back a reservation of {@link #tryAcquire()} whose injection failed. */
+  public abstract void release();
+
+  /** @return effect count */
+  public abstract long get();
+
+  /**
+   * Cheap pre-check, {@link #tryAcquire()} still decides
+   *
+   * @return true if the limit is reached
+   */
+  public abstract boolean isExhausted();
+
+  /** @return max effect count, {@code 0} for an unbounded counter */
+  public abstract long getLimit();
+
+  private static final class Bounded extends EffectCounter {
+    private final long limit;
+    private final AtomicLong count = new AtomicLong();
+
+    Bounded(long limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+      for (; ; ) {
+        long current = count.get();
+        if (current >= limit) {
+          return false;
+        }
+        if (count.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    @Override
+    public void release() {
+      count.decrementAndGet();
+    }
+
+    @Override
+    public long get() {
+      return count.get();
+    }
+
+    @Override
+    public boolean isExhausted() {
+      return count.get() >= limit;
+    }
+
+    @Override
+    public long getLimit() {
+      return limit;
+    }
+
+    @Override
+    public String toString() {
+      return count.get() + "/" + limit;
+    }
+  }
+
+  private static final class Unbounded extends EffectCounter {
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public boolean tryAcquire() {
+      count.increment();
+      return true;
+    }
+
+    @Override
+    public void release() {
+      count.decrement();
+    }
+
+    @Override
+    public long get() {
+      return count.sum();
+    }
+
+    @Override
+    public boolean isExhausted() {
+      return false;
+    }
+
+    @Override
+    public long getLimit() {
+      return 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(count.sum());
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.common.center;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory, lock-free histogram with log-linear buckets, in the spirit of HdrHistogram.
+ *
+ * <p>Values below {@code 2^subBucketBits} get a bucket each. Above that, every power-of-two range
+ * is split into {@code 2^subBucketBits} linear sub-buckets, so a recorded value is reported with a
+ * relative error of at most {@code 2^-subBucketBits}. All buckets are allocated up front, and
+ * values above the highest trackable value are clamped into the last bucket.
+ *
+ * <p>{@link #record(long)} is a few atomic increments and never blocks. Read values through {@link
+ * #snapshot()}, which copies the buckets once so percentiles are computed on a stable view.
+ *
+ * @author rakkaus
+ */
+public final class LogLinearHistogram {
+
+  private final int subBucketBits;
+  private final int subBucketCount;
+  private final long highestTrackableValue;
+  private final AtomicLongArray counts;
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param subBucketBits linear sub-buckets per power of two, as bits (1 to 10)
+   * @param highestTrackableValue largest value told apart, larger values are clamped to it
+   */
+  public LogLinearHistogram(int subBucketBits, long highestTrackableValue) {
+    if (subBucketBits < 1 || subBucketBits > 10) {
+      throw new IllegalArgumentException("subBucketBits must be in [1, 10]: " + subBucketBits);
+    }
+    if (highestTrackableValue < (1L << subBucketBits)) {
+      throw new IllegalArgumentException(
+          "highestTrackableValue must be at least " + (1L << subBucketBits));
+    }
+    this.subBucketBits = subBucketBits;
+    this.subBucketCount = 1 << subBucketBits;
+    this.highestTrackableValue = highestTrackableValue;
+    this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+  }
+
+  /**
+   * Record a value
+   *
+   * @param value value to record, negative values count as 0
+   */
+  public void record(long value) {
+    long clamped = value < 0 ? 0 : Math.min(value, highestTrackableValue);
+    counts.incrementAndGet(indexOf(clamped));
+    sum.addAndGet(clamped);
+    long current;
+    while (clamped > (current = max.get()) && !max.compareAndSet(current, clamped)) {
+      // retry until another thread records a larger value or the update wins
+    }
+  }
+
+  /** @return number of buckets, fixed at construction */
+  public int getBucketCount() {
+    return counts.length();
+  }
+
+  /** @return largest value told apart */
+  public long getHighestTrackableValue() {
+    return highestTrackableValue;
+  }
+
+  /** @return copy of the current counts, for reading */
+  public Snapshot snapshot() {
+    long[] copy = new long[counts.length()];
+    long total = 0;
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    return new Snapshot(copy, total, sum.get(), max.get());
+  }
+
+  int indexOf(long value) {
+    if (value < subBucketCount) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int magnitude = exponent - subBucketBits + 1;
+    return (magnitude << subBucketBits) + (int) ((value >>> (magnitude - 1)) - subBucketCount);
+  }
+
+  long lowestValueAt(int index) {
+    if (index < subBucketCount) {
+      return index;
+    }
+    int magnitude = index >>> subBucketBits;
+    return (long) (subBucketCount + (index & (subBucketCount - 1))) << (magnitude - 1);
+  }
+
+  long highestValueAt(int index) {
+    if (index < subBucketCount) {
+      return index;
+    }
+    int magnitude = index >>> subBucketBits;
+    return lowestValueAt(index) + (1L << (magnitude - 1)) - 1;
+  }
+
+  /** Stable view of a histogram. */
+  public final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    Snapshot(long[] counts, long count, long sum, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    /** @return number of recorded values */
+    public long getCount() {
+      return count;
+    }
+
+    /** @return sum of the recorded values, after clamping */
+    public long getSum() {
+      return sum;
+    }
+
+    /** @return largest recorded value, after clamping */
+    public long getMax() {
+      return max;
+    }
+
+    /** @return mean of the recorded values, 0 if empty */
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Value at a percentile, reported as the highest value of its bucket and never above the max
+     *
+     * @param percentile percentile in [0, 100]
+     * @return value at the percentile, 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      double clamped = Math.min(Math.max(percentile, 0), 100);
+      long rank = Math.max(1, (long) Math.ceil(clamped / 100 * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(highestValueAt(i), max);
+        }
+      }
+      return max;
+    }
+  }
+}
@@ -16,46 +16,73 @@
 
 package com.alibaba.chaosblade.exec.common.center;
 
+import com.alibaba.chaosblade.exec.common.constant.ModelConstant;
 import com.alibaba.chaosblade.exec.common.model.Model;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import com.alibaba.chaosblade.exec.common.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** @author Changjun Xiao */
 public class StatusMetric {
+  private static final Logger LOGGER = LoggerFactory.getLogger(StatusMetric.class);
+
   private Model model;
-  private AtomicLong hitCounts;
-  private Lock lock = new ReentrantLock();
+  private final boolean limited;
+  private final EffectCounter hitCounts;
 
   public StatusMetric(Model model) {
     this.model = model;
-    this.hitCounts = new AtomicLong(0);
+    String limitCount =
+        model == null || model.getMatcher() == null
+            ? null
+            : model.getMatcher().get(ModelConstant.EFFECT_COUNT_MATCHER_NAME);
+    this.limited = !StringUtil.isBlank(limitCount);
+    this.hitCounts =
+        limited ? EffectCounter.bounded(parseLimit(limitCount)) : EffectCounter.unbounded();
+  }
+
+  private static long parseLimit(String limitCount) {
+    try {
+      long limit = Long.parseLong(limitCount.trim());
+      return limit < 0 ? 0 : limit;
+    } catch (NumberFormatException e) {
+      // an illegal limit never takes effect, as before
+      LOGGER.warn("illegal {} value: {}", ModelConstant.EFFECT_COUNT_MATCHER_NAME, limitCount);
+      return 0;
+    }
   }
 
   public Model getModel() {
     return model;
   }
 
-  public void increase() {
-    hitCounts.incrementAndGet();
+  /** @return true if the experiment has an effect-count limit */
+  public boolean isLimited() {
+    return limited;
   }
 
-  public void decrease() {
-    hitCounts.decrementAndGet();
+  /**
+   * Reserve one effect, exact under concurrency and never dropped because of contention
+   *
+   * @return false if the effect-count limit is reached
+   */
+  public boolean tryIncrease() {
+    return hitCounts.tryAcquire();
   }
 
-  public boolean increaseWithLock(long limitCount) {
-    if (lock.tryLock()) {
-      try {
-        if (hitCounts.get() < limitCount) {
-          increase();
-          return true;
-        }
-      } finally {
-        lock.unlock();
-      }
-    }
-    return false;
+  /**
+   * Reserve one effect, ignoring whether the limit was reached
+   *
+   * @deprecated the result of the reservation is lost, use {@link #tryIncrease()} and skip the
+   *     injection when it returns false
+   */
+  @Deprecated
+  public void increase() {
+    tryIncrease();
+  }
+
+  public void decrease() {
+    hitCounts.release();
   }
 
   public long getCount() {
@@ -32,7 +32,7 @@ import com.alibaba.chaosblade.exec.common.util.StringUtil;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -87,26 +87,18 @@ public class Injector {
    * @return
    */
   private static boolean limitAndIncrease(StatusMetric statusMetric) {
-    Model model = statusMetric.getModel();
-    String limitCount = model.getMatcher().get(ModelConstant.EFFECT_COUNT_MATCHER_NAME);
-    if (!StringUtil.isBlank(limitCount)) {
-      Long count = Long.valueOf(limitCount);
-      if (statusMetric.getCount() >= count) {
-        return false;
-      }
-      return statusMetric.increaseWithLock(count);
-    }
-    String limitPercent = model.getMatcher().get(ModelConstant.EFFECT_PERCENT_MATCHER_NAME);
-    if (!StringUtil.isBlank(limitPercent)) {
-      Integer percent = Integer.valueOf(limitPercent);
-      Random random = new Random();
-      int randomValue = random.nextInt(100) + 1;
-      if (randomValue > percent) {
-        return false;
+    if (!statusMetric.isLimited()) {
+      Model model = statusMetric.getModel();
+      String limitPercent = model.getMatcher().get(ModelConstant.EFFECT_PERCENT_MATCHER_NAME);
+      if (!StringUtil.isBlank(limitPercent)) {
+        Integer percent = Integer.valueOf(limitPercent);
+        int randomValue = ThreadLocalRandom.current().nextInt(100) + 1;
+        if (randomValue > percent) {
+          return false;
+        }
       }
     }
-    statusMetric.increase();
-    return true;
+    return statusMetric.tryIncrease();
   }
 
   /**
@@ -25,6 +25,12 @@ public class ActionModel {
   private String name;
   private Map<String, String> flags = new HashMap<String, String>();
 
+  /**
+   * Flags compiled by the action spec once (e.g. a latency distribution), reused on every
+   * injection. Cleared when a flag is added.
+   */
+  private volatile Object compiled;
+
   public ActionModel(String name) {
     this.name = name;
   }
@@ -39,6 +45,7 @@ public class ActionModel {
 
   public void addFlag(String key, String value) {
     flags.put(key, value);
+    compiled = null;
   }
 
   public String getFlag(String key) {
@@ -48,4 +55,12 @@ public class ActionModel {
   public Map<String, String> getFlags() {
     return flags;
   }
+
+  public Object getCompiled() {
+    return compiled;
+  }
+
+  public void setCompiled(Object compiled) {
+    this.compiled = compiled;
+  }
 }
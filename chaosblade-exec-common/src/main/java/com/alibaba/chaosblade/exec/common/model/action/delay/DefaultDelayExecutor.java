@@ -18,7 +18,7 @@ package com.alibaba.chaosblade.exec.common.model.action.delay;
 
 import com.alibaba.chaosblade.exec.common.aop.EnhancerModel;
 import com.alibaba.chaosblade.exec.common.util.StringUtil;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,12 +37,17 @@ public class DefaultDelayExecutor implements DelayExecutor {
 
   @Override
   public void run(EnhancerModel enhancerModel) throws Exception {
-    String time = enhancerModel.getActionFlag(timeFlagSpec.getName());
-    Integer sleepTimeInMillis = Integer.valueOf(time);
+    long sleepTimeInMillis;
     int offset = 0;
-    String offsetTime = enhancerModel.getActionFlag(timeOffsetFlagSpec.getName());
-    if (!StringUtil.isBlank(offsetTime)) {
-      offset = Integer.valueOf(offsetTime);
+    if (StringUtil.isBlank(enhancerModel.getActionFlag(LatencyDistributions.DISTRIBUTION))) {
+      String time = enhancerModel.getActionFlag(timeFlagSpec.getName());
+      sleepTimeInMillis = Integer.valueOf(time);
+      String offsetTime = enhancerModel.getActionFlag(timeOffsetFlagSpec.getName());
+      if (!StringUtil.isBlank(offsetTime)) {
+        offset = Integer.valueOf(offsetTime);
+      }
+    } else {
+      sleepTimeInMillis = distribution(enhancerModel).sample();
     }
     TimeoutExecutor timeoutExecutor = enhancerModel.getTimeoutExecutor();
     if (timeoutExecutor != null) {
@@ -56,25 +61,37 @@ public class DefaultDelayExecutor implements DelayExecutor {
     sleep(sleepTimeInMillis, offset);
   }
 
+  /**
+   * The distribution compiled by {@link DelayActionSpec#predicate}, compiled here once if the
+   * experiment skipped the predicate.
+   */
+  private static LatencyDistribution distribution(EnhancerModel enhancerModel) {
+    Object compiled = enhancerModel.getCompiledActionFlags();
+    if (compiled instanceof LatencyDistribution) {
+      return (LatencyDistribution) compiled;
+    }
+    LatencyDistribution distribution = LatencyDistributions.parse(enhancerModel.getActionFlags());
+    enhancerModel.setCompiledActionFlags(distribution);
+    return distribution;
+  }
+
   @Override
   public void sleep(long timeInMillis, int offsetInMillis) {
-    Random random = new Random();
-    int offset = 0;
     if (offsetInMillis > 0) {
-      offset = random.nextInt(offsetInMillis);
-    }
-    if (offset % 2 == 0) {
-      timeInMillis = timeInMillis + offset;
-    } else {
-      timeInMillis = timeInMillis - offset;
+      // symmetric offset in [-offset, offset], no Random allocation per call
+      timeInMillis += ThreadLocalRandom.current().nextInt(-offsetInMillis, offsetInMillis + 1);
+      if (timeInMillis <= 0) {
+        timeInMillis = offsetInMillis;
+      }
     }
     if (timeInMillis <= 0) {
-      timeInMillis = offsetInMillis;
+      return;
     }
     try {
       TimeUnit.MILLISECONDS.sleep(timeInMillis);
     } catch (InterruptedException e) {
       LOGGER.error("运行延迟动作被中断", e);
+      Thread.currentThread().interrupt();
     }
   }
 }
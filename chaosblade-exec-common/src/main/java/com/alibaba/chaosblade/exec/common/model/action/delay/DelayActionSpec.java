@@ -23,6 +23,7 @@ import com.alibaba.chaosblade.exec.common.model.action.ActionModel;
 import com.alibaba.chaosblade.exec.common.model.action.BaseActionSpec;
 import com.alibaba.chaosblade.exec.common.util.StringUtil;
 import com.alibaba.chaosblade.exec.common.util.StringUtils;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -31,6 +32,20 @@ public class DelayActionSpec extends BaseActionSpec {
 
   private static TimeFlagSpec timeFlag = new TimeFlagSpec();
   private static TimeOffsetFlagSpec offsetFlag = new TimeOffsetFlagSpec();
+  private static DistributionFlagSpec distributionFlag = new DistributionFlagSpec();
+  private static List<FlagSpec> distributionParamFlags =
+      Arrays.<FlagSpec>asList(
+          new DistributionParamFlagSpec(
+              LatencyDistributions.STDDEV, "standard deviation of the normal distribution"),
+          new DistributionParamFlagSpec(
+              LatencyDistributions.SIGMA,
+              "shape of the lognormal distribution, time is the median"),
+          new DistributionParamFlagSpec(
+              LatencyDistributions.ALPHA, "shape of the pareto distribution, time is the minimum"),
+          new DistributionParamFlagSpec(
+              LatencyDistributions.PERCENTILES,
+              "empirical distribution as percentile:millis points, e.g. 50:20,90:80,99:300"),
+          new DistributionParamFlagSpec(LatencyDistributions.MAX, "upper bound of the delay time"));
 
   public DelayActionSpec() {
     super(new DefaultDelayExecutor(timeFlag, offsetFlag));
@@ -61,13 +76,27 @@ public class DelayActionSpec extends BaseActionSpec {
 
   @Override
   public List<FlagSpec> getActionFlags() {
-    return Arrays.asList(timeFlag, offsetFlag);
+    List<FlagSpec> flags = new ArrayList<FlagSpec>();
+    flags.add(timeFlag);
+    flags.add(offsetFlag);
+    flags.add(distributionFlag);
+    flags.addAll(distributionParamFlags);
+    return flags;
   }
 
   @Override
   public PredicateResult predicate(ActionModel actionModel) {
-    if (StringUtil.isBlank(actionModel.getFlag(timeFlag.getName()))) {
-      return PredicateResult.fail("less time argument");
+    if (StringUtil.isBlank(actionModel.getFlag(distributionFlag.getName()))) {
+      if (StringUtil.isBlank(actionModel.getFlag(timeFlag.getName()))) {
+        return PredicateResult.fail("less time argument");
+      }
+      return PredicateResult.success();
+    }
+    try {
+      // compiled once here, the executor only samples it on each call
+      actionModel.setCompiled(LatencyDistributions.parse(actionModel.getFlags()));
+    } catch (IllegalArgumentException e) {
+      return PredicateResult.fail(e.getMessage());
     }
     return PredicateResult.success();
   }
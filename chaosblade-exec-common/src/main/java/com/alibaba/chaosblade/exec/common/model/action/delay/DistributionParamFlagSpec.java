@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.model.action.delay;
+
+import com.alibaba.chaosblade.exec.common.model.FlagSpec;
+
+/**
+ * Optional parameter of a delay distribution, see {@link LatencyDistributions}
+ *
+ * @author rakkaus
+ */
+public class DistributionParamFlagSpec implements FlagSpec {
+
+  private final String name;
+  private final String desc;
+
+  public DistributionParamFlagSpec(String name, String desc) {
+    this.name = name;
+    this.desc = desc;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDesc() {
+    return desc;
+  }
+
+  @Override
+  public boolean noArgs() {
+    return false;
+  }
+
+  @Override
+  public boolean required() {
+    return false;
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.model.action.delay;
+
+/**
+ * Delay time distribution, compiled once from the delay flags by {@link LatencyDistributions}.
+ * Implementations are immutable and thread safe, sampling uses {@link
+ * java.util.concurrent.ThreadLocalRandom} and allocates nothing.
+ *
+ * @author rakkaus
+ */
+public interface LatencyDistribution {
+
+  /**
+   * Draw one delay time
+   *
+   * @return delay time in milliseconds, never negative
+   */
+  long sample();
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.model.action.delay;
+
+import com.alibaba.chaosblade.exec.common.util.StringUtil;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds a {@link LatencyDistribution} from delay flags.
+ *
+ * <p>Supported distributions, selected by the {@code distribution} flag:
+ *
+ * <ul>
+ *   <li>{@code fixed}: always {@code time}
+ *   <li>{@code uniform}: uniform in {@code [time - offset, time + offset]}
+ *   <li>{@code normal}: mean {@code time}, standard deviation {@code stddev}
+ *   <li>{@code lognormal}: median {@code time}, shape {@code sigma}
+ *   <li>{@code pareto}: minimum {@code time}, shape {@code alpha}, heavy tailed for small alpha
+ *   <li>{@code empirical}: piecewise linear over {@code percentiles}, e.g. {@code
+ *       50:20,90:80,99:300} (percentile:millis). {@code time} is the 0th percentile (default 0) and
+ *       {@code max} the 100th (default the last given value)
+ * </ul>
+ *
+ * Without a {@code distribution} flag the legacy behaviour is kept: {@code uniform} when an offset
+ * is given, {@code fixed} otherwise. {@code max} caps every distribution, samples are never
+ * negative.
+ *
+ * @author rakkaus
+ */
+public class LatencyDistributions {
+
+  public static final String DISTRIBUTION = "distribution";
+  public static final String TIME = "time";
+  public static final String OFFSET = "offset";
+  public static final String STDDEV = "stddev";
+  public static final String SIGMA = "sigma";
+  public static final String ALPHA = "alpha";
+  public static final String PERCENTILES = "percentiles";
+  public static final String MAX = "max";
+
+  public static final String FIXED = "fixed";
+  public static final String UNIFORM = "uniform";
+  public static final String NORMAL = "normal";
+  public static final String LOGNORMAL = "lognormal";
+  public static final String PARETO = "pareto";
+  public static final String EMPIRICAL = "empirical";
+
+  private LatencyDistributions() {}
+
+  /**
+   * Compile delay flags into a distribution
+   *
+   * @param flags delay flags, see the class comment for the keys
+   * @return distribution
+   * @throws IllegalArgumentException if a flag is missing or illegal
+   */
+  public static LatencyDistribution parse(Map<String, String> flags) {
+    String distribution = get(flags, DISTRIBUTION);
+    long max = getLong(flags, MAX, 0);
+    if (distribution == null) {
+      distribution = getLong(flags, OFFSET, 0) > 0 ? UNIFORM : FIXED;
+    }
+    distribution = distribution.trim().toLowerCase();
+    if (EMPIRICAL.equals(distribution)) {
+      return empirical(getLong(flags, TIME, 0), max, require(flags, PERCENTILES));
+    }
+
+    long time = getLong(flags, TIME, -1);
+    if (time < 0) {
+      throw new IllegalArgumentException("less " + TIME + " argument");
+    }
+    if (FIXED.equals(distribution)) {
+      return new Fixed(max > 0 ? Math.min(time, max) : time);
+    }
+    if (UNIFORM.equals(distribution)) {
+      return new Uniform(time, getLong(flags, OFFSET, 0), max);
+    }
+    if (NORMAL.equals(distribution)) {
+      return new Normal(time, getPositiveDouble(flags, STDDEV), max);
+    }
+    if (LOGNORMAL.equals(distribution)) {
+      return new LogNormal(time, getPositiveDouble(flags, SIGMA), max);
+    }
+    if (PARETO.equals(distribution)) {
+      if (time == 0) {
+        throw new IllegalArgumentException(TIME + " must be positive for pareto distribution");
+      }
+      return new Pareto(time, getPositiveDouble(flags, ALPHA), max);
+    }
+    throw new IllegalArgumentException("unknown distribution: " + distribution);
+  }
+
+  private static LatencyDistribution empirical(long min, long max, String percentiles) {
+    String[] points = percentiles.split(",");
+    double[] ranks = new double[points.length + 2];
+    double[] values = new double[points.length + 2];
+    ranks[0] = 0;
+    values[0] = min;
+    int size = 1;
+    for (String point : points) {
+      if (StringUtil.isBlank(point)) {
+        continue;
+      }
+      int separator = point.indexOf(':');
+      if (separator < 0) {
+        throw new IllegalArgumentException("illegal percentile point, expect p:millis: " + point);
+      }
+      double rank;
+      double value;
+      try {
+        rank = Double.parseDouble(point.substring(0, separator).trim().replace("p", ""));
+        value = Double.parseDouble(point.substring(separator + 1).trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("illegal percentile point: " + point);
+      }
+      if (rank <= ranks[size - 1] || rank > 100) {
+        throw new IllegalArgumentException(
+            "percentiles must be increasing and within (0, 100]: " + percentiles);
+      }
+      if (value < values[size - 1]) {
+        throw new IllegalArgumentException("percentile values must not decrease: " + percentiles);
+      }
+      ranks[size] = rank;
+      values[size] = value;
+      size++;
+    }
+    if (size == 1) {
+      throw new IllegalArgumentException("less " + PERCENTILES + " argument");
+    }
+    if (ranks[size - 1] < 100) {
+      ranks[size] = 100;
+      values[size] = max > values[size - 1] ? max : values[size - 1];
+      size++;
+    }
+    double[] r = new double[size];
+    double[] v = new double[size];
+    System.arraycopy(ranks, 0, r, 0, size);
+    System.arraycopy(values, 0, v, 0, size);
+    return new Empirical(r, v, max);
+  }
+
+  private static String get(Map<String, String> flags, String key) {
+    String value = flags == null ? null : flags.get(key);
+    return StringUtil.isBlank(value) ? null : value;
+  }
+
+  private static String require(Map<String, String> flags, String key) {
+    String value = get(flags, key);
+    if (value == null) {
+      throw new IllegalArgumentException("less " + key + " argument");
+    }
+    return value;
+  }
+
+  private static long getLong(Map<String, String> flags, String key, long defaultValue) {
+    String value = get(flags, key);
+    if (value == null) {
+      return defaultValue;
+    }
+    long parsed;
+    try {
+      parsed = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("illegal " + key + " argument: " + value);
+    }
+    if (parsed < 0) {
+      throw new IllegalArgumentException(key + " must not be negative: " + value);
+    }
+    return parsed;
+  }
+
+  private static double getPositiveDouble(Map<String, String> flags, String key) {
+    String value = require(flags, key);
+    double parsed;
+    try {
+      parsed = Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("illegal " + key + " argument: " + value);
+    }
+    if (!(parsed > 0) || Double.isInfinite(parsed)) {
+      throw new IllegalArgumentException(key + " must be positive: " + value);
+    }
+    return parsed;
+  }
+
+  /** Round to millis, clamp to {@code [0, max]}, {@code max <= 0} means no cap. */
+  static long clamp(double millis, long max) {
+    if (!(millis > 0)) {
+      return 0;
+    }
+    long cap = max > 0 ? max : Long.MAX_VALUE / 2;
+    return millis >= cap ? cap : Math.round(millis);
+  }
+
+  /** Standard normal variate by Box-Muller, one of the pair is dropped to stay allocation free. */
+  static double nextGaussian(ThreadLocalRandom random) {
+    double u1 = 1.0d - random.nextDouble();
+    double u2 = random.nextDouble();
+    return Math.sqrt(-2.0d * Math.log(u1)) * Math.cos(2.0d * Math.PI * u2);
+  }
+
+  static final class Fixed implements LatencyDistribution {
+    private final long time;
+
+    Fixed(long time) {
+      this.time = time;
+    }
+
+    @Override
+    public long sample() {
+      return time;
+    }
+
+    @Override
+    public String toString() {
+      return FIXED + "(" + time + ")";
+    }
+  }
+
+  static final class Uniform implements LatencyDistribution {
+    private final long low;
+    private final long high;
+
+    Uniform(long time, long offset, long max) {
+      long low = Math.max(0, time - offset);
+      long high = time + offset;
+      if (max > 0) {
+        low = Math.min(low, max);
+        high = Math.min(high, max);
+      }
+      this.low = low;
+      this.high = high;
+    }
+
+    @Override
+    public long sample() {
+      return low == high ? low : ThreadLocalRandom.current().nextLong(low, high + 1);
+    }
+
+    @Override
+    public String toString() {
+      return UNIFORM + "[" + low + ", " + high + "]";
+    }
+  }
+
+  static final class Normal implements LatencyDistribution {
+    private final double mean;
+    private final double stddev;
+    private final long max;
+
+    Normal(double mean, double stddev, long max) {
+      this.mean = mean;
+      this.stddev = stddev;
+      this.max = max;
+    }
+
+    @Override
+    public long sample() {
+      return clamp(mean + stddev * nextGaussian(ThreadLocalRandom.current()), max);
+    }
+
+    @Override
+    public String toString() {
+      return NORMAL + "(" + mean + ", " + stddev + ")";
+    }
+  }
+
+  static final class LogNormal implements LatencyDistribution {
+    private final double median;
+    private final double sigma;
+    private final long max;
+
+    LogNormal(double median, double sigma, long max) {
+      this.median = median;
+      this.sigma = sigma;
+      this.max = max;
+    }
+
+    @Override
+    public long sample() {
+      return clamp(median * Math.exp(sigma * nextGaussian(ThreadLocalRandom.current())), max);
+    }
+
+    @Override
+    public String toString() {
+      return LOGNORMAL + "(" + median + ", " + sigma + ")";
+    }
+  }
+
+  static final class Pareto implements LatencyDistribution {
+    private final double scale;
+    private final double inverseAlpha;
+    private final long max;
+
+    Pareto(double scale, double alpha, long max) {
+      this.scale = scale;
+      this.inverseAlpha = 1.0d / alpha;
+      this.max = max;
+    }
+
+    @Override
+    public long sample() {
+      // inverse transform, 1 - u is in (0, 1]
+      double u = 1.0d - ThreadLocalRandom.current().nextDouble();
+      return clamp(scale / Math.pow(u, inverseAlpha), max);
+    }
+
+    @Override
+    public String toString() {
+      return PARETO + "(" + scale + ", " + (1.0d / inverseAlpha) + ")";
+    }
+  }
+
+  static final class Empirical implements LatencyDistribution {
+    private final double[] ranks;
+    private final double[] values;
+    private final long max;
+
+    Empirical(double[] ranks, double[] values, long max) {
+      this.ranks = ranks;
+      this.values = values;
+      this.max = max;
+    }
+
+    @Override
+    public long sample() {
+      double rank = ThreadLocalRandom.current().nextDouble() * 100.0d;
+      int i = 1;
+      while (i < ranks.length - 1 && rank > ranks[i]) {
+        i++;
+      }
+      double span = ranks[i] - ranks[i - 1];
+      double fraction = span > 0 ? (rank - ranks[i - 1]) / span : 1.0d;
+      return clamp(values[i - 1] + fraction * (values[i] - values[i - 1]), max);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder builder = new StringBuilder(EMPIRICAL).append('[');
+      for (int i = 0; i < ranks.length; i++) {
+        if (i > 0) {
+          builder.append(',');
+        }
+        builder.append(ranks[i]).append(':').append(values[i]);
+      }
+      return builder.append(']').toString();
+    }
+  }
+}
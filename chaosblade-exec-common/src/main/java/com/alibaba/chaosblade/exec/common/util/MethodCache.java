@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved method cache, keyed by (class, method name, method descriptor).
+ *
+ * <p>{@link ReflectUtil#getMethod(Class, String, String)} walks {@code getDeclaredMethods()} and
+ * rebuilds a descriptor for every candidate up the superclass chain, which is far too expensive to
+ * run on every intercepted invocation. The result is cached per class with a {@link ClassValue}, so
+ * the cache lives inside the {@link Class} itself and never pins a business class loader: once the
+ * class (and its loader) is collected, the cached entries go with it. A class object is unique per
+ * defining loader, so the class key already covers the class loader dimension.
+ *
+ * <p>Lookups on a hit allocate nothing: two {@link ConcurrentHashMap} reads, name then descriptor.
+ *
+ * @author rakkaus
+ */
+public class MethodCache {
+
+  private static volatile ClassValue<ConcurrentHashMap<String, ConcurrentHashMap<String, Method>>>
+      cache = newCache();
+
+  private MethodCache() {}
+
+  /**
+   * Get method by name and descriptor, resolving it through {@link ReflectUtil} on first access
+   *
+   * @param clazz runtime class of the target, or the declaring class for static methods
+   * @param methodName method name
+   * @param methodDescriptor JVM method descriptor, e.g. {@code (Ljava/lang/String;)V}
+   * @return resolved method
+   * @throws NoSuchMethodException if neither the class nor its superclasses declare the method
+   */
+  public static Method getMethod(Class<?> clazz, String methodName, String methodDescriptor)
+      throws NoSuchMethodException {
+    ConcurrentHashMap<String, ConcurrentHashMap<String, Method>> byName = cache.get(clazz);
+    ConcurrentHashMap<String, Method> byDesc = byName.get(methodName);
+    if (byDesc != null) {
+      Method method = byDesc.get(methodDescriptor);
+      if (method != null) {
+        return method;
+      }
+    } else {
+      byDesc = new ConcurrentHashMap<String, Method>(4);
+      ConcurrentHashMap<String, Method> previous = byName.putIfAbsent(methodName, byDesc);
+      if (previous != null) {
+        byDesc = previous;
+      }
+    }
+    // misses are not cached, a missing method is an error path and stays rare
+    Method method = ReflectUtil.getMethod(clazz, methodDescriptor, methodName);
+    byDesc.putIfAbsent(methodDescriptor, method);
+    return method;
+  }
+
+  /**
+   * Drop every cached method. Called when an experiment is destroyed or the module is unloaded, the
+   * cache is rebuilt lazily by the next lookups.
+   */
+  public static void clear() {
+    cache = newCache();
+  }
+
+  private static ClassValue<ConcurrentHashMap<String, ConcurrentHashMap<String, Method>>>
+      newCache() {
+    return new ClassValue<ConcurrentHashMap<String, ConcurrentHashMap<String, Method>>>() {
+      @Override
+      protected ConcurrentHashMap<String, ConcurrentHashMap<String, Method>> computeValue(
+          Class<?> type) {
+        return new ConcurrentHashMap<String, ConcurrentHashMap<String, Method>>(8);
+      }
+    };
+  }
+}
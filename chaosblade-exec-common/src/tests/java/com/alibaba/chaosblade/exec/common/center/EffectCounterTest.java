@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.center;
+
+import com.alibaba.chaosblade.exec.common.constant.ModelConstant;
+import com.alibaba.chaosblade.exec.common.model.Model;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class EffectCounterTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 20_000;
+
+    @Test
+    public void testBoundedStopsAtLimit() {
+        EffectCounter counter = EffectCounter.of(2);
+        Assert.assertTrue(counter.tryAcquire());
+        Assert.assertTrue(counter.tryAcquire());
+        Assert.assertFalse(counter.tryAcquire());
+        Assert.assertTrue(counter.isExhausted());
+        counter.release();
+        Assert.assertFalse(counter.isExhausted());
+        Assert.assertTrue(counter.tryAcquire());
+        Assert.assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testZeroLimitMeansUnbounded() {
+        EffectCounter counter = EffectCounter.of(0);
+        Assert.assertEquals(0, counter.getLimit());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(counter.tryAcquire());
+        }
+        Assert.assertFalse(counter.isExhausted());
+        Assert.assertEquals(1000, counter.get());
+    }
+
+    @Test
+    public void testNoOvershootUnderContention() throws Exception {
+        for (long limit : new long[] {1, 100, 12_345}) {
+            final EffectCounter counter = EffectCounter.bounded(limit);
+            long granted = race(new Attempt() {
+                @Override
+                public boolean run() {
+                    return counter.tryAcquire();
+                }
+            });
+            Assert.assertEquals("granted with limit " + limit, limit, granted);
+            Assert.assertEquals("count with limit " + limit, limit, counter.get());
+        }
+    }
+
+    @Test
+    public void testUnboundedCountsExactlyUnderContention() throws Exception {
+        final EffectCounter counter = EffectCounter.unbounded();
+        long granted = race(new Attempt() {
+            @Override
+            public boolean run() {
+                return counter.tryAcquire();
+            }
+        });
+        Assert.assertEquals((long) THREADS * ATTEMPTS_PER_THREAD, granted);
+        Assert.assertEquals((long) THREADS * ATTEMPTS_PER_THREAD, counter.get());
+    }
+
+    @Test
+    public void testStatusMetricNeverDropsOrOvershoots() throws Exception {
+        Model model = new Model("dubbo", "delay");
+        model.getMatcher().add(ModelConstant.EFFECT_COUNT_MATCHER_NAME, "500");
+        final StatusMetric metric = new StatusMetric(model);
+        Assert.assertTrue(metric.isLimited());
+        long granted = race(new Attempt() {
+            @Override
+            public boolean run() {
+                return metric.tryIncrease();
+            }
+        });
+        // the lock based version could grant fewer than the limit when threads contended
+        Assert.assertEquals(500, granted);
+        Assert.assertEquals(500, metric.getCount());
+    }
+
+    @Test
+    public void testStatusMetricIllegalLimitNeverTakesEffect() {
+        Model model = new Model("dubbo", "delay");
+        model.getMatcher().add(ModelConstant.EFFECT_COUNT_MATCHER_NAME, "abc");
+        StatusMetric metric = new StatusMetric(model);
+        Assert.assertFalse(metric.tryIncrease());
+    }
+
+    private interface Attempt {
+        boolean run();
+    }
+
+    /** Start all threads at once, each making the same number of attempts, return the grants. */
+    private static long race(final Attempt attempt) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(THREADS);
+        final AtomicLong granted = new AtomicLong();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        long local = 0;
+                        for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                            if (attempt.run()) {
+                                local++;
+                            }
+                        }
+                        granted.addAndGet(local);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+            thread.start();
+        }
+        start.countDown();
+        done.await();
+        return granted.get();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.chaosblade.exec.common.center;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+public class LogLinearHistogramTest {
+
+    @Test
+    public void testBucketsAreContiguous() {
+        LogLinearHistogram histogram = new LogLinearHistogram(4, 1L << 40);
+        long next = 0;
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            Assert.assertEquals("lowest value of bucket " + i, next, histogram.lowestValueAt(i));
+            Assert.assertEquals(i, histogram.indexOf(histogram.lowestValueAt(i)));
+            Assert.assertEquals(i, histogram.indexOf(histogram.highestValueAt(i)));
+            next = histogram.highestValueAt(i) + 1;
+        }
+        Assert.assertTrue(next > histogram.getHighestTrackableValue());
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LogLinearHistogram histogram = new LogLinearHistogram(4, 3_600_000_000L);
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(100_000, snapshot.getCount());
+        Assert.assertEquals(100_000, snapshot.getMax());
+        Assert.assertEquals(50_000.5, snapshot.getMean(), 0.001);
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            double expected = percentile * 1000;
+            long actual = snapshot.getValueAtPercentile(percentile);
+            Assert.assertTrue("p" + percentile + "=" + actual, actual >= expected);
+            Assert.assertTrue("p" + percentile + "=" + actual, actual <= expected * (1 + 1.0 / 16));
+        }
+        Assert.assertEquals(100_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testClampsOutOfRangeValues() {
+        LogLinearHistogram histogram = new LogLinearHistogram(2, 1000);
+        histogram.record(-5);
+        histogram.record(5000);
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(2, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getValueAtPercentile(50));
+        Assert.assertEquals(1000, snapshot.getMax());
+        Assert.assertEquals(1000, snapshot.getSum());
+        Assert.assertEquals(0, new LogLinearHistogram(2, 1000).snapshot().getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testConcurrentRecordsAreNotLost() throws Exception {
+        final LogLinearHistogram histogram = new LogLinearHistogram(4, 1_000_000);
+        final int threads = 16;
+        final int perThread = 50_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        histogram.record(offset * 1000 + i % 1000);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals((long) threads * perThread, snapshot.getCount());
+        Assert.assertEquals((threads - 1) * 1000 + 999, snapshot.getMax());
+    }
+}
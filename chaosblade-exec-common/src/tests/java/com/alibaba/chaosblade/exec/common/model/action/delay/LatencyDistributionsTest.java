@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.model.action.delay;
+
+import com.alibaba.chaosblade.exec.common.model.action.ActionModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LatencyDistributionsTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    public void testLegacyFixedAndUniform() {
+        Assert.assertEquals(100, LatencyDistributions.parse(flags("time", "100")).sample());
+
+        LatencyDistribution uniform = LatencyDistributions.parse(flags("time", "100", "offset", "20"));
+        long[] samples = sample(uniform);
+        Assert.assertEquals(80, samples[0]);
+        Assert.assertEquals(120, samples[SAMPLES - 1]);
+        // the old executor chose the sign from the parity of the offset, the mean drifted
+        Assert.assertEquals(100.0, mean(samples), 0.5);
+    }
+
+    @Test
+    public void testCompiledOnceByPredicate() {
+        ActionModel action = new ActionModel("delay");
+        action.addFlag("distribution", "normal");
+        action.addFlag("time", "200");
+        action.addFlag("stddev", "20");
+        Assert.assertTrue(new DelayActionSpec().predicate(action).isSuccess());
+        Object compiled = action.getCompiled();
+        Assert.assertTrue(compiled instanceof LatencyDistribution);
+
+        action.addFlag("stddev", "30");
+        Assert.assertNull(action.getCompiled());
+    }
+
+    @Test
+    public void testNormal() {
+        long[] samples = sample(LatencyDistributions.parse(
+                flags("distribution", "normal", "time", "200", "stddev", "20")));
+        Assert.assertEquals(200.0, mean(samples), 1.0);
+        Assert.assertEquals(200, percentile(samples, 50), 2);
+        Assert.assertEquals(233, percentile(samples, 95), 3);
+    }
+
+    @Test
+    public void testLogNormalMedianAndTail() {
+        long[] samples = sample(LatencyDistributions.parse(
+                flags("distribution", "lognormal", "time", "100", "sigma", "0.5")));
+        Assert.assertEquals(100, percentile(samples, 50), 2);
+        // exp(0.5 * 2.326) * 100
+        Assert.assertEquals(320, percentile(samples, 99), 15);
+    }
+
+    @Test
+    public void testParetoHeavyTailAndCap() {
+        long[] samples = sample(LatencyDistributions.parse(
+                flags("distribution", "pareto", "time", "10", "alpha", "1.5", "max", "1000")));
+        Assert.assertEquals(10, samples[0]);
+        Assert.assertEquals(1000, samples[SAMPLES - 1]);
+        // xm / (1 - p)^(1 / alpha)
+        Assert.assertEquals(16, percentile(samples, 50), 1);
+        Assert.assertEquals(215, percentile(samples, 99), 15);
+    }
+
+    @Test
+    public void testEmpirical() {
+        long[] samples = sample(LatencyDistributions.parse(
+                flags("distribution", "empirical", "percentiles", "50:20,90:80,99:300", "max", "500")));
+        Assert.assertEquals(20, percentile(samples, 50), 1);
+        Assert.assertEquals(80, percentile(samples, 90), 2);
+        Assert.assertEquals(300, percentile(samples, 99), 10);
+        Assert.assertTrue(samples[SAMPLES - 1] <= 500);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownDistribution() {
+        LatencyDistributions.parse(flags("distribution", "poisson", "time", "10"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingShape() {
+        LatencyDistributions.parse(flags("distribution", "lognormal", "time", "10"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreasingPercentiles() {
+        LatencyDistributions.parse(flags("distribution", "empirical", "percentiles", "90:80,50:20"));
+    }
+
+    private static Map<String, String> flags(String... keyValues) {
+        Map<String, String> flags = new HashMap<String, String>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            flags.put(keyValues[i], keyValues[i + 1]);
+        }
+        return flags;
+    }
+
+    private static long[] sample(LatencyDistribution distribution) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = distribution.sample();
+            Assert.assertTrue(samples[i] >= 0);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double mean(long[] samples) {
+        double sum = 0;
+        for (long sample : samples) {
+            sum += sample;
+        }
+        return sum / samples.length;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile / 100.0 * sorted.length))];
+    }
+}
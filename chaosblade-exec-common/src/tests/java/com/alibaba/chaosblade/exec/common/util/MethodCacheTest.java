@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 The ChaosBlade Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.chaosblade.exec.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+public class MethodCacheTest {
+
+    @Test
+    public void testResolveFromSuperclass() throws Exception {
+        Method method = MethodCache.getMethod(OrderHandler.class, "handle", "(Ljava/lang/String;I)Z");
+        Assert.assertEquals(BaseHandler.class, method.getDeclaringClass());
+        Assert.assertSame(method, MethodCache.getMethod(OrderHandler.class, "handle", "(Ljava/lang/String;I)Z"));
+    }
+
+    @Test
+    public void testOverloadsByDescriptor() throws Exception {
+        Method single = MethodCache.getMethod(OrderHandler.class, "query", "(J)Ljava/lang/String;");
+        Method multi = MethodCache.getMethod(OrderHandler.class, "query", "(JLjava/lang/String;)Ljava/lang/String;");
+        Assert.assertEquals(1, single.getParameterTypes().length);
+        Assert.assertEquals(2, multi.getParameterTypes().length);
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void testMissingMethod() throws Exception {
+        MethodCache.getMethod(OrderHandler.class, "query", "()V");
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        Method before = MethodCache.getMethod(OrderHandler.class, "query", "(J)Ljava/lang/String;");
+        MethodCache.clear();
+        Method after = MethodCache.getMethod(OrderHandler.class, "query", "(J)Ljava/lang/String;");
+        Assert.assertEquals(before, after);
+    }
+
+    public static class BaseHandler {
+        public boolean handle(String orderId, int retry) {
+            return retry > 0;
+        }
+
+        public void audit(String orderId) {
+        }
+
+        public void audit(String orderId, long time) {
+        }
+    }
+
+    public static class OrderHandler extends BaseHandler {
+        public String query(long id) {
+            return String.valueOf(id);
+        }
+
+        public String query(long id, String tenant) {
+            return tenant + id;
+        }
+
+        public void create(String orderId) {
+        }
+
+        public void cancel(String orderId) {
+        }
+
+        public void refund(String orderId, long amount) {
+        }
+
+        public void close() {
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.helper.chaos.model;
 
+import com.example.helper.chaos.config.ChaosConfig;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -30,6 +31,13 @@ public abstract class BaseChaosRequest {
     /** Mock 返回值（action=mock 时使用） */
     protected String value;
     
+    /**
+     * 实验存活时间（毫秒），到期后由 Sandbox 模块自动销毁
+     * 默认开启 chaos.experiment.auto.cleanup 时取 chaos.experiment.timeout（秒），关闭时不限时
+     */
+    protected Long duration = ChaosConfig.isExperimentAutoCleanup()
+        ? Long.valueOf(ChaosConfig.getExperimentTimeout() * 1000L) : null;
+    
     /**
      * 创建延迟注入请求
      * 
@@ -74,6 +82,19 @@ public abstract class BaseChaosRequest {
         return request;
     }
     
+    /**
+     * 设置实验存活时间
+     * 
+     * @param request 请求对象
+     * @param durationMillis 存活时间（毫秒），null 表示不限时
+     * @param <T> 请求类型
+     * @return 请求对象
+     */
+    public static <T extends BaseChaosRequest> T duration(T request, Long durationMillis) {
+        request.duration = durationMillis;
+        return request;
+    }
+    
     // Getters
     
     public String getTarget() {
@@ -100,6 +121,10 @@ public abstract class BaseChaosRequest {
         return value;
     }
     
+    public Long getDuration() {
+        return duration;
+    }
+    
     // Setters
     
     protected void setTarget(String target) {
@@ -125,5 +150,9 @@ public abstract class BaseChaosRequest {
     protected void setValue(String value) {
         this.value = value;
     }
+    
+    protected void setDuration(Long duration) {
+        this.duration = duration;
+    }
 }
 
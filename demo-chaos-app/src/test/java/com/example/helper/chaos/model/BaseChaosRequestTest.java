@@ -40,6 +40,16 @@ public class BaseChaosRequestTest {
         assertEquals("Mocked Value", request.getValue());
     }
     
+    @Test
+    public void testDuration() {
+        DelayRequest request = new DelayRequest();
+        BaseChaosRequest.duration(request, 60000L);
+        assertEquals(Long.valueOf(60000L), request.getDuration());
+        
+        BaseChaosRequest.duration(request, null);
+        assertNull(request.getDuration());
+    }
+    
     @Test
     public void testGettersAndSetters() {
         DelayRequest request = new DelayRequest();